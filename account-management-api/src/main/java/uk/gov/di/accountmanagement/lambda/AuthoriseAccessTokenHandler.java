@@ -14,6 +14,7 @@ import org.apache.logging.log4j.ThreadContext;
 import uk.gov.di.accountmanagement.entity.AuthPolicy;
 import uk.gov.di.accountmanagement.entity.TokenAuthorizerContext;
 import uk.gov.di.authentication.shared.entity.CustomScopeValue;
+import uk.gov.di.authentication.shared.helpers.ExpiringLruCache;
 import uk.gov.di.authentication.shared.helpers.NowHelper;
 import uk.gov.di.authentication.shared.services.ConfigurationService;
 import uk.gov.di.authentication.shared.services.DynamoClientService;
@@ -26,24 +27,40 @@ import java.util.List;
 import java.util.Map;
 
 import static uk.gov.di.accountmanagement.entity.AuthPolicy.PolicyDocument.getAllowAllPolicy;
+import static uk.gov.di.authentication.shared.helpers.HashHelper.hashSha256String;
 import static uk.gov.di.authentication.shared.helpers.InstrumentationHelper.segmentedFunctionCall;
 
 public class AuthoriseAccessTokenHandler
         implements RequestHandler<TokenAuthorizerContext, AuthPolicy> {
 
     private static final Logger LOG = LogManager.getLogger(AuthoriseAccessTokenHandler.class);
+    private static final int DECISION_CACHE_SIZE = 1000;
 
     private final TokenValidationService tokenValidationService;
     private final ConfigurationService configurationService;
     private final DynamoClientService clientService;
+    private final ExpiringLruCache<String, AuthPolicy> decisionCache;
 
     public AuthoriseAccessTokenHandler(
             TokenValidationService tokenValidationService,
             ConfigurationService configurationService,
             DynamoClientService clientService) {
+        this(
+                tokenValidationService,
+                configurationService,
+                clientService,
+                new ExpiringLruCache<>(DECISION_CACHE_SIZE));
+    }
+
+    public AuthoriseAccessTokenHandler(
+            TokenValidationService tokenValidationService,
+            ConfigurationService configurationService,
+            DynamoClientService clientService,
+            ExpiringLruCache<String, AuthPolicy> decisionCache) {
         this.tokenValidationService = tokenValidationService;
         this.configurationService = configurationService;
         this.clientService = clientService;
+        this.decisionCache = decisionCache;
     }
 
     public AuthoriseAccessTokenHandler() {
@@ -55,6 +72,7 @@ public class AuthoriseAccessTokenHandler
                                 new KmsConnectionService(configurationService)),
                         configurationService);
         clientService = new DynamoClientService(configurationService);
+        decisionCache = new ExpiringLruCache<>(DECISION_CACHE_SIZE);
     }
 
     public AuthoriseAccessTokenHandler(ConfigurationService configurationService) {
@@ -66,6 +84,7 @@ public class AuthoriseAccessTokenHandler
                                 new KmsConnectionService(configurationService)),
                         configurationService);
         clientService = new DynamoClientService(configurationService);
+        decisionCache = new ExpiringLruCache<>(DECISION_CACHE_SIZE);
     }
 
     @Override
@@ -80,6 +99,22 @@ public class AuthoriseAccessTokenHandler
         LOG.info("Request received in AuthoriseAccessTokenHandler");
         try {
             String token = input.getAuthorizationToken();
+            String methodArn = input.getMethodArn();
+            String[] arnPartials = methodArn.split(":");
+            String region = arnPartials[3];
+            String awsAccountId = arnPartials[4];
+            String[] apiGatewayArnPartials = arnPartials[5].split("/");
+            String restApiId = apiGatewayArnPartials[0];
+            String stage = apiGatewayArnPartials[1];
+
+            String decisionCacheKey =
+                    String.join(
+                            ":", hashSha256String(token), region, awsAccountId, restApiId, stage);
+            var cachedPolicy = decisionCache.get(decisionCacheKey);
+            if (cachedPolicy.isPresent()) {
+                LOG.info("Access Token previously authorised, returning cached AuthPolicy");
+                return cachedPolicy.get();
+            }
 
             AccessToken accessToken = AccessToken.parse(token, AccessTokenType.BEARER);
             SignedJWT signedAccessToken = SignedJWT.parse(accessToken.getValue());
@@ -123,20 +158,18 @@ public class AuthoriseAccessTokenHandler
                 throw new RuntimeException("Unauthorized");
             }
             LOG.info("User found in Dynamo with given SubjectID");
-            String methodArn = input.getMethodArn();
-            String[] arnPartials = methodArn.split(":");
-            String region = arnPartials[3];
-            String awsAccountId = arnPartials[4];
-            String[] apiGatewayArnPartials = arnPartials[5].split("/");
-            String restApiId = apiGatewayArnPartials[0];
-            String stage = apiGatewayArnPartials[1];
 
             LOG.info("Generating context");
             Map<String, Object> context = Map.of("clientId", clientId);
 
             LOG.info("Generating AuthPolicy");
-            return new AuthPolicy(
-                    subject, getAllowAllPolicy(region, awsAccountId, restApiId, stage), context);
+            AuthPolicy authPolicy =
+                    new AuthPolicy(
+                            subject,
+                            getAllowAllPolicy(region, awsAccountId, restApiId, stage),
+                            context);
+            decisionCache.put(decisionCacheKey, authPolicy, claimsSet.getExpirationTime());
+            return authPolicy;
         } catch (ParseException | java.text.ParseException e) {
             LOG.warn("Unable to parse Access Token");
             throw new RuntimeException("Unauthorized");
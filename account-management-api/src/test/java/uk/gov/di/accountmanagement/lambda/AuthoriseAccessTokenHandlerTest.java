@@ -14,12 +14,15 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import uk.gov.di.accountmanagement.entity.AuthPolicy;
 import uk.gov.di.accountmanagement.entity.TokenAuthorizerContext;
+import uk.gov.di.authentication.shared.helpers.ExpiringLruCache;
 import uk.gov.di.authentication.shared.helpers.NowHelper;
 import uk.gov.di.authentication.shared.services.ConfigurationService;
 import uk.gov.di.authentication.shared.services.DynamoClientService;
 import uk.gov.di.authentication.shared.services.TokenValidationService;
 import uk.gov.di.authentication.sharedtest.helper.TokenGeneratorHelper;
 
+import java.time.Clock;
+import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.Date;
 import java.util.List;
@@ -29,7 +32,11 @@ import static org.hamcrest.Matchers.equalTo;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 class AuthoriseAccessTokenHandlerTest {
@@ -158,6 +165,115 @@ class AuthoriseAccessTokenHandlerTest {
         assertEquals("Unauthorized", exception.getMessage());
     }
 
+    @Test
+    public void shouldReturnCachedAuthPolicyForRepeatRequestsWithSameToken() throws JOSEException {
+        BearerAccessToken signedAccessToken =
+                new BearerAccessToken(createSignedAccessToken(SCOPES).serialize());
+        TokenAuthorizerContext tokenAuthorizerContext =
+                new TokenAuthorizerContext(
+                        TOKEN_TYPE, signedAccessToken.toAuthorizationHeader(), METHOD_ARN);
+        when(tokenValidationServicen.validateAccessTokenSignature(signedAccessToken))
+                .thenReturn(true);
+        when(clientService.isValidClient(CLIENT_ID)).thenReturn(true);
+
+        AuthPolicy firstAuthPolicy = handler.handleRequest(tokenAuthorizerContext, context);
+        AuthPolicy secondAuthPolicy = handler.handleRequest(tokenAuthorizerContext, context);
+
+        assertThat(secondAuthPolicy, equalTo(firstAuthPolicy));
+        verify(tokenValidationServicen, times(1)).validateAccessTokenSignature(signedAccessToken);
+        verify(clientService, times(1)).isValidClient(CLIENT_ID);
+    }
+
+    @Test
+    public void shouldRevalidateAccessTokenOnceCachedDecisionHasExpired() throws JOSEException {
+        Clock clock = mock(Clock.class);
+        when(clock.instant()).thenReturn(Instant.now());
+        handler =
+                new AuthoriseAccessTokenHandler(
+                        tokenValidationServicen,
+                        configurationService,
+                        clientService,
+                        new ExpiringLruCache<>(10, new NowHelper.NowClock(clock)));
+        BearerAccessToken signedAccessToken =
+                new BearerAccessToken(createSignedAccessToken(SCOPES).serialize());
+        TokenAuthorizerContext tokenAuthorizerContext =
+                new TokenAuthorizerContext(
+                        TOKEN_TYPE, signedAccessToken.toAuthorizationHeader(), METHOD_ARN);
+        when(tokenValidationServicen.validateAccessTokenSignature(signedAccessToken))
+                .thenReturn(true);
+        when(clientService.isValidClient(CLIENT_ID)).thenReturn(true);
+
+        handler.handleRequest(tokenAuthorizerContext, context);
+        when(clock.instant()).thenReturn(Instant.now().plus(3, ChronoUnit.MINUTES));
+        handler.handleRequest(tokenAuthorizerContext, context);
+
+        verify(tokenValidationServicen, times(2)).validateAccessTokenSignature(signedAccessToken);
+        verify(clientService, times(2)).isValidClient(CLIENT_ID);
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedDecisionWhenCacheIsFull() throws JOSEException {
+        handler =
+                new AuthoriseAccessTokenHandler(
+                        tokenValidationServicen,
+                        configurationService,
+                        clientService,
+                        new ExpiringLruCache<>(1));
+        BearerAccessToken firstAccessToken =
+                new BearerAccessToken(createSignedAccessToken(SCOPES).serialize());
+        BearerAccessToken secondAccessToken =
+                new BearerAccessToken(createSignedAccessToken(SCOPES).serialize());
+        when(tokenValidationServicen.validateAccessTokenSignature(any())).thenReturn(true);
+        when(clientService.isValidClient(CLIENT_ID)).thenReturn(true);
+
+        handler.handleRequest(authorizerContext(firstAccessToken), context);
+        handler.handleRequest(authorizerContext(secondAccessToken), context);
+        handler.handleRequest(authorizerContext(firstAccessToken), context);
+
+        verify(tokenValidationServicen, times(2)).validateAccessTokenSignature(firstAccessToken);
+        verify(tokenValidationServicen, times(1)).validateAccessTokenSignature(secondAccessToken);
+    }
+
+    @Test
+    public void shouldNotCacheDenials() throws JOSEException {
+        BearerAccessToken signedAccessToken =
+                new BearerAccessToken(createSignedAccessToken(SCOPES).serialize());
+        TokenAuthorizerContext tokenAuthorizerContext = authorizerContext(signedAccessToken);
+        when(tokenValidationServicen.validateAccessTokenSignature(signedAccessToken))
+                .thenReturn(false)
+                .thenReturn(true);
+        when(clientService.isValidClient(CLIENT_ID)).thenReturn(true);
+
+        assertThrows(
+                RuntimeException.class,
+                () -> handler.handleRequest(tokenAuthorizerContext, context));
+        AuthPolicy authPolicy = handler.handleRequest(tokenAuthorizerContext, context);
+
+        assertThat(authPolicy.getPrincipalId(), equalTo(SUBJECT.getValue()));
+        verify(tokenValidationServicen, times(2)).validateAccessTokenSignature(signedAccessToken);
+    }
+
+    @Test
+    public void shouldNotCacheDenialsForMalformedAccessTokens() throws JOSEException {
+        String invalidAccessToken = createSignedAccessToken(SCOPES).serialize();
+        TokenAuthorizerContext tokenAuthorizerContext =
+                new TokenAuthorizerContext(TOKEN_TYPE, invalidAccessToken, METHOD_ARN);
+
+        assertThrows(
+                RuntimeException.class,
+                () -> handler.handleRequest(tokenAuthorizerContext, context));
+        assertThrows(
+                RuntimeException.class,
+                () -> handler.handleRequest(tokenAuthorizerContext, context));
+
+        verifyNoInteractions(tokenValidationServicen, clientService);
+    }
+
+    private TokenAuthorizerContext authorizerContext(BearerAccessToken accessToken) {
+        return new TokenAuthorizerContext(
+                TOKEN_TYPE, accessToken.toAuthorizationHeader(), METHOD_ARN);
+    }
+
     private SignedJWT createSignedAccessToken(List<String> scopes) throws JOSEException {
         ECKey ecJWK = new ECKeyGenerator(Curve.P_256).keyID(KEY_ID).generate();
         JWSSigner signer = new ECDSASigner(ecJWK);
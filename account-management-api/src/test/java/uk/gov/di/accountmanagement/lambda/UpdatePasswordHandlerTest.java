@@ -13,6 +13,7 @@ import uk.gov.di.accountmanagement.services.AwsSqsClient;
 import uk.gov.di.authentication.shared.entity.ErrorResponse;
 import uk.gov.di.authentication.shared.entity.UserCredentials;
 import uk.gov.di.authentication.shared.entity.UserProfile;
+import uk.gov.di.authentication.shared.exceptions.Argon2HashRejectedException;
 import uk.gov.di.authentication.shared.helpers.Argon2EncoderHelper;
 import uk.gov.di.authentication.shared.helpers.ClientSubjectHelper;
 import uk.gov.di.authentication.shared.helpers.LocaleHelper.SupportedLanguage;
@@ -36,12 +37,14 @@ import static org.hamcrest.Matchers.equalTo;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static uk.gov.di.authentication.sharedtest.helper.RequestEventHelper.identityWithSourceIp;
+import static uk.gov.di.authentication.sharedtest.matchers.APIGatewayProxyResponseEventMatcher.hasHeader;
 import static uk.gov.di.authentication.sharedtest.matchers.APIGatewayProxyResponseEventMatcher.hasJsonBody;
 import static uk.gov.di.authentication.sharedtest.matchers.APIGatewayProxyResponseEventMatcher.hasStatus;
 
@@ -218,6 +221,30 @@ class UpdatePasswordHandlerTest {
         verifyNoInteractions(auditService);
     }
 
+    @Test
+    void shouldReturn503WithRetryAfterWhenPasswordHashIsRejected() {
+        var userProfile = new UserProfile().withPublicSubjectID(PUBLIC_SUBJECT.getValue());
+        var userCredentials =
+                new UserCredentials()
+                        .withPassword(Argon2EncoderHelper.argon2Hash("current-password"));
+        when(dynamoService.getUserProfileByEmailMaybe(EXISTING_EMAIL_ADDRESS))
+                .thenReturn(Optional.of(userProfile));
+        when(dynamoService.getUserCredentialsFromEmail(EXISTING_EMAIL_ADDRESS))
+                .thenReturn(userCredentials);
+        doThrow(new Argon2HashRejectedException("Argon2 hash rejected", 1))
+                .when(dynamoService)
+                .updatePassword(EXISTING_EMAIL_ADDRESS, NEW_PASSWORD);
+
+        var event = generateApiGatewayEvent(NEW_PASSWORD, PUBLIC_SUBJECT.getValue());
+        var result = handler.handleRequest(event, context);
+
+        assertThat(result, hasStatus(503));
+        assertThat(result, hasHeader("Retry-After", "1"));
+        assertThat(result, hasJsonBody(ErrorResponse.ERROR_1049));
+        verifyNoInteractions(sqsClient);
+        verifyNoInteractions(auditService);
+    }
+
     @Test
     void shouldReturn400IfUserAccountDoesNotExistForCurrentEmail() {
         when(dynamoService.getUserProfileByEmailMaybe(EXISTING_EMAIL_ADDRESS))
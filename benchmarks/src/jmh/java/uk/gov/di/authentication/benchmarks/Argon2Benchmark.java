@@ -0,0 +1,88 @@
+package uk.gov.di.authentication.benchmarks;
+
+import org.bouncycastle.crypto.generators.Argon2BytesGenerator;
+import org.bouncycastle.crypto.params.Argon2Parameters;
+import org.bouncycastle.util.Strings;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import uk.gov.di.authentication.shared.helpers.Argon2Cost;
+import uk.gov.di.authentication.shared.helpers.Argon2EncoderHelper;
+import uk.gov.di.authentication.shared.helpers.Argon2Engine;
+import uk.gov.di.authentication.shared.helpers.Argon2MatcherHelper;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Run with {@code ./gradlew :benchmarks:jmh -Pbenchmarks=Argon2Benchmark -Pprofilers=gc} to see the
+ * allocation rate ({@code gc.alloc.rate.norm}) of the pooled engine next to BouncyCastle's
+ * generator, which allocates the whole memory matrix on every hash.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class Argon2Benchmark {
+
+    private static final String PASSWORD = "correct-horse-battery-staple";
+
+    private static final byte[] SALT = new byte[32];
+
+    private String encodedPassword;
+
+    @Setup
+    public void setUp() {
+        encodedPassword = Argon2EncoderHelper.argon2Hash(PASSWORD);
+    }
+
+    @Benchmark
+    public String argon2Hash() {
+        return Argon2EncoderHelper.argon2Hash(PASSWORD);
+    }
+
+    @Benchmark
+    public boolean matchCorrectPassword() {
+        return Argon2MatcherHelper.matchRawStringWithEncoded(PASSWORD, encodedPassword);
+    }
+
+    @Benchmark
+    public boolean matchIncorrectPassword() {
+        return Argon2MatcherHelper.matchRawStringWithEncoded("incorrect-password", encodedPassword);
+    }
+
+    @Benchmark
+    public byte[] engineGenerateBytes() {
+        var cost = Argon2Cost.DEFAULT;
+        var out = new byte[32];
+        Argon2Engine.getInstance()
+                .generateBytes(
+                        Argon2Parameters.ARGON2_VERSION_13,
+                        cost.getMemoryInKibibytes(),
+                        cost.getIterations(),
+                        cost.getParallelism(),
+                        SALT,
+                        Strings.toUTF8ByteArray(PASSWORD.toCharArray()),
+                        out);
+        return out;
+    }
+
+    @Benchmark
+    public byte[] bouncyCastleGenerateBytes() {
+        var cost = Argon2Cost.DEFAULT;
+        var out = new byte[32];
+        var generator = new Argon2BytesGenerator();
+        generator.init(
+                new Argon2Parameters.Builder(Argon2Parameters.ARGON2_id)
+                        .withVersion(Argon2Parameters.ARGON2_VERSION_13)
+                        .withMemoryAsKB(cost.getMemoryInKibibytes())
+                        .withIterations(cost.getIterations())
+                        .withParallelism(cost.getParallelism())
+                        .withSalt(SALT)
+                        .build());
+        generator.generateBytes(PASSWORD.toCharArray(), out);
+        return out;
+    }
+}
@@ -0,0 +1,101 @@
+package uk.gov.di.authentication.benchmarks;
+
+import uk.gov.di.authentication.shared.helpers.Argon2Cost;
+import uk.gov.di.authentication.shared.helpers.Argon2EncoderHelper;
+import uk.gov.di.authentication.shared.helpers.Argon2MatcherHelper;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Times candidate Argon2id parameter sets on the local machine and recommends the most expensive
+ * one whose median login hash fits within a latency budget. Lambda CPU share scales with its memory
+ * size, so results only carry over to a function when run with a comparable CPU allowance.
+ *
+ * <p>Run with {@code ./gradlew :benchmarks:calibrateArgon2 -Pargon2BudgetMillis=250}. The candidate
+ * memory sizes (KiB), iteration counts and number of timed runs can be set with the {@code
+ * argon2.memoryKib}, {@code argon2.iterations} and {@code argon2.runs} system properties.
+ */
+public class Argon2Calibration {
+
+    private static final String PASSWORD = "correct-horse-battery-staple";
+    private static final long BUDGET_MILLIS = Long.getLong("argon2.budgetMillis", 250);
+    private static final int RUNS = Integer.getInteger("argon2.runs", 5);
+    private static final int[] MEMORY_KIB =
+            parse(System.getProperty("argon2.memoryKib", "7168,15360,19456,32768,47104,65536"));
+    private static final int[] ITERATIONS =
+            parse(System.getProperty("argon2.iterations", "1,2,3,4"));
+
+    public static void main(String[] args) {
+        System.out.printf(
+                "Calibrating Argon2id against a %d ms budget (%d processors, %d MiB max heap)%n",
+                BUDGET_MILLIS,
+                Runtime.getRuntime().availableProcessors(),
+                Runtime.getRuntime().maxMemory() / (1024 * 1024));
+        System.out.printf("%-24s %12s%n", "Parameters", "Median (ms)");
+
+        var withinBudget = new ArrayList<Argon2Cost>();
+        for (int memoryKib : MEMORY_KIB) {
+            for (int iterations : ITERATIONS) {
+                var cost = new Argon2Cost(memoryKib, iterations, 1);
+                var medianMillis = medianMillis(cost);
+                var fits = medianMillis <= BUDGET_MILLIS;
+                System.out.printf(
+                        "%-24s %12.1f%s%n", cost, medianMillis, fits ? "" : "  over budget");
+                if (fits) {
+                    withinBudget.add(cost);
+                }
+            }
+        }
+
+        recommend(withinBudget)
+                .ifPresentOrElse(
+                        cost -> {
+                            System.out.printf("%nRecommended: %s%n", cost);
+                            System.out.printf(
+                                    "ARGON2_MEMORY_KIB=%d ARGON2_ITERATIONS=%d ARGON2_PARALLELISM=%d%n",
+                                    cost.getMemoryInKibibytes(),
+                                    cost.getIterations(),
+                                    cost.getParallelism());
+                            if (!cost.equals(Argon2Cost.DEFAULT)) {
+                                System.out.printf(
+                                        "Stored hashes using %s are rehashed on next login%n",
+                                        Argon2Cost.DEFAULT);
+                            }
+                        },
+                        () -> System.out.println("\nNo candidate fits within the budget"));
+    }
+
+    static Optional<Argon2Cost> recommend(List<Argon2Cost> withinBudget) {
+        return withinBudget.stream()
+                .max(
+                        Comparator.comparingLong(
+                                        (Argon2Cost cost) ->
+                                                (long) cost.getMemoryInKibibytes()
+                                                        * cost.getIterations())
+                                .thenComparingInt(Argon2Cost::getMemoryInKibibytes));
+    }
+
+    private static double medianMillis(Argon2Cost cost) {
+        var encoded = Argon2EncoderHelper.argon2Hash(PASSWORD, cost);
+        Argon2MatcherHelper.matchRawStringWithEncoded(PASSWORD, encoded);
+        var timings = new double[RUNS];
+        for (int run = 0; run < RUNS; run++) {
+            var start = System.nanoTime();
+            Argon2MatcherHelper.matchRawStringWithEncoded(PASSWORD, encoded);
+            timings[run] = (System.nanoTime() - start) / 1_000_000.0;
+        }
+        Arrays.sort(timings);
+        return timings[RUNS / 2];
+    }
+
+    private static int[] parse(String values) {
+        return Arrays.stream(values.split(","))
+                .map(String::trim)
+                .mapToInt(Integer::parseInt)
+                .toArray();
+    }
+}
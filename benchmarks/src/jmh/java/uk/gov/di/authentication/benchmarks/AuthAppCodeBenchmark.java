@@ -0,0 +1,74 @@
+package uk.gov.di.authentication.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import uk.gov.di.authentication.frontendapi.validation.AuthAppCodeProcessor;
+import uk.gov.di.authentication.shared.entity.Session;
+import uk.gov.di.authentication.shared.helpers.NowHelper;
+import uk.gov.di.authentication.shared.state.UserContext;
+import uk.gov.di.authentication.sharedtest.helper.AuthAppStub;
+
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AuthAppCodeBenchmark {
+
+    private static final String AUTH_APP_SECRET = "JBSWY3DPEHPK3PXPJBSWY3DPEHPK3PXP";
+
+    private AuthAppCodeProcessor authAppCodeProcessor;
+    private String validCode;
+    private String olderWindowCode;
+
+    @Setup
+    public void setUp() {
+        var userContext =
+                UserContext.builder(
+                                new Session("benchmark-session-id")
+                                        .setEmailAddress(
+                                                "joe.bloggs@digital.cabinet-office.gov.uk"))
+                        .build();
+        authAppCodeProcessor =
+                new AuthAppCodeProcessor(
+                        userContext,
+                        null,
+                        new BenchmarkConfigurationService(),
+                        null,
+                        5,
+                        null,
+                        null,
+                        null);
+    }
+
+    @Setup(Level.Iteration)
+    public void generateCode() {
+        var authAppStub = new AuthAppStub();
+        validCode = authAppStub.getAuthAppOneTimeCode(AUTH_APP_SECRET);
+        olderWindowCode =
+                authAppStub.getAuthAppOneTimeCode(
+                        AUTH_APP_SECRET, NowHelper.nowMinus(90, ChronoUnit.SECONDS).getTime());
+    }
+
+    @Benchmark
+    public boolean validCode() {
+        return authAppCodeProcessor.isCodeValid(validCode, AUTH_APP_SECRET);
+    }
+
+    @Benchmark
+    public boolean validCodeFromOlderWindow() {
+        return authAppCodeProcessor.isCodeValid(olderWindowCode, AUTH_APP_SECRET);
+    }
+
+    @Benchmark
+    public boolean invalidCode() {
+        return authAppCodeProcessor.isCodeValid("000001", AUTH_APP_SECRET);
+    }
+}
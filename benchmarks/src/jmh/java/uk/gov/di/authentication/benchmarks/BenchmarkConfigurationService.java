@@ -0,0 +1,36 @@
+package uk.gov.di.authentication.benchmarks;
+
+import uk.gov.di.authentication.shared.services.ConfigurationService;
+
+import java.util.Optional;
+
+public class BenchmarkConfigurationService extends ConfigurationService {
+
+    public static final String OIDC_API_BASE_URL = "https://oidc.benchmark.account.gov.uk";
+    public static final String INTERNAL_SECTOR_URI = "https://identity.benchmark.account.gov.uk";
+
+    @Override
+    public String getEnvironment() {
+        return "benchmark";
+    }
+
+    @Override
+    public String getTokenSigningKeyAlias() {
+        return "alias/benchmark-id-token-signing-key";
+    }
+
+    @Override
+    public Optional<String> getOidcApiBaseURL() {
+        return Optional.of(OIDC_API_BASE_URL);
+    }
+
+    @Override
+    public String getInternalSectorUri() {
+        return INTERNAL_SECTOR_URI;
+    }
+
+    @Override
+    public boolean getHeadersCaseInsensitive() {
+        return false;
+    }
+}
@@ -0,0 +1,119 @@
+package uk.gov.di.authentication.benchmarks;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.oauth2.sdk.auth.ClientAuthenticationMethod;
+import com.nimbusds.oauth2.sdk.auth.ClientSecretPost;
+import com.nimbusds.oauth2.sdk.auth.JWTAuthenticationClaimsSet;
+import com.nimbusds.oauth2.sdk.auth.PrivateKeyJWT;
+import com.nimbusds.oauth2.sdk.auth.Secret;
+import com.nimbusds.oauth2.sdk.id.Audience;
+import com.nimbusds.oauth2.sdk.id.ClientID;
+import com.nimbusds.oauth2.sdk.util.URLUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import uk.gov.di.authentication.shared.entity.ClientRegistry;
+import uk.gov.di.authentication.shared.exceptions.TokenAuthInvalidException;
+import uk.gov.di.authentication.shared.helpers.Argon2EncoderHelper;
+import uk.gov.di.authentication.shared.validation.ClientSecretPostClientAuthValidator;
+import uk.gov.di.authentication.shared.validation.PrivateKeyJwtClientAuthValidator;
+import uk.gov.di.authentication.sharedtest.helper.KeyPairHelper;
+
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.PublicKey;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ClientAuthenticationBenchmark {
+
+    private static final ClientID PRIVATE_KEY_JWT_CLIENT_ID =
+            new ClientID("benchmark-private-key-jwt-client");
+    private static final ClientID CLIENT_SECRET_POST_CLIENT_ID =
+            new ClientID("benchmark-client-secret-post-client");
+    private static final Secret CLIENT_SECRET = new Secret("benchmark-client-secret");
+
+    private KeyPair keyPair;
+    private String encodedPublicKey;
+    private PrivateKeyJwtClientAuthValidator privateKeyJwtValidator;
+    private ClientSecretPostClientAuthValidator clientSecretPostValidator;
+    private String privateKeyJwtRequestBody;
+    private String clientSecretPostRequestBody;
+
+    @Setup
+    public void setUp() {
+        var configurationService = new BenchmarkConfigurationService();
+        keyPair = KeyPairHelper.GENERATE_RSA_KEY_PAIR();
+        encodedPublicKey = Base64.getMimeEncoder().encodeToString(keyPair.getPublic().getEncoded());
+        privateKeyJwtValidator =
+                new PrivateKeyJwtClientAuthValidator(
+                        new StubClientService(
+                                configurationService,
+                                new ClientRegistry()
+                                        .withClientID(PRIVATE_KEY_JWT_CLIENT_ID.getValue())
+                                        .withRedirectUrls(List.of("https://rp.benchmark/callback"))
+                                        .withPublicKey(encodedPublicKey)
+                                        .withTokenAuthMethod(
+                                                ClientAuthenticationMethod.PRIVATE_KEY_JWT
+                                                        .getValue())),
+                        configurationService);
+        clientSecretPostValidator =
+                new ClientSecretPostClientAuthValidator(
+                        new StubClientService(
+                                configurationService,
+                                new ClientRegistry()
+                                        .withClientID(CLIENT_SECRET_POST_CLIENT_ID.getValue())
+                                        .withRedirectUrls(List.of("https://rp.benchmark/callback"))
+                                        .withTokenAuthMethod(
+                                                ClientAuthenticationMethod.CLIENT_SECRET_POST
+                                                        .getValue())
+                                        .withClientSecret(
+                                                Argon2EncoderHelper.argon2Hash(
+                                                        CLIENT_SECRET.getValue()))));
+        clientSecretPostRequestBody =
+                URLUtils.serializeParameters(
+                        new ClientSecretPost(CLIENT_SECRET_POST_CLIENT_ID, CLIENT_SECRET)
+                                .toParameters());
+    }
+
+    @Setup(Level.Iteration)
+    public void generatePrivateKeyJwt() throws JOSEException {
+        var claimsSet =
+                new JWTAuthenticationClaimsSet(
+                        PRIVATE_KEY_JWT_CLIENT_ID,
+                        new Audience(BenchmarkConfigurationService.OIDC_API_BASE_URL + "/token"));
+        var privateKeyJWT =
+                new PrivateKeyJWT(claimsSet, JWSAlgorithm.RS256, keyPair.getPrivate(), null, null);
+        privateKeyJwtRequestBody = URLUtils.serializeParameters(privateKeyJWT.toParameters());
+    }
+
+    @Benchmark
+    public ClientRegistry privateKeyJwt() throws TokenAuthInvalidException {
+        return privateKeyJwtValidator.validateTokenAuthAndReturnClientRegistryIfValid(
+                privateKeyJwtRequestBody, Map.of());
+    }
+
+    @Benchmark
+    public PublicKey parseClientPublicKeyPerRequest() throws Exception {
+        var keySpec = new X509EncodedKeySpec(Base64.getMimeDecoder().decode(encodedPublicKey));
+        return KeyFactory.getInstance("RSA").generatePublic(keySpec);
+    }
+
+    @Benchmark
+    public ClientRegistry clientSecretPost() throws TokenAuthInvalidException {
+        return clientSecretPostValidator.validateTokenAuthAndReturnClientRegistryIfValid(
+                clientSecretPostRequestBody, Map.of());
+    }
+}
@@ -0,0 +1,66 @@
+package uk.gov.di.authentication.benchmarks;
+
+import com.nimbusds.oauth2.sdk.id.Subject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import uk.gov.di.authentication.shared.entity.ClientRegistry;
+import uk.gov.di.authentication.shared.entity.UserProfile;
+import uk.gov.di.authentication.shared.helpers.ClientSubjectHelper;
+import uk.gov.di.authentication.shared.helpers.SaltHelper;
+import uk.gov.di.authentication.shared.services.AuthenticationService;
+
+import java.lang.reflect.Proxy;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ClientSubjectBenchmark {
+
+    private UserProfile userProfile;
+    private ClientRegistry client;
+    private AuthenticationService authenticationService;
+
+    @Setup
+    public void setUp() {
+        var salt = SaltHelper.generateNewSalt();
+        userProfile =
+                new UserProfile()
+                        .withEmail("joe.bloggs@digital.cabinet-office.gov.uk")
+                        .withSubjectID("benchmark-internal-subject-id")
+                        .withSalt(ByteBuffer.wrap(salt));
+        client =
+                new ClientRegistry()
+                        .withClientID("benchmark-client-id")
+                        .withSubjectType("pairwise")
+                        .withRedirectUrls(List.of("https://www.rp.benchmark/callback"))
+                        .withSectorIdentifierUri("https://rp.benchmark");
+        authenticationService =
+                (AuthenticationService)
+                        Proxy.newProxyInstance(
+                                AuthenticationService.class.getClassLoader(),
+                                new Class<?>[] {AuthenticationService.class},
+                                (proxy, method, args) -> {
+                                    if (method.getName().equals("getOrGenerateSalt")) {
+                                        return salt;
+                                    }
+                                    throw new UnsupportedOperationException(method.getName());
+                                });
+    }
+
+    @Benchmark
+    public Subject pairwiseSubject() {
+        return ClientSubjectHelper.getSubject(
+                userProfile,
+                client,
+                authenticationService,
+                BenchmarkConfigurationService.INTERNAL_SECTOR_URI);
+    }
+}
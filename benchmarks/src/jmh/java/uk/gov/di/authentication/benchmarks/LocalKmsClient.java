@@ -0,0 +1,69 @@
+package uk.gov.di.authentication.benchmarks;
+
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.services.kms.KmsClient;
+import software.amazon.awssdk.services.kms.model.GetPublicKeyRequest;
+import software.amazon.awssdk.services.kms.model.GetPublicKeyResponse;
+import software.amazon.awssdk.services.kms.model.KeySpec;
+import software.amazon.awssdk.services.kms.model.SignRequest;
+import software.amazon.awssdk.services.kms.model.SignResponse;
+import software.amazon.awssdk.services.kms.model.SigningAlgorithmSpec;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.Signature;
+import java.security.spec.ECGenParameterSpec;
+
+public class LocalKmsClient implements KmsClient {
+
+    private final KeyPair ecKeyPair;
+
+    public LocalKmsClient() {
+        try {
+            var keyPairGenerator = KeyPairGenerator.getInstance("EC");
+            keyPairGenerator.initialize(new ECGenParameterSpec("secp256r1"));
+            this.ecKeyPair = keyPairGenerator.generateKeyPair();
+        } catch (GeneralSecurityException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public GetPublicKeyResponse getPublicKey(GetPublicKeyRequest getPublicKeyRequest) {
+        return GetPublicKeyResponse.builder()
+                .keyId(getPublicKeyRequest.keyId())
+                .keySpec(KeySpec.ECC_NIST_P256)
+                .signingAlgorithms(SigningAlgorithmSpec.ECDSA_SHA_256)
+                .publicKey(SdkBytes.fromByteArray(ecKeyPair.getPublic().getEncoded()))
+                .build();
+    }
+
+    @Override
+    public SignResponse sign(SignRequest signRequest) {
+        if (signRequest.signingAlgorithm() != SigningAlgorithmSpec.ECDSA_SHA_256) {
+            throw new UnsupportedOperationException(
+                    "Unsupported signing algorithm: " + signRequest.signingAlgorithm());
+        }
+        try {
+            var signature = Signature.getInstance("SHA256withECDSA");
+            signature.initSign(ecKeyPair.getPrivate());
+            signature.update(signRequest.message().asByteArray());
+            return SignResponse.builder()
+                    .keyId(signRequest.keyId())
+                    .signingAlgorithm(signRequest.signingAlgorithm())
+                    .signature(SdkBytes.fromByteArray(signature.sign()))
+                    .build();
+        } catch (GeneralSecurityException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public String serviceName() {
+        return SERVICE_NAME;
+    }
+
+    @Override
+    public void close() {}
+}
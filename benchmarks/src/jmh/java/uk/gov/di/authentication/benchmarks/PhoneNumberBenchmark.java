@@ -0,0 +1,42 @@
+package uk.gov.di.authentication.benchmarks;
+
+import com.google.i18n.phonenumbers.NumberParseException;
+import com.google.i18n.phonenumbers.PhoneNumberUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import uk.gov.di.authentication.shared.entity.NormalisedPhoneNumber;
+import uk.gov.di.authentication.shared.services.PhoneNumberNormalisationService;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PhoneNumberBenchmark {
+
+    @Param({"07700 900000", "+33645453322"})
+    public String phoneNumber;
+
+    private final PhoneNumberUtil phoneUtil = PhoneNumberUtil.getInstance();
+    private final PhoneNumberNormalisationService normalisationService =
+            PhoneNumberNormalisationService.getInstance();
+
+    @Benchmark
+    public void libphonenumber(Blackhole blackhole) throws NumberParseException {
+        var parsed = phoneUtil.parse(phoneNumber, "GB");
+        blackhole.consume(phoneUtil.format(parsed, PhoneNumberUtil.PhoneNumberFormat.E164));
+        blackhole.consume(phoneUtil.getNumberType(parsed));
+        blackhole.consume(phoneUtil.isValidNumber(parsed));
+    }
+
+    @Benchmark
+    public NormalisedPhoneNumber normalisationService() throws NumberParseException {
+        return normalisationService.normalise(phoneNumber);
+    }
+}
@@ -0,0 +1,174 @@
+package uk.gov.di.authentication.benchmarks;
+
+import com.google.gson.FieldNamingPolicy;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.nimbusds.oauth2.sdk.id.Subject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import uk.gov.di.audit.TxmaAuditEvent;
+import uk.gov.di.audit.TxmaAuditUser;
+import uk.gov.di.authentication.frontendapi.entity.LoginRequest;
+import uk.gov.di.authentication.shared.entity.ClientSession;
+import uk.gov.di.authentication.shared.entity.Session;
+import uk.gov.di.authentication.shared.entity.VectorOfTrust;
+import uk.gov.di.authentication.shared.serialization.CompactSessionCodec;
+import uk.gov.di.authentication.shared.serialization.Json.JsonException;
+import uk.gov.di.authentication.shared.serialization.LocalDateTimeAdapter;
+import uk.gov.di.authentication.shared.serialization.SubjectAdapter;
+import uk.gov.di.authentication.shared.services.SerializationService;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SerializationBenchmark {
+
+    private final SerializationService serializationService = SerializationService.getInstance();
+    private final CompactSessionCodec compactSessionCodec =
+            new CompactSessionCodec(serializationService);
+    /* The Gson configuration used before the streaming entity adapters, for comparison. */
+    private final Gson reflectiveGson =
+            new GsonBuilder()
+                    .setFieldNamingPolicy(FieldNamingPolicy.LOWER_CASE_WITH_UNDERSCORES)
+                    .serializeNulls()
+                    .excludeFieldsWithoutExposeAnnotation()
+                    .registerTypeAdapter(LocalDateTime.class, new LocalDateTimeAdapter())
+                    .registerTypeAdapter(Subject.class, new SubjectAdapter())
+                    .create();
+
+    private Session session;
+    private ClientSession clientSession;
+    private String sessionJson;
+    private String clientSessionJson;
+    private String compactSession;
+    private String compactClientSession;
+    private String loginRequestJson;
+    private TxmaAuditEvent auditEvent;
+
+    @Setup
+    public void setUp() {
+        session =
+                new Session(
+                                "benchmark-session-id",
+                                new ArrayList<>(List.of("client-session-1", "client-session-2")),
+                                "joe.bloggs@digital.cabinet-office.gov.uk")
+                        .incrementCodeRequestCount()
+                        .setAuthenticated(true);
+        clientSession =
+                new ClientSession(
+                        Map.of(
+                                "client_id", List.of("benchmark-client-id"),
+                                "redirect_uri", List.of("https://rp.benchmark/callback"),
+                                "response_type", List.of("code"),
+                                "scope", List.of("openid email phone"),
+                                "state", List.of("benchmark-state"),
+                                "nonce", List.of("benchmark-nonce"),
+                                "vtr", List.of("[\"Cl.Cm\"]")),
+                        LocalDateTime.now(),
+                        VectorOfTrust.getDefaults(),
+                        "Benchmark relying party");
+        sessionJson = serializationService.writeValueAsString(session);
+        clientSessionJson = serializationService.writeValueAsString(clientSession);
+        compactSession = compactSessionCodec.encode(session);
+        compactClientSession = compactSessionCodec.encode(clientSession);
+        auditEvent =
+                new TxmaAuditEvent("AUTH_BENCHMARK_EVENT", 1_666_000_000L)
+                        .withClientId("benchmark-client-id")
+                        .withComponentId("https://oidc.account.gov.uk")
+                        .withUser(
+                                TxmaAuditUser.user()
+                                        .withUserId("benchmark-subject-id")
+                                        .withSessionId("benchmark-session-id"))
+                        .addExtension("mfa-type", "SMS");
+        loginRequestJson =
+                serializationService.writeValueAsString(
+                        new LoginRequest(
+                                "joe.bloggs@digital.cabinet-office.gov.uk", "a-secure-password"));
+    }
+
+    @Benchmark
+    public String writeSession() {
+        return serializationService.writeValueAsString(session);
+    }
+
+    @Benchmark
+    public Session readSession() throws JsonException {
+        return serializationService.readValue(sessionJson, Session.class);
+    }
+
+    @Benchmark
+    public String writeSessionReflective() {
+        return reflectiveGson.toJson(session);
+    }
+
+    @Benchmark
+    public Session readSessionReflective() {
+        return reflectiveGson.fromJson(sessionJson, Session.class);
+    }
+
+    @Benchmark
+    public String writeClientSession() {
+        return serializationService.writeValueAsString(clientSession);
+    }
+
+    @Benchmark
+    public ClientSession readClientSession() throws JsonException {
+        return serializationService.readValue(clientSessionJson, ClientSession.class);
+    }
+
+    @Benchmark
+    public String writeClientSessionReflective() {
+        return reflectiveGson.toJson(clientSession);
+    }
+
+    @Benchmark
+    public ClientSession readClientSessionReflective() {
+        return reflectiveGson.fromJson(clientSessionJson, ClientSession.class);
+    }
+
+    @Benchmark
+    public String writeAuditEvent() {
+        return auditEvent.serialize();
+    }
+
+    @Benchmark
+    public String writeAuditEventReflective() {
+        return reflectiveGson.toJson(auditEvent);
+    }
+
+    @Benchmark
+    public LoginRequest readLoginRequest() throws JsonException {
+        return serializationService.readValue(loginRequestJson, LoginRequest.class);
+    }
+
+    @Benchmark
+    public String writeCompactSession() {
+        return compactSessionCodec.encode(session);
+    }
+
+    @Benchmark
+    public Session readCompactSession() throws JsonException {
+        return compactSessionCodec.decodeSession(compactSession);
+    }
+
+    @Benchmark
+    public String writeCompactClientSession() {
+        return compactSessionCodec.encode(clientSession);
+    }
+
+    @Benchmark
+    public ClientSession readCompactClientSession() throws JsonException {
+        return compactSessionCodec.decodeClientSession(compactClientSession);
+    }
+}
@@ -0,0 +1,42 @@
+package uk.gov.di.authentication.benchmarks;
+
+import software.amazon.awssdk.auth.credentials.AnonymousCredentialsProvider;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import uk.gov.di.authentication.shared.entity.ClientRegistry;
+import uk.gov.di.authentication.shared.services.ConfigurationService;
+import uk.gov.di.authentication.shared.services.DynamoClientService;
+
+import java.util.Optional;
+
+public class StubClientService extends DynamoClientService {
+
+    private final ClientRegistry clientRegistry;
+
+    public StubClientService(
+            ConfigurationService configurationService, ClientRegistry clientRegistry) {
+        super(
+                configurationService,
+                DynamoDbEnhancedClient.builder()
+                        .dynamoDbClient(
+                                DynamoDbClient.builder()
+                                        .region(Region.EU_WEST_2)
+                                        .credentialsProvider(AnonymousCredentialsProvider.create())
+                                        .build())
+                        .build());
+        this.clientRegistry = clientRegistry;
+    }
+
+    @Override
+    public Optional<ClientRegistry> getClient(String clientId) {
+        return clientRegistry.getClientID().equals(clientId)
+                ? Optional.of(clientRegistry)
+                : Optional.empty();
+    }
+
+    @Override
+    public boolean isValidClient(String clientId) {
+        return clientRegistry.getClientID().equals(clientId);
+    }
+}
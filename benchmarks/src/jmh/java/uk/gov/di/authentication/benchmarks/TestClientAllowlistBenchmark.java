@@ -0,0 +1,56 @@
+package uk.gov.di.authentication.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import uk.gov.di.authentication.shared.helpers.TestClientHelper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TestClientAllowlistBenchmark {
+
+    private static final String CLIENT_ID = "benchmark-client-id";
+    private static final String UNLISTED_EMAIL = "joe.bloggs@example.com";
+
+    private List<String> allowlist;
+
+    @Setup
+    public void setUp() {
+        allowlist = new ArrayList<>();
+        for (int i = 0; i < 150; i++) {
+            allowlist.add("testclient.user" + i + "@digital.cabinet-office.gov.uk");
+        }
+        for (int i = 0; i < 50; i++) {
+            allowlist.add("^(.+)@test-domain-" + i + ".gov.uk$");
+        }
+    }
+
+    @Benchmark
+    public boolean unlistedEmail() {
+        return TestClientHelper.emailMatchesAllowlist(CLIENT_ID, UNLISTED_EMAIL, allowlist);
+    }
+
+    @Benchmark
+    public boolean unlistedEmailRecompilingEachEntry() {
+        for (String allowedEmailEntry : allowlist) {
+            if (allowedEmailEntry.startsWith("^") && allowedEmailEntry.endsWith("$")) {
+                if (Pattern.matches(allowedEmailEntry, UNLISTED_EMAIL)) {
+                    return true;
+                }
+            } else if (allowedEmailEntry.equals(UNLISTED_EMAIL)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
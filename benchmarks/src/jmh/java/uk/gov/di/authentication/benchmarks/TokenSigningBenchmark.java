@@ -0,0 +1,66 @@
+package uk.gov.di.authentication.benchmarks;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import uk.gov.di.authentication.shared.helpers.NowHelper;
+import uk.gov.di.authentication.shared.services.JwksService;
+import uk.gov.di.authentication.shared.services.KmsConnectionService;
+import uk.gov.di.authentication.shared.services.TokenService;
+import uk.gov.di.authentication.shared.services.TokenValidationService;
+
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TokenSigningBenchmark {
+
+    private TokenService tokenService;
+    private TokenValidationService tokenValidationService;
+    private JWTClaimsSet claimsSet;
+    private String signedToken;
+
+    @Setup
+    public void setUp() {
+        var configurationService = new BenchmarkConfigurationService();
+        var kmsConnectionService = new KmsConnectionService(new LocalKmsClient());
+        tokenService = new TokenService(configurationService, null, kmsConnectionService);
+        tokenValidationService =
+                new TokenValidationService(
+                        new JwksService(configurationService, kmsConnectionService),
+                        configurationService);
+        claimsSet =
+                new JWTClaimsSet.Builder()
+                        .issuer(BenchmarkConfigurationService.OIDC_API_BASE_URL)
+                        .subject("urn:fdc:gov.uk:2022:benchmark-subject")
+                        .audience("benchmark-client-id")
+                        .claim("scope", List.of("openid", "am"))
+                        .claim("client_id", "benchmark-client-id")
+                        .expirationTime(NowHelper.nowPlus(1, ChronoUnit.DAYS))
+                        .issueTime(NowHelper.now())
+                        .jwtID("benchmark-jwt-id")
+                        .build();
+        signedToken = generateSignedJWT().serialize();
+    }
+
+    @Benchmark
+    public SignedJWT generateSignedJWT() {
+        return tokenService.generateSignedJWT(claimsSet, Optional.empty(), JWSAlgorithm.ES256);
+    }
+
+    @Benchmark
+    public boolean isTokenSignatureValid() {
+        return tokenValidationService.isTokenSignatureValid(signedToken);
+    }
+}
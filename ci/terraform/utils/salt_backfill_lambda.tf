@@ -0,0 +1,133 @@
+resource "aws_s3_bucket" "salt_backfill" {
+  bucket = "${var.environment}-salt-backfill-bucket"
+  tags   = local.default_tags
+}
+
+resource "aws_s3_bucket_acl" "salt_backfill" {
+  bucket = aws_s3_bucket.salt_backfill.id
+  acl    = "private"
+}
+
+resource "aws_s3_bucket_server_side_encryption_configuration" "salt_backfill" {
+  bucket = aws_s3_bucket.salt_backfill.bucket
+
+  rule {
+    apply_server_side_encryption_by_default {
+      sse_algorithm = "AES256"
+    }
+  }
+}
+
+data "aws_iam_policy_document" "salt_backfill_access" {
+  statement {
+    sid    = "AllowScanAndUpdateOfUserProfileTable"
+    effect = "Allow"
+
+    actions = [
+      "dynamodb:Scan",
+      "dynamodb:UpdateItem",
+    ]
+
+    resources = [
+      data.aws_dynamodb_table.user_profile.arn,
+    ]
+  }
+
+  statement {
+    sid    = "AllowCheckpointReadAndWrite"
+    effect = "Allow"
+
+    actions = [
+      "s3:GetObject",
+      "s3:PutObject",
+      "s3:ListBucket",
+    ]
+
+    resources = [
+      aws_s3_bucket.salt_backfill.arn,
+      "${aws_s3_bucket.salt_backfill.arn}/*",
+    ]
+  }
+}
+
+resource "aws_iam_policy" "salt_backfill_access" {
+  name_prefix = "salt-backfill-access-policy"
+  description = "IAM policy for backfilling salts in the Dynamo User Profile table"
+
+  policy = data.aws_iam_policy_document.salt_backfill_access.json
+}
+
+module "salt_backfill_lambda_role" {
+  source = "../modules/lambda-role"
+
+  environment = var.environment
+  role_name   = "salt-backfill-lambda-role"
+
+  policies_to_attach = [
+    aws_iam_policy.salt_backfill_access.arn,
+  ]
+}
+
+resource "aws_lambda_function" "salt_backfill_lambda" {
+  function_name = "${var.environment}-salt-backfill-lambda"
+  role          = module.salt_backfill_lambda_role.arn
+  handler       = "uk.gov.di.authentication.utils.lambda.SaltBackfillHandler::handleRequest"
+  timeout       = 900
+  memory_size   = 1024
+  runtime       = "java11"
+  publish       = true
+
+  s3_bucket         = aws_s3_object.utils_release_zip.bucket
+  s3_key            = aws_s3_object.utils_release_zip.key
+  s3_object_version = aws_s3_object.utils_release_zip.version_id
+
+  environment {
+    variables = merge({
+      ENVIRONMENT               = var.environment
+      SALT_BACKFILL_BUCKET_NAME = aws_s3_bucket.salt_backfill.bucket
+    })
+  }
+
+  tags = local.default_tags
+}
+
+resource "aws_cloudwatch_log_group" "salt_backfill_lambda_log_group" {
+  count = var.use_localstack ? 0 : 1
+
+  name              = "/aws/lambda/${aws_lambda_function.salt_backfill_lambda.function_name}"
+  kms_key_id        = local.cloudwatch_encryption_key_arn
+  retention_in_days = var.cloudwatch_log_retention
+
+  tags = local.default_tags
+}
+
+resource "aws_cloudwatch_log_subscription_filter" "salt_backfill_log_subscription" {
+  count           = length(var.logging_endpoint_arns)
+  name            = "${aws_lambda_function.salt_backfill_lambda.function_name}-log-subscription-${count.index}"
+  log_group_name  = aws_cloudwatch_log_group.salt_backfill_lambda_log_group[0].name
+  filter_pattern  = ""
+  destination_arn = var.logging_endpoint_arns[count.index]
+
+  lifecycle {
+    create_before_destroy = false
+  }
+}
+
+resource "aws_cloudwatch_event_rule" "salt_backfill_schedule" {
+  name                = "${var.environment}-salt-backfill-schedule"
+  schedule_expression = "rate(30 minutes)"
+}
+
+resource "aws_cloudwatch_event_target" "salt_backfill_schedule_target" {
+  arn       = aws_lambda_function.salt_backfill_lambda.arn
+  rule      = aws_cloudwatch_event_rule.salt_backfill_schedule.name
+  target_id = aws_lambda_function.salt_backfill_lambda.version
+}
+
+resource "aws_lambda_permission" "allow_cloudwatch_to_call_salt_backfill_lambda" {
+  statement_id  = "AllowExecutionFromCloudWatch"
+  action        = "lambda:InvokeFunction"
+  function_name = aws_lambda_function.salt_backfill_lambda.function_name
+  principal     = "events.amazonaws.com"
+  source_arn    = aws_cloudwatch_event_rule.salt_backfill_schedule.arn
+}
@@ -0,0 +1,271 @@
+package uk.gov.di.authentication.coldstart;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.reflect.Modifier;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Measures the cold start of every Lambda handler in the api modules. Each handler is started in
+ * its own JVM on its module's runtime classpath, where {@link ColdStartProbe} times class loading,
+ * construction and the first invocation. The results are written as a report sorted by total
+ * cold-start time.
+ *
+ * <p>Arguments are a manifest with one {@code module<TAB>classesDirs<TAB>runtimeClasspath} line per
+ * module, and the report file to write.
+ */
+public class ColdStartHarness {
+
+    private static final String REQUEST_HANDLER =
+            "com.amazonaws.services.lambda.runtime.RequestHandler";
+    private static final int RUNS = Integer.getInteger("coldStart.runs", 3);
+    private static final List<String> JVM_ARGS =
+            Arrays.stream(System.getProperty("coldStart.jvmArgs", "").trim().split("\\s+"))
+                    .filter(arg -> !arg.isEmpty())
+                    .collect(Collectors.toList());
+    private static final Pattern HANDLER_FILTER =
+            Pattern.compile(System.getProperty("coldStart.handlers", ".*"));
+    private static final long TIMEOUT_SECONDS = Long.getLong("coldStart.timeoutSeconds", 120);
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        var manifest = Path.of(args[0]);
+        var reportFile = Path.of(args[1]);
+
+        var results = new ArrayList<ModuleResult>();
+        for (String line : Files.readAllLines(manifest, StandardCharsets.UTF_8)) {
+            if (line.isBlank()) {
+                continue;
+            }
+            var columns = line.split("\t");
+            var module = columns[0];
+            var runtimeClasspath = columns[2];
+            for (String handler : findHandlers(columns[1], runtimeClasspath)) {
+                var runs = new ArrayList<ColdStartResult>();
+                for (int run = 0; run < RUNS; run++) {
+                    runs.add(runProbe(handler, runtimeClasspath));
+                }
+                var result = ColdStartResult.median(runs);
+                System.out.printf(
+                        "%s %s: %.1f ms (%s)%n",
+                        module, handler, result.getTotalMillis(), result.getOutcome());
+                results.add(new ModuleResult(module, result));
+            }
+        }
+
+        var report = report(results);
+        System.out.println(report);
+        Files.createDirectories(reportFile.toAbsolutePath().getParent());
+        Files.writeString(reportFile, report, StandardCharsets.UTF_8);
+    }
+
+    static List<String> findHandlers(String classesDirs, String runtimeClasspath)
+            throws IOException {
+        var handlers = new ArrayList<String>();
+        try (var loader =
+                new URLClassLoader(
+                        toUrls(runtimeClasspath), ClassLoader.getPlatformClassLoader())) {
+            var requestHandler = loader.loadClass(REQUEST_HANDLER);
+            for (String classesDir : classesDirs.split(File.pathSeparator)) {
+                var root = Path.of(classesDir);
+                if (!Files.isDirectory(root)) {
+                    continue;
+                }
+                try (Stream<Path> classFiles = Files.walk(root)) {
+                    for (String className :
+                            classFiles
+                                    .map(root::relativize)
+                                    .map(Path::toString)
+                                    .filter(name -> name.endsWith("Handler.class"))
+                                    .filter(name -> !name.contains("$"))
+                                    .map(name -> name.replace(".class", ""))
+                                    .map(name -> name.replace(File.separatorChar, '.'))
+                                    .sorted()
+                                    .collect(Collectors.toList())) {
+                        var handlerClass = Class.forName(className, false, loader);
+                        if (requestHandler.isAssignableFrom(handlerClass)
+                                && !Modifier.isAbstract(handlerClass.getModifiers())
+                                && hasNoArgConstructor(handlerClass)
+                                && HANDLER_FILTER.matcher(className).find()) {
+                            handlers.add(className);
+                        }
+                    }
+                }
+            }
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException("Unable to load handler classes", e);
+        }
+        return handlers;
+    }
+
+    private static ColdStartResult runProbe(String handler, String runtimeClasspath)
+            throws IOException, InterruptedException {
+        var argFile = Files.createTempFile("cold-start", ".args");
+        try {
+            var classpath =
+                    runtimeClasspath + File.pathSeparator + System.getProperty("java.class.path");
+            Files.writeString(
+                    argFile,
+                    "-cp \"" + classpath.replace("\\", "\\\\") + "\"",
+                    StandardCharsets.UTF_8);
+            var command = new ArrayList<String>();
+            command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+            command.addAll(JVM_ARGS);
+            command.add("@" + argFile);
+            command.add(ColdStartProbe.class.getName());
+            command.add(handler);
+
+            var process = new ProcessBuilder(command).redirectErrorStream(true).start();
+            var output = new ProbeOutput(process);
+            output.start();
+            if (!process.waitFor(TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+            output.join();
+            if (output.result.isEmpty()) {
+                System.out.println(
+                        "No cold-start result for "
+                                + handler
+                                + ":\n"
+                                + String.join("\n", output.lastLines));
+                return new ColdStartResult(
+                        handler, 0, 0, 0, 0, 0, 0, 0, 0, "probe:NoResult", List.of());
+            }
+            return output.result.get();
+        } finally {
+            Files.deleteIfExists(argFile);
+        }
+    }
+
+    static String report(List<ModuleResult> results) {
+        var report = new StringBuilder();
+        report.append(
+                String.format(
+                        "%-28s %-42s %9s %9s %9s %9s %9s %9s %8s %8s %9s  %-24s %s%n",
+                        "module",
+                        "handler",
+                        "total ms",
+                        "jvm ms",
+                        "load ms",
+                        "init ms",
+                        "1st ms",
+                        "2nd ms",
+                        "classes",
+                        "+invoke",
+                        "heap MB",
+                        "outcome",
+                        "services"));
+        results.stream()
+                .sorted(
+                        Comparator.comparingDouble(
+                                        (ModuleResult moduleResult) ->
+                                                moduleResult.result.getTotalMillis())
+                                .reversed())
+                .forEach(
+                        moduleResult -> {
+                            var result = moduleResult.result;
+                            var handler = result.getHandler();
+                            report.append(
+                                    String.format(
+                                            Locale.ROOT,
+                                            "%-28s %-42s %9.1f %9.1f %9.1f %9.1f %9.1f %9.1f %8d %8d %9.1f  %-24s %s%n",
+                                            moduleResult.module,
+                                            handler.substring(handler.lastIndexOf('.') + 1),
+                                            result.getTotalMillis(),
+                                            result.getJvmStartMillis(),
+                                            result.getClassLoadMillis(),
+                                            result.getConstructorMillis(),
+                                            result.getFirstInvocationMillis(),
+                                            result.getSecondInvocationMillis(),
+                                            result.getLoadedClassesAfterInit(),
+                                            result.getLoadedClassesAfterInvocation()
+                                                    - result.getLoadedClassesAfterInit(),
+                                            result.getHeapAfterInitBytes() / (1024.0 * 1024.0),
+                                            result.getOutcome(),
+                                            String.join(",", result.getServices())));
+                        });
+        return report.toString();
+    }
+
+    private static boolean hasNoArgConstructor(Class<?> handlerClass) {
+        try {
+            handlerClass.getConstructor();
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    private static URL[] toUrls(String classpath) throws MalformedURLException {
+        var entries = classpath.split(File.pathSeparator);
+        var urls = new URL[entries.length];
+        for (int i = 0; i < entries.length; i++) {
+            urls[i] = Path.of(entries[i]).toUri().toURL();
+        }
+        return urls;
+    }
+
+    private static class ProbeOutput extends Thread {
+        private static final int RETAINED_LINES = 20;
+
+        private final Process process;
+        private final Deque<String> lastLines = new ArrayDeque<>();
+        private volatile Optional<ColdStartResult> result = Optional.empty();
+
+        private ProbeOutput(Process process) {
+            this.process = process;
+            setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            try (var reader =
+                    new BufferedReader(
+                            new InputStreamReader(
+                                    process.getInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    var parsed = ColdStartResult.parse(line);
+                    if (parsed.isPresent()) {
+                        result = parsed;
+                    } else {
+                        lastLines.addLast(line);
+                        if (lastLines.size() > RETAINED_LINES) {
+                            lastLines.removeFirst();
+                        }
+                    }
+                }
+            } catch (IOException e) {
+                lastLines.addLast("Unable to read probe output: " + e.getMessage());
+            }
+        }
+    }
+
+    static class ModuleResult {
+        private final String module;
+        private final ColdStartResult result;
+
+        ModuleResult(String module, ColdStartResult result) {
+            this.module = module;
+            this.result = result;
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package uk.gov.di.authentication.coldstart;
+
+import com.amazonaws.services.lambda.runtime.ClientContext;
+import com.amazonaws.services.lambda.runtime.CognitoIdentity;
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.LambdaLogger;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
+import com.amazonaws.services.lambda.runtime.events.S3Event;
+import com.amazonaws.services.lambda.runtime.events.SNSEvent;
+import com.amazonaws.services.lambda.runtime.events.SQSEvent;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.UUID;
+
+/**
+ * Runs inside a fresh JVM for a single handler: loads the handler class, runs its no-arg
+ * constructor as the Lambda runtime would and invokes it twice with a synthetic event, then prints
+ * one {@link ColdStartResult} line for {@link ColdStartHarness} to collect.
+ */
+public class ColdStartProbe {
+
+    public static void main(String[] args) {
+        var mainEnteredAt = System.currentTimeMillis();
+        var jvmStartMillis =
+                (double) (mainEnteredAt - ManagementFactory.getRuntimeMXBean().getStartTime());
+        var classLoading = ManagementFactory.getClassLoadingMXBean();
+        var handlerName = args[0];
+
+        var phase = "classLoad";
+        double classLoadMillis = 0;
+        double constructorMillis = 0;
+        double firstInvocationMillis = 0;
+        double secondInvocationMillis = 0;
+        long loadedClassesAfterInit = 0;
+        long loadedClassesAfterInvocation = 0;
+        long heapAfterInitBytes = 0;
+        var outcome = ColdStartResult.OUTCOME_OK;
+        List<String> services = List.of();
+
+        try {
+            var start = System.nanoTime();
+            var handlerClass = Class.forName(handlerName);
+            classLoadMillis = millisSince(start);
+
+            phase = "constructor";
+            start = System.nanoTime();
+            var handler = handlerClass.getConstructor().newInstance();
+            constructorMillis = millisSince(start);
+            loadedClassesAfterInit = classLoading.getLoadedClassCount();
+            heapAfterInitBytes = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+            services = collaborators(handler);
+
+            phase = "invocation";
+            var handleRequest = findHandleRequest(handlerClass);
+            start = System.nanoTime();
+            outcome = invoke(handler, handleRequest);
+            firstInvocationMillis = millisSince(start);
+            loadedClassesAfterInvocation = classLoading.getLoadedClassCount();
+
+            start = System.nanoTime();
+            invoke(handler, handleRequest);
+            secondInvocationMillis = millisSince(start);
+        } catch (InvocationTargetException e) {
+            outcome = phase + ":" + e.getCause().getClass().getSimpleName();
+        } catch (ReflectiveOperationException | RuntimeException | LinkageError e) {
+            outcome = phase + ":" + e.getClass().getSimpleName();
+        }
+
+        System.out.println(
+                new ColdStartResult(
+                                handlerName,
+                                jvmStartMillis,
+                                classLoadMillis,
+                                constructorMillis,
+                                firstInvocationMillis,
+                                secondInvocationMillis,
+                                loadedClassesAfterInit,
+                                loadedClassesAfterInvocation,
+                                heapAfterInitBytes,
+                                outcome,
+                                services)
+                        .format());
+        System.out.flush();
+        System.exit(0);
+    }
+
+    private static String invoke(Object handler, Method handleRequest)
+            throws ReflectiveOperationException {
+        try {
+            handleRequest.invoke(
+                    handler,
+                    syntheticEvent(handleRequest.getParameterTypes()[0]),
+                    new ProbeContext());
+            return ColdStartResult.OUTCOME_OK;
+        } catch (InvocationTargetException e) {
+            return "invocation:" + e.getCause().getClass().getSimpleName();
+        }
+    }
+
+    private static Method findHandleRequest(Class<?> handlerClass) throws NoSuchMethodException {
+        for (Method method : handlerClass.getMethods()) {
+            if (method.getName().equals("handleRequest")
+                    && method.getParameterCount() == 2
+                    && !method.isBridge()
+                    && method.getParameterTypes()[1] == Context.class) {
+                return method;
+            }
+        }
+        throw new NoSuchMethodException(handlerClass.getName() + ".handleRequest");
+    }
+
+    private static Object syntheticEvent(Class<?> eventType) throws ReflectiveOperationException {
+        if (eventType == String.class) {
+            return "";
+        }
+        if (eventType == APIGatewayProxyRequestEvent.class) {
+            return new APIGatewayProxyRequestEvent()
+                    .withHeaders(new HashMap<>())
+                    .withMultiValueHeaders(new HashMap<>())
+                    .withQueryStringParameters(new HashMap<>())
+                    .withBody("{}")
+                    .withRequestContext(
+                            new APIGatewayProxyRequestEvent.ProxyRequestContext()
+                                    .withRequestId(UUID.randomUUID().toString()));
+        }
+        if (eventType == SQSEvent.class) {
+            var event = new SQSEvent();
+            event.setRecords(new ArrayList<>());
+            return event;
+        }
+        if (eventType == SNSEvent.class) {
+            return new SNSEvent().withRecords(new ArrayList<>());
+        }
+        if (eventType == S3Event.class) {
+            return new S3Event(new ArrayList<>());
+        }
+        return eventType.getConstructor().newInstance();
+    }
+
+    private static List<String> collaborators(Object handler) throws IllegalAccessException {
+        var collaborators = new TreeSet<String>();
+        for (Class<?> type = handler.getClass();
+                type != Object.class;
+                type = type.getSuperclass()) {
+            for (var field : type.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers())
+                        || field.getType().isPrimitive()
+                        || !field.getType().getName().startsWith("uk.gov.di.")) {
+                    continue;
+                }
+                field.setAccessible(true);
+                if (field.get(handler) != null) {
+                    collaborators.add(field.getType().getSimpleName());
+                }
+            }
+        }
+        return new ArrayList<>(collaborators);
+    }
+
+    private static double millisSince(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000.0;
+    }
+
+    private static class ProbeContext implements Context {
+
+        private final String requestId = UUID.randomUUID().toString();
+
+        @Override
+        public String getAwsRequestId() {
+            return requestId;
+        }
+
+        @Override
+        public String getLogGroupName() {
+            return "cold-start";
+        }
+
+        @Override
+        public String getLogStreamName() {
+            return "cold-start";
+        }
+
+        @Override
+        public String getFunctionName() {
+            return "cold-start";
+        }
+
+        @Override
+        public String getFunctionVersion() {
+            return "$LATEST";
+        }
+
+        @Override
+        public String getInvokedFunctionArn() {
+            return "arn:aws:lambda:eu-west-2:123456789012:function:cold-start";
+        }
+
+        @Override
+        public CognitoIdentity getIdentity() {
+            return null;
+        }
+
+        @Override
+        public ClientContext getClientContext() {
+            return null;
+        }
+
+        @Override
+        public int getRemainingTimeInMillis() {
+            return 30_000;
+        }
+
+        @Override
+        public int getMemoryLimitInMB() {
+            return 512;
+        }
+
+        @Override
+        public LambdaLogger getLogger() {
+            return new LambdaLogger() {
+                @Override
+                public void log(String message) {
+                    System.err.println(message);
+                }
+
+                @Override
+                public void log(byte[] message) {
+                    System.err.println(new String(message));
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package uk.gov.di.authentication.coldstart;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+
+public class ColdStartResult {
+
+    static final String PREFIX = "COLD_START_RESULT";
+    static final String OUTCOME_OK = "ok";
+
+    private final String handler;
+    private final double jvmStartMillis;
+    private final double classLoadMillis;
+    private final double constructorMillis;
+    private final double firstInvocationMillis;
+    private final double secondInvocationMillis;
+    private final long loadedClassesAfterInit;
+    private final long loadedClassesAfterInvocation;
+    private final long heapAfterInitBytes;
+    private final String outcome;
+    private final List<String> services;
+
+    public ColdStartResult(
+            String handler,
+            double jvmStartMillis,
+            double classLoadMillis,
+            double constructorMillis,
+            double firstInvocationMillis,
+            double secondInvocationMillis,
+            long loadedClassesAfterInit,
+            long loadedClassesAfterInvocation,
+            long heapAfterInitBytes,
+            String outcome,
+            List<String> services) {
+        this.handler = handler;
+        this.jvmStartMillis = jvmStartMillis;
+        this.classLoadMillis = classLoadMillis;
+        this.constructorMillis = constructorMillis;
+        this.firstInvocationMillis = firstInvocationMillis;
+        this.secondInvocationMillis = secondInvocationMillis;
+        this.loadedClassesAfterInit = loadedClassesAfterInit;
+        this.loadedClassesAfterInvocation = loadedClassesAfterInvocation;
+        this.heapAfterInitBytes = heapAfterInitBytes;
+        this.outcome = outcome;
+        this.services = services;
+    }
+
+    public String getHandler() {
+        return handler;
+    }
+
+    public double getJvmStartMillis() {
+        return jvmStartMillis;
+    }
+
+    public double getClassLoadMillis() {
+        return classLoadMillis;
+    }
+
+    public double getConstructorMillis() {
+        return constructorMillis;
+    }
+
+    public double getFirstInvocationMillis() {
+        return firstInvocationMillis;
+    }
+
+    public double getSecondInvocationMillis() {
+        return secondInvocationMillis;
+    }
+
+    public long getLoadedClassesAfterInit() {
+        return loadedClassesAfterInit;
+    }
+
+    public long getLoadedClassesAfterInvocation() {
+        return loadedClassesAfterInvocation;
+    }
+
+    public long getHeapAfterInitBytes() {
+        return heapAfterInitBytes;
+    }
+
+    public String getOutcome() {
+        return outcome;
+    }
+
+    public List<String> getServices() {
+        return services;
+    }
+
+    public double getTotalMillis() {
+        return classLoadMillis + constructorMillis + firstInvocationMillis;
+    }
+
+    public String format() {
+        return String.join(
+                " ",
+                PREFIX,
+                "handler=" + handler,
+                "jvmStartMillis=" + formatMillis(jvmStartMillis),
+                "classLoadMillis=" + formatMillis(classLoadMillis),
+                "constructorMillis=" + formatMillis(constructorMillis),
+                "firstInvocationMillis=" + formatMillis(firstInvocationMillis),
+                "secondInvocationMillis=" + formatMillis(secondInvocationMillis),
+                "loadedClassesAfterInit=" + loadedClassesAfterInit,
+                "loadedClassesAfterInvocation=" + loadedClassesAfterInvocation,
+                "heapAfterInitBytes=" + heapAfterInitBytes,
+                "outcome=" + outcome,
+                "services=" + String.join(",", services));
+    }
+
+    public static Optional<ColdStartResult> parse(String line) {
+        if (!line.startsWith(PREFIX + " ")) {
+            return Optional.empty();
+        }
+        Map<String, String> values = new HashMap<>();
+        for (String field : line.substring(PREFIX.length() + 1).split(" ")) {
+            var separator = field.indexOf('=');
+            if (separator > 0) {
+                values.put(field.substring(0, separator), field.substring(separator + 1));
+            }
+        }
+        var services = values.getOrDefault("services", "");
+        return Optional.of(
+                new ColdStartResult(
+                        values.get("handler"),
+                        Double.parseDouble(values.get("jvmStartMillis")),
+                        Double.parseDouble(values.get("classLoadMillis")),
+                        Double.parseDouble(values.get("constructorMillis")),
+                        Double.parseDouble(values.get("firstInvocationMillis")),
+                        Double.parseDouble(values.get("secondInvocationMillis")),
+                        Long.parseLong(values.get("loadedClassesAfterInit")),
+                        Long.parseLong(values.get("loadedClassesAfterInvocation")),
+                        Long.parseLong(values.get("heapAfterInitBytes")),
+                        values.get("outcome"),
+                        services.isEmpty() ? List.of() : Arrays.asList(services.split(","))));
+    }
+
+    /**
+     * Combines repeated runs of the same handler by taking the median of each measurement, so a
+     * single slow JVM start does not skew the report.
+     */
+    public static ColdStartResult median(List<ColdStartResult> runs) {
+        if (runs.isEmpty()) {
+            throw new IllegalArgumentException("At least one run is required");
+        }
+        var first = runs.get(0);
+        return new ColdStartResult(
+                first.handler,
+                medianMillis(runs, ColdStartResult::getJvmStartMillis),
+                medianMillis(runs, ColdStartResult::getClassLoadMillis),
+                medianMillis(runs, ColdStartResult::getConstructorMillis),
+                medianMillis(runs, ColdStartResult::getFirstInvocationMillis),
+                medianMillis(runs, ColdStartResult::getSecondInvocationMillis),
+                medianCount(runs, ColdStartResult::getLoadedClassesAfterInit),
+                medianCount(runs, ColdStartResult::getLoadedClassesAfterInvocation),
+                medianCount(runs, ColdStartResult::getHeapAfterInitBytes),
+                first.outcome,
+                first.services);
+    }
+
+    private static double medianMillis(
+            List<ColdStartResult> runs, ToDoubleFunction<ColdStartResult> measurement) {
+        var sorted = runs.stream().mapToDouble(measurement).sorted().toArray();
+        var middle = sorted.length / 2;
+        return sorted.length % 2 == 1 ? sorted[middle] : (sorted[middle - 1] + sorted[middle]) / 2;
+    }
+
+    private static long medianCount(
+            List<ColdStartResult> runs, ToLongFunction<ColdStartResult> measurement) {
+        var sorted = runs.stream().mapToLong(measurement).sorted().toArray();
+        return sorted[sorted.length / 2];
+    }
+
+    private static String formatMillis(double millis) {
+        return String.format(Locale.ROOT, "%.3f", millis);
+    }
+}
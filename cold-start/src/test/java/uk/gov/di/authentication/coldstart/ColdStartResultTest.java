@@ -0,0 +1,89 @@
+package uk.gov.di.authentication.coldstart;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThan;
+
+class ColdStartResultTest {
+
+    private static final String HANDLER = "uk.gov.di.authentication.oidc.lambda.TokenHandler";
+
+    @Test
+    void shouldParseFormattedResult() {
+        var result =
+                result(120.5, 800.25, List.of("KmsConnectionService", "RedisConnectionService"));
+
+        var parsed = ColdStartResult.parse(result.format()).orElseThrow();
+
+        assertThat(parsed.getHandler(), equalTo(HANDLER));
+        assertThat(parsed.getClassLoadMillis(), closeTo(120.5, 0.001));
+        assertThat(parsed.getConstructorMillis(), closeTo(800.25, 0.001));
+        assertThat(parsed.getFirstInvocationMillis(), closeTo(300, 0.001));
+        assertThat(parsed.getLoadedClassesAfterInit(), equalTo(5000L));
+        assertThat(parsed.getHeapAfterInitBytes(), equalTo(64L * 1024 * 1024));
+        assertThat(parsed.getOutcome(), equalTo(ColdStartResult.OUTCOME_OK));
+        assertThat(
+                parsed.getServices(),
+                equalTo(List.of("KmsConnectionService", "RedisConnectionService")));
+    }
+
+    @Test
+    void shouldParseResultWithoutServices() {
+        var parsed = ColdStartResult.parse(result(1, 2, List.of()).format()).orElseThrow();
+
+        assertThat(parsed.getServices(), equalTo(List.of()));
+    }
+
+    @Test
+    void shouldIgnoreHandlerOutput() {
+        assertThat(
+                ColdStartResult.parse("{\"message\":\"Request received\"}"),
+                equalTo(Optional.empty()));
+    }
+
+    @Test
+    void shouldTakeMedianOfEachMeasurementAcrossRuns() {
+        var median =
+                ColdStartResult.median(
+                        List.of(
+                                result(100, 900, List.of()),
+                                result(300, 700, List.of()),
+                                result(200, 800, List.of())));
+
+        assertThat(median.getClassLoadMillis(), closeTo(200, 0.001));
+        assertThat(median.getConstructorMillis(), closeTo(800, 0.001));
+        assertThat(median.getTotalMillis(), closeTo(1300, 0.001));
+    }
+
+    @Test
+    void shouldSortReportBySlowestTotalColdStart() {
+        var fast = new ColdStartHarness.ModuleResult("frontend-api", result(10, 20, List.of()));
+        var slow = new ColdStartHarness.ModuleResult("oidc-api", result(100, 2000, List.of()));
+
+        var report = ColdStartHarness.report(List.of(fast, slow));
+
+        assertThat(report.indexOf("oidc-api"), lessThan(report.indexOf("frontend-api")));
+    }
+
+    private static ColdStartResult result(
+            double classLoadMillis, double constructorMillis, List<String> services) {
+        return new ColdStartResult(
+                HANDLER,
+                250,
+                classLoadMillis,
+                constructorMillis,
+                300,
+                5,
+                5000,
+                6500,
+                64L * 1024 * 1024,
+                ColdStartResult.OUTCOME_OK,
+                services);
+    }
+}
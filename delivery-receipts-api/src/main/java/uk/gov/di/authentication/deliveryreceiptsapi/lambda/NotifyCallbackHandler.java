@@ -5,7 +5,6 @@ import com.amazonaws.services.lambda.runtime.RequestHandler;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
 import com.google.i18n.phonenumbers.NumberParseException;
-import com.google.i18n.phonenumbers.PhoneNumberUtil;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import uk.gov.di.authentication.deliveryreceiptsapi.entity.NotifyDeliveryReceipt;
@@ -14,6 +13,7 @@ import uk.gov.di.authentication.shared.serialization.Json;
 import uk.gov.di.authentication.shared.serialization.Json.JsonException;
 import uk.gov.di.authentication.shared.services.CloudwatchMetricsService;
 import uk.gov.di.authentication.shared.services.ConfigurationService;
+import uk.gov.di.authentication.shared.services.PhoneNumberNormalisationService;
 import uk.gov.di.authentication.shared.services.SerializationService;
 import uk.gov.di.authentication.shared.services.SystemService;
 
@@ -125,9 +125,8 @@ public class NotifyCallbackHandler
     }
 
     private int getCountryCodeFromNumber(String number) {
-        var phoneUtil = PhoneNumberUtil.getInstance();
         try {
-            return phoneUtil.parse(number, "GB").getCountryCode();
+            return PhoneNumberNormalisationService.getInstance().normalise(number).getCountryCode();
         } catch (NumberParseException e) {
             LOG.error("Unable to parse number");
             throw new RuntimeException("Unable to parse number");
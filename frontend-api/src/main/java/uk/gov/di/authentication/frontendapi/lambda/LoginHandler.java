@@ -20,6 +20,8 @@ import uk.gov.di.authentication.shared.entity.MFAMethod;
 import uk.gov.di.authentication.shared.entity.MFAMethodType;
 import uk.gov.di.authentication.shared.entity.UserCredentials;
 import uk.gov.di.authentication.shared.entity.UserProfile;
+import uk.gov.di.authentication.shared.exceptions.Argon2HashRejectedException;
+import uk.gov.di.authentication.shared.helpers.Argon2EncoderHelper;
 import uk.gov.di.authentication.shared.helpers.ClientSubjectHelper;
 import uk.gov.di.authentication.shared.helpers.IpAddressHelper;
 import uk.gov.di.authentication.shared.helpers.PersistentIdHelper;
@@ -46,6 +48,7 @@ import static uk.gov.di.authentication.shared.conditions.MfaHelper.getPrimaryMFA
 import static uk.gov.di.authentication.shared.entity.Session.AccountState.EXISTING;
 import static uk.gov.di.authentication.shared.helpers.ApiGatewayResponseHelper.generateApiGatewayProxyErrorResponse;
 import static uk.gov.di.authentication.shared.helpers.ApiGatewayResponseHelper.generateApiGatewayProxyResponse;
+import static uk.gov.di.authentication.shared.helpers.ApiGatewayResponseHelper.generateApiGatewayProxyRetryLaterResponse;
 import static uk.gov.di.authentication.shared.helpers.LogLineHelper.attachSessionIdToLogs;
 import static uk.gov.di.authentication.shared.services.AuditService.MetadataPair.pair;
 
@@ -263,6 +266,9 @@ public class LoginHandler extends BaseFrontendHandler<LoginRequest>
                             isPasswordChangeRequired));
         } catch (JsonException e) {
             return generateApiGatewayProxyErrorResponse(400, ErrorResponse.ERROR_1001);
+        } catch (Argon2HashRejectedException e) {
+            return generateApiGatewayProxyRetryLaterResponse(
+                    ErrorResponse.ERROR_1049, e.getRetryAfterSeconds());
         }
     }
 
@@ -276,7 +282,21 @@ public class LoginHandler extends BaseFrontendHandler<LoginRequest>
             LOG.info("Processing migrated user");
             return userMigrationService.processMigratedUser(userCredentials, request.getPassword());
         } else {
-            return authenticationService.login(userCredentials, request.getPassword());
+            var passwordMatches =
+                    authenticationService.login(userCredentials, request.getPassword());
+            if (passwordMatches && Argon2EncoderHelper.needsRehash(userCredentials.getPassword())) {
+                rehashPassword(userCredentials, request.getPassword());
+            }
+            return passwordMatches;
+        }
+    }
+
+    private void rehashPassword(UserCredentials userCredentials, String password) {
+        LOG.info("Rehashing password with the configured Argon2 parameters");
+        try {
+            authenticationService.rehashPassword(userCredentials, password);
+        } catch (Exception e) {
+            LOG.warn("Unable to rehash password: {}", e.getMessage());
         }
     }
 
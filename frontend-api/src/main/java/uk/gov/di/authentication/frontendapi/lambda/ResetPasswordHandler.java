@@ -18,6 +18,7 @@ import uk.gov.di.authentication.shared.entity.NotificationType;
 import uk.gov.di.authentication.shared.entity.NotifyRequest;
 import uk.gov.di.authentication.shared.entity.UserCredentials;
 import uk.gov.di.authentication.shared.entity.UserProfile;
+import uk.gov.di.authentication.shared.exceptions.Argon2HashRejectedException;
 import uk.gov.di.authentication.shared.exceptions.ClientNotFoundException;
 import uk.gov.di.authentication.shared.helpers.Argon2MatcherHelper;
 import uk.gov.di.authentication.shared.helpers.ClientSubjectHelper;
@@ -45,6 +46,7 @@ import java.util.Optional;
 
 import static uk.gov.di.authentication.frontendapi.domain.FrontendAuditableEvent.ACCOUNT_RECOVERY_BLOCK_ADDED;
 import static uk.gov.di.authentication.shared.helpers.ApiGatewayResponseHelper.generateApiGatewayProxyErrorResponse;
+import static uk.gov.di.authentication.shared.helpers.ApiGatewayResponseHelper.generateApiGatewayProxyRetryLaterResponse;
 import static uk.gov.di.authentication.shared.helpers.ApiGatewayResponseHelper.generateEmptySuccessApiGatewayResponse;
 
 public class ResetPasswordHandler extends BaseFrontendHandler<ResetPasswordCompletionRequest>
@@ -197,6 +199,9 @@ public class ResetPasswordHandler extends BaseFrontendHandler<ResetPasswordCompl
         } catch (ClientNotFoundException e) {
             LOG.warn("Client not found");
             return generateApiGatewayProxyErrorResponse(400, ErrorResponse.ERROR_1015);
+        } catch (Argon2HashRejectedException e) {
+            return generateApiGatewayProxyRetryLaterResponse(
+                    ErrorResponse.ERROR_1049, e.getRetryAfterSeconds());
         }
         LOG.info("Generating successful response");
         return generateEmptySuccessApiGatewayResponse();
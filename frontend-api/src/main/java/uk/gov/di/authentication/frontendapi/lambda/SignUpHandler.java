@@ -14,6 +14,8 @@ import uk.gov.di.authentication.shared.conditions.ConsentHelper;
 import uk.gov.di.authentication.shared.entity.ClientRegistry;
 import uk.gov.di.authentication.shared.entity.ErrorResponse;
 import uk.gov.di.authentication.shared.entity.TermsAndConditions;
+import uk.gov.di.authentication.shared.entity.User;
+import uk.gov.di.authentication.shared.exceptions.Argon2HashRejectedException;
 import uk.gov.di.authentication.shared.helpers.ClientSubjectHelper;
 import uk.gov.di.authentication.shared.helpers.IpAddressHelper;
 import uk.gov.di.authentication.shared.helpers.PersistentIdHelper;
@@ -36,6 +38,7 @@ import java.util.Optional;
 import static uk.gov.di.authentication.shared.entity.Session.AccountState.NEW;
 import static uk.gov.di.authentication.shared.helpers.ApiGatewayResponseHelper.generateApiGatewayProxyErrorResponse;
 import static uk.gov.di.authentication.shared.helpers.ApiGatewayResponseHelper.generateApiGatewayProxyResponse;
+import static uk.gov.di.authentication.shared.helpers.ApiGatewayResponseHelper.generateApiGatewayProxyRetryLaterResponse;
 import static uk.gov.di.authentication.shared.helpers.LogLineHelper.attachSessionIdToLogs;
 import static uk.gov.di.authentication.shared.services.AuditService.MetadataPair.pair;
 
@@ -114,14 +117,20 @@ public class SignUpHandler extends BaseFrontendHandler<SignupRequest>
 
                 return generateApiGatewayProxyErrorResponse(400, ErrorResponse.ERROR_1009);
             }
-            var user =
-                    authenticationService.signUp(
-                            request.getEmail(),
-                            request.getPassword(),
-                            new Subject(),
-                            new TermsAndConditions(
-                                    configurationService.getTermsAndConditionsVersion(),
-                                    LocalDateTime.now(ZoneId.of("UTC")).toString()));
+            User user;
+            try {
+                user =
+                        authenticationService.signUp(
+                                request.getEmail(),
+                                request.getPassword(),
+                                new Subject(),
+                                new TermsAndConditions(
+                                        configurationService.getTermsAndConditionsVersion(),
+                                        LocalDateTime.now(ZoneId.of("UTC")).toString()));
+            } catch (Argon2HashRejectedException e) {
+                return generateApiGatewayProxyRetryLaterResponse(
+                        ErrorResponse.ERROR_1049, e.getRetryAfterSeconds());
+            }
 
             LOG.info("Calculating internal common subject identifier");
             var internalCommonSubjectIdentifier =
@@ -17,6 +17,7 @@ import uk.gov.di.authentication.shared.services.ConfigurationService;
 import uk.gov.di.authentication.shared.state.UserContext;
 
 import javax.crypto.Mac;
+import javax.crypto.ShortBufferException;
 import javax.crypto.spec.SecretKeySpec;
 
 import java.security.InvalidKeyException;
@@ -33,6 +34,9 @@ public class AuthAppCodeProcessor extends MfaCodeProcessor {
     private final int allowedWindows;
     private final CodeRequest codeRequest;
     private static final Base32 base32 = new Base32(0, null, false, (byte) '=', CodecPolicy.STRICT);
+    private static final Base32 SECRET_DECODER = new Base32();
+    private static final String HMAC_ALGORITHM = "HmacSHA1";
+    private static final int CODE_MODULUS = 1_000_000;
 
     public AuthAppCodeProcessor(
             UserContext userContext,
@@ -125,6 +129,10 @@ public class AuthAppCodeProcessor extends MfaCodeProcessor {
     }
 
     public boolean isCodeValid(String code, String secret) {
+        return isCodeValid(code, secret, NowHelper.now().getTime());
+    }
+
+    boolean isCodeValid(String code, String secret, long timestamp) {
         if (code.isEmpty() || code.length() > 6) {
             return false;
         }
@@ -135,11 +143,11 @@ public class AuthAppCodeProcessor extends MfaCodeProcessor {
             throw new IllegalArgumentException("Secret cannot be null.");
         }
 
-        if (codeToCheck <= 0 || codeToCheck >= (int) Math.pow(10, 6)) {
+        if (codeToCheck <= 0 || codeToCheck >= CODE_MODULUS) {
             return false;
         }
 
-        return checkCode(secret, codeToCheck, NowHelper.now().getTime());
+        return checkCode(secret, codeToCheck, timestamp);
     }
 
     private Optional<String> getMfaCredentialValue() {
@@ -162,44 +170,45 @@ public class AuthAppCodeProcessor extends MfaCodeProcessor {
         return mfaMethod.map(MFAMethod::getCredentialValue);
     }
 
-    private boolean checkCode(String secret, long code, long timestamp) {
-        byte[] decodedKey = decodeSecret(secret);
+    private boolean checkCode(String secret, int code, long timestamp) {
+        Mac mac;
+        try {
+            mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(new SecretKeySpec(decodeSecret(secret), HMAC_ALGORITHM));
+        } catch (NoSuchAlgorithmException | InvalidKeyException e) {
+            LOG.error("Error calculating TOTP hash from decoded secret", e);
+            return false;
+        }
 
         final long timeWindow = getTimeWindowFromTime(timestamp);
+        byte[] counter = new byte[8];
+        byte[] hash = new byte[mac.getMacLength()];
+        int matches = 0;
 
         for (int i = -((allowedWindows - 1) / 2); i <= allowedWindows / 2; ++i) {
             try {
-                int calculatedCodeHash = calculateCode(decodedKey, timeWindow + i);
-                if (calculatedCodeHash == code) {
-                    return true;
-                }
-            } catch (NoSuchAlgorithmException | InvalidKeyException e) {
+                int difference = calculateCode(mac, counter, hash, timeWindow + i) ^ code;
+                matches |= ((difference | -difference) >>> 31) ^ 1;
+            } catch (ShortBufferException e) {
                 LOG.error("Error calculating TOTP hash from decoded secret", e);
                 return false;
             }
         }
-        return false;
+        return matches == 1;
     }
 
     private byte[] decodeSecret(String secret) {
-        Base32 codec32 = new Base32();
-        return codec32.decode(secret.toUpperCase());
+        return SECRET_DECODER.decode(secret.toUpperCase());
     }
 
-    private int calculateCode(byte[] key, long time)
-            throws NoSuchAlgorithmException, InvalidKeyException {
-        byte[] data = new byte[8];
-
+    private int calculateCode(Mac mac, byte[] counter, byte[] hash, long time)
+            throws ShortBufferException {
         for (int i = 8; i-- > 0; time >>>= 8) {
-            data[i] = (byte) time;
+            counter[i] = (byte) time;
         }
 
-        SecretKeySpec signKey = new SecretKeySpec(key, "HmacSHA1");
-
-        Mac mac = Mac.getInstance("HmacSHA1");
-        mac.init(signKey);
-
-        byte[] hash = mac.doFinal(data);
+        mac.update(counter);
+        mac.doFinal(hash, 0);
 
         int offset = hash[hash.length - 1] & 0xF;
 
@@ -212,7 +221,7 @@ public class AuthAppCodeProcessor extends MfaCodeProcessor {
         }
 
         truncatedHash &= 0x7FFFFFFF;
-        truncatedHash %= (int) Math.pow(10, 6);
+        truncatedHash %= CODE_MODULUS;
 
         return (int) truncatedHash;
     }
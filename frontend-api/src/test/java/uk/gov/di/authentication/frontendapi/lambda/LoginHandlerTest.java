@@ -32,6 +32,7 @@ import uk.gov.di.authentication.shared.entity.TermsAndConditions;
 import uk.gov.di.authentication.shared.entity.UserCredentials;
 import uk.gov.di.authentication.shared.entity.UserProfile;
 import uk.gov.di.authentication.shared.entity.VectorOfTrust;
+import uk.gov.di.authentication.shared.exceptions.Argon2HashRejectedException;
 import uk.gov.di.authentication.shared.helpers.ClientSubjectHelper;
 import uk.gov.di.authentication.shared.helpers.IdGenerator;
 import uk.gov.di.authentication.shared.helpers.NowHelper;
@@ -67,6 +68,7 @@ import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
@@ -80,6 +82,7 @@ import static uk.gov.di.authentication.shared.services.AuditService.MetadataPair
 import static uk.gov.di.authentication.sharedtest.helper.JsonArrayHelper.jsonArrayOf;
 import static uk.gov.di.authentication.sharedtest.helper.RequestEventHelper.contextWithSourceIp;
 import static uk.gov.di.authentication.sharedtest.logging.LogEventMatcher.withMessageContaining;
+import static uk.gov.di.authentication.sharedtest.matchers.APIGatewayProxyResponseEventMatcher.hasHeader;
 import static uk.gov.di.authentication.sharedtest.matchers.APIGatewayProxyResponseEventMatcher.hasJsonBody;
 import static uk.gov.di.authentication.sharedtest.matchers.APIGatewayProxyResponseEventMatcher.hasStatus;
 
@@ -416,6 +419,67 @@ class LoginHandlerTest {
                 .save(argThat(t -> t.isNewAccount() == Session.AccountState.EXISTING));
     }
 
+    @Test
+    void shouldRehashPasswordWhenStoredHashUsesOtherArgon2Parameters() {
+        var userCredentials =
+                usingUserCredentialsWithPasswordHash("$argon2id$v=19$m=4096,t=3,p=1$c2FsdA$aGFzaA");
+
+        var result = handler.handleRequest(loginRequestEvent(), context);
+
+        assertThat(result, hasStatus(200));
+        verify(authenticationService).rehashPassword(userCredentials, PASSWORD);
+    }
+
+    @Test
+    void shouldNotRehashPasswordWhenStoredHashUsesConfiguredArgon2Parameters() {
+        usingUserCredentialsWithPasswordHash("$argon2id$v=19$m=15360,t=2,p=1$c2FsdA$aGFzaA");
+
+        var result = handler.handleRequest(loginRequestEvent(), context);
+
+        assertThat(result, hasStatus(200));
+        verify(authenticationService, never()).rehashPassword(any(), anyString());
+    }
+
+    @Test
+    void shouldNotRehashPasswordWhenLoginFails() {
+        var userCredentials =
+                usingUserCredentialsWithPasswordHash("$argon2id$v=19$m=4096,t=3,p=1$c2FsdA$aGFzaA");
+        when(authenticationService.login(userCredentials, PASSWORD)).thenReturn(false);
+
+        handler.handleRequest(loginRequestEvent(), context);
+
+        verify(authenticationService, never()).rehashPassword(any(), anyString());
+    }
+
+    @Test
+    void shouldLogInWhenRehashingPasswordFails() {
+        var userCredentials =
+                usingUserCredentialsWithPasswordHash("$argon2id$v=19$m=4096,t=3,p=1$c2FsdA$aGFzaA");
+        doThrow(new RuntimeException("Conditional check failed"))
+                .when(authenticationService)
+                .rehashPassword(userCredentials, PASSWORD);
+
+        var result = handler.handleRequest(loginRequestEvent(), context);
+
+        assertThat(result, hasStatus(200));
+    }
+
+    @Test
+    void shouldReturn503WithRetryAfterWhenPasswordHashIsRejected() {
+        var userCredentials =
+                usingUserCredentialsWithPasswordHash(
+                        "$argon2id$v=19$m=15360,t=2,p=1$c2FsdA$aGFzaA");
+        when(authenticationService.login(userCredentials, PASSWORD))
+                .thenThrow(new Argon2HashRejectedException("Argon2 hash rejected", 1));
+
+        var result = handler.handleRequest(loginRequestEvent(), context);
+
+        assertThat(result, hasStatus(503));
+        assertThat(result, hasHeader("Retry-After", "1"));
+        assertThat(result, hasJsonBody(ErrorResponse.ERROR_1049));
+        verify(codeStorageService, never()).increaseIncorrectPasswordCount(EMAIL);
+    }
+
     @ParameterizedTest
     @EnumSource(MFAMethodType.class)
     void shouldReturn200IfLoginIsSuccessfulButPasswordWasCommonPassword(MFAMethodType mfaMethodType)
@@ -882,6 +946,41 @@ class LoginHandlerTest {
         return builder.build();
     }
 
+    private UserCredentials usingUserCredentialsWithPasswordHash(String passwordHash) {
+        var userCredentials =
+                new UserCredentials()
+                        .withEmail(EMAIL)
+                        .withPassword(passwordHash)
+                        .setMfaMethod(
+                                new MFAMethod()
+                                        .withMfaMethodType(MFAMethodType.AUTH_APP.getValue())
+                                        .withMethodVerified(true)
+                                        .withEnabled(true));
+        when(authenticationService.getUserProfileByEmailMaybe(EMAIL))
+                .thenReturn(Optional.of(generateUserProfile(null)));
+        when(authenticationService.getUserCredentialsFromEmail(EMAIL)).thenReturn(userCredentials);
+        when(authenticationService.login(userCredentials, PASSWORD)).thenReturn(true);
+        when(clientSession.getAuthRequestParams()).thenReturn(generateAuthRequest().toParameters());
+        usingValidSession();
+        usingDefaultVectorOfTrust();
+        return userCredentials;
+    }
+
+    private APIGatewayProxyRequestEvent loginRequestEvent() {
+        var event = new APIGatewayProxyRequestEvent();
+        event.setRequestContext(contextWithSourceIp("123.123.123.123"));
+        event.setHeaders(
+                Map.of(
+                        PersistentIdHelper.PERSISTENT_ID_HEADER_NAME,
+                        PERSISTENT_ID,
+                        "Session-Id",
+                        session.getSessionId(),
+                        CLIENT_SESSION_ID_HEADER,
+                        CLIENT_SESSION_ID));
+        event.setBody(format("{ \"password\": \"%s\", \"email\": \"%s\" }", PASSWORD, EMAIL));
+        return event;
+    }
+
     private void usingValidSession() {
         when(sessionService.getSessionFromRequestHeaders(anyMap()))
                 .thenReturn(Optional.of(session));
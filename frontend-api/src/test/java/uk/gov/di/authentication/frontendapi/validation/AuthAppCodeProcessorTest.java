@@ -32,6 +32,8 @@ import java.util.stream.Stream;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -53,6 +55,7 @@ class AuthAppCodeProcessorTest {
 
     private static final String AUTH_APP_SECRET =
             "JZ5PYIOWNZDAOBA65S5T77FEEKYCCIT2VE4RQDAJD7SO73T3LODA";
+    private static final String RFC_6238_SECRET = "GEZDGNBVGY3TQOJQGEZDGNBVGY3TQOJQ";
     private static final String PERSISTENT_ID = "some-persistent-session-id";
     private static final String CLIENT_SESSION_ID = "a-client-session-id";
     private static final String SESSION_ID = "a-session-id";
@@ -165,6 +168,47 @@ class AuthAppCodeProcessorTest {
         assertEquals(Optional.of(ErrorResponse.ERROR_1043), authAppCodeProcessor.validateCode());
     }
 
+    private static Stream<Arguments> rfc6238Vectors() {
+        return Stream.of(
+                Arguments.of(59L, "287082"),
+                Arguments.of(1111111109L, "081804"),
+                Arguments.of(1111111111L, "050471"),
+                Arguments.of(1234567890L, "005924"),
+                Arguments.of(2000000000L, "279037"),
+                Arguments.of(20000000000L, "353130"));
+    }
+
+    @ParameterizedTest
+    @MethodSource("rfc6238Vectors")
+    void shouldAcceptRfc6238CodesAcrossTheAllowedWindows(long generatedAtSeconds, String code) {
+        setUpValidAuthCode(
+                new VerifyMfaCodeRequest(MFAMethodType.AUTH_APP, code, JourneyType.SIGN_IN, null));
+        var windowStart = (generatedAtSeconds / 30) * 30_000;
+
+        assertTrue(
+                authAppCodeProcessor.isCodeValid(code, RFC_6238_SECRET, generatedAtSeconds * 1000));
+        assertTrue(authAppCodeProcessor.isCodeValid(code, RFC_6238_SECRET, windowStart - 120_000));
+        assertTrue(authAppCodeProcessor.isCodeValid(code, RFC_6238_SECRET, windowStart + 149_999));
+        assertFalse(authAppCodeProcessor.isCodeValid(code, RFC_6238_SECRET, windowStart + 150_000));
+        if (windowStart >= 150_000) {
+            assertFalse(
+                    authAppCodeProcessor.isCodeValid(code, RFC_6238_SECRET, windowStart - 120_001));
+        }
+    }
+
+    @Test
+    void shouldAcceptLowerCaseRfc6238Secret() {
+        setUpValidAuthCode(
+                new VerifyMfaCodeRequest(
+                        MFAMethodType.AUTH_APP, "081804", JourneyType.SIGN_IN, null));
+
+        assertTrue(
+                authAppCodeProcessor.isCodeValid(
+                        "081804", RFC_6238_SECRET.toLowerCase(), 1111111109L * 1000));
+        assertFalse(
+                authAppCodeProcessor.isCodeValid("081805", RFC_6238_SECRET, 1111111109L * 1000));
+    }
+
     @Test
     void shouldUpdateDynamoAndCreateAuditEventWhenRegistration() {
         setUpSuccessfulCodeRequest(
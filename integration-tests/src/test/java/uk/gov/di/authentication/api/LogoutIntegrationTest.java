@@ -19,6 +19,7 @@ import uk.gov.di.authentication.oidc.lambda.LogoutHandler;
 import uk.gov.di.authentication.shared.entity.ServiceType;
 import uk.gov.di.authentication.shared.helpers.NowHelper;
 import uk.gov.di.authentication.shared.serialization.Json;
+import uk.gov.di.authentication.shared.services.SessionService;
 import uk.gov.di.authentication.sharedtest.basetest.ApiGatewayHandlerIntegrationTest;
 
 import java.net.URI;
@@ -32,6 +33,8 @@ import static java.util.Collections.singletonList;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.allOf;
 import static org.hamcrest.Matchers.hasEntry;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static uk.gov.di.authentication.oidc.domain.OidcAuditableEvent.LOG_OUT_SUCCESS;
 import static uk.gov.di.authentication.sharedtest.helper.AuditAssertionsHelper.assertTxmaAuditEventsReceived;
 import static uk.gov.di.authentication.sharedtest.matchers.APIGatewayProxyResponseEventMatcher.isRedirect;
@@ -163,6 +166,45 @@ public class LogoutIntegrationTest extends ApiGatewayHandlerIntegrationTest {
         assertTxmaAuditEventsReceived(txmaAuditQueue, List.of(LOG_OUT_SUCCESS));
     }
 
+    @Test
+    void shouldValidateIdTokenHintFromSessionIndexAfterSessionIdRotation()
+            throws Json.JsonException, ParseException {
+        var signedJWT = setupClientAndSession(SESSION_ID, CLIENT_SESSION_ID);
+        redis.addIDTokenToSession(CLIENT_SESSION_ID, null);
+        redis.addIdTokenHintToSessionIndex(SESSION_ID, signedJWT.serialize());
+        var session = redis.getSession(SESSION_ID);
+        new SessionService(TEST_CONFIGURATION_SERVICE).updateSessionId(session);
+        var rotatedSessionId = session.getSessionId();
+
+        assertFalse(redis.isIdTokenHintInSessionIndex(SESSION_ID, signedJWT.serialize()));
+        assertTrue(redis.isIdTokenHintInSessionIndex(rotatedSessionId, signedJWT.serialize()));
+
+        var response =
+                makeRequest(
+                        Optional.empty(),
+                        constructHeaders(
+                                Optional.of(
+                                        buildSessionCookie(rotatedSessionId, CLIENT_SESSION_ID))),
+                        Map.of(
+                                "id_token_hint",
+                                signedJWT.serialize(),
+                                "post_logout_redirect_uri",
+                                REDIRECT_URL,
+                                "state",
+                                STATE));
+
+        assertThat(response, isRedirect());
+        assertThat(
+                response,
+                isRedirectTo(
+                        allOf(
+                                baseUri(URI.create(REDIRECT_URL)),
+                                redirectQueryParameters(hasEntry("state", STATE)))));
+        assertFalse(redis.isIdTokenHintInSessionIndex(rotatedSessionId, signedJWT.serialize()));
+
+        assertTxmaAuditEventsReceived(txmaAuditQueue, List.of(LOG_OUT_SUCCESS));
+    }
+
     private SignedJWT setupClientAndSession(String sessionId, String clientSessionId)
             throws ParseException, Json.JsonException {
         Nonce nonce = new Nonce();
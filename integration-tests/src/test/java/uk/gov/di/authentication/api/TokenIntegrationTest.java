@@ -78,6 +78,7 @@ import static java.util.Collections.singletonList;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -90,6 +91,7 @@ public class TokenIntegrationTest extends ApiGatewayHandlerIntegrationTest {
     private static final String TOKEN_ENDPOINT = "/token";
     private static final String TEST_EMAIL = "joe.bloggs@digital.cabinet-office.gov.uk";
     private static final String CLIENT_ID = "test-id";
+    private static final String SESSION_ID = "a-session-id";
     private static final String DIFFERENT_CLIENT_ID = "different-test-id";
     private static final String REFRESH_TOKEN_PREFIX = "REFRESH_TOKEN:";
     private static final String REDIRECT_URI = "http://localhost/redirect";
@@ -411,6 +413,28 @@ public class TokenIntegrationTest extends ApiGatewayHandlerIntegrationTest {
         AuditAssertionsHelper.assertNoTxmaAuditEventsReceived(txmaAuditQueue);
     }
 
+    @Test
+    void shouldAddIssuedIdTokenToSessionIndex() throws Exception {
+        KeyPair keyPair = KeyPairHelper.GENERATE_RSA_KEY_PAIR();
+        Scope scope = new Scope(OIDCScopeValue.OPENID.getValue());
+        registerUser(scope, new Subject());
+        registerClientWithPrivateKeyJwtAuthentication(
+                keyPair.getPublic(), scope, SubjectType.PUBLIC);
+        var baseTokenRequest =
+                constructBaseTokenRequest(
+                        scope, Optional.empty(), Optional.empty(), Optional.of(CLIENT_ID));
+        var response = makeTokenRequestWithPrivateKeyJWT(baseTokenRequest, keyPair.getPrivate());
+
+        assertThat(response, hasStatus(200));
+        var idToken =
+                OIDCTokenResponse.parse(JSONObjectUtils.parse(response.getBody()))
+                        .getOIDCTokens()
+                        .getIDToken()
+                        .serialize();
+        assertTrue(redis.isIdTokenHintInSessionIndex(SESSION_ID, idToken));
+        assertFalse(redis.isIdTokenHintInSessionIndex(SESSION_ID, "some-other-id-token"));
+    }
+
     @Test
     void shouldCallTokenResourceWithRefreshTokenGrantAndReturn200() throws Exception {
         Scope scope =
@@ -430,6 +454,7 @@ public class TokenIntegrationTest extends ApiGatewayHandlerIntegrationTest {
                 REFRESH_TOKEN_PREFIX + signedJWT.getJWTClaimsSet().getJWTID(),
                 objectMapper.writeValueAsString(tokenStore),
                 900L);
+        redis.addIdTokenHintToSessionIndex(SESSION_ID, "previously-issued-id-token");
         PrivateKey privateKey = keyPair.getPrivate();
         JWTAuthenticationClaimsSet claimsSet =
                 new JWTAuthenticationClaimsSet(
@@ -462,6 +487,8 @@ public class TokenIntegrationTest extends ApiGatewayHandlerIntegrationTest {
                         .getTokens()
                         .getBearerAccessToken());
 
+        assertTrue(redis.isIdTokenHintInSessionIndex(SESSION_ID, "previously-issued-id-token"));
+
         AuditAssertionsHelper.assertNoTxmaAuditEventsReceived(txmaAuditQueue);
     }
 
@@ -602,6 +629,7 @@ public class TokenIntegrationTest extends ApiGatewayHandlerIntegrationTest {
         }
         redis.addAuthCodeAndCreateClientSession(
                 code,
+                SESSION_ID,
                 "a-client-session-id",
                 TEST_EMAIL,
                 generateAuthRequest(scope, vtr, oidcClaimsRequest).toParameters(),
@@ -6,6 +6,7 @@ import com.nimbusds.openid.connect.sdk.OIDCScopeValue;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.RegisterExtension;
 import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
 import uk.gov.di.authentication.shared.entity.ClientConsent;
 import uk.gov.di.authentication.shared.entity.MFAMethod;
 import uk.gov.di.authentication.shared.entity.MFAMethodType;
@@ -23,6 +24,9 @@ import java.util.Set;
 import static java.util.Collections.emptyList;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class DynamoServiceIntegrationTest {
 
@@ -83,6 +87,32 @@ class DynamoServiceIntegrationTest {
         userStore.signUp(TEST_EMAIL, "password-1", new Subject());
     }
 
+    @Test
+    void shouldRehashPasswordWhenStoredHashIsUnchanged() {
+        setUpDynamo();
+        var credentials = dynamoService.getUserCredentialsFromEmail(TEST_EMAIL);
+
+        dynamoService.rehashPassword(credentials, "password-1");
+
+        var rehashedCredentials = dynamoService.getUserCredentialsFromEmail(TEST_EMAIL);
+        assertThat(rehashedCredentials.getPassword(), not(equalTo(credentials.getPassword())));
+        assertThat(rehashedCredentials.getSubjectID(), equalTo(credentials.getSubjectID()));
+        assertThat(rehashedCredentials.getCreated(), equalTo(credentials.getCreated()));
+        assertTrue(dynamoService.login(TEST_EMAIL, "password-1"));
+    }
+
+    @Test
+    void shouldNotRehashPasswordWhenStoredHashHasChanged() {
+        setUpDynamo();
+        var credentials = dynamoService.getUserCredentialsFromEmail(TEST_EMAIL);
+        dynamoService.updatePassword(TEST_EMAIL, "password-2");
+
+        assertThrows(
+                ConditionalCheckFailedException.class,
+                () -> dynamoService.rehashPassword(credentials, "password-1"));
+        assertTrue(dynamoService.login(TEST_EMAIL, "password-2"));
+    }
+
     @Test
     void shouldUpdateEmailAndDeletePreviousItems() {
         setUpDynamo();
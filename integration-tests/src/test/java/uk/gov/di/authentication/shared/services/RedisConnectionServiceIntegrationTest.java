@@ -99,6 +99,26 @@ class RedisConnectionServiceIntegrationTest {
         }
     }
 
+    @Test
+    void servicesShouldShareMultiplexedConnectionIncludingTransactions() {
+        var registry = new RedisConnectionRegistry();
+        try {
+            var connections =
+                    registry.getConnections(REDIS_HOST, 6379, false, REDIS_PASSWORD, true);
+            var writer = new RedisConnectionService(connections, true);
+            var reader = new RedisConnectionService(connections, true);
+
+            writer.saveWithExpiry(testKey, TEST_VALUE, TEN_SECOND_EXPIRY);
+
+            assertThat(reader.getValue(testKey), equalTo(TEST_VALUE));
+            assertThat(reader.popValue(testKey), equalTo(TEST_VALUE));
+            assertThat(writer.keyExists(testKey), is(false));
+            assertThat(connections.multiplexedConnection().isOpen(), is(true));
+        } finally {
+            registry.closeAll();
+        }
+    }
+
     @Test
     void shouldThrowRedisConnectionExceptionIfRedisUnavailable() {
         try (RedisConnectionService redis =
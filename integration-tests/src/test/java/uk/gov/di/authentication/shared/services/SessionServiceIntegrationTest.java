@@ -0,0 +1,156 @@
+package uk.gov.di.authentication.shared.services;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import uk.gov.di.authentication.shared.entity.CredentialTrustLevel;
+import uk.gov.di.authentication.shared.entity.Session;
+import uk.gov.di.authentication.sharedtest.extensions.RedisExtension;
+
+import java.util.Optional;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThan;
+
+class SessionServiceIntegrationTest {
+
+    private static final ConfigurationService STRING_STORAGE = new RedisConfiguration(false);
+    private static final ConfigurationService HASH_STORAGE = new RedisConfiguration(true);
+
+    @RegisterExtension
+    static final RedisExtension redis =
+            new RedisExtension(SerializationService.getInstance(), STRING_STORAGE);
+
+    @Test
+    void shouldWriteFewerBytesPerUpdateWhenSessionIsStoredAsHash() {
+        var stringBytes = bytesWrittenForCounterUpdate(new SessionService(STRING_STORAGE));
+        var hashBytes = bytesWrittenForCounterUpdate(new SessionService(HASH_STORAGE));
+
+        assertThat(hashBytes, lessThan(stringBytes));
+    }
+
+    @Test
+    void shouldReadAndUpdateSessionStoredAsHash() {
+        var sessionService = new SessionService(HASH_STORAGE);
+        var session = populatedSession(sessionService);
+        sessionService.save(session);
+
+        var stored = sessionService.readSessionFromRedis(session.getSessionId()).orElseThrow();
+        stored.incrementCodeRequestCount().addClientSession("client-session-3");
+        sessionService.save(stored);
+
+        var updated = sessionService.readSessionFromRedis(session.getSessionId()).orElseThrow();
+        assertThat(updated.getEmailAddress(), equalTo(session.getEmailAddress()));
+        assertThat(updated.getCodeRequestCount(), equalTo(2));
+        assertThat(
+                updated.getCurrentCredentialStrength(), equalTo(CredentialTrustLevel.MEDIUM_LEVEL));
+        assertThat(updated.isAuthenticated(), equalTo(true));
+        assertThat(
+                updated.getClientSessions(),
+                contains("client-session-1", "client-session-2", "client-session-3"));
+    }
+
+    @Test
+    void shouldMigrateSessionStoredAsStringToHash() {
+        var session = populatedSession(new SessionService(STRING_STORAGE));
+        new SessionService(STRING_STORAGE).save(session);
+
+        var sessionService = new SessionService(HASH_STORAGE);
+        var stored = sessionService.readSessionFromRedis(session.getSessionId()).orElseThrow();
+        sessionService.save(stored.incrementCodeRequestCount());
+
+        var migrated = sessionService.readSessionFromRedis(session.getSessionId()).orElseThrow();
+        assertThat(migrated.getCodeRequestCount(), equalTo(2));
+        assertThat(
+                migrated.getInternalCommonSubjectIdentifier(),
+                equalTo(session.getInternalCommonSubjectIdentifier()));
+        assertThat(migrated.getClientSessions(), contains("client-session-1", "client-session-2"));
+    }
+
+    @Test
+    void shouldWriteWholeSessionWhenHashIsDeletedBeforeAnUpdate() {
+        var sessionService = new SessionService(HASH_STORAGE);
+        var session = populatedSession(sessionService);
+        sessionService.save(session);
+        var stored = sessionService.readSessionFromRedis(session.getSessionId()).orElseThrow();
+
+        sessionService.deleteSessionFromRedis(session.getSessionId());
+        sessionService.save(stored.incrementCodeRequestCount());
+
+        var rewritten = sessionService.readSessionFromRedis(session.getSessionId()).orElseThrow();
+        assertThat(rewritten.getEmailAddress(), equalTo(session.getEmailAddress()));
+        assertThat(rewritten.getCodeRequestCount(), equalTo(2));
+        assertThat(rewritten.getClientSessions(), contains("client-session-1", "client-session-2"));
+    }
+
+    @Test
+    void shouldReadSessionStoredAsHashAfterHashStorageIsTurnedOff() {
+        var session = populatedSession(new SessionService(HASH_STORAGE));
+        new SessionService(HASH_STORAGE).save(session);
+
+        var stored =
+                new SessionService(STRING_STORAGE)
+                        .readSessionFromRedis(session.getSessionId())
+                        .orElseThrow();
+
+        assertThat(stored.getEmailAddress(), equalTo(session.getEmailAddress()));
+    }
+
+    private long bytesWrittenForCounterUpdate(SessionService sessionService) {
+        var session = populatedSession(sessionService);
+        sessionService.save(session);
+        var stored = sessionService.readSessionFromRedis(session.getSessionId()).orElseThrow();
+
+        var bytesBefore = redis.getTotalNetInputBytes();
+        sessionService.save(stored.incrementCodeRequestCount());
+        return redis.getTotalNetInputBytes() - bytesBefore;
+    }
+
+    private static Session populatedSession(SessionService sessionService) {
+        return sessionService
+                .createSession()
+                .addClientSession("client-session-1")
+                .addClientSession("client-session-2")
+                .setEmailAddress("joe.bloggs@digital.cabinet-office.gov.uk")
+                .setNewAccount(Session.AccountState.EXISTING)
+                .setCurrentCredentialStrength(CredentialTrustLevel.MEDIUM_LEVEL)
+                .setAuthenticated(true)
+                .setInternalCommonSubjectIdentifier(
+                        "urn:fdc:gov.uk:2022:JG0RJI1pYbnanbvPs-j4j5-a-PFcmhry9Qu9NCEp5d4")
+                .incrementCodeRequestCount();
+    }
+
+    private static class RedisConfiguration extends ConfigurationService {
+        private final boolean sessionHashStorageEnabled;
+
+        private RedisConfiguration(boolean sessionHashStorageEnabled) {
+            this.sessionHashStorageEnabled = sessionHashStorageEnabled;
+        }
+
+        @Override
+        public String getRedisHost() {
+            return System.getenv().getOrDefault("REDIS_HOST", "localhost");
+        }
+
+        @Override
+        public int getRedisPort() {
+            return 6379;
+        }
+
+        @Override
+        public boolean getUseRedisTLS() {
+            return false;
+        }
+
+        @Override
+        public Optional<String> getRedisPassword() {
+            return Optional.ofNullable(System.getenv("REDIS_PASSWORD"));
+        }
+
+        @Override
+        public boolean isSessionHashStorageEnabled() {
+            return sessionHashStorageEnabled;
+        }
+    }
+}
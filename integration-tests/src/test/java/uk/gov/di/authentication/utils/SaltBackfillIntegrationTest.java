@@ -0,0 +1,172 @@
+package uk.gov.di.authentication.utils;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.events.ScheduledEvent;
+import com.nimbusds.oauth2.sdk.id.Subject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3Configuration;
+import uk.gov.di.authentication.shared.entity.UserCredentials;
+import uk.gov.di.authentication.shared.entity.UserProfile;
+import uk.gov.di.authentication.shared.helpers.SaltHelper;
+import uk.gov.di.authentication.shared.services.ConfigurationService;
+import uk.gov.di.authentication.sharedtest.basetest.HandlerIntegrationTest;
+import uk.gov.di.authentication.sharedtest.extensions.SaltBackfillS3Extension;
+import uk.gov.di.authentication.utils.lambda.SaltBackfillHandler;
+
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntPredicate;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThan;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static uk.gov.di.authentication.shared.dynamodb.DynamoClientHelper.createDynamoClient;
+import static uk.gov.di.authentication.sharedtest.extensions.SaltBackfillS3Extension.SALT_BACKFILL_BUCKET;
+
+class SaltBackfillIntegrationTest extends HandlerIntegrationTest<ScheduledEvent, Long> {
+
+    private static final String REGION =
+            Optional.ofNullable(System.getenv().get("AWS_REGION")).orElse("eu-west-2");
+    private static final String S3_ENDPOINT =
+            Optional.ofNullable(System.getenv().get("LOCALSTACK_ENDPOINT"))
+                    .orElse("http://localhost:45678");
+    private static final int USERS_WITHOUT_SALT = 2000;
+    private static final int USERS_WITH_SALT = 50;
+
+    @RegisterExtension
+    protected static final SaltBackfillS3Extension saltBackfillS3 = new SaltBackfillS3Extension();
+
+    private final Map<String, ByteBuffer> existingSalts = new HashMap<>();
+
+    @BeforeEach
+    void setup() {
+        saltBackfillS3.deleteCheckpoints();
+        var configurationService = saltBackfillConfiguration();
+        var s3Client =
+                S3Client.builder()
+                        .endpointOverride(URI.create(S3_ENDPOINT))
+                        .region(Region.of(REGION))
+                        .serviceConfiguration(
+                                S3Configuration.builder().pathStyleAccessEnabled(true).build())
+                        .credentialsProvider(
+                                StaticCredentialsProvider.create(
+                                        AwsBasicCredentials.create("access", "secret")))
+                        .build();
+        handler =
+                new SaltBackfillHandler(
+                        configurationService, createDynamoClient(configurationService), s3Client);
+        createSyntheticUsers();
+    }
+
+    @Test
+    void shouldWriteSaltForEveryUserWithoutOne() {
+        var saltsWritten = handler.handleRequest(new ScheduledEvent(), contextWithTime(i -> true));
+
+        assertThat(saltsWritten, equalTo((long) USERS_WITHOUT_SALT));
+        assertEveryUserHasSaltAndExistingSaltsAreUnchanged();
+        assertThat(
+                handler.handleRequest(new ScheduledEvent(), contextWithTime(i -> true)),
+                equalTo(0L));
+    }
+
+    @Test
+    void shouldResumeFromCheckpointAfterBeingInterrupted() {
+        var firstRun = handler.handleRequest(new ScheduledEvent(), contextWithTime(i -> i <= 4));
+
+        assertThat(firstRun, greaterThan(0L));
+        assertThat(firstRun, lessThan((long) USERS_WITHOUT_SALT));
+
+        var secondRun = handler.handleRequest(new ScheduledEvent(), contextWithTime(i -> true));
+
+        assertThat(firstRun + secondRun, equalTo((long) USERS_WITHOUT_SALT));
+        assertEveryUserHasSaltAndExistingSaltsAreUnchanged();
+    }
+
+    private void assertEveryUserHasSaltAndExistingSaltsAreUnchanged() {
+        for (int i = 0; i < USERS_WITHOUT_SALT + USERS_WITH_SALT; i++) {
+            var email = email(i);
+            var salt = userStore.getSalt(email).orElseThrow();
+            assertThat(salt.remaining(), equalTo(32));
+            if (existingSalts.containsKey(email)) {
+                assertThat(salt, equalTo(existingSalts.get(email)));
+            }
+        }
+    }
+
+    private void createSyntheticUsers() {
+        var dateTime = LocalDateTime.now().toString();
+        var users = new HashMap<UserProfile, UserCredentials>();
+        for (int i = 0; i < USERS_WITHOUT_SALT + USERS_WITH_SALT; i++) {
+            var subjectId = new Subject().getValue();
+            var userProfile =
+                    new UserProfile()
+                            .withEmail(email(i))
+                            .withSubjectID(subjectId)
+                            .withPublicSubjectID(new Subject().getValue())
+                            .withEmailVerified(true)
+                            .withCreated(dateTime)
+                            .withUpdated(dateTime);
+            if (i >= USERS_WITHOUT_SALT) {
+                userProfile.setSalt(SaltHelper.generateNewSalt());
+                existingSalts.put(email(i), userProfile.getSalt());
+            }
+            users.put(
+                    userProfile,
+                    new UserCredentials()
+                            .withEmail(email(i))
+                            .withSubjectID(subjectId)
+                            .withCreated(dateTime)
+                            .withUpdated(dateTime));
+        }
+        userStore.createBulkTestUsers(users);
+    }
+
+    private static String email(int i) {
+        return "salt-backfill-" + i + "@example.com";
+    }
+
+    private static Context contextWithTime(IntPredicate hasTime) {
+        var context = mock(Context.class);
+        var calls = new AtomicInteger();
+        when(context.getRemainingTimeInMillis())
+                .thenAnswer(invocation -> hasTime.test(calls.incrementAndGet()) ? 900_000 : 1_000);
+        return context;
+    }
+
+    private ConfigurationService saltBackfillConfiguration() {
+        return new IntegrationTestConfigurationService(
+                auditTopic,
+                notificationsQueue,
+                auditSigningKey,
+                tokenSigner,
+                ipvPrivateKeyJwtSigner,
+                spotQueue,
+                docAppPrivateKeyJwtSigner,
+                configurationParameters) {
+
+            @Override
+            public String getSaltBackfillBucketName() {
+                return SALT_BACKFILL_BUCKET;
+            }
+
+            @Override
+            public int getSaltBackfillSegments() {
+                return 4;
+            }
+        };
+    }
+}
@@ -32,6 +32,7 @@ import uk.gov.di.authentication.shared.exceptions.UnsuccessfulCredentialResponse
 import uk.gov.di.authentication.shared.helpers.ClientSubjectHelper;
 import uk.gov.di.authentication.shared.helpers.ConstructUriHelper;
 import uk.gov.di.authentication.shared.helpers.CookieHelper;
+import uk.gov.di.authentication.shared.helpers.Lazy;
 import uk.gov.di.authentication.shared.helpers.PersistentIdHelper;
 import uk.gov.di.authentication.shared.serialization.Json;
 import uk.gov.di.authentication.shared.serialization.Json.JsonException;
@@ -71,15 +72,15 @@ public class IPVCallbackHandler
 
     private static final Logger LOG = LogManager.getLogger(IPVCallbackHandler.class);
     private final ConfigurationService configurationService;
-    private final IPVAuthorisationService ipvAuthorisationService;
-    private final IPVTokenService ipvTokenService;
+    private final Lazy<IPVAuthorisationService> ipvAuthorisationService;
+    private final Lazy<IPVTokenService> ipvTokenService;
     private final SessionService sessionService;
-    private final DynamoService dynamoService;
+    private final Lazy<DynamoService> dynamoService;
     private final ClientSessionService clientSessionService;
     private final DynamoClientService dynamoClientService;
-    private final AuditService auditService;
-    private final AwsSqsClient sqsClient;
-    private final DynamoIdentityService dynamoIdentityService;
+    private final Lazy<AuditService> auditService;
+    private final Lazy<AwsSqsClient> sqsClient;
+    private final Lazy<DynamoIdentityService> dynamoIdentityService;
     private final NoSessionOrchestrationService noSessionOrchestrationService;
     protected final Json objectMapper = SerializationService.getInstance();
     private static final String REDIRECT_PATH = "ipv-callback";
@@ -103,6 +104,34 @@ public class IPVCallbackHandler
             DynamoIdentityService dynamoIdentityService,
             CookieHelper cookieHelper,
             NoSessionOrchestrationService noSessionOrchestrationService) {
+        this(
+                configurationService,
+                Lazy.value(responseService),
+                Lazy.value(ipvTokenService),
+                sessionService,
+                Lazy.value(dynamoService),
+                clientSessionService,
+                dynamoClientService,
+                Lazy.value(auditService),
+                Lazy.value(sqsClient),
+                Lazy.value(dynamoIdentityService),
+                cookieHelper,
+                noSessionOrchestrationService);
+    }
+
+    public IPVCallbackHandler(
+            ConfigurationService configurationService,
+            Lazy<IPVAuthorisationService> responseService,
+            Lazy<IPVTokenService> ipvTokenService,
+            SessionService sessionService,
+            Lazy<DynamoService> dynamoService,
+            ClientSessionService clientSessionService,
+            DynamoClientService dynamoClientService,
+            Lazy<AuditService> auditService,
+            Lazy<AwsSqsClient> sqsClient,
+            Lazy<DynamoIdentityService> dynamoIdentityService,
+            CookieHelper cookieHelper,
+            NoSessionOrchestrationService noSessionOrchestrationService) {
         this.configurationService = configurationService;
         this.ipvAuthorisationService = responseService;
         this.ipvTokenService = ipvTokenService;
@@ -118,28 +147,38 @@ public class IPVCallbackHandler
     }
 
     public IPVCallbackHandler(ConfigurationService configurationService) {
-        var kmsConnectionService = new KmsConnectionService(configurationService);
-        this.configurationService = configurationService;
-        this.ipvAuthorisationService =
-                new IPVAuthorisationService(
-                        configurationService,
-                        new RedisConnectionService(configurationService),
-                        kmsConnectionService);
-        this.ipvTokenService = new IPVTokenService(configurationService, kmsConnectionService);
-        this.sessionService = new SessionService(configurationService);
-        this.dynamoService = new DynamoService(configurationService);
-        this.clientSessionService = new ClientSessionService(configurationService);
-        this.dynamoClientService = new DynamoClientService(configurationService);
-        this.auditService = new AuditService(configurationService);
-        this.sqsClient =
-                new AwsSqsClient(
-                        configurationService.getAwsRegion(),
-                        configurationService.getSpotQueueUri(),
-                        configurationService.getSqsEndpointUri());
-        this.dynamoIdentityService = new DynamoIdentityService(configurationService);
-        this.cookieHelper = new CookieHelper();
-        this.noSessionOrchestrationService =
-                new NoSessionOrchestrationService(configurationService);
+        this(configurationService, Lazy.of(() -> new KmsConnectionService(configurationService)));
+    }
+
+    private IPVCallbackHandler(
+            ConfigurationService configurationService,
+            Lazy<KmsConnectionService> kmsConnectionService) {
+        this(
+                configurationService,
+                Lazy.of(
+                        () ->
+                                new IPVAuthorisationService(
+                                        configurationService,
+                                        new RedisConnectionService(configurationService),
+                                        kmsConnectionService.get())),
+                Lazy.of(
+                        () ->
+                                new IPVTokenService(
+                                        configurationService, kmsConnectionService.get())),
+                new SessionService(configurationService),
+                Lazy.of(() -> new DynamoService(configurationService)),
+                new ClientSessionService(configurationService),
+                new DynamoClientService(configurationService),
+                Lazy.of(() -> new AuditService(configurationService)),
+                Lazy.of(
+                        () ->
+                                new AwsSqsClient(
+                                        configurationService.getAwsRegion(),
+                                        configurationService.getSpotQueueUri(),
+                                        configurationService.getSqsEndpointUri())),
+                Lazy.of(() -> new DynamoIdentityService(configurationService)),
+                new CookieHelper(),
+                new NoSessionOrchestrationService(configurationService));
     }
 
     @Override
@@ -198,8 +237,10 @@ public class IPVCallbackHandler
                                                     "Client registry not found with given clientId"));
 
             var errorObject =
-                    ipvAuthorisationService.validateResponse(
-                            input.getQueryStringParameters(), session.getSessionId());
+                    ipvAuthorisationService
+                            .get()
+                            .validateResponse(
+                                    input.getQueryStringParameters(), session.getSessionId());
             if (errorObject.isPresent()) {
                 return generateAuthenticationErrorResponse(
                         authRequest,
@@ -210,81 +251,95 @@ public class IPVCallbackHandler
             }
             var userProfile =
                     dynamoService
+                            .get()
                             .getUserProfileFromEmail(session.getEmailAddress())
                             .orElseThrow(
                                     () ->
                                             new IpvCallbackException(
                                                     "Email from session does not have a user profile"));
 
-            auditService.submitAuditEvent(
-                    IPVAuditableEvent.IPV_AUTHORISATION_RESPONSE_RECEIVED,
-                    clientSessionId,
-                    session.getSessionId(),
-                    clientId,
-                    session.getInternalCommonSubjectIdentifier(),
-                    userProfile.getEmail(),
-                    AuditService.UNKNOWN,
-                    userProfile.getPhoneNumber(),
-                    persistentId);
+            auditService
+                    .get()
+                    .submitAuditEvent(
+                            IPVAuditableEvent.IPV_AUTHORISATION_RESPONSE_RECEIVED,
+                            clientSessionId,
+                            session.getSessionId(),
+                            clientId,
+                            session.getInternalCommonSubjectIdentifier(),
+                            userProfile.getEmail(),
+                            AuditService.UNKNOWN,
+                            userProfile.getPhoneNumber(),
+                            persistentId);
 
             var tokenRequest =
-                    ipvTokenService.constructTokenRequest(
-                            input.getQueryStringParameters().get("code"));
-            var tokenResponse = ipvTokenService.sendTokenRequest(tokenRequest);
+                    ipvTokenService
+                            .get()
+                            .constructTokenRequest(input.getQueryStringParameters().get("code"));
+            var tokenResponse = ipvTokenService.get().sendTokenRequest(tokenRequest);
             if (!tokenResponse.indicatesSuccess()) {
                 LOG.error(
                         "IPV TokenResponse was not successful: {}",
                         tokenResponse.toErrorResponse().toJSONObject());
-                auditService.submitAuditEvent(
-                        IPVAuditableEvent.IPV_UNSUCCESSFUL_TOKEN_RESPONSE_RECEIVED,
-                        clientSessionId,
-                        session.getSessionId(),
-                        clientId,
-                        session.getInternalCommonSubjectIdentifier(),
-                        userProfile.getEmail(),
-                        AuditService.UNKNOWN,
-                        userProfile.getPhoneNumber(),
-                        persistentId);
+                auditService
+                        .get()
+                        .submitAuditEvent(
+                                IPVAuditableEvent.IPV_UNSUCCESSFUL_TOKEN_RESPONSE_RECEIVED,
+                                clientSessionId,
+                                session.getSessionId(),
+                                clientId,
+                                session.getInternalCommonSubjectIdentifier(),
+                                userProfile.getEmail(),
+                                AuditService.UNKNOWN,
+                                userProfile.getPhoneNumber(),
+                                persistentId);
                 return redirectToFrontendErrorPage();
             }
-            auditService.submitAuditEvent(
-                    IPVAuditableEvent.IPV_SUCCESSFUL_TOKEN_RESPONSE_RECEIVED,
-                    clientSessionId,
-                    session.getSessionId(),
-                    clientId,
-                    session.getInternalCommonSubjectIdentifier(),
-                    userProfile.getEmail(),
-                    AuditService.UNKNOWN,
-                    userProfile.getPhoneNumber(),
-                    persistentId);
+            auditService
+                    .get()
+                    .submitAuditEvent(
+                            IPVAuditableEvent.IPV_SUCCESSFUL_TOKEN_RESPONSE_RECEIVED,
+                            clientSessionId,
+                            session.getSessionId(),
+                            clientId,
+                            session.getInternalCommonSubjectIdentifier(),
+                            userProfile.getEmail(),
+                            AuditService.UNKNOWN,
+                            userProfile.getPhoneNumber(),
+                            persistentId);
             var pairwiseSubject =
                     ClientSubjectHelper.getSubject(
                             userProfile,
                             clientRegistry,
-                            dynamoService,
+                            dynamoService.get(),
                             configurationService.getInternalSectorUri());
 
             var userIdentityUserInfo =
-                    ipvTokenService.sendIpvUserIdentityRequest(
-                            new UserInfoRequest(
-                                    ConstructUriHelper.buildURI(
-                                            configurationService.getIPVBackendURI().toString(),
-                                            "user-identity"),
-                                    tokenResponse
-                                            .toSuccessResponse()
-                                            .getTokens()
-                                            .getBearerAccessToken()));
+                    ipvTokenService
+                            .get()
+                            .sendIpvUserIdentityRequest(
+                                    new UserInfoRequest(
+                                            ConstructUriHelper.buildURI(
+                                                    configurationService
+                                                            .getIPVBackendURI()
+                                                            .toString(),
+                                                    "user-identity"),
+                                            tokenResponse
+                                                    .toSuccessResponse()
+                                                    .getTokens()
+                                                    .getBearerAccessToken()));
 
-            auditService.submitAuditEvent(
-                    IPVAuditableEvent.IPV_SUCCESSFUL_IDENTITY_RESPONSE_RECEIVED,
-                    clientSessionId,
-                    session.getSessionId(),
-                    clientId,
-                    session.getInternalCommonSubjectIdentifier(),
-                    userProfile.getEmail(),
-                    AuditService.UNKNOWN,
-                    userProfile.getPhoneNumber(),
-                    persistentId);
+            auditService
+                    .get()
+                    .submitAuditEvent(
+                            IPVAuditableEvent.IPV_SUCCESSFUL_IDENTITY_RESPONSE_RECEIVED,
+                            clientSessionId,
+                            session.getSessionId(),
+                            clientId,
+                            session.getInternalCommonSubjectIdentifier(),
+                            userProfile.getEmail(),
+                            AuditService.UNKNOWN,
+                            userProfile.getPhoneNumber(),
+                            persistentId);
 
             var userIdentityError = validateUserIdentityResponse(userIdentityUserInfo);
             if (userIdentityError.isPresent()) {
@@ -319,16 +374,18 @@ public class IPVCallbackHandler
                     userIdentityUserInfo,
                     clientId);
 
-            auditService.submitAuditEvent(
-                    IPVAuditableEvent.IPV_SPOT_REQUESTED,
-                    clientSessionId,
-                    session.getSessionId(),
-                    clientId,
-                    session.getInternalCommonSubjectIdentifier(),
-                    userProfile.getEmail(),
-                    AuditService.UNKNOWN,
-                    userProfile.getPhoneNumber(),
-                    persistentId);
+            auditService
+                    .get()
+                    .submitAuditEvent(
+                            IPVAuditableEvent.IPV_SPOT_REQUESTED,
+                            clientSessionId,
+                            session.getSessionId(),
+                            clientId,
+                            session.getInternalCommonSubjectIdentifier(),
+                            userProfile.getEmail(),
+                            AuditService.UNKNOWN,
+                            userProfile.getPhoneNumber(),
+                            persistentId);
             saveIdentityClaimsToDynamo(pairwiseSubject, userIdentityUserInfo);
             var redirectURI =
                     ConstructUriHelper.buildURI(
@@ -367,11 +424,15 @@ public class IPVCallbackHandler
                                                 .toString()));
         LOG.info("Additional identity claims present: {}", !additionalClaims.isEmpty());
 
-        dynamoIdentityService.saveIdentityClaims(
-                pairwiseIdentifier.getValue(),
-                additionalClaims,
-                (String) userIdentityUserInfo.getClaim(VOT.getValue()),
-                userIdentityUserInfo.getClaim(IdentityClaims.CORE_IDENTITY.getValue()).toString());
+        dynamoIdentityService
+                .get()
+                .saveIdentityClaims(
+                        pairwiseIdentifier.getValue(),
+                        additionalClaims,
+                        (String) userIdentityUserInfo.getClaim(VOT.getValue()),
+                        userIdentityUserInfo
+                                .getClaim(IdentityClaims.CORE_IDENTITY.getValue())
+                                .toString());
     }
 
     private Optional<ErrorObject> validateUserIdentityResponse(UserInfo userIdentityUserInfo)
@@ -428,13 +489,13 @@ public class IPVCallbackHandler
                 new SPOTRequest(
                         spotClaimsBuilder.build(),
                         userProfile.getSubjectID(),
-                        dynamoService.getOrGenerateSalt(userProfile),
+                        dynamoService.get().getOrGenerateSalt(userProfile),
                         sectorIdentifier,
                         pairwiseSubject.getValue(),
                         logIds,
                         clientId);
         var spotRequestString = objectMapper.writeValueAsString(spotRequest);
-        sqsClient.send(spotRequestString);
+        sqsClient.get().send(spotRequestString);
         LOG.info("SPOT request placed on queue");
     }
 
@@ -463,16 +524,18 @@ public class IPVCallbackHandler
                 errorObject.getCode(),
                 errorObject.getDescription(),
                 noSessionErrorResponse);
-        auditService.submitAuditEvent(
-                IPVAuditableEvent.IPV_UNSUCCESSFUL_AUTHORISATION_RESPONSE_RECEIVED,
-                clientSessionId,
-                sessionId,
-                authenticationRequest.getClientID().getValue(),
-                AuditService.UNKNOWN,
-                AuditService.UNKNOWN,
-                AuditService.UNKNOWN,
-                AuditService.UNKNOWN,
-                AuditService.UNKNOWN);
+        auditService
+                .get()
+                .submitAuditEvent(
+                        IPVAuditableEvent.IPV_UNSUCCESSFUL_AUTHORISATION_RESPONSE_RECEIVED,
+                        clientSessionId,
+                        sessionId,
+                        authenticationRequest.getClientID().getValue(),
+                        AuditService.UNKNOWN,
+                        AuditService.UNKNOWN,
+                        AuditService.UNKNOWN,
+                        AuditService.UNKNOWN,
+                        AuditService.UNKNOWN);
         var errorResponse =
                 new AuthenticationErrorResponse(
                         authenticationRequest.getRedirectionURI(),
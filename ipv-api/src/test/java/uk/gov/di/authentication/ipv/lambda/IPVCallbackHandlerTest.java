@@ -50,6 +50,7 @@ import uk.gov.di.authentication.shared.exceptions.NoSessionException;
 import uk.gov.di.authentication.shared.exceptions.UnsuccessfulCredentialResponseException;
 import uk.gov.di.authentication.shared.helpers.ClientSubjectHelper;
 import uk.gov.di.authentication.shared.helpers.CookieHelper;
+import uk.gov.di.authentication.shared.helpers.Lazy;
 import uk.gov.di.authentication.shared.helpers.SaltHelper;
 import uk.gov.di.authentication.shared.serialization.Json;
 import uk.gov.di.authentication.shared.services.AuditService;
@@ -350,6 +351,40 @@ class IPVCallbackHandlerTest {
         verifyNoInteractions(auditService);
     }
 
+    @Test
+    void shouldNotInitialiseKmsOrSqsBackedServicesWhenSessionIsNotFound()
+            throws URISyntaxException {
+        var lazyResponseService = Lazy.of(() -> responseService);
+        var lazyIpvTokenService = Lazy.of(() -> ipvTokenService);
+        var lazyAuditService = Lazy.of(() -> auditService);
+        var lazySqsClient = Lazy.of(() -> awsSqsClient);
+        handler =
+                new IPVCallbackHandler(
+                        configService,
+                        lazyResponseService,
+                        lazyIpvTokenService,
+                        sessionService,
+                        Lazy.of(() -> dynamoService),
+                        clientSessionService,
+                        dynamoClientService,
+                        lazyAuditService,
+                        lazySqsClient,
+                        Lazy.of(() -> dynamoIdentityService),
+                        cookieHelper,
+                        noSessionOrchestrationService);
+        var event = new APIGatewayProxyRequestEvent();
+        event.setQueryStringParameters(Collections.emptyMap());
+        event.setHeaders(Map.of(COOKIE, buildCookieString()));
+        when(sessionService.readSessionFromRedis(SESSION_ID)).thenReturn(Optional.empty());
+
+        assertDoesRedirectToFrontendErrorPage(event);
+
+        assertThat(lazyResponseService.isInitialised(), equalTo(false));
+        assertThat(lazyIpvTokenService.isInitialised(), equalTo(false));
+        assertThat(lazyAuditService.isInitialised(), equalTo(false));
+        assertThat(lazySqsClient.isInitialised(), equalTo(false));
+    }
+
     @Test
     void shouldRedirectToFrontendErrorPageWhenUserProfileNotFound() throws URISyntaxException {
         usingValidSession();
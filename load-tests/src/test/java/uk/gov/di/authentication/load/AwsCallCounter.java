@@ -0,0 +1,34 @@
+package uk.gov.di.authentication.load;
+
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+import software.amazon.awssdk.core.interceptor.SdkExecutionAttribute;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Global AWS SDK interceptor, registered through {@code
+ * software/amazon/awssdk/global/handlers/execution.interceptors}, that counts API calls per service
+ * for every SDK client created in this JVM.
+ */
+public class AwsCallCounter implements ExecutionInterceptor {
+
+    private static final Map<String, LongAdder> CALLS = new ConcurrentHashMap<>();
+
+    @Override
+    public void beforeExecution(
+            Context.BeforeExecution context, ExecutionAttributes executionAttributes) {
+        var serviceName = executionAttributes.getAttribute(SdkExecutionAttribute.SERVICE_NAME);
+        CALLS.computeIfAbsent(serviceName, name -> new LongAdder()).increment();
+    }
+
+    static Map<String, Long> snapshot() {
+        var snapshot = new TreeMap<String, Long>();
+        CALLS.forEach((serviceName, calls) -> snapshot.put(serviceName, calls.sum()));
+        return snapshot;
+    }
+}
@@ -0,0 +1,465 @@
+package uk.gov.di.authentication.load;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.RequestHandler;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.oauth2.sdk.GrantType;
+import com.nimbusds.oauth2.sdk.ParseException;
+import com.nimbusds.oauth2.sdk.Scope;
+import com.nimbusds.oauth2.sdk.auth.ClientAuthenticationMethod;
+import com.nimbusds.oauth2.sdk.auth.JWTAuthenticationClaimsSet;
+import com.nimbusds.oauth2.sdk.auth.PrivateKeyJWT;
+import com.nimbusds.oauth2.sdk.id.Audience;
+import com.nimbusds.oauth2.sdk.id.ClientID;
+import com.nimbusds.oauth2.sdk.util.JSONObjectUtils;
+import com.nimbusds.oauth2.sdk.util.URLUtils;
+import com.nimbusds.openid.connect.sdk.Nonce;
+import com.nimbusds.openid.connect.sdk.OIDCScopeValue;
+import com.nimbusds.openid.connect.sdk.OIDCTokenResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import uk.gov.di.authentication.entity.VerifyMfaCodeRequest;
+import uk.gov.di.authentication.frontendapi.entity.CheckUserExistsRequest;
+import uk.gov.di.authentication.frontendapi.entity.LoginRequest;
+import uk.gov.di.authentication.frontendapi.lambda.CheckUserExistsHandler;
+import uk.gov.di.authentication.frontendapi.lambda.LoginHandler;
+import uk.gov.di.authentication.frontendapi.lambda.StartHandler;
+import uk.gov.di.authentication.frontendapi.lambda.VerifyMfaCodeHandler;
+import uk.gov.di.authentication.oidc.entity.AuthCodeResponse;
+import uk.gov.di.authentication.oidc.lambda.AuthCodeHandler;
+import uk.gov.di.authentication.oidc.lambda.AuthorisationHandler;
+import uk.gov.di.authentication.oidc.lambda.TokenHandler;
+import uk.gov.di.authentication.oidc.lambda.UserInfoHandler;
+import uk.gov.di.authentication.shared.entity.ClientType;
+import uk.gov.di.authentication.shared.entity.JourneyType;
+import uk.gov.di.authentication.shared.entity.MFAMethodType;
+import uk.gov.di.authentication.shared.entity.ServiceType;
+import uk.gov.di.authentication.shared.serialization.Json;
+import uk.gov.di.authentication.sharedtest.basetest.ApiGatewayHandlerIntegrationTest;
+import uk.gov.di.authentication.sharedtest.helper.AuthAppStub;
+import uk.gov.di.authentication.sharedtest.helper.KeyPairHelper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyPair;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.Collections.singletonList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+import static uk.gov.di.authentication.shared.helpers.CookieHelper.getHttpCookieFromMultiValueResponseHeaders;
+import static uk.gov.di.authentication.sharedtest.helper.JsonArrayHelper.jsonArrayOf;
+
+/**
+ * Drives the sign-in journey through the real handler classes in-process against the docker-compose
+ * Redis, DynamoDB and localstack services, and reports throughput and latency percentiles per
+ * handler alongside the Redis and AWS calls made per journey.
+ *
+ * <p>Run with {@code ./gradlew :load-tests:journeyLoad -PloadConcurrency=8
+ * -PloadDurationSeconds=120}.
+ */
+class JourneyLoadTest extends ApiGatewayHandlerIntegrationTest {
+
+    private static final int CONCURRENCY = Integer.getInteger("load.concurrency", 4);
+    private static final Duration WARMUP =
+            Duration.ofSeconds(Long.getLong("load.warmupSeconds", 10));
+    private static final Duration DURATION =
+            Duration.ofSeconds(Long.getLong("load.durationSeconds", 60));
+    private static final Optional<String> REPORT_FILE =
+            Optional.ofNullable(System.getProperty("load.reportFile"));
+
+    private static final String CLIENT_ID = "load-test-client";
+    private static final String CLIENT_NAME = "load-test-client-name";
+    private static final String REDIRECT_URI = "https://rp-uri/redirect";
+    private static final String PASSWORD = "load-test-password-1";
+    private static final String AUTH_APP_SECRET_BASE_32 = "ORSXG5BNORSXQ5A=";
+    private static final Scope SCOPE = new Scope(OIDCScopeValue.OPENID, OIDCScopeValue.EMAIL);
+    private static final KeyPair CLIENT_KEY_PAIR = KeyPairHelper.GENERATE_RSA_KEY_PAIR();
+    private static final AuthAppStub AUTH_APP_STUB = new AuthAppStub();
+
+    private static final String AUTHORISATION = "AuthorisationHandler";
+    private static final String START = "StartHandler";
+    private static final String CHECK_USER_EXISTS = "CheckUserExistsHandler";
+    private static final String LOGIN = "LoginHandler";
+    private static final String VERIFY_MFA_CODE = "VerifyMfaCodeHandler";
+    private static final String AUTH_CODE = "AuthCodeHandler";
+    private static final String TOKEN = "TokenHandler";
+    private static final String USER_INFO = "UserInfoHandler";
+    private static final List<String> STEPS =
+            List.of(
+                    AUTHORISATION,
+                    START,
+                    CHECK_USER_EXISTS,
+                    LOGIN,
+                    VERIFY_MFA_CODE,
+                    AUTH_CODE,
+                    TOKEN,
+                    USER_INFO);
+
+    private final Context loadContext = mock(Context.class, withSettings().stubOnly());
+    private final Map<
+                    String,
+                    RequestHandler<APIGatewayProxyRequestEvent, APIGatewayProxyResponseEvent>>
+            handlers = new HashMap<>();
+
+    @BeforeEach
+    void setup() {
+        assertThat(
+                "INTERNAl_SECTOR_URI must be set for the journeyLoad task",
+                TXMA_ENABLED_CONFIGURATION_SERVICE.getInternalSectorUri(),
+                notNullValue());
+        handlers.put(AUTHORISATION, new AuthorisationHandler(TXMA_ENABLED_CONFIGURATION_SERVICE));
+        handlers.put(START, new StartHandler(TXMA_ENABLED_CONFIGURATION_SERVICE));
+        handlers.put(
+                CHECK_USER_EXISTS, new CheckUserExistsHandler(TXMA_ENABLED_CONFIGURATION_SERVICE));
+        handlers.put(LOGIN, new LoginHandler(TXMA_ENABLED_CONFIGURATION_SERVICE));
+        handlers.put(VERIFY_MFA_CODE, new VerifyMfaCodeHandler(TXMA_ENABLED_CONFIGURATION_SERVICE));
+        handlers.put(AUTH_CODE, new AuthCodeHandler(TXMA_ENABLED_CONFIGURATION_SERVICE));
+        handlers.put(TOKEN, new TokenHandler(TXMA_ENABLED_CONFIGURATION_SERVICE));
+        handlers.put(USER_INFO, new UserInfoHandler(TXMA_ENABLED_CONFIGURATION_SERVICE));
+        registerClient();
+    }
+
+    @Test
+    void shouldCompleteSignInJourneysUnderLoad() throws Exception {
+        var users = new ArrayList<String>();
+        for (int i = 0; i < CONCURRENCY; i++) {
+            users.add(registerUser(i));
+        }
+
+        runJourneys(users, WARMUP);
+
+        var redisCommandsBefore = redis.getTotalCommandsProcessed();
+        var awsCallsBefore = AwsCallCounter.snapshot();
+        var results = runJourneys(users, DURATION);
+        var redisCommands = redis.getTotalCommandsProcessed() - redisCommandsBefore;
+        var awsCalls = callsSince(awsCallsBefore, AwsCallCounter.snapshot());
+
+        var report = results.report(redisCommands, awsCalls);
+        System.out.println(report);
+        if (REPORT_FILE.isPresent()) {
+            writeReport(Path.of(REPORT_FILE.get()), report);
+        }
+
+        assertThat(results.failures, empty());
+        assertThat(results.completedJourneys.get(), greaterThan(0L));
+    }
+
+    private LoadResults runJourneys(List<String> users, Duration duration)
+            throws InterruptedException, ExecutionException {
+        var results = new LoadResults(duration);
+        var deadline = System.nanoTime() + duration.toNanos();
+        var executor = Executors.newFixedThreadPool(users.size());
+        try {
+            var workers = new ArrayList<Future<?>>();
+            for (String email : users) {
+                workers.add(
+                        executor.submit(
+                                () -> {
+                                    while (System.nanoTime() < deadline) {
+                                        runJourney(email, results);
+                                    }
+                                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return results;
+    }
+
+    private void runJourney(String email, LoadResults results) {
+        var journeyStart = System.nanoTime();
+        try {
+            var authorisationResponse =
+                    invoke(
+                            AUTHORISATION,
+                            Optional.empty(),
+                            Map.of(),
+                            authorisationQueryParameters(),
+                            302,
+                            results);
+            var sessionCookie =
+                    getHttpCookieFromMultiValueResponseHeaders(
+                                    authorisationResponse.getMultiValueHeaders(), "gs")
+                            .orElseThrow(() -> new JourneyFailedException("No gs cookie returned"))
+                            .getValue()
+                            .split("\\.");
+            var headers = constructFrontendHeaders(sessionCookie[0], sessionCookie[1]);
+
+            invoke(START, Optional.empty(), headers, Map.of(), 200, results);
+            invoke(
+                    CHECK_USER_EXISTS,
+                    Optional.of(new CheckUserExistsRequest(email)),
+                    headers,
+                    Map.of(),
+                    200,
+                    results);
+            invoke(
+                    LOGIN,
+                    Optional.of(new LoginRequest(email, PASSWORD)),
+                    headers,
+                    Map.of(),
+                    200,
+                    results);
+            invoke(
+                    VERIFY_MFA_CODE,
+                    Optional.of(
+                            new VerifyMfaCodeRequest(
+                                    MFAMethodType.AUTH_APP,
+                                    AUTH_APP_STUB.getAuthAppOneTimeCode(AUTH_APP_SECRET_BASE_32),
+                                    JourneyType.SIGN_IN)),
+                    headers,
+                    Map.of(),
+                    204,
+                    results);
+
+            var authCodeResponse =
+                    invoke(AUTH_CODE, Optional.empty(), headers, Map.of(), 200, results);
+            var location =
+                    objectMapper
+                            .readValue(authCodeResponse.getBody(), AuthCodeResponse.class)
+                            .getLocation();
+            var code =
+                    Optional.ofNullable(
+                                    URLUtils.parseParameters(URI.create(location).getQuery())
+                                            .get("code"))
+                            .orElseThrow(
+                                    () -> new JourneyFailedException("No code in " + location));
+
+            var tokenResponse =
+                    invoke(
+                            TOKEN,
+                            Optional.of(tokenRequestBody(code.get(0))),
+                            Map.of(),
+                            Map.of(),
+                            200,
+                            results);
+            var accessToken =
+                    OIDCTokenResponse.parse(JSONObjectUtils.parse(tokenResponse.getBody()))
+                            .getOIDCTokens()
+                            .getBearerAccessToken();
+
+            invoke(
+                    USER_INFO,
+                    Optional.empty(),
+                    Map.of("Authorization", accessToken.toAuthorizationHeader()),
+                    Map.of(),
+                    200,
+                    results);
+
+            results.journeyLatency.record(System.nanoTime() - journeyStart);
+            results.completedJourneys.incrementAndGet();
+        } catch (Json.JsonException | JOSEException | ParseException | RuntimeException e) {
+            results.failures.add(e.getClass().getSimpleName() + ": " + e.getMessage());
+        }
+    }
+
+    private APIGatewayProxyResponseEvent invoke(
+            String step,
+            Optional<Object> body,
+            Map<String, String> headers,
+            Map<String, String> queryString,
+            int expectedStatus,
+            LoadResults results)
+            throws Json.JsonException {
+        var request =
+                new APIGatewayProxyRequestEvent()
+                        .withHeaders(headers)
+                        .withQueryStringParameters(queryString)
+                        .withRequestContext(
+                                new APIGatewayProxyRequestEvent.ProxyRequestContext()
+                                        .withRequestId(UUID.randomUUID().toString()));
+        if (body.isPresent()) {
+            request.withBody(
+                    body.get() instanceof String
+                            ? (String) body.get()
+                            : objectMapper.writeValueAsString(body.get()));
+        }
+
+        var start = System.nanoTime();
+        var response = handlers.get(step).handleRequest(request, loadContext);
+        results.handlerLatencies.get(step).record(System.nanoTime() - start);
+
+        if (response.getStatusCode() != expectedStatus) {
+            throw new JourneyFailedException(
+                    String.format(
+                            "%s returned %d (expected %d): %s",
+                            step, response.getStatusCode(), expectedStatus, response.getBody()));
+        }
+        return response;
+    }
+
+    private Map<String, String> authorisationQueryParameters() {
+        return Map.of(
+                "response_type", "code",
+                "redirect_uri", REDIRECT_URI,
+                "state", UUID.randomUUID().toString(),
+                "nonce", new Nonce().getValue(),
+                "client_id", CLIENT_ID,
+                "scope", SCOPE.toString(),
+                "vtr", jsonArrayOf("Cl.Cm"));
+    }
+
+    private String tokenRequestBody(String code) throws JOSEException {
+        var claimsSet =
+                new JWTAuthenticationClaimsSet(
+                        new ClientID(CLIENT_ID), new Audience(ROOT_RESOURCE_URL + "/token"));
+        var privateKeyJWT =
+                new PrivateKeyJWT(
+                        claimsSet, JWSAlgorithm.RS256, CLIENT_KEY_PAIR.getPrivate(), null, null);
+        var params = new HashMap<String, List<String>>(privateKeyJWT.toParameters());
+        params.put("grant_type", singletonList(GrantType.AUTHORIZATION_CODE.getValue()));
+        params.put("client_id", singletonList(CLIENT_ID));
+        params.put("code", singletonList(code));
+        params.put("redirect_uri", singletonList(REDIRECT_URI));
+        return URLUtils.serializeParameters(params);
+    }
+
+    private void registerClient() {
+        clientStore.registerClient(
+                CLIENT_ID,
+                CLIENT_NAME,
+                singletonList(REDIRECT_URI),
+                singletonList("load-test-client@digital.cabinet-office.gov.uk"),
+                SCOPE.toStringList(),
+                Base64.getMimeEncoder().encodeToString(CLIENT_KEY_PAIR.getPublic().getEncoded()),
+                singletonList("https://rp-uri/post-logout-redirect"),
+                "https://rp-uri/back-channel-logout",
+                String.valueOf(ServiceType.MANDATORY),
+                "https://rp-uri",
+                "pairwise",
+                false,
+                ClientType.WEB,
+                false,
+                null,
+                ClientAuthenticationMethod.PRIVATE_KEY_JWT.getValue());
+    }
+
+    private String registerUser(int index) {
+        var email = "load-test-user-" + index + "@digital.cabinet-office.gov.uk";
+        userStore.signUp(email, PASSWORD);
+        userStore.setAccountVerified(email);
+        userStore.addMfaMethod(email, MFAMethodType.AUTH_APP, true, true, AUTH_APP_SECRET_BASE_32);
+        return email;
+    }
+
+    private static Map<String, Long> callsSince(Map<String, Long> before, Map<String, Long> after) {
+        var calls = new LinkedHashMap<String, Long>();
+        after.forEach(
+                (serviceName, count) ->
+                        calls.put(serviceName, count - before.getOrDefault(serviceName, 0L)));
+        return calls;
+    }
+
+    private static void writeReport(Path reportFile, String report) throws IOException {
+        Files.createDirectories(reportFile.getParent());
+        Files.writeString(reportFile, report, StandardCharsets.UTF_8);
+    }
+
+    private static class LoadResults {
+        private final Duration duration;
+        private final Map<String, LatencyRecorder> handlerLatencies = new LinkedHashMap<>();
+        private final LatencyRecorder journeyLatency = new LatencyRecorder();
+        private final AtomicLong completedJourneys = new AtomicLong();
+        private final Queue<String> failures = new ConcurrentLinkedQueue<>();
+
+        private LoadResults(Duration duration) {
+            this.duration = duration;
+            STEPS.forEach(step -> handlerLatencies.put(step, new LatencyRecorder()));
+        }
+
+        private String report(long redisCommands, Map<String, Long> awsCalls) {
+            var seconds = duration.toMillis() / 1000.0;
+            var journeys = Math.max(completedJourneys.get(), 1);
+            var report = new StringBuilder();
+            report.append(
+                    String.format(
+                            "Sign-in journey load: concurrency=%d duration=%ss journeys=%d (%.1f/s) failures=%d%n%n",
+                            CONCURRENCY,
+                            duration.toSeconds(),
+                            completedJourneys.get(),
+                            completedJourneys.get() / seconds,
+                            failures.size()));
+            report.append(
+                    String.format(
+                            "%-24s %10s %10s %10s %10s %10s %10s%n",
+                            "handler",
+                            "requests",
+                            "req/s",
+                            "p50 ms",
+                            "p95 ms",
+                            "p99 ms",
+                            "max ms"));
+            handlerLatencies.forEach(
+                    (step, recorder) -> appendLatencyRow(report, step, recorder, seconds));
+            appendLatencyRow(report, "journey", journeyLatency, seconds);
+            report.append(
+                    String.format(
+                            "%nRedis commands per journey: %.1f%n",
+                            (double) redisCommands / journeys));
+            awsCalls.forEach(
+                    (serviceName, calls) ->
+                            report.append(
+                                    String.format(
+                                            "%s calls per journey: %.1f%n",
+                                            serviceName, (double) calls / journeys)));
+            failures.stream()
+                    .distinct()
+                    .limit(10)
+                    .forEach(failure -> report.append("Failure: ").append(failure).append('\n'));
+            return report.toString();
+        }
+
+        private static void appendLatencyRow(
+                StringBuilder report, String name, LatencyRecorder recorder, double seconds) {
+            var samples = recorder.sortedSamples();
+            report.append(
+                    String.format(
+                            "%-24s %10d %10.1f %10.2f %10.2f %10.2f %10.2f%n",
+                            name,
+                            samples.length,
+                            samples.length / seconds,
+                            toMillis(LatencyRecorder.percentile(samples, 50)),
+                            toMillis(LatencyRecorder.percentile(samples, 95)),
+                            toMillis(LatencyRecorder.percentile(samples, 99)),
+                            toMillis(LatencyRecorder.percentile(samples, 100))));
+        }
+
+        private static double toMillis(long nanos) {
+            return nanos / 1_000_000.0;
+        }
+    }
+
+    private static class JourneyFailedException extends RuntimeException {
+        private JourneyFailedException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package uk.gov.di.authentication.load;
+
+import java.util.Arrays;
+
+class LatencyRecorder {
+
+    private long[] samples = new long[1024];
+    private int count;
+
+    synchronized void record(long latencyNanos) {
+        if (count == samples.length) {
+            samples = Arrays.copyOf(samples, samples.length * 2);
+        }
+        samples[count++] = latencyNanos;
+    }
+
+    synchronized long[] sortedSamples() {
+        var sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        return sorted;
+    }
+
+    static long percentile(long[] sortedSamples, double percentile) {
+        if (sortedSamples.length == 0) {
+            return 0;
+        }
+        var rank = (int) Math.ceil(percentile / 100 * sortedSamples.length);
+        return sortedSamples[Math.max(rank, 1) - 1];
+    }
+}
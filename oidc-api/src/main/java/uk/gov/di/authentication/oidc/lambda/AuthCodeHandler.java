@@ -25,6 +25,7 @@ import uk.gov.di.authentication.shared.entity.VectorOfTrust;
 import uk.gov.di.authentication.shared.exceptions.ClientNotFoundException;
 import uk.gov.di.authentication.shared.helpers.IpAddressHelper;
 import uk.gov.di.authentication.shared.helpers.PersistentIdHelper;
+import uk.gov.di.authentication.shared.lambda.PrimingRunner;
 import uk.gov.di.authentication.shared.serialization.Json.JsonException;
 import uk.gov.di.authentication.shared.services.AuditService;
 import uk.gov.di.authentication.shared.services.AuthorisationCodeService;
@@ -99,6 +100,7 @@ public class AuthCodeHandler
         cloudwatchMetricsService = new CloudwatchMetricsService();
         this.configurationService = configurationService;
         dynamoService = new DynamoService(configurationService);
+        PrimingRunner.primeOnce(configurationService);
     }
 
     public AuthCodeHandler() {
@@ -192,7 +194,10 @@ public class AuthCodeHandler
             }
             var authCode =
                     authorisationCodeService.generateAuthorisationCode(
-                            clientSessionId, session.getEmailAddress(), clientSession);
+                            session.getSessionId(),
+                            clientSessionId,
+                            session.getEmailAddress(),
+                            clientSession);
 
             var authenticationResponse =
                     authorizationService.generateSuccessfulAuthResponse(
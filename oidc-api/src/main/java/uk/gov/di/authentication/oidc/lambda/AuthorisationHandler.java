@@ -26,12 +26,15 @@ import uk.gov.di.authentication.shared.entity.ResponseHeaders;
 import uk.gov.di.authentication.shared.entity.Session;
 import uk.gov.di.authentication.shared.helpers.CookieHelper;
 import uk.gov.di.authentication.shared.helpers.IpAddressHelper;
+import uk.gov.di.authentication.shared.helpers.Lazy;
+import uk.gov.di.authentication.shared.lambda.PrimingRunner;
 import uk.gov.di.authentication.shared.services.AuditService;
 import uk.gov.di.authentication.shared.services.ClientService;
 import uk.gov.di.authentication.shared.services.ClientSessionService;
 import uk.gov.di.authentication.shared.services.ConfigurationService;
 import uk.gov.di.authentication.shared.services.DynamoClientService;
 import uk.gov.di.authentication.shared.services.SessionService;
+import uk.gov.di.authentication.shared.services.SessionUnitOfWork;
 
 import java.net.URI;
 import java.net.URISyntaxException;
@@ -62,13 +65,13 @@ public class AuthorisationHandler
 
     private static final Logger LOG = LogManager.getLogger(AuthorisationHandler.class);
 
-    private final SessionService sessionService;
+    private final Lazy<SessionService> sessionService;
     private final ConfigurationService configurationService;
     private final ClientSessionService clientSessionService;
     private final AuthorizationService authorizationService;
-    private final RequestObjectService requestObjectService;
+    private final Lazy<RequestObjectService> requestObjectService;
     private final AuditService auditService;
-    private final ClientService clientService;
+    private final Lazy<ClientService> clientService;
 
     public AuthorisationHandler(
             ConfigurationService configurationService,
@@ -78,6 +81,24 @@ public class AuthorisationHandler
             AuditService auditService,
             RequestObjectService requestObjectService,
             ClientService clientService) {
+        this(
+                configurationService,
+                Lazy.value(sessionService),
+                clientSessionService,
+                authorizationService,
+                auditService,
+                Lazy.value(requestObjectService),
+                Lazy.value(clientService));
+    }
+
+    public AuthorisationHandler(
+            ConfigurationService configurationService,
+            Lazy<SessionService> sessionService,
+            ClientSessionService clientSessionService,
+            AuthorizationService authorizationService,
+            AuditService auditService,
+            Lazy<RequestObjectService> requestObjectService,
+            Lazy<ClientService> clientService) {
         this.configurationService = configurationService;
         this.sessionService = sessionService;
         this.clientSessionService = clientSessionService;
@@ -88,13 +109,15 @@ public class AuthorisationHandler
     }
 
     public AuthorisationHandler(ConfigurationService configurationService) {
-        this.configurationService = configurationService;
-        this.sessionService = new SessionService(configurationService);
-        this.clientSessionService = new ClientSessionService(configurationService);
-        this.authorizationService = new AuthorizationService(configurationService);
-        this.auditService = new AuditService(configurationService);
-        this.requestObjectService = new RequestObjectService(configurationService);
-        this.clientService = new DynamoClientService(configurationService);
+        this(
+                configurationService,
+                Lazy.of(() -> new SessionService(configurationService)),
+                new ClientSessionService(configurationService),
+                new AuthorizationService(configurationService),
+                new AuditService(configurationService),
+                Lazy.of(() -> new RequestObjectService(configurationService)),
+                Lazy.of(() -> new DynamoClientService(configurationService)));
+        PrimingRunner.primeOnce(configurationService);
     }
 
     public AuthorisationHandler() {
@@ -107,7 +130,10 @@ public class AuthorisationHandler
         ThreadContext.clearMap();
         return segmentedFunctionCall(
                 "oidc-api::" + getClass().getSimpleName(),
-                () -> authoriseRequestHandler(input, context));
+                () ->
+                        SessionUnitOfWork.execute(
+                                configurationService,
+                                () -> authoriseRequestHandler(input, context)));
     }
 
     public APIGatewayProxyResponseEvent authoriseRequestHandler(
@@ -167,7 +193,7 @@ public class AuthorisationHandler
         Optional<AuthRequestError> authRequestError;
         if (authRequest.getRequestObject() != null && configurationService.isDocAppApiEnabled()) {
             LOG.info("RequestObject auth request received");
-            authRequestError = requestObjectService.validateRequestObject(authRequest);
+            authRequestError = requestObjectService.get().validateRequestObject(authRequest);
         } else {
             authRequestError =
                     authorizationService.validateAuthRequest(
@@ -187,7 +213,7 @@ public class AuthorisationHandler
         } else {
             authRequest = RequestObjectToAuthRequestHelper.transform(authRequest);
             return getOrCreateSessionAndRedirect(
-                    sessionService.getSessionFromSessionCookie(input.getHeaders()),
+                    sessionService.get().getSessionFromSessionCookie(input.getHeaders()),
                     authRequest,
                     ipAddress,
                     persistentSessionId,
@@ -216,7 +242,7 @@ public class AuthorisationHandler
                     authenticationRequest.getClientID().getValue(),
                     clientSessionId);
         }
-        var session = existingSession.orElseGet(sessionService::createSession);
+        var session = existingSession.orElseGet(sessionService.get()::createSession);
         attachSessionIdToLogs(session);
 
         if (existingSession.isEmpty()) {
@@ -224,12 +250,13 @@ public class AuthorisationHandler
             LOG.info("Created session");
         } else {
             var oldSessionId = session.getSessionId();
-            sessionService.updateSessionId(session);
+            sessionService.get().updateSessionId(session);
             updateAttachedSessionIdToLogs(session.getSessionId());
             LOG.info("Updated session id from {} - new", oldSessionId);
         }
         var clientName =
                 clientService
+                        .get()
                         .getClient(authenticationRequest.getClientID().getValue())
                         .map(ClientRegistry::getClientName)
                         .orElse("");
@@ -256,7 +283,7 @@ public class AuthorisationHandler
         updateAttachedLogFieldToLogs(CLIENT_SESSION_ID, clientSessionId);
         updateAttachedLogFieldToLogs(GOVUK_SIGNIN_JOURNEY_ID, clientSessionId);
         updateAttachedLogFieldToLogs(CLIENT_ID, authenticationRequest.getClientID().getValue());
-        sessionService.save(session);
+        sessionService.get().save(session);
         LOG.info("Session saved successfully");
         return redirect(session, clientSessionId, authenticationRequest, persistentSessionId);
     }
@@ -18,7 +18,9 @@ import uk.gov.di.authentication.shared.entity.ResponseHeaders;
 import uk.gov.di.authentication.shared.entity.Session;
 import uk.gov.di.authentication.shared.helpers.CookieHelper;
 import uk.gov.di.authentication.shared.helpers.IpAddressHelper;
+import uk.gov.di.authentication.shared.helpers.Lazy;
 import uk.gov.di.authentication.shared.helpers.PersistentIdHelper;
+import uk.gov.di.authentication.shared.lambda.PrimingRunner;
 import uk.gov.di.authentication.shared.services.AuditService;
 import uk.gov.di.authentication.shared.services.ClientSessionService;
 import uk.gov.di.authentication.shared.services.ConfigurationService;
@@ -48,11 +50,11 @@ public class LogoutHandler
 
     private final ConfigurationService configurationService;
     private final SessionService sessionService;
-    private final DynamoClientService dynamoClientService;
-    private final ClientSessionService clientSessionService;
-    private final TokenValidationService tokenValidationService;
+    private final Lazy<DynamoClientService> dynamoClientService;
+    private final Lazy<ClientSessionService> clientSessionService;
+    private final Lazy<TokenValidationService> tokenValidationService;
     private final AuditService auditService;
-    private final BackChannelLogoutService backChannelLogoutService;
+    private final Lazy<BackChannelLogoutService> backChannelLogoutService;
     private final CookieHelper cookieHelper;
 
     public LogoutHandler() {
@@ -60,19 +62,21 @@ public class LogoutHandler
     }
 
     public LogoutHandler(ConfigurationService configurationService) {
-        this.configurationService = configurationService;
-        this.sessionService = new SessionService(configurationService);
-        this.dynamoClientService = new DynamoClientService(configurationService);
-        this.clientSessionService = new ClientSessionService(configurationService);
-        this.tokenValidationService =
-                new TokenValidationService(
-                        new JwksService(
-                                configurationService,
-                                new KmsConnectionService(configurationService)),
-                        configurationService);
-        this.auditService = new AuditService(configurationService);
-        this.backChannelLogoutService = new BackChannelLogoutService(configurationService);
-        this.cookieHelper = new CookieHelper();
+        this(
+                configurationService,
+                new SessionService(configurationService),
+                Lazy.of(() -> new DynamoClientService(configurationService)),
+                Lazy.of(() -> new ClientSessionService(configurationService)),
+                Lazy.of(
+                        () ->
+                                new TokenValidationService(
+                                        new JwksService(
+                                                configurationService,
+                                                new KmsConnectionService(configurationService)),
+                                        configurationService)),
+                new AuditService(configurationService),
+                Lazy.of(() -> new BackChannelLogoutService(configurationService)));
+        PrimingRunner.primeOnce(configurationService);
     }
 
     public LogoutHandler(
@@ -83,6 +87,24 @@ public class LogoutHandler
             TokenValidationService tokenValidationService,
             AuditService auditService,
             BackChannelLogoutService backChannelLogoutService) {
+        this(
+                configurationService,
+                sessionService,
+                Lazy.value(dynamoClientService),
+                Lazy.value(clientSessionService),
+                Lazy.value(tokenValidationService),
+                auditService,
+                Lazy.value(backChannelLogoutService));
+    }
+
+    public LogoutHandler(
+            ConfigurationService configurationService,
+            SessionService sessionService,
+            Lazy<DynamoClientService> dynamoClientService,
+            Lazy<ClientSessionService> clientSessionService,
+            Lazy<TokenValidationService> tokenValidationService,
+            AuditService auditService,
+            Lazy<BackChannelLogoutService> backChannelLogoutService) {
         this.configurationService = configurationService;
         this.sessionService = sessionService;
         this.dynamoClientService = dynamoClientService;
@@ -189,7 +211,10 @@ public class LogoutHandler
             boolean isTokenSignatureValid =
                     segmentedFunctionCall(
                             "isTokenSignatureValid",
-                            () -> tokenValidationService.isTokenSignatureValid(idTokenHint.get()));
+                            () ->
+                                    tokenValidationService
+                                            .get()
+                                            .isTokenSignatureValid(idTokenHint.get()));
             if (!isTokenSignatureValid) {
                 LOG.warn("Unable to validate ID token signature");
                 return generateErrorLogoutResponse(
@@ -244,7 +269,7 @@ public class LogoutHandler
             Context context,
             Optional<String> sessionId) {
         LOG.info("Validating ClientID");
-        Optional<ClientRegistry> clientRegistry = dynamoClientService.getClient(clientID);
+        Optional<ClientRegistry> clientRegistry = dynamoClientService.get().getClient(clientID);
         if (clientRegistry.isEmpty()) {
             LOG.warn("Client not found in ClientRegistry");
             return generateErrorLogoutResponse(
@@ -372,28 +397,38 @@ public class LogoutHandler
     private void destroySessions(Session session) {
         for (String clientSessionId : session.getClientSessions()) {
             clientSessionService
+                    .get()
                     .getClientSession(clientSessionId)
                     .flatMap(
                             t ->
                                     t.getAuthRequestParams().get("client_id").stream()
                                             .findFirst()
-                                            .flatMap(dynamoClientService::getClient))
+                                            .flatMap(dynamoClientService.get()::getClient))
                     .ifPresent(
                             clientRegistry ->
-                                    backChannelLogoutService.sendLogoutMessage(
-                                            clientRegistry,
-                                            session.getEmailAddress(),
-                                            configurationService.getInternalSectorUri()));
+                                    backChannelLogoutService
+                                            .get()
+                                            .sendLogoutMessage(
+                                                    clientRegistry,
+                                                    session.getEmailAddress(),
+                                                    configurationService.getInternalSectorUri()));
             LOG.info("Deleting Client Session");
-            clientSessionService.deleteClientSessionFromRedis(clientSessionId);
+            clientSessionService.get().deleteClientSessionFromRedis(clientSessionId);
         }
         LOG.info("Deleting Session");
         sessionService.deleteSessionFromRedis(session.getSessionId());
     }
 
     private boolean doesIDTokenExistInSession(String idTokenHint, Session session) {
+        if (sessionService.isIdTokenHintInSession(session.getSessionId(), idTokenHint)) {
+            return true;
+        }
+        if (!configurationService.isLogoutClientSessionScanEnabled()) {
+            return false;
+        }
+        LOG.info("ID token hint not found in session index. Checking client sessions");
         return session.getClientSessions().stream()
-                .map(clientSessionService::getClientSession)
+                .map(clientSessionService.get()::getClientSession)
                 .flatMap(Optional::stream)
                 .anyMatch(cs -> idTokenHint.equals(cs.getIdTokenHint()));
     }
@@ -23,8 +23,10 @@ import uk.gov.di.authentication.shared.entity.ClientRegistry;
 import uk.gov.di.authentication.shared.entity.ClientSession;
 import uk.gov.di.authentication.shared.entity.RefreshTokenStore;
 import uk.gov.di.authentication.shared.entity.UserProfile;
+import uk.gov.di.authentication.shared.exceptions.Argon2HashRejectedException;
 import uk.gov.di.authentication.shared.exceptions.TokenAuthInvalidException;
 import uk.gov.di.authentication.shared.helpers.ClientSubjectHelper;
+import uk.gov.di.authentication.shared.lambda.PrimingRunner;
 import uk.gov.di.authentication.shared.serialization.Json;
 import uk.gov.di.authentication.shared.serialization.Json.JsonException;
 import uk.gov.di.authentication.shared.services.AuthorisationCodeService;
@@ -36,6 +38,7 @@ import uk.gov.di.authentication.shared.services.JwksService;
 import uk.gov.di.authentication.shared.services.KmsConnectionService;
 import uk.gov.di.authentication.shared.services.RedisConnectionService;
 import uk.gov.di.authentication.shared.services.SerializationService;
+import uk.gov.di.authentication.shared.services.SessionService;
 import uk.gov.di.authentication.shared.services.TokenService;
 import uk.gov.di.authentication.shared.services.TokenValidationService;
 import uk.gov.di.authentication.shared.validation.TokenClientAuthValidatorFactory;
@@ -50,6 +53,7 @@ import java.util.Optional;
 import static java.lang.String.format;
 import static uk.gov.di.authentication.shared.conditions.DocAppUserHelper.isDocCheckingAppUserWithSubjectId;
 import static uk.gov.di.authentication.shared.helpers.ApiGatewayResponseHelper.generateApiGatewayProxyResponse;
+import static uk.gov.di.authentication.shared.helpers.ApiGatewayResponseHelper.generateApiGatewayProxyRetryLaterResponse;
 import static uk.gov.di.authentication.shared.helpers.InstrumentationHelper.addAnnotation;
 import static uk.gov.di.authentication.shared.helpers.InstrumentationHelper.segmentedFunctionCall;
 import static uk.gov.di.authentication.shared.helpers.LogLineHelper.LogFieldName.CLIENT_SESSION_ID;
@@ -67,6 +71,7 @@ public class TokenHandler
     private final ConfigurationService configurationService;
     private final AuthorisationCodeService authorisationCodeService;
     private final ClientSessionService clientSessionService;
+    private final SessionService sessionService;
     private final TokenValidationService tokenValidationService;
     private final RedisConnectionService redisConnectionService;
     private final TokenClientAuthValidatorFactory tokenClientAuthValidatorFactory;
@@ -80,6 +85,7 @@ public class TokenHandler
             ConfigurationService configurationService,
             AuthorisationCodeService authorisationCodeService,
             ClientSessionService clientSessionService,
+            SessionService sessionService,
             TokenValidationService tokenValidationService,
             RedisConnectionService redisConnectionService,
             TokenClientAuthValidatorFactory tokenClientAuthValidatorFactory) {
@@ -88,6 +94,7 @@ public class TokenHandler
         this.configurationService = configurationService;
         this.authorisationCodeService = authorisationCodeService;
         this.clientSessionService = clientSessionService;
+        this.sessionService = sessionService;
         this.tokenValidationService = tokenValidationService;
         this.redisConnectionService = redisConnectionService;
         this.tokenClientAuthValidatorFactory = tokenClientAuthValidatorFactory;
@@ -106,12 +113,14 @@ public class TokenHandler
                         configurationService, redisConnectionService, objectMapper);
         this.clientSessionService =
                 new ClientSessionService(configurationService, redisConnectionService);
+        this.sessionService = new SessionService(configurationService, redisConnectionService);
         this.tokenValidationService =
                 new TokenValidationService(
                         new JwksService(configurationService, kms), configurationService);
         this.tokenClientAuthValidatorFactory =
                 new TokenClientAuthValidatorFactory(
                         configurationService, new DynamoClientService(configurationService));
+        PrimingRunner.primeOnce(configurationService);
     }
 
     public TokenHandler() {
@@ -200,6 +209,11 @@ public class TokenHandler
             LOG.warn("Could not retrieve clientRegistry session ID from code", e);
             return generateApiGatewayProxyResponse(
                     400, OAuth2Error.INVALID_GRANT.toJSONObject().toJSONString());
+        } catch (Argon2HashRejectedException e) {
+            LOG.warn("Unable to verify client secret: {}", e.getMessage());
+            return generateApiGatewayProxyRetryLaterResponse(
+                    OAuth2Error.TEMPORARILY_UNAVAILABLE.toJSONObject().toJSONString(),
+                    e.getRetryAfterSeconds());
         }
 
         ClientSession clientSession = authCodeExchangeData.getClientSession();
@@ -286,10 +300,14 @@ public class TokenHandler
                                             authCodeExchangeData.getClientSessionId()));
         }
 
+        var idTokenHint = tokenResponse.getOIDCTokens().getIDToken().serialize();
         clientSessionService.saveClientSession(
                 authCodeExchangeData.getClientSessionId(),
-                clientSession.setIdTokenHint(
-                        tokenResponse.getOIDCTokens().getIDToken().serialize()));
+                clientSession.setIdTokenHint(idTokenHint));
+        if (Objects.nonNull(authCodeExchangeData.getSessionId())) {
+            sessionService.addIdTokenHintToSession(
+                    authCodeExchangeData.getSessionId(), idTokenHint);
+        }
         LOG.info("Successfully generated tokens");
         return generateApiGatewayProxyResponse(200, tokenResponse.toJSONObject().toJSONString());
     }
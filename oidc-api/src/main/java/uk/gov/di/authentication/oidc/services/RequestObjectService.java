@@ -2,7 +2,6 @@ package uk.gov.di.authentication.oidc.services;
 
 import com.nimbusds.jose.JOSEException;
 import com.nimbusds.jose.JWSVerifier;
-import com.nimbusds.jose.crypto.RSASSAVerifier;
 import com.nimbusds.jwt.JWTClaimsSet;
 import com.nimbusds.jwt.SignedJWT;
 import com.nimbusds.langtag.LangTagException;
@@ -20,19 +19,13 @@ import uk.gov.di.authentication.shared.entity.ClientType;
 import uk.gov.di.authentication.shared.entity.CustomScopeValue;
 import uk.gov.di.authentication.shared.entity.ValidScopes;
 import uk.gov.di.authentication.shared.entity.VectorOfTrust;
+import uk.gov.di.authentication.shared.helpers.ClientPublicKeyHelper;
 import uk.gov.di.authentication.shared.services.ConfigurationService;
 import uk.gov.di.authentication.shared.services.DynamoClientService;
 
 import java.net.URI;
-import java.security.KeyFactory;
-import java.security.NoSuchAlgorithmException;
-import java.security.PublicKey;
-import java.security.interfaces.RSAPublicKey;
-import java.security.spec.InvalidKeySpecException;
-import java.security.spec.X509EncodedKeySpec;
 import java.text.ParseException;
 import java.util.ArrayList;
-import java.util.Base64;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
@@ -81,7 +74,8 @@ public class RequestObjectService {
                 throw new RuntimeException(errorMsg);
             }
             var signedJWT = (SignedJWT) authRequest.getRequestObject();
-            var signatureValid = isSignatureValid(signedJWT, client.getPublicKey());
+            var signatureValid =
+                    isSignatureValid(signedJWT, client.getClientID(), client.getPublicKey());
             if (!signatureValid) {
                 LOG.error("Invalid Signature on request JWT");
                 throw new RuntimeException();
@@ -213,15 +207,12 @@ public class RequestObjectService {
         return !clientRegistry.getScopes().containsAll(scopes);
     }
 
-    private static boolean isSignatureValid(SignedJWT signedJWT, String publicKey) {
+    private static boolean isSignatureValid(
+            SignedJWT signedJWT, String clientId, String publicKey) {
         try {
-            byte[] decodedKey = Base64.getMimeDecoder().decode(publicKey);
-            X509EncodedKeySpec keySpec = new X509EncodedKeySpec(decodedKey);
-            KeyFactory kf = KeyFactory.getInstance("RSA");
-            PublicKey pubKey = kf.generatePublic(keySpec);
-            JWSVerifier verifier = new RSASSAVerifier((RSAPublicKey) pubKey);
+            JWSVerifier verifier = ClientPublicKeyHelper.getVerifier(clientId, publicKey);
             return signedJWT.verify(verifier);
-        } catch (NoSuchAlgorithmException | InvalidKeySpecException | JOSEException e) {
+        } catch (JOSEException e) {
             LOG.error("Error when validating JWT signature");
             throw new RuntimeException(e);
         }
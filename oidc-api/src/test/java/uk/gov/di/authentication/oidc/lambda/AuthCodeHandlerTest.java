@@ -201,7 +201,7 @@ class AuthCodeHandlerTest {
         when(authorizationService.isClientRedirectUriValid(CLIENT_ID, REDIRECT_URI))
                 .thenReturn(true);
         when(authorisationCodeService.generateAuthorisationCode(
-                        CLIENT_SESSION_ID, EMAIL, clientSession))
+                        SESSION_ID, CLIENT_SESSION_ID, EMAIL, clientSession))
                 .thenReturn(authorizationCode);
         when(authorizationService.generateSuccessfulAuthResponse(
                         any(AuthenticationRequest.class),
@@ -283,7 +283,7 @@ class AuthCodeHandlerTest {
         when(authorizationService.isClientRedirectUriValid(CLIENT_ID, REDIRECT_URI))
                 .thenReturn(true);
         when(authorisationCodeService.generateAuthorisationCode(
-                        CLIENT_SESSION_ID, null, clientSession))
+                        SESSION_ID, CLIENT_SESSION_ID, null, clientSession))
                 .thenReturn(authorizationCode);
         when(authorizationService.generateSuccessfulAuthResponse(
                         any(AuthenticationRequest.class),
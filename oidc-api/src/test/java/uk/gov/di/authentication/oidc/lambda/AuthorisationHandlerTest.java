@@ -39,6 +39,7 @@ import uk.gov.di.authentication.shared.entity.CredentialTrustLevel;
 import uk.gov.di.authentication.shared.entity.ResponseHeaders;
 import uk.gov.di.authentication.shared.entity.Session;
 import uk.gov.di.authentication.shared.entity.VectorOfTrust;
+import uk.gov.di.authentication.shared.helpers.Lazy;
 import uk.gov.di.authentication.shared.services.AuditService;
 import uk.gov.di.authentication.shared.services.ClientService;
 import uk.gov.di.authentication.shared.services.ClientSessionService;
@@ -467,6 +468,43 @@ class AuthorisationHandlerTest {
                         pair("description", OAuth2Error.INVALID_SCOPE.getDescription()));
     }
 
+    @Test
+    void shouldNotInitialiseSessionOrClientServicesWhenAuthorisationRequestIsInvalid() {
+        var lazySessionService = Lazy.of(() -> sessionService);
+        var lazyRequestObjectService = Lazy.of(() -> requestObjectService);
+        var lazyClientService = Lazy.of(() -> clientService);
+        var lazyHandler =
+                new AuthorisationHandler(
+                        configService,
+                        lazySessionService,
+                        clientSessionService,
+                        authorizationService,
+                        auditService,
+                        lazyRequestObjectService,
+                        lazyClientService);
+        APIGatewayProxyRequestEvent event = new APIGatewayProxyRequestEvent();
+        event.setQueryStringParameters(
+                Map.of(
+                        "client_id",
+                        CLIENT_ID.getValue(),
+                        "redirect_uri",
+                        REDIRECT_URI,
+                        "scope",
+                        SCOPE,
+                        "state",
+                        STATE.getValue()));
+        event.setRequestContext(
+                new ProxyRequestContext()
+                        .withIdentity(new RequestIdentity().withSourceIp("123.123.123.123")));
+
+        var response = lazyHandler.handleRequest(event, context);
+
+        assertThat(response, hasStatus(302));
+        assertThat(lazySessionService.isInitialised(), equalTo(false));
+        assertThat(lazyRequestObjectService.isInitialised(), equalTo(false));
+        assertThat(lazyClientService.isInitialised(), equalTo(false));
+    }
+
     @Test
     void shouldThrowExceptionWhenNoQueryStringParametersArePresent() {
         APIGatewayProxyRequestEvent event = new APIGatewayProxyRequestEvent();
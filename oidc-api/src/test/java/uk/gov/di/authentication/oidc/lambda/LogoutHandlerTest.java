@@ -29,6 +29,7 @@ import uk.gov.di.authentication.shared.entity.Session;
 import uk.gov.di.authentication.shared.entity.VectorOfTrust;
 import uk.gov.di.authentication.shared.helpers.CookieHelper;
 import uk.gov.di.authentication.shared.helpers.IdGenerator;
+import uk.gov.di.authentication.shared.helpers.Lazy;
 import uk.gov.di.authentication.shared.helpers.PersistentIdHelper;
 import uk.gov.di.authentication.shared.services.AuditService;
 import uk.gov.di.authentication.shared.services.ClientSessionService;
@@ -56,6 +57,7 @@ import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -120,6 +122,7 @@ class LogoutHandlerTest {
                         backChannelLogoutService);
         when(configurationService.getDefaultLogoutURI()).thenReturn(DEFAULT_LOGOUT_URI);
         when(configurationService.getInternalSectorUri()).thenReturn(INTERNAL_SECTOR_URI);
+        when(configurationService.isLogoutClientSessionScanEnabled()).thenReturn(true);
         ECKey ecSigningKey =
                 new ECKeyGenerator(Curve.P_256).algorithm(JWSAlgorithm.ES256).generate();
         signedIDToken =
@@ -129,6 +132,32 @@ class LogoutHandlerTest {
         when(context.getAwsRequestId()).thenReturn("aws-session-id");
     }
 
+    @Test
+    public void shouldReadClientSessionsOnlyForLogoutWhenIdTokenHintIsIndexed() {
+        when(dynamoClientService.getClient("client-id"))
+                .thenReturn(Optional.of(createClientRegistry()));
+        when(tokenValidationService.isTokenSignatureValid(signedIDToken.serialize()))
+                .thenReturn(true);
+        when(sessionService.isIdTokenHintInSession(SESSION_ID, signedIDToken.serialize()))
+                .thenReturn(true);
+        APIGatewayProxyRequestEvent event =
+                generateRequestEvent(
+                        Map.of(
+                                "id_token_hint", signedIDToken.serialize(),
+                                "post_logout_redirect_uri", CLIENT_LOGOUT_URI.toString(),
+                                "state", STATE.toString()));
+        generateSessionFromCookie(session);
+
+        APIGatewayProxyResponseEvent response = handler.handleRequest(event, context);
+
+        assertThat(response, hasStatus(302));
+        assertThat(
+                response.getHeaders().get(ResponseHeaders.LOCATION),
+                equalTo(CLIENT_LOGOUT_URI + "?state=" + STATE));
+        verify(clientSessionService, times(1)).getClientSession(CLIENT_SESSION_ID);
+        verify(sessionService).deleteSessionFromRedis(SESSION_ID);
+    }
+
     @Test
     public void shouldDeleteSessionAndRedirectToClientLogoutUriForValidLogoutRequest() {
         when(dynamoClientService.getClient("client-id"))
@@ -403,6 +432,30 @@ class LogoutHandlerTest {
                         PERSISTENT_SESSION_ID);
     }
 
+    @Test
+    public void shouldNotInitialiseKmsOrSqsBackedServicesForAnInvalidSession() {
+        var lazyTokenValidationService = Lazy.of(() -> tokenValidationService);
+        var lazyBackChannelLogoutService = Lazy.of(() -> backChannelLogoutService);
+        var lazyHandler =
+                new LogoutHandler(
+                        configurationService,
+                        sessionService,
+                        Lazy.of(() -> dynamoClientService),
+                        Lazy.of(() -> clientSessionService),
+                        lazyTokenValidationService,
+                        auditService,
+                        lazyBackChannelLogoutService);
+        var event = generateRequestEvent(Map.of("id_token_hint", signedIDToken.serialize()));
+        event.setHeaders(Map.of(COOKIE, buildCookieString("invalid-client-session-id")));
+        generateSessionFromCookie(session);
+
+        var response = lazyHandler.handleRequest(event, context);
+
+        assertThat(response, hasStatus(302));
+        assertThat(lazyTokenValidationService.isInitialised(), equalTo(false));
+        assertThat(lazyBackChannelLogoutService.isInitialised(), equalTo(false));
+    }
+
     @Test
     public void shouldRedirectToDefaultLogoutUriWithErrorMessageWhenIDTokenHintIsNotFoundInSession()
             throws URISyntaxException {
@@ -440,6 +493,30 @@ class LogoutHandlerTest {
                         PERSISTENT_SESSION_ID);
     }
 
+    @Test
+    public void shouldNotReadClientSessionsWhenIdTokenHintIsNotIndexedAndScanIsDisabled()
+            throws URISyntaxException {
+        when(configurationService.isLogoutClientSessionScanEnabled()).thenReturn(false);
+        APIGatewayProxyRequestEvent event =
+                generateRequestEvent(
+                        Map.of(
+                                "id_token_hint", signedIDToken.serialize(),
+                                "post_logout_redirect_uri", CLIENT_LOGOUT_URI.toString()));
+        setupClientSessionToken(signedIDToken);
+        generateSessionFromCookie(session);
+
+        APIGatewayProxyResponseEvent response = handler.handleRequest(event, context);
+
+        assertThat(response, hasStatus(302));
+        URIBuilder uriBuilder = new URIBuilder(DEFAULT_LOGOUT_URI);
+        uriBuilder.addParameter("error_code", OAuth2Error.INVALID_REQUEST_CODE);
+        uriBuilder.addParameter("error_description", "unable to validate id_token_hint");
+        assertThat(
+                response.getHeaders().get(ResponseHeaders.LOCATION),
+                equalTo(uriBuilder.build().toString()));
+        verify(clientSessionService, never()).getClientSession(CLIENT_SESSION_ID);
+    }
+
     @Test
     public void shouldRedirectToDefaultLogoutUriWithErrorMessageWhenSignaturenIdTokenIsInvalid()
             throws URISyntaxException, JOSEException {
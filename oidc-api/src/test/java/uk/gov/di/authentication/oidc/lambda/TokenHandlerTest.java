@@ -50,6 +50,7 @@ import uk.gov.di.authentication.shared.entity.RefreshTokenStore;
 import uk.gov.di.authentication.shared.entity.UserProfile;
 import uk.gov.di.authentication.shared.entity.ValidScopes;
 import uk.gov.di.authentication.shared.entity.VectorOfTrust;
+import uk.gov.di.authentication.shared.exceptions.Argon2HashRejectedException;
 import uk.gov.di.authentication.shared.exceptions.TokenAuthInvalidException;
 import uk.gov.di.authentication.shared.serialization.Json;
 import uk.gov.di.authentication.shared.services.AuthorisationCodeService;
@@ -58,6 +59,7 @@ import uk.gov.di.authentication.shared.services.ConfigurationService;
 import uk.gov.di.authentication.shared.services.DynamoService;
 import uk.gov.di.authentication.shared.services.RedisConnectionService;
 import uk.gov.di.authentication.shared.services.SerializationService;
+import uk.gov.di.authentication.shared.services.SessionService;
 import uk.gov.di.authentication.shared.services.TokenService;
 import uk.gov.di.authentication.shared.services.TokenValidationService;
 import uk.gov.di.authentication.shared.validation.TokenClientAuthValidator;
@@ -91,11 +93,14 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static uk.gov.di.authentication.oidc.helper.RequestObjectTestHelper.generateSignedJWT;
 import static uk.gov.di.authentication.shared.entity.CustomScopeValue.DOC_CHECKING_APP;
 import static uk.gov.di.authentication.sharedtest.helper.TokenGeneratorHelper.generateIDToken;
 import static uk.gov.di.authentication.sharedtest.matchers.APIGatewayProxyResponseEventMatcher.hasBody;
+import static uk.gov.di.authentication.sharedtest.matchers.APIGatewayProxyResponseEventMatcher.hasHeader;
 import static uk.gov.di.authentication.sharedtest.matchers.APIGatewayProxyResponseEventMatcher.hasStatus;
 
 public class TokenHandlerTest {
@@ -117,6 +122,7 @@ public class TokenHandlerTest {
     private static final String BASE_URI = "http://localhost";
     private static final String TOKEN_URI = "http://localhost/token";
     public static final String CLIENT_SESSION_ID = "a-client-session-id";
+    public static final String SESSION_ID = "a-session-id";
     private static final Nonce NONCE = new Nonce();
     private static final String REFRESH_TOKEN_PREFIX = "REFRESH_TOKEN:";
 
@@ -135,6 +141,7 @@ public class TokenHandlerTest {
     private final AuthorisationCodeService authorisationCodeService =
             mock(AuthorisationCodeService.class);
     private final ClientSessionService clientSessionService = mock(ClientSessionService.class);
+    private final SessionService sessionService = mock(SessionService.class);
     private final RedisConnectionService redisConnectionService =
             mock(RedisConnectionService.class);
     private TokenHandler handler;
@@ -151,6 +158,7 @@ public class TokenHandlerTest {
                         configurationService,
                         authorisationCodeService,
                         clientSessionService,
+                        sessionService,
                         tokenValidationService,
                         redisConnectionService,
                         tokenClientAuthValidatorFactory);
@@ -210,6 +218,7 @@ public class TokenHandlerTest {
                 .thenReturn(
                         Optional.of(
                                 new AuthCodeExchangeData()
+                                        .setSessionId(SESSION_ID)
                                         .setEmail(TEST_EMAIL)
                                         .setClientSessionId(CLIENT_SESSION_ID)
                                         .setClientSession(
@@ -239,6 +248,7 @@ public class TokenHandlerTest {
         assertThat(result, hasStatus(200));
         assertTrue(result.getBody().contains(refreshToken.getValue()));
         assertTrue(result.getBody().contains(accessToken.getValue()));
+        verify(sessionService).addIdTokenHintToSession(SESSION_ID, signedJWT.serialize());
     }
 
     @ParameterizedTest
@@ -359,6 +369,7 @@ public class TokenHandlerTest {
         assertThat(result, hasStatus(200));
         assertTrue(result.getBody().contains(refreshToken.getValue()));
         assertTrue(result.getBody().contains(accessToken.getValue()));
+        verifyNoInteractions(sessionService);
     }
 
     @ParameterizedTest
@@ -436,6 +447,27 @@ public class TokenHandlerTest {
         assertThat(result, hasBody(OAuth2Error.INVALID_CLIENT.toJSONObject().toJSONString()));
     }
 
+    @Test
+    void shouldReturn503WithRetryAfterIfClientSecretHashIsRejected()
+            throws JOSEException, TokenAuthInvalidException {
+        when(tokenService.validateTokenRequestParams(anyString())).thenReturn(Optional.empty());
+        PrivateKeyJWT privateKeyJWT = generatePrivateKeyJWT(generateRsaKeyPair().getPrivate());
+        when(tokenClientAuthValidatorFactory.getTokenAuthenticationValidator(anyString(), any()))
+                .thenReturn(Optional.of(tokenClientAuthValidator));
+        when(tokenClientAuthValidator.validateTokenAuthAndReturnClientRegistryIfValid(
+                        anyString(), any()))
+                .thenThrow(new Argon2HashRejectedException("Argon2 hash rejected", 1));
+
+        APIGatewayProxyResponseEvent result =
+                generateApiGatewayRequest(
+                        privateKeyJWT, new AuthorizationCode().toString(), CLIENT_ID, true);
+
+        assertThat(result, hasStatus(503));
+        assertThat(result, hasHeader("Retry-After", "1"));
+        assertThat(
+                result, hasBody(OAuth2Error.TEMPORARILY_UNAVAILABLE.toJSONObject().toJSONString()));
+    }
+
     @Test
     void shouldReturn400IfClientIdIsNotValid() {
         ErrorObject error =
@@ -18,6 +18,7 @@ import uk.gov.di.authentication.shared.entity.NotificationType;
 import uk.gov.di.authentication.shared.entity.Session;
 import uk.gov.di.authentication.shared.entity.VectorOfTrust;
 import uk.gov.di.authentication.shared.helpers.IdGenerator;
+import uk.gov.di.authentication.shared.serialization.CompactSessionCodec;
 import uk.gov.di.authentication.shared.serialization.Json;
 import uk.gov.di.authentication.shared.services.CodeGeneratorService;
 import uk.gov.di.authentication.shared.services.CodeStorageService;
@@ -32,9 +33,11 @@ import java.util.Optional;
 import static uk.gov.di.authentication.shared.entity.NotificationType.MFA_SMS;
 import static uk.gov.di.authentication.shared.entity.NotificationType.VERIFY_EMAIL;
 import static uk.gov.di.authentication.shared.entity.NotificationType.VERIFY_PHONE_NUMBER;
+import static uk.gov.di.authentication.shared.helpers.HashHelper.hashSha256String;
 import static uk.gov.di.authentication.shared.services.AuthorisationCodeService.AUTH_CODE_PREFIX;
 import static uk.gov.di.authentication.shared.services.ClientSessionService.CLIENT_SESSION_PREFIX;
 import static uk.gov.di.authentication.shared.services.CodeStorageService.CODE_BLOCKED_KEY_PREFIX;
+import static uk.gov.di.authentication.shared.services.SessionService.ID_TOKEN_HINT_INDEX_PREFIX;
 
 public class RedisExtension
         implements Extension, BeforeAllCallback, AfterAllCallback, AfterEachCallback {
@@ -42,12 +45,14 @@ public class RedisExtension
     private final CodeStorageService codeStorageService;
 
     private final Json objectMapper;
+    private final CompactSessionCodec sessionCodec;
 
     private RedisConnectionService redis;
     private RedisClient client;
 
     public RedisExtension(Json objectMapper, ConfigurationService configurationService) {
         this.objectMapper = objectMapper;
+        this.sessionCodec = new CompactSessionCodec(objectMapper);
         this.configurationService = configurationService;
         this.codeStorageService = new CodeStorageService(configurationService);
     }
@@ -67,7 +72,7 @@ public class RedisExtension
 
     public void setVerifiedMfaMethodType(String sessionId, MFAMethodType mfaMethodType)
             throws Json.JsonException {
-        var session = objectMapper.readValue(redis.getValue(sessionId), Session.class);
+        var session = sessionCodec.decodeSession(redis.getValue(sessionId));
         session.setVerifiedMfaMethodType(mfaMethodType);
         redis.saveWithExpiry(
                 session.getSessionId(), objectMapper.writeValueAsString(session), 3600);
@@ -88,9 +93,8 @@ public class RedisExtension
     public void addDocAppSubjectIdToClientSession(Subject subject, String clientSessionId)
             throws Json.JsonException {
         var clientSession =
-                objectMapper.readValue(
-                        redis.getValue(CLIENT_SESSION_PREFIX.concat(clientSessionId)),
-                        ClientSession.class);
+                sessionCodec.decodeClientSession(
+                        redis.getValue(CLIENT_SESSION_PREFIX.concat(clientSessionId)));
         clientSession.setDocAppSubjectId(subject);
         redis.saveWithExpiry(
                 CLIENT_SESSION_PREFIX.concat(clientSessionId),
@@ -108,7 +112,7 @@ public class RedisExtension
 
     public void addClientSessionIdToSession(String clientSessionId, String sessionId)
             throws Json.JsonException {
-        Session session = objectMapper.readValue(redis.getValue(sessionId), Session.class);
+        Session session = sessionCodec.decodeSession(redis.getValue(sessionId));
         session.addClientSession(clientSessionId);
         redis.saveWithExpiry(
                 session.getSessionId(), objectMapper.writeValueAsString(session), 3600);
@@ -116,7 +120,7 @@ public class RedisExtension
 
     public void incrementInitialProcessingIdentityAttemptsInSession(String sessionId)
             throws Json.JsonException {
-        Session session = objectMapper.readValue(redis.getValue(sessionId), Session.class);
+        Session session = sessionCodec.decodeSession(redis.getValue(sessionId));
         session.incrementProcessingIdentityAttempts();
         redis.saveWithExpiry(
                 session.getSessionId(), objectMapper.writeValueAsString(session), 3600);
@@ -132,7 +136,7 @@ public class RedisExtension
             Map<String, List<String>> authRequest,
             String clientName)
             throws Json.JsonException {
-        Session session = objectMapper.readValue(redis.getValue(sessionId), Session.class);
+        Session session = sessionCodec.decodeSession(redis.getValue(sessionId));
         session.addClientSession(clientSessionId);
         redis.saveWithExpiry(
                 session.getSessionId(), objectMapper.writeValueAsString(session), 3600);
@@ -150,8 +154,8 @@ public class RedisExtension
     public void addInternalCommonSubjectIdToSession(
             String sessionId, String internalCommonSubjectId) throws Json.JsonException {
         var session =
-                objectMapper
-                        .readValue(redis.getValue(sessionId), Session.class)
+                sessionCodec
+                        .decodeSession(redis.getValue(sessionId))
                         .setInternalCommonSubjectIdentifier(internalCommonSubjectId);
         redis.saveWithExpiry(sessionId, objectMapper.writeValueAsString(session), 3600);
     }
@@ -159,9 +163,8 @@ public class RedisExtension
     public void addIDTokenToSession(String clientSessionId, String idTokenHint)
             throws Json.JsonException {
         ClientSession clientSession =
-                objectMapper.readValue(
-                        redis.getValue(CLIENT_SESSION_PREFIX.concat(clientSessionId)),
-                        ClientSession.class);
+                sessionCodec.decodeClientSession(
+                        redis.getValue(CLIENT_SESSION_PREFIX.concat(clientSessionId)));
         clientSession.setIdTokenHint(idTokenHint);
         redis.saveWithExpiry(
                 CLIENT_SESSION_PREFIX.concat(clientSessionId),
@@ -169,8 +172,18 @@ public class RedisExtension
                 3600);
     }
 
+    public void addIdTokenHintToSessionIndex(String sessionId, String idTokenHint) {
+        redis.addToSetWithExpiry(
+                ID_TOKEN_HINT_INDEX_PREFIX.concat(sessionId), hashSha256String(idTokenHint), 3600);
+    }
+
+    public boolean isIdTokenHintInSessionIndex(String sessionId, String idTokenHint) {
+        return redis.isMemberOfSet(
+                ID_TOKEN_HINT_INDEX_PREFIX.concat(sessionId), hashSha256String(idTokenHint));
+    }
+
     public void addEmailToSession(String sessionId, String emailAddress) throws Json.JsonException {
-        Session session = objectMapper.readValue(redis.getValue(sessionId), Session.class);
+        Session session = sessionCodec.decodeSession(redis.getValue(sessionId));
         session.setEmailAddress(emailAddress);
         redis.saveWithExpiry(
                 session.getSessionId(), objectMapper.writeValueAsString(session), 3600);
@@ -178,21 +191,19 @@ public class RedisExtension
 
     public void setSessionCredentialTrustLevel(
             String sessionId, CredentialTrustLevel credentialTrustLevel) throws Json.JsonException {
-        Session session = objectMapper.readValue(redis.getValue(sessionId), Session.class);
+        Session session = sessionCodec.decodeSession(redis.getValue(sessionId));
         session.setCurrentCredentialStrength(credentialTrustLevel);
         redis.saveWithExpiry(
                 session.getSessionId(), objectMapper.writeValueAsString(session), 3600);
     }
 
     public Session getSession(String sessionId) throws Json.JsonException {
-        return objectMapper.readValue(redis.getValue(sessionId), Session.class);
+        return sessionCodec.decodeSession(redis.getValue(sessionId));
     }
 
     public void incrementSessionCodeRequestCount(String sessionId) throws Json.JsonException {
         var session =
-                objectMapper
-                        .readValue(redis.getValue(sessionId), Session.class)
-                        .incrementCodeRequestCount();
+                sessionCodec.decodeSession(redis.getValue(sessionId)).incrementCodeRequestCount();
         redis.saveWithExpiry(sessionId, objectMapper.writeValueAsString(session), 3600);
     }
 
@@ -255,6 +266,28 @@ public class RedisExtension
         }
     }
 
+    public long getTotalCommandsProcessed() {
+        return getStat("total_commands_processed");
+    }
+
+    public long getTotalNetInputBytes() {
+        return getStat("total_net_input_bytes");
+    }
+
+    private long getStat(String name) {
+        try (StatefulRedisConnection<String, String> connection = client.connect()) {
+            return connection
+                    .sync()
+                    .info("stats")
+                    .lines()
+                    .filter(line -> line.startsWith(name + ":"))
+                    .map(line -> Long.parseLong(line.substring(line.indexOf(':') + 1).trim()))
+                    .findFirst()
+                    .orElseThrow(
+                            () -> new IllegalStateException("Redis INFO did not report " + name));
+        }
+    }
+
     public void addAuthCodeAndCreateClientSession(
             String authCode,
             String clientSessionId,
@@ -263,11 +296,25 @@ public class RedisExtension
             VectorOfTrust vtr,
             String clientName)
             throws Json.JsonException {
+        addAuthCodeAndCreateClientSession(
+                authCode, null, clientSessionId, email, authRequest, vtr, clientName);
+    }
+
+    public void addAuthCodeAndCreateClientSession(
+            String authCode,
+            String sessionId,
+            String clientSessionId,
+            String email,
+            Map<String, List<String>> authRequest,
+            VectorOfTrust vtr,
+            String clientName)
+            throws Json.JsonException {
         var clientSession = new ClientSession(authRequest, LocalDateTime.now(), vtr, clientName);
         redis.saveWithExpiry(
                 AUTH_CODE_PREFIX.concat(authCode),
                 objectMapper.writeValueAsString(
                         new AuthCodeExchangeData()
+                                .setSessionId(sessionId)
                                 .setClientSessionId(clientSessionId)
                                 .setEmail(email)
                                 .setClientSession(clientSession)),
@@ -295,7 +342,7 @@ public class RedisExtension
     public ClientSession getClientSession(String clientSessionId) {
         try {
             var result = redis.getValue(CLIENT_SESSION_PREFIX.concat(clientSessionId));
-            return objectMapper.readValue(result, ClientSession.class);
+            return sessionCodec.decodeClientSession(result);
         } catch (Json.JsonException e) {
             throw new RuntimeException(e);
         }
@@ -0,0 +1,29 @@
+package uk.gov.di.authentication.sharedtest.extensions;
+
+import software.amazon.awssdk.services.s3.model.CreateBucketRequest;
+import software.amazon.awssdk.services.s3.model.DeleteBucketRequest;
+
+public class SaltBackfillS3Extension extends S3Extension {
+    public static final String SALT_BACKFILL_BUCKET = "local-salt-backfill";
+
+    @Override
+    protected void createBuckets() {
+        if (!bucketExists(SALT_BACKFILL_BUCKET)) {
+            s3Client.createBucket(
+                    CreateBucketRequest.builder().bucket(SALT_BACKFILL_BUCKET).build());
+        }
+    }
+
+    @Override
+    void deleteBuckets() {
+        if (bucketExists(SALT_BACKFILL_BUCKET)) {
+            deleteS3BucketContents(SALT_BACKFILL_BUCKET);
+            s3Client.deleteBucket(
+                    DeleteBucketRequest.builder().bucket(SALT_BACKFILL_BUCKET).build());
+        }
+    }
+
+    public void deleteCheckpoints() {
+        deleteS3BucketContents(SALT_BACKFILL_BUCKET);
+    }
+}
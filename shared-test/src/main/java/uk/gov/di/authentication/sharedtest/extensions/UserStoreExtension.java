@@ -20,6 +20,7 @@ import uk.gov.di.authentication.shared.entity.UserProfile;
 import uk.gov.di.authentication.shared.services.DynamoService;
 import uk.gov.di.authentication.sharedtest.basetest.DynamoTestConfiguration;
 
+import java.nio.ByteBuffer;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.List;
@@ -123,6 +124,10 @@ public class UserStoreExtension extends DynamoExtension implements AfterEachCall
         return dynamoService.getOrGenerateSalt(userProfile);
     }
 
+    public Optional<ByteBuffer> getSalt(String email) {
+        return Optional.ofNullable(dynamoService.getUserProfileByEmail(email).getSalt());
+    }
+
     public Optional<List<ClientConsent>> getUserConsents(String email) {
         return dynamoService.getUserConsents(email);
     }
@@ -45,6 +45,38 @@ public class TxmaAuditEvent {
         return SerializationService.getInstance().writeValueAsString(this);
     }
 
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public String getEventName() {
+        return eventName;
+    }
+
+    public String getClientId() {
+        return clientId;
+    }
+
+    public String getComponentId() {
+        return componentId;
+    }
+
+    public TxmaAuditUser getUser() {
+        return user;
+    }
+
+    public Map<String, Object> getPlatform() {
+        return platform;
+    }
+
+    public Map<String, Object> getRestricted() {
+        return restricted;
+    }
+
+    public Map<String, Object> getExtensions() {
+        return extensions;
+    }
+
     public TxmaAuditEvent withComponentId(String componentId) {
         this.componentId = componentId;
         return this;
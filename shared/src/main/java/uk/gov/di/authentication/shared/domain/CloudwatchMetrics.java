@@ -6,7 +6,13 @@ public enum CloudwatchMetrics {
     AUTHENTICATION_SUCCESS_EXISTING_ACCOUNT_BY_CLIENT(
             "AuthenticationSuccessExistingAccountByClient"),
     SIGN_IN_NEW_ACCOUNT_BY_CLIENT("SignInNewAccountByClient"),
-    SIGN_IN_EXISTING_ACCOUNT_BY_CLIENT("SignInExistingAccountByClient");
+    SIGN_IN_EXISTING_ACCOUNT_BY_CLIENT("SignInExistingAccountByClient"),
+    HANDLER_PRIMING_DURATION("HandlerPrimingDuration"),
+    SESSION_SIZE("SessionSize"),
+    SESSION_CLIENT_SESSION_COUNT("SessionClientSessionCount"),
+    ARGON2_QUEUE_TIME("Argon2QueueTime"),
+    ARGON2_HASH_TIME("Argon2HashTime"),
+    ARGON2_HASH_REJECTED("Argon2HashRejected");
 
     private String value;
 
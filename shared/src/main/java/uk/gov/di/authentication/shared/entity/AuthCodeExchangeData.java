@@ -5,6 +5,10 @@ import com.google.gson.annotations.SerializedName;
 
 public class AuthCodeExchangeData {
 
+    @Expose
+    @SerializedName("sessionId")
+    private String sessionId;
+
     @Expose
     @SerializedName("clientSessionId")
     private String clientSessionId;
@@ -15,6 +19,15 @@ public class AuthCodeExchangeData {
     @SerializedName("clientSession")
     private ClientSession clientSession;
 
+    public String getSessionId() {
+        return sessionId;
+    }
+
+    public AuthCodeExchangeData setSessionId(String sessionId) {
+        this.sessionId = sessionId;
+        return this;
+    }
+
     public String getClientSessionId() {
         return clientSessionId;
     }
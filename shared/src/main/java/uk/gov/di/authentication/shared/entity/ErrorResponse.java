@@ -60,6 +60,7 @@ public enum ErrorResponse {
     ERROR_1048(
             1048,
             "User entered invalid email verification code for changing how to receive security codes too many times"),
+    ERROR_1049(1049, "Service is busy, try again shortly"),
     ;
 
     private int code;
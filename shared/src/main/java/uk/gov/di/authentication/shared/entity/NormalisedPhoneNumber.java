@@ -0,0 +1,64 @@
+package uk.gov.di.authentication.shared.entity;
+
+import com.google.i18n.phonenumbers.PhoneNumberUtil.PhoneNumberType;
+
+import java.util.Objects;
+
+public final class NormalisedPhoneNumber {
+
+    private final String e164;
+    private final int countryCode;
+    private final PhoneNumberType type;
+    private final boolean valid;
+
+    public NormalisedPhoneNumber(
+            String e164, int countryCode, PhoneNumberType type, boolean valid) {
+        this.e164 = e164;
+        this.countryCode = countryCode;
+        this.type = type;
+        this.valid = valid;
+    }
+
+    public String getE164() {
+        return e164;
+    }
+
+    public int getCountryCode() {
+        return countryCode;
+    }
+
+    public PhoneNumberType getType() {
+        return type;
+    }
+
+    public boolean isValid() {
+        return valid;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        NormalisedPhoneNumber that = (NormalisedPhoneNumber) o;
+        return countryCode == that.countryCode
+                && valid == that.valid
+                && Objects.equals(e164, that.e164)
+                && type == that.type;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(e164, countryCode, type, valid);
+    }
+
+    @Override
+    public String toString() {
+        return "NormalisedPhoneNumber{countryCode="
+                + countryCode
+                + ", type="
+                + type
+                + ", valid="
+                + valid
+                + "}";
+    }
+}
@@ -3,7 +3,14 @@ package uk.gov.di.authentication.shared.entity;
 import com.google.gson.annotations.Expose;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 
 public class Session {
 
@@ -14,6 +21,23 @@ public class Session {
         UNKNOWN
     }
 
+    public enum Field {
+        EMAIL_ADDRESS,
+        RETRY_COUNT,
+        PASSWORD_RESET_COUNT,
+        CODE_REQUEST_COUNT,
+        CURRENT_CREDENTIAL_STRENGTH,
+        IS_NEW_ACCOUNT,
+        AUTHENTICATED,
+        PROCESSING_IDENTITY_ATTEMPTS,
+        VERIFIED_MFA_METHOD_TYPE,
+        INTERNAL_COMMON_SUBJECT_IDENTIFIER;
+
+        public String getHashField() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
     @Expose private String sessionId;
 
     @Expose private List<String> clientSessions;
@@ -38,6 +62,16 @@ public class Session {
 
     @Expose private String internalCommonSubjectIdentifier;
 
+    /*
+     * Changes since the session was last read from or written to Redis. A null set means the
+     * changes are not known, such as for a new session or one read from the legacy string
+     * format, and the whole session has to be written.
+     */
+    private transient Set<Field> dirtyFields;
+    private transient Map<Field, Integer> pendingIncrements;
+    private transient List<String> addedClientSessions;
+    private transient boolean clientSessionsRemoved;
+
     public Session(String sessionId) {
         this.sessionId = sessionId;
         this.clientSessions = new ArrayList<>();
@@ -58,6 +92,7 @@ public class Session {
 
     public void setSessionId(String sessionId) {
         this.sessionId = sessionId;
+        this.dirtyFields = null;
     }
 
     public List<String> getClientSessions() {
@@ -66,9 +101,29 @@ public class Session {
 
     public Session addClientSession(String clientSessionId) {
         this.clientSessions.add(clientSessionId);
+        if (dirtyFields != null) {
+            addedClientSessions.add(clientSessionId);
+        }
+        return this;
+    }
+
+    public Session removeClientSessions(Collection<String> clientSessionIds) {
+        if (clientSessions.removeAll(clientSessionIds) && dirtyFields != null) {
+            addedClientSessions.removeAll(clientSessionIds);
+            clientSessionsRemoved = true;
+        }
         return this;
     }
 
+    public List<String> retainLatestClientSessions(int limit) {
+        if (clientSessions.size() <= limit) {
+            return List.of();
+        }
+        var removed = new ArrayList<>(clientSessions.subList(0, clientSessions.size() - limit));
+        removeClientSessions(removed);
+        return removed;
+    }
+
     public boolean validateSession(String emailAddress) {
         return this.emailAddress.equals(emailAddress);
     }
@@ -79,6 +134,7 @@ public class Session {
 
     public Session setEmailAddress(String emailAddress) {
         this.emailAddress = emailAddress;
+        markDirty(Field.EMAIL_ADDRESS);
         return this;
     }
 
@@ -86,17 +142,31 @@ public class Session {
         return retryCount;
     }
 
+    public Session setRetryCount(int retryCount) {
+        this.retryCount = retryCount;
+        markDirty(Field.RETRY_COUNT);
+        return this;
+    }
+
     public int getPasswordResetCount() {
         return passwordResetCount;
     }
 
+    public Session setPasswordResetCount(int passwordResetCount) {
+        this.passwordResetCount = passwordResetCount;
+        markDirty(Field.PASSWORD_RESET_COUNT);
+        return this;
+    }
+
     public Session incrementPasswordResetCount() {
         this.passwordResetCount = passwordResetCount + 1;
+        markIncremented(Field.PASSWORD_RESET_COUNT);
         return this;
     }
 
     public Session resetPasswordResetCount() {
         this.passwordResetCount = 0;
+        markDirty(Field.PASSWORD_RESET_COUNT);
         return this;
     }
 
@@ -104,13 +174,21 @@ public class Session {
         return codeRequestCount;
     }
 
+    public Session setCodeRequestCount(int codeRequestCount) {
+        this.codeRequestCount = codeRequestCount;
+        markDirty(Field.CODE_REQUEST_COUNT);
+        return this;
+    }
+
     public Session incrementCodeRequestCount() {
         this.codeRequestCount = codeRequestCount + 1;
+        markIncremented(Field.CODE_REQUEST_COUNT);
         return this;
     }
 
     public Session resetCodeRequestCount() {
         this.codeRequestCount = 0;
+        markDirty(Field.CODE_REQUEST_COUNT);
         return this;
     }
 
@@ -120,6 +198,7 @@ public class Session {
 
     public Session setCurrentCredentialStrength(CredentialTrustLevel currentCredentialStrength) {
         this.currentCredentialStrength = currentCredentialStrength;
+        markDirty(Field.CURRENT_CREDENTIAL_STRENGTH);
         return this;
     }
 
@@ -129,6 +208,7 @@ public class Session {
 
     public Session setNewAccount(AccountState isNewAccount) {
         this.isNewAccount = isNewAccount;
+        markDirty(Field.IS_NEW_ACCOUNT);
         return this;
     }
 
@@ -138,6 +218,7 @@ public class Session {
 
     public Session setAuthenticated(boolean authenticated) {
         this.authenticated = authenticated;
+        markDirty(Field.AUTHENTICATED);
         return this;
     }
 
@@ -145,12 +226,20 @@ public class Session {
         return processingIdentityAttempts;
     }
 
+    public Session setProcessingIdentityAttempts(int processingIdentityAttempts) {
+        this.processingIdentityAttempts = processingIdentityAttempts;
+        markDirty(Field.PROCESSING_IDENTITY_ATTEMPTS);
+        return this;
+    }
+
     public void resetProcessingIdentityAttempts() {
         this.processingIdentityAttempts = 0;
+        markDirty(Field.PROCESSING_IDENTITY_ATTEMPTS);
     }
 
     public int incrementProcessingIdentityAttempts() {
         this.processingIdentityAttempts += 1;
+        markIncremented(Field.PROCESSING_IDENTITY_ATTEMPTS);
         return processingIdentityAttempts;
     }
 
@@ -160,6 +249,7 @@ public class Session {
 
     public Session setVerifiedMfaMethodType(MFAMethodType verifiedMfaMethodType) {
         this.verifiedMfaMethodType = verifiedMfaMethodType;
+        markDirty(Field.VERIFIED_MFA_METHOD_TYPE);
         return this;
     }
 
@@ -169,6 +259,54 @@ public class Session {
 
     public Session setInternalCommonSubjectIdentifier(String internalCommonSubjectIdentifier) {
         this.internalCommonSubjectIdentifier = internalCommonSubjectIdentifier;
+        markDirty(Field.INTERNAL_COMMON_SUBJECT_IDENTIFIER);
+        return this;
+    }
+
+    public boolean hasUntrackedChanges() {
+        return dirtyFields == null;
+    }
+
+    public Set<Field> getDirtyFields() {
+        return dirtyFields == null
+                ? EnumSet.allOf(Field.class)
+                : Collections.unmodifiableSet(dirtyFields);
+    }
+
+    public Map<Field, Integer> getPendingIncrements() {
+        return pendingIncrements == null
+                ? Map.of()
+                : Collections.unmodifiableMap(pendingIncrements);
+    }
+
+    public List<String> getAddedClientSessions() {
+        return addedClientSessions == null
+                ? Collections.unmodifiableList(clientSessions)
+                : Collections.unmodifiableList(addedClientSessions);
+    }
+
+    public boolean hasRemovedClientSessions() {
+        return clientSessionsRemoved;
+    }
+
+    public Session markClean() {
+        this.dirtyFields = EnumSet.noneOf(Field.class);
+        this.pendingIncrements = new EnumMap<>(Field.class);
+        this.addedClientSessions = new ArrayList<>();
+        this.clientSessionsRemoved = false;
         return this;
     }
+
+    private void markDirty(Field field) {
+        if (dirtyFields != null) {
+            dirtyFields.add(field);
+            pendingIncrements.remove(field);
+        }
+    }
+
+    private void markIncremented(Field field) {
+        if (dirtyFields != null && !dirtyFields.contains(field)) {
+            pendingIncrements.merge(field, 1, Integer::sum);
+        }
+    }
 }
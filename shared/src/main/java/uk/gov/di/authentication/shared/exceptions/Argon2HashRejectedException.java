@@ -0,0 +1,15 @@
+package uk.gov.di.authentication.shared.exceptions;
+
+public class Argon2HashRejectedException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public Argon2HashRejectedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
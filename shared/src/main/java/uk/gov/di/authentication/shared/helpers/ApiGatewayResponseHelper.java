@@ -67,6 +67,28 @@ public class ApiGatewayResponseHelper {
         }
     }
 
+    public static APIGatewayProxyResponseEvent generateApiGatewayProxyRetryLaterResponse(
+            ErrorResponse errorResponse, long retryAfterSeconds) {
+        LOG.warn(errorResponse.getMessage());
+
+        try {
+            return generateApiGatewayProxyRetryLaterResponse(
+                    objectMapper.writeValueAsString(errorResponse), retryAfterSeconds);
+        } catch (JsonException e) {
+            LOG.warn("Unable to generateApiGatewayProxyRetryLaterResponse: " + e);
+            return generateApiGatewayProxyResponse(500, "Internal server error");
+        }
+    }
+
+    public static APIGatewayProxyResponseEvent generateApiGatewayProxyRetryLaterResponse(
+            String body, long retryAfterSeconds) {
+        return generateApiGatewayProxyResponse(
+                503,
+                body,
+                Map.of(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds)),
+                null);
+    }
+
     public static APIGatewayProxyResponseEvent generateApiGatewayProxyResponse(
             int statusCode, String body) {
         return generateApiGatewayProxyResponse(statusCode, body, null);
@@ -0,0 +1,92 @@
+package uk.gov.di.authentication.shared.helpers;
+
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * The Argon2id cost parameters: memory in KiB, iterations and parallelism. They are encoded into
+ * every stored hash as {@code m=...,t=...,p=...}, so a hash made with older parameters can be
+ * recognised and replaced.
+ */
+public final class Argon2Cost {
+
+    public static final Argon2Cost DEFAULT = new Argon2Cost(15360, 2, 1);
+
+    private final int memoryInKibibytes;
+    private final int iterations;
+    private final int parallelism;
+
+    public Argon2Cost(int memoryInKibibytes, int iterations, int parallelism) {
+        if (memoryInKibibytes < 8 * parallelism || iterations < 1 || parallelism < 1) {
+            throw new IllegalArgumentException(
+                    "Invalid Argon2 parameters: "
+                            + format(memoryInKibibytes, iterations, parallelism));
+        }
+        this.memoryInKibibytes = memoryInKibibytes;
+        this.iterations = iterations;
+        this.parallelism = parallelism;
+    }
+
+    public static Optional<Argon2Cost> fromEncodedHash(String encodedHash) {
+        if (encodedHash == null) {
+            return Optional.empty();
+        }
+        var parts = encodedHash.split("\\$");
+        if (parts.length < 4 || !parts[1].equals("argon2id")) {
+            return Optional.empty();
+        }
+        var currentPart = parts[2].startsWith("v=") ? 3 : 2;
+        var performanceParams = parts[currentPart].split(",");
+        if (performanceParams.length != 3
+                || !performanceParams[0].startsWith("m=")
+                || !performanceParams[1].startsWith("t=")
+                || !performanceParams[2].startsWith("p=")) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(
+                    new Argon2Cost(
+                            Integer.parseInt(performanceParams[0].substring(2)),
+                            Integer.parseInt(performanceParams[1].substring(2)),
+                            Integer.parseInt(performanceParams[2].substring(2))));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    public int getMemoryInKibibytes() {
+        return memoryInKibibytes;
+    }
+
+    public int getIterations() {
+        return iterations;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Argon2Cost that = (Argon2Cost) o;
+        return memoryInKibibytes == that.memoryInKibibytes
+                && iterations == that.iterations
+                && parallelism == that.parallelism;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(memoryInKibibytes, iterations, parallelism);
+    }
+
+    @Override
+    public String toString() {
+        return format(memoryInKibibytes, iterations, parallelism);
+    }
+
+    private static String format(int memoryInKibibytes, int iterations, int parallelism) {
+        return "m=" + memoryInKibibytes + ",t=" + iterations + ",p=" + parallelism;
+    }
+}
@@ -1,56 +1,63 @@
 package uk.gov.di.authentication.shared.helpers;
 
-import org.bouncycastle.crypto.generators.Argon2BytesGenerator;
 import org.bouncycastle.crypto.params.Argon2Parameters;
+import org.bouncycastle.util.Strings;
+import uk.gov.di.authentication.shared.services.ConfigurationService;
 
 import java.security.SecureRandom;
 import java.util.Base64;
 
 public class Argon2EncoderHelper {
 
-    private static final int MEMORY_IN_KIBIBYTES = 15360;
-    private static final int PARALLELISM = 1;
-    private static final int ITERATIONS = 2;
+    private static final Lazy<Argon2Cost> CONFIGURED_COST =
+            Lazy.of(() -> ConfigurationService.getInstance().getArgon2Cost());
     private static final Base64.Encoder BASE64_ENCODER = Base64.getEncoder().withoutPadding();
     private static final SecureRandom RANDOM = new SecureRandom();
 
     public static String argon2Hash(String raw) {
-        byte[] salt = new byte[32];
-        RANDOM.nextBytes(salt);
+        return argon2Hash(raw, configuredCost());
+    }
+
+    public static String argon2Hash(String raw, Argon2Cost cost) {
+        return Argon2HashingExecutor.getInstance().execute(() -> hash(raw, cost));
+    }
 
-        var parameters =
-                new Argon2Parameters.Builder(Argon2Parameters.ARGON2_id)
-                        .withVersion(Argon2Parameters.ARGON2_VERSION_13)
-                        .withIterations(ITERATIONS)
-                        .withSalt(salt)
-                        .withMemoryAsKB(MEMORY_IN_KIBIBYTES)
-                        .withParallelism(PARALLELISM)
-                        .build();
+    public static Argon2Cost configuredCost() {
+        return CONFIGURED_COST.get();
+    }
 
-        var generator = new Argon2BytesGenerator();
-        generator.init(parameters);
-        generator.generateBytes(raw.toCharArray(), salt);
+    public static boolean needsRehash(String encodedHash) {
+        return needsRehash(encodedHash, configuredCost());
+    }
 
-        return encode(salt, parameters);
+    public static boolean needsRehash(String encodedHash, Argon2Cost cost) {
+        return Argon2Cost.fromEncodedHash(encodedHash)
+                .map(encodedCost -> !encodedCost.equals(cost))
+                .orElse(false);
     }
 
-    private static String encode(byte[] hash, Argon2Parameters parameters)
-            throws IllegalArgumentException {
-        StringBuilder stringBuilder = new StringBuilder();
-        stringBuilder.append("$argon2id");
-        stringBuilder
-                .append("$v=")
-                .append(parameters.getVersion())
-                .append("$m=")
-                .append(parameters.getMemory())
-                .append(",t=")
-                .append(parameters.getIterations())
-                .append(",p=")
-                .append(parameters.getLanes());
-        if (parameters.getSalt() != null) {
-            stringBuilder.append("$").append(BASE64_ENCODER.encodeToString(parameters.getSalt()));
-        }
-        stringBuilder.append("$").append(BASE64_ENCODER.encodeToString(hash));
-        return stringBuilder.toString();
+    private static String hash(String raw, Argon2Cost cost) {
+        byte[] salt = new byte[32];
+        RANDOM.nextBytes(salt);
+
+        byte[] hash = new byte[32];
+        Argon2Engine.getInstance()
+                .generateBytes(
+                        Argon2Parameters.ARGON2_VERSION_13,
+                        cost.getMemoryInKibibytes(),
+                        cost.getIterations(),
+                        cost.getParallelism(),
+                        salt,
+                        Strings.toUTF8ByteArray(raw.toCharArray()),
+                        hash);
+
+        return "$argon2id$v="
+                + Argon2Parameters.ARGON2_VERSION_13
+                + "$"
+                + cost
+                + "$"
+                + BASE64_ENCODER.encodeToString(salt)
+                + "$"
+                + BASE64_ENCODER.encodeToString(hash);
     }
 }
@@ -0,0 +1,476 @@
+package uk.gov.di.authentication.shared.helpers;
+
+import org.bouncycastle.crypto.digests.Blake2bDigest;
+
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Argon2id (RFC 9106) producing the same output as BouncyCastle's {@code Argon2BytesGenerator}, but
+ * working in pooled memory. BouncyCastle allocates a fresh matrix of 1 KiB blocks for every hash,
+ * which is around 15 MiB of garbage per login. Here the matrix is a flat {@code long[]} that is
+ * borrowed from a small pool, wiped after use and handed back for the next hash.
+ *
+ * <p>The pool keeps at most a fixed number of workspaces, so a burst of concurrent hashes allocates
+ * the extra workspaces it needs and leaves them to be collected afterwards rather than pinning them
+ * for the life of the JVM.
+ */
+public final class Argon2Engine {
+
+    public static final int ARGON2_VERSION_10 = 0x10;
+    public static final int ARGON2_VERSION_13 = 0x13;
+
+    private static final int ARGON2_ID = 2;
+    private static final int BLOCK_SIZE = 1024;
+    private static final int QWORDS_IN_BLOCK = BLOCK_SIZE / 8;
+    private static final int ADDRESSES_IN_BLOCK = 128;
+    private static final int PREHASH_DIGEST_LENGTH = 64;
+    private static final int PREHASH_SEED_LENGTH = 72;
+    private static final int SYNC_POINTS = 4;
+    private static final int MAX_PARALLELISM = 16777215;
+    private static final int MIN_OUTPUT_LENGTH = 4;
+    private static final long M32L = 0xFFFFFFFFL;
+
+    private static final Argon2Engine INSTANCE =
+            new Argon2Engine(Math.max(1, Runtime.getRuntime().availableProcessors()));
+
+    private final int maxPooledWorkspaces;
+    private final Deque<Workspace> pool = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger pooled = new AtomicInteger();
+
+    Argon2Engine(int maxPooledWorkspaces) {
+        this.maxPooledWorkspaces = maxPooledWorkspaces;
+    }
+
+    public static Argon2Engine getInstance() {
+        return INSTANCE;
+    }
+
+    public void generateBytes(
+            int version,
+            int memoryInKibibytes,
+            int iterations,
+            int lanes,
+            byte[] salt,
+            byte[] password,
+            byte[] out) {
+        if (lanes < 1 || lanes > MAX_PARALLELISM) {
+            throw new IllegalStateException("Invalid Argon2 parallelism: " + lanes);
+        }
+        if (memoryInKibibytes < 2 * lanes) {
+            throw new IllegalStateException(
+                    "Argon2 memory is less than " + (2 * lanes) + " KiB: " + memoryInKibibytes);
+        }
+        if (iterations < 1) {
+            throw new IllegalStateException("Invalid Argon2 iterations: " + iterations);
+        }
+        if (out.length < MIN_OUTPUT_LENGTH) {
+            throw new IllegalStateException("Argon2 output length less than " + MIN_OUTPUT_LENGTH);
+        }
+
+        var memoryBlocks = Math.max(memoryInKibibytes, 2 * SYNC_POINTS * lanes);
+        var segmentLength = memoryBlocks / (lanes * SYNC_POINTS);
+        memoryBlocks = segmentLength * lanes * SYNC_POINTS;
+
+        var workspace = borrow(memoryBlocks);
+        try {
+            var hash =
+                    new Hash(
+                            workspace,
+                            version,
+                            memoryInKibibytes,
+                            iterations,
+                            lanes,
+                            memoryBlocks,
+                            segmentLength);
+            hash.initialize(password, salt, out.length);
+            hash.fillMemoryBlocks();
+            hash.digest(out);
+        } finally {
+            workspace.wipe(memoryBlocks);
+            release(workspace);
+        }
+    }
+
+    int pooledWorkspaces() {
+        return pooled.get();
+    }
+
+    private Workspace borrow(int memoryBlocks) {
+        var workspace = pool.pollFirst();
+        if (workspace == null) {
+            return new Workspace(memoryBlocks);
+        }
+        pooled.decrementAndGet();
+        workspace.ensureCapacity(memoryBlocks);
+        return workspace;
+    }
+
+    private void release(Workspace workspace) {
+        if (pooled.incrementAndGet() <= maxPooledWorkspaces) {
+            pool.offerFirst(workspace);
+        } else {
+            pooled.decrementAndGet();
+        }
+    }
+
+    private static final class Workspace {
+        private long[] memory;
+        private final long[] r = new long[QWORDS_IN_BLOCK];
+        private final long[] z = new long[QWORDS_IN_BLOCK];
+        private final long[] addressBlock = new long[QWORDS_IN_BLOCK];
+        private final long[] inputBlock = new long[QWORDS_IN_BLOCK];
+        private final byte[] blockBytes = new byte[BLOCK_SIZE];
+
+        private Workspace(int memoryBlocks) {
+            this.memory = new long[memoryBlocks * QWORDS_IN_BLOCK];
+        }
+
+        private void ensureCapacity(int memoryBlocks) {
+            if (memory.length < memoryBlocks * QWORDS_IN_BLOCK) {
+                memory = new long[memoryBlocks * QWORDS_IN_BLOCK];
+            }
+        }
+
+        private void wipe(int memoryBlocks) {
+            Arrays.fill(memory, 0, memoryBlocks * QWORDS_IN_BLOCK, 0L);
+            Arrays.fill(r, 0L);
+            Arrays.fill(z, 0L);
+            Arrays.fill(addressBlock, 0L);
+            Arrays.fill(inputBlock, 0L);
+            Arrays.fill(blockBytes, (byte) 0);
+        }
+    }
+
+    private static final class Hash {
+        private final Workspace workspace;
+        private final long[] memory;
+        private final int version;
+        private final int memoryInKibibytes;
+        private final int iterations;
+        private final int lanes;
+        private final int memoryBlocks;
+        private final int segmentLength;
+        private final int laneLength;
+
+        private Hash(
+                Workspace workspace,
+                int version,
+                int memoryInKibibytes,
+                int iterations,
+                int lanes,
+                int memoryBlocks,
+                int segmentLength) {
+            this.workspace = workspace;
+            this.memory = workspace.memory;
+            this.version = version;
+            this.memoryInKibibytes = memoryInKibibytes;
+            this.iterations = iterations;
+            this.lanes = lanes;
+            this.memoryBlocks = memoryBlocks;
+            this.segmentLength = segmentLength;
+            this.laneLength = segmentLength * SYNC_POINTS;
+        }
+
+        private void initialize(byte[] password, byte[] salt, int outputLength) {
+            var blake = new Blake2bDigest(PREHASH_DIGEST_LENGTH * 8);
+            var intBytes = new byte[4];
+            for (int value :
+                    new int[] {
+                        lanes, outputLength, memoryInKibibytes, iterations, version, ARGON2_ID
+                    }) {
+                addInt(blake, intBytes, value);
+            }
+            addByteString(blake, intBytes, password);
+            addByteString(blake, intBytes, salt);
+            addByteString(blake, intBytes, null);
+            addByteString(blake, intBytes, null);
+
+            var initialHash = new byte[PREHASH_SEED_LENGTH];
+            blake.doFinal(initialHash, 0);
+
+            var blockBytes = workspace.blockBytes;
+            for (int lane = 0; lane < lanes; lane++) {
+                intToLittleEndian(lane, initialHash, PREHASH_DIGEST_LENGTH + 4);
+                for (int block = 0; block < 2; block++) {
+                    intToLittleEndian(block, initialHash, PREHASH_DIGEST_LENGTH);
+                    hash(initialHash, blockBytes, BLOCK_SIZE);
+                    fromBytes(blockBytes, lane * laneLength + block);
+                }
+            }
+            Arrays.fill(initialHash, (byte) 0);
+        }
+
+        private void fillMemoryBlocks() {
+            for (int pass = 0; pass < iterations; pass++) {
+                for (int slice = 0; slice < SYNC_POINTS; slice++) {
+                    for (int lane = 0; lane < lanes; lane++) {
+                        fillSegment(pass, lane, slice);
+                    }
+                }
+            }
+        }
+
+        private void fillSegment(int pass, int lane, int slice) {
+            var dataIndependentAddressing = pass == 0 && slice < SYNC_POINTS / 2;
+            var startingIndex = pass == 0 && slice == 0 ? 2 : 0;
+            var currentOffset = lane * laneLength + slice * segmentLength + startingIndex;
+            var prevOffset =
+                    currentOffset % laneLength == 0
+                            ? currentOffset + laneLength - 1
+                            : currentOffset - 1;
+            var withXor = pass != 0 && version != ARGON2_VERSION_10;
+            var addressBlock = workspace.addressBlock;
+            var inputBlock = workspace.inputBlock;
+
+            if (dataIndependentAddressing) {
+                Arrays.fill(addressBlock, 0L);
+                Arrays.fill(inputBlock, 0L);
+                inputBlock[0] = pass;
+                inputBlock[1] = lane;
+                inputBlock[2] = slice;
+                inputBlock[3] = memoryBlocks;
+                inputBlock[4] = iterations;
+                inputBlock[5] = ARGON2_ID;
+                if (pass == 0 && slice == 0) {
+                    nextAddresses();
+                }
+            }
+
+            for (int index = startingIndex; index < segmentLength; index++) {
+                long pseudoRandom;
+                if (dataIndependentAddressing) {
+                    var addressIndex = index % ADDRESSES_IN_BLOCK;
+                    if (addressIndex == 0) {
+                        nextAddresses();
+                    }
+                    pseudoRandom = addressBlock[addressIndex];
+                } else {
+                    pseudoRandom = memory[prevOffset * QWORDS_IN_BLOCK];
+                }
+                var refLane =
+                        pass == 0 && slice == 0 ? lane : (int) ((pseudoRandom >>> 32) % lanes);
+                var refColumn = refColumn(pass, slice, index, pseudoRandom, refLane == lane);
+                fillBlock(
+                        prevOffset * QWORDS_IN_BLOCK,
+                        (laneLength * refLane + refColumn) * QWORDS_IN_BLOCK,
+                        currentOffset * QWORDS_IN_BLOCK,
+                        withXor);
+                prevOffset = currentOffset;
+                currentOffset++;
+            }
+        }
+
+        private int refColumn(int pass, int slice, int index, long pseudoRandom, boolean sameLane) {
+            int referenceAreaSize;
+            int startPosition;
+            if (pass == 0) {
+                startPosition = 0;
+                referenceAreaSize =
+                        sameLane
+                                ? slice * segmentLength + index - 1
+                                : slice * segmentLength + (index == 0 ? -1 : 0);
+            } else {
+                startPosition = ((slice + 1) * segmentLength) % laneLength;
+                referenceAreaSize =
+                        sameLane
+                                ? laneLength - segmentLength + index - 1
+                                : laneLength - segmentLength + (index == 0 ? -1 : 0);
+            }
+            long relativePosition = pseudoRandom & M32L;
+            relativePosition = (relativePosition * relativePosition) >>> 32;
+            relativePosition =
+                    referenceAreaSize - 1 - ((referenceAreaSize * relativePosition) >>> 32);
+            return (int) (startPosition + relativePosition) % laneLength;
+        }
+
+        private void nextAddresses() {
+            var inputBlock = workspace.inputBlock;
+            var addressBlock = workspace.addressBlock;
+            var z = workspace.z;
+            inputBlock[6]++;
+            System.arraycopy(inputBlock, 0, z, 0, QWORDS_IN_BLOCK);
+            applyBlake(z);
+            for (int i = 0; i < QWORDS_IN_BLOCK; i++) {
+                addressBlock[i] = inputBlock[i] ^ z[i];
+            }
+            System.arraycopy(addressBlock, 0, z, 0, QWORDS_IN_BLOCK);
+            applyBlake(z);
+            for (int i = 0; i < QWORDS_IN_BLOCK; i++) {
+                addressBlock[i] ^= z[i];
+            }
+        }
+
+        private void fillBlock(int prevOffset, int refOffset, int currentOffset, boolean withXor) {
+            var r = workspace.r;
+            var z = workspace.z;
+            for (int i = 0; i < QWORDS_IN_BLOCK; i++) {
+                r[i] = memory[prevOffset + i] ^ memory[refOffset + i];
+            }
+            System.arraycopy(r, 0, z, 0, QWORDS_IN_BLOCK);
+            applyBlake(z);
+            if (withXor) {
+                for (int i = 0; i < QWORDS_IN_BLOCK; i++) {
+                    memory[currentOffset + i] ^= r[i] ^ z[i];
+                }
+            } else {
+                for (int i = 0; i < QWORDS_IN_BLOCK; i++) {
+                    memory[currentOffset + i] = r[i] ^ z[i];
+                }
+            }
+        }
+
+        private void digest(byte[] out) {
+            var finalBlock = (laneLength - 1) * QWORDS_IN_BLOCK;
+            for (int lane = 1; lane < lanes; lane++) {
+                var lastBlockInLane = (lane * laneLength + laneLength - 1) * QWORDS_IN_BLOCK;
+                for (int i = 0; i < QWORDS_IN_BLOCK; i++) {
+                    memory[finalBlock + i] ^= memory[lastBlockInLane + i];
+                }
+            }
+            var blockBytes = workspace.blockBytes;
+            for (int i = 0; i < QWORDS_IN_BLOCK; i++) {
+                longToLittleEndian(memory[finalBlock + i], blockBytes, i * 8);
+            }
+            hash(blockBytes, out, out.length);
+        }
+
+        private void fromBytes(byte[] bytes, int block) {
+            var offset = block * QWORDS_IN_BLOCK;
+            for (int i = 0; i < QWORDS_IN_BLOCK; i++) {
+                memory[offset + i] = littleEndianToLong(bytes, i * 8);
+            }
+        }
+    }
+
+    /* The variable-length hash function H' from RFC 9106 section 3.3. */
+    private static void hash(byte[] input, byte[] out, int outLength) {
+        var outLengthBytes = new byte[4];
+        intToLittleEndian(outLength, outLengthBytes, 0);
+        if (outLength <= PREHASH_DIGEST_LENGTH) {
+            var blake = new Blake2bDigest(outLength * 8);
+            blake.update(outLengthBytes, 0, 4);
+            blake.update(input, 0, input.length);
+            blake.doFinal(out, 0);
+            return;
+        }
+        var blake = new Blake2bDigest(PREHASH_DIGEST_LENGTH * 8);
+        var outBuffer = new byte[PREHASH_DIGEST_LENGTH];
+        blake.update(outLengthBytes, 0, 4);
+        blake.update(input, 0, input.length);
+        blake.doFinal(outBuffer, 0);
+
+        var halfLength = PREHASH_DIGEST_LENGTH / 2;
+        var outPosition = 0;
+        System.arraycopy(outBuffer, 0, out, outPosition, halfLength);
+        outPosition += halfLength;
+        var rounds = (outLength + 31) / 32 - 2;
+        for (int i = 2; i <= rounds; i++, outPosition += halfLength) {
+            blake.update(outBuffer, 0, outBuffer.length);
+            blake.doFinal(outBuffer, 0);
+            System.arraycopy(outBuffer, 0, out, outPosition, halfLength);
+        }
+        var lastBlake = new Blake2bDigest((outLength - 32 * rounds) * 8);
+        lastBlake.update(outBuffer, 0, outBuffer.length);
+        lastBlake.doFinal(out, outPosition);
+    }
+
+    private static void applyBlake(long[] z) {
+        for (int i = 0; i < 8; i++) {
+            var i16 = 16 * i;
+            roundFunction(
+                    z, i16, i16 + 1, i16 + 2, i16 + 3, i16 + 4, i16 + 5, i16 + 6, i16 + 7, i16 + 8,
+                    i16 + 9, i16 + 10, i16 + 11, i16 + 12, i16 + 13, i16 + 14, i16 + 15);
+        }
+        for (int i = 0; i < 8; i++) {
+            var i2 = 2 * i;
+            roundFunction(
+                    z, i2, i2 + 1, i2 + 16, i2 + 17, i2 + 32, i2 + 33, i2 + 48, i2 + 49, i2 + 64,
+                    i2 + 65, i2 + 80, i2 + 81, i2 + 96, i2 + 97, i2 + 112, i2 + 113);
+        }
+    }
+
+    private static void roundFunction(
+            long[] v,
+            int v0,
+            int v1,
+            int v2,
+            int v3,
+            int v4,
+            int v5,
+            int v6,
+            int v7,
+            int v8,
+            int v9,
+            int v10,
+            int v11,
+            int v12,
+            int v13,
+            int v14,
+            int v15) {
+        mix(v, v0, v4, v8, v12);
+        mix(v, v1, v5, v9, v13);
+        mix(v, v2, v6, v10, v14);
+        mix(v, v3, v7, v11, v15);
+        mix(v, v0, v5, v10, v15);
+        mix(v, v1, v6, v11, v12);
+        mix(v, v2, v7, v8, v13);
+        mix(v, v3, v4, v9, v14);
+    }
+
+    private static void mix(long[] v, int a, int b, int c, int d) {
+        quarterRound(v, a, b, d, 32);
+        quarterRound(v, c, d, b, 24);
+        quarterRound(v, a, b, d, 16);
+        quarterRound(v, c, d, b, 63);
+    }
+
+    private static void quarterRound(long[] v, int x, int y, int z, int s) {
+        var a = v[x];
+        var b = v[y];
+        a += b + 2 * (a & M32L) * (b & M32L);
+        v[x] = a;
+        v[z] = Long.rotateRight(v[z] ^ a, s);
+    }
+
+    private static void addInt(Blake2bDigest blake, byte[] intBytes, int value) {
+        intToLittleEndian(value, intBytes, 0);
+        blake.update(intBytes, 0, 4);
+    }
+
+    private static void addByteString(Blake2bDigest blake, byte[] intBytes, byte[] bytes) {
+        if (bytes == null) {
+            addInt(blake, intBytes, 0);
+            return;
+        }
+        addInt(blake, intBytes, bytes.length);
+        blake.update(bytes, 0, bytes.length);
+    }
+
+    private static void intToLittleEndian(int value, byte[] bytes, int offset) {
+        bytes[offset] = (byte) value;
+        bytes[offset + 1] = (byte) (value >>> 8);
+        bytes[offset + 2] = (byte) (value >>> 16);
+        bytes[offset + 3] = (byte) (value >>> 24);
+    }
+
+    private static void longToLittleEndian(long value, byte[] bytes, int offset) {
+        intToLittleEndian((int) value, bytes, offset);
+        intToLittleEndian((int) (value >>> 32), bytes, offset + 4);
+    }
+
+    private static long littleEndianToLong(byte[] bytes, int offset) {
+        long low = littleEndianToInt(bytes, offset) & M32L;
+        long high = littleEndianToInt(bytes, offset + 4) & M32L;
+        return high << 32 | low;
+    }
+
+    private static int littleEndianToInt(byte[] bytes, int offset) {
+        return (bytes[offset] & 0xff)
+                | (bytes[offset + 1] & 0xff) << 8
+                | (bytes[offset + 2] & 0xff) << 16
+                | bytes[offset + 3] << 24;
+    }
+}
@@ -0,0 +1,152 @@
+package uk.gov.di.authentication.shared.helpers;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import uk.gov.di.authentication.shared.domain.CloudwatchMetrics;
+import uk.gov.di.authentication.shared.exceptions.Argon2HashRejectedException;
+import uk.gov.di.authentication.shared.services.CloudwatchMetricsService;
+import uk.gov.di.authentication.shared.services.ConfigurationService;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static uk.gov.di.authentication.shared.domain.CloudwatchMetricDimensions.ENVIRONMENT;
+import static uk.gov.di.authentication.shared.domain.CloudwatchMetrics.ARGON2_HASH_REJECTED;
+import static uk.gov.di.authentication.shared.domain.CloudwatchMetrics.ARGON2_HASH_TIME;
+import static uk.gov.di.authentication.shared.domain.CloudwatchMetrics.ARGON2_QUEUE_TIME;
+
+/**
+ * Bounds how many Argon2 hashes run at once. Each hash allocates its memory cost, 15 MiB by
+ * default, so a burst of logins or password resets hashing together can exhaust a small heap.
+ * Callers beyond the limit wait for a permit, and are rejected straight away if the queue ahead of
+ * them would not clear before the admission deadline.
+ *
+ * <p>The limit defaults to as many hashes as fit in half the heap, and can be set with {@code
+ * ARGON2_MAX_CONCURRENT_HASHES}. Admission control is off unless {@code
+ * ARGON2_ADMISSION_CONTROL_ENABLED} is set.
+ */
+public class Argon2HashingExecutor {
+
+    private static final Logger LOG = LogManager.getLogger(Argon2HashingExecutor.class);
+    private static final long HASH_OVERHEAD_BYTES = 1024 * 1024;
+    private static final double HEAP_FRACTION = 0.5;
+    private static final double HASH_TIME_SMOOTHING = 0.2;
+    private static final Lazy<Argon2HashingExecutor> INSTANCE =
+            Lazy.of(
+                    () -> {
+                        var configurationService = ConfigurationService.getInstance();
+                        return new Argon2HashingExecutor(
+                                configurationService,
+                                new CloudwatchMetricsService(configurationService),
+                                maxConcurrentHashes(
+                                        configurationService.getArgon2MaxConcurrentHashes(),
+                                        Runtime.getRuntime().maxMemory(),
+                                        bytesPerHash(configurationService.getArgon2Cost())));
+                    });
+
+    private final ConfigurationService configurationService;
+    private final CloudwatchMetricsService cloudwatchMetricsService;
+    private final boolean enabled;
+    private final int maxConcurrentHashes;
+    private final long deadlineNanos;
+    private final Semaphore permits;
+    private final AtomicInteger waiting = new AtomicInteger();
+    private volatile double averageHashNanos;
+
+    Argon2HashingExecutor(
+            ConfigurationService configurationService,
+            CloudwatchMetricsService cloudwatchMetricsService,
+            int maxConcurrentHashes) {
+        this.configurationService = configurationService;
+        this.cloudwatchMetricsService = cloudwatchMetricsService;
+        this.enabled = configurationService.isArgon2AdmissionControlEnabled();
+        this.maxConcurrentHashes = maxConcurrentHashes;
+        this.deadlineNanos =
+                Duration.ofMillis(configurationService.getArgon2AdmissionDeadlineMillis())
+                        .toNanos();
+        this.permits = new Semaphore(maxConcurrentHashes, true);
+    }
+
+    public static Argon2HashingExecutor getInstance() {
+        return INSTANCE.get();
+    }
+
+    static int maxConcurrentHashes(int configured, long maxHeapBytes, long bytesPerHash) {
+        if (configured > 0) {
+            return configured;
+        }
+        return (int) Math.max(1, (long) (maxHeapBytes * HEAP_FRACTION) / bytesPerHash);
+    }
+
+    static long bytesPerHash(Argon2Cost cost) {
+        return cost.getMemoryInKibibytes() * 1024L + HASH_OVERHEAD_BYTES;
+    }
+
+    public <T> T execute(Supplier<T> hash) {
+        if (!enabled) {
+            return hash.get();
+        }
+        var queuedAt = System.nanoTime();
+        acquire();
+        var startedAt = System.nanoTime();
+        try {
+            return hash.get();
+        } finally {
+            permits.release();
+            var hashNanos = System.nanoTime() - startedAt;
+            averageHashNanos =
+                    averageHashNanos == 0
+                            ? hashNanos
+                            : averageHashNanos
+                                    + HASH_TIME_SMOOTHING * (hashNanos - averageHashNanos);
+            putMetric(ARGON2_QUEUE_TIME, startedAt - queuedAt);
+            putMetric(ARGON2_HASH_TIME, hashNanos);
+        }
+    }
+
+    private void acquire() {
+        if (permits.tryAcquire()) {
+            return;
+        }
+        var ahead = waiting.incrementAndGet();
+        try {
+            var rounds = (ahead + maxConcurrentHashes - 1) / maxConcurrentHashes;
+            if (rounds * averageHashNanos > deadlineNanos) {
+                reject("queue of " + ahead + " would not clear before the deadline");
+            }
+            if (!permits.tryAcquire(deadlineNanos, TimeUnit.NANOSECONDS)) {
+                reject("no permit became free before the deadline");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            reject("interrupted while waiting for a permit");
+        } finally {
+            waiting.decrementAndGet();
+        }
+    }
+
+    private void reject(String reason) {
+        LOG.warn("Rejecting Argon2 hash: {}", reason);
+        cloudwatchMetricsService.incrementCounter(
+                ARGON2_HASH_REJECTED.getValue(),
+                Map.of(ENVIRONMENT.getValue(), configurationService.getEnvironment()));
+        throw new Argon2HashRejectedException(
+                "Argon2 hash rejected: " + reason,
+                Math.max(1, TimeUnit.NANOSECONDS.toSeconds(deadlineNanos + 999_999_999)));
+    }
+
+    private void putMetric(CloudwatchMetrics metric, long nanos) {
+        cloudwatchMetricsService.putEmbeddedValue(
+                metric.getValue(),
+                nanos / 1_000_000.0,
+                Map.of(ENVIRONMENT.getValue(), configurationService.getEnvironment()));
+    }
+
+    int availablePermits() {
+        return permits.availablePermits();
+    }
+}
@@ -1,26 +1,43 @@
 package uk.gov.di.authentication.shared.helpers;
 
-import org.bouncycastle.crypto.generators.Argon2BytesGenerator;
 import org.bouncycastle.crypto.params.Argon2Parameters;
 import org.bouncycastle.util.Arrays;
+import org.bouncycastle.util.Strings;
 
+import java.time.Duration;
 import java.util.Base64;
+import java.util.Optional;
 
 public class Argon2MatcherHelper {
 
     private static final Base64.Decoder BASE64_DECODER = Base64.getDecoder();
+    private static final int PARAMETER_CACHE_SIZE = 16;
+    private static final Duration PARAMETER_CACHE_TTL = Duration.ofHours(1);
+    private static final ExpiringLruCache<String, Argon2Hash.Parameters> PARAMETER_CACHE =
+            new ExpiringLruCache<>(PARAMETER_CACHE_SIZE);
 
     public static boolean matchRawStringWithEncoded(String rawPassword, String encodedPassword) {
-        Argon2Hash decoded;
+        final Argon2Hash decoded;
         try {
             decoded = decode(encodedPassword);
         } catch (IllegalArgumentException ex) {
             return false;
         }
+        return Argon2HashingExecutor.getInstance().execute(() -> matches(rawPassword, decoded));
+    }
+
+    private static boolean matches(String rawPassword, Argon2Hash decoded) {
+        var parameters = decoded.getParameters();
         byte[] hashBytes = new byte[decoded.getHash().length];
-        Argon2BytesGenerator generator = new Argon2BytesGenerator();
-        generator.init(decoded.getParameters());
-        generator.generateBytes(rawPassword.toCharArray(), hashBytes);
+        Argon2Engine.getInstance()
+                .generateBytes(
+                        parameters.version,
+                        parameters.memory,
+                        parameters.iterations,
+                        parameters.lanes,
+                        decoded.getSalt(),
+                        Strings.toUTF8ByteArray(rawPassword.toCharArray()),
+                        hashBytes);
         return constantTimeArrayEquals(decoded.getHash(), hashBytes);
     }
 
@@ -36,45 +53,69 @@ public class Argon2MatcherHelper {
     }
 
     private static Argon2Hash decode(String encodedHash) throws IllegalArgumentException {
-        Argon2Parameters.Builder paramsBuilder;
-        String[] parts = encodedHash.split("\\$");
-        if (parts.length < 4) {
+        var hashSeparator = encodedHash.lastIndexOf('$');
+        var saltSeparator =
+                hashSeparator > 0 ? encodedHash.lastIndexOf('$', hashSeparator - 1) : -1;
+        if (saltSeparator < 0) {
+            throw new IllegalArgumentException("Invalid encoded Argon2-hash");
+        }
+        var costPrefix = encodedHash.substring(0, saltSeparator);
+        var parameters = PARAMETER_CACHE.get(costPrefix);
+        if (parameters.isEmpty()) {
+            parameters = Optional.of(decodeParameters(costPrefix));
+            PARAMETER_CACHE.put(costPrefix, parameters.get(), PARAMETER_CACHE_TTL);
+        }
+        byte[] salt =
+                BASE64_DECODER.decode(encodedHash.substring(saltSeparator + 1, hashSeparator));
+        byte[] hash = BASE64_DECODER.decode(encodedHash.substring(hashSeparator + 1));
+        return new Argon2Hash(hash, salt, parameters.get());
+    }
+
+    private static Argon2Hash.Parameters decodeParameters(String costPrefix)
+            throws IllegalArgumentException {
+        String[] parts = costPrefix.split("\\$");
+        if (parts.length < 3) {
             throw new IllegalArgumentException("Invalid encoded Argon2-hash");
         }
         int currentPart = 2;
-        paramsBuilder = new Argon2Parameters.Builder(Argon2Parameters.ARGON2_id);
+        int version = Argon2Parameters.ARGON2_VERSION_13;
         if (parts[currentPart].startsWith("v=")) {
-            paramsBuilder.withVersion(Integer.parseInt(parts[currentPart].substring(2)));
+            version = Integer.parseInt(parts[currentPart].substring(2));
             currentPart++;
         }
-        String[] performanceParams = parts[currentPart++].split(",");
+        if (currentPart != parts.length - 1) {
+            throw new IllegalArgumentException("Invalid encoded Argon2-hash");
+        }
+        String[] performanceParams = parts[currentPart].split(",");
         if (performanceParams.length != 3) {
             throw new IllegalArgumentException("Amount of performance parameters invalid");
         }
         if (!performanceParams[0].startsWith("m=")) {
             throw new IllegalArgumentException("Invalid memory parameter");
         }
-        paramsBuilder.withMemoryAsKB(Integer.parseInt(performanceParams[0].substring(2)));
+        int memory = Integer.parseInt(performanceParams[0].substring(2));
         if (!performanceParams[1].startsWith("t=")) {
             throw new IllegalArgumentException("Invalid iterations parameter");
         }
-        paramsBuilder.withIterations(Integer.parseInt(performanceParams[1].substring(2)));
+        int iterations = Integer.parseInt(performanceParams[1].substring(2));
         if (!performanceParams[2].startsWith("p=")) {
             throw new IllegalArgumentException("Invalid parallelity parameter");
         }
-        paramsBuilder.withParallelism(Integer.parseInt(performanceParams[2].substring(2)));
-        paramsBuilder.withSalt(BASE64_DECODER.decode(parts[currentPart++]));
-        return new Argon2Hash(BASE64_DECODER.decode(parts[currentPart]), paramsBuilder.build());
+        int lanes = Integer.parseInt(performanceParams[2].substring(2));
+        return new Argon2Hash.Parameters(version, memory, iterations, lanes);
     }
 
     private static class Argon2Hash {
 
-        private byte[] hash;
+        private final byte[] hash;
 
-        private Argon2Parameters parameters;
+        private final byte[] salt;
 
-        Argon2Hash(byte[] hash, Argon2Parameters parameters) {
+        private final Parameters parameters;
+
+        Argon2Hash(byte[] hash, byte[] salt, Parameters parameters) {
             this.hash = Arrays.clone(hash);
+            this.salt = Arrays.clone(salt);
             this.parameters = parameters;
         }
 
@@ -82,12 +123,26 @@ public class Argon2MatcherHelper {
             return Arrays.clone(this.hash);
         }
 
-        public Argon2Parameters getParameters() {
+        public byte[] getSalt() {
+            return Arrays.clone(this.salt);
+        }
+
+        public Parameters getParameters() {
             return this.parameters;
         }
 
-        public void setParameters(Argon2Parameters parameters) {
-            this.parameters = parameters;
+        private static class Parameters {
+            private final int version;
+            private final int memory;
+            private final int iterations;
+            private final int lanes;
+
+            private Parameters(int version, int memory, int iterations, int lanes) {
+                this.version = version;
+                this.memory = memory;
+                this.iterations = iterations;
+                this.lanes = lanes;
+            }
         }
     }
 }
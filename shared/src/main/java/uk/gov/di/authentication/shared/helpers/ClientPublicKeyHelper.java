@@ -0,0 +1,71 @@
+package uk.gov.di.authentication.shared.helpers;
+
+import com.nimbusds.jose.crypto.RSASSAVerifier;
+import com.nimbusds.jose.jwk.KeyType;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.security.KeyFactory;
+import java.security.NoSuchAlgorithmException;
+import java.security.PublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.InvalidKeySpecException;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class ClientPublicKeyHelper {
+
+    private static final Logger LOG = LogManager.getLogger(ClientPublicKeyHelper.class);
+    private static final Map<String, ParsedPublicKey> PARSED_PUBLIC_KEYS =
+            new ConcurrentHashMap<>();
+
+    public static PublicKey getPublicKey(String clientId, String encodedPublicKey) {
+        return getParsedPublicKey(clientId, encodedPublicKey).publicKey;
+    }
+
+    public static RSASSAVerifier getVerifier(String clientId, String encodedPublicKey) {
+        return getParsedPublicKey(clientId, encodedPublicKey).verifier;
+    }
+
+    static int cachedKeyCount() {
+        return PARSED_PUBLIC_KEYS.size();
+    }
+
+    private static ParsedPublicKey getParsedPublicKey(String clientId, String encodedPublicKey) {
+        return PARSED_PUBLIC_KEYS.compute(
+                clientId,
+                (id, cached) ->
+                        cached != null && cached.encodedPublicKey.equals(encodedPublicKey)
+                                ? cached
+                                : parse(encodedPublicKey));
+    }
+
+    private static ParsedPublicKey parse(String encodedPublicKey) {
+        try {
+            byte[] decodedKey = Base64.getMimeDecoder().decode(encodedPublicKey);
+            X509EncodedKeySpec keySpec = new X509EncodedKeySpec(decodedKey);
+            KeyFactory kf = KeyFactory.getInstance(KeyType.RSA.getValue());
+            PublicKey publicKey = kf.generatePublic(keySpec);
+            return new ParsedPublicKey(
+                    encodedPublicKey, publicKey, new RSASSAVerifier((RSAPublicKey) publicKey));
+        } catch (NoSuchAlgorithmException | InvalidKeySpecException e) {
+            LOG.error("Unable to parse client public key", e);
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static class ParsedPublicKey {
+        private final String encodedPublicKey;
+        private final PublicKey publicKey;
+        private final RSASSAVerifier verifier;
+
+        private ParsedPublicKey(
+                String encodedPublicKey, PublicKey publicKey, RSASSAVerifier verifier) {
+            this.encodedPublicKey = encodedPublicKey;
+            this.publicKey = publicKey;
+            this.verifier = verifier;
+        }
+    }
+}
@@ -12,6 +12,7 @@ import java.net.URI;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.util.stream.Collectors;
 
 import static com.nimbusds.openid.connect.sdk.SubjectType.PUBLIC;
@@ -20,6 +21,19 @@ public class ClientSubjectHelper {
 
     private static final Logger LOG = LogManager.getLogger(ClientSubjectHelper.class);
     private static final String PAIRWISE_PREFIX = "urn:fdc:gov.uk:2022:";
+    private static final Duration SECTOR_HOST_TTL = Duration.ofHours(1);
+    private static final ExpiringLruCache<String, String> SECTOR_HOSTS =
+            new ExpiringLruCache<>(1000);
+    private static final ThreadLocal<MessageDigest> SHA_256 =
+            ThreadLocal.withInitial(
+                    () -> {
+                        try {
+                            return MessageDigest.getInstance("SHA-256");
+                        } catch (NoSuchAlgorithmException e) {
+                            LOG.error("Failed to hash", e);
+                            throw new RuntimeException(e);
+                        }
+                    });
 
     public static Subject getSubject(
             UserProfile userProfile,
@@ -44,14 +58,14 @@ public class ClientSubjectHelper {
         return new Subject(
                 calculatePairwiseIdentifier(
                         userProfile.getSubjectID(),
-                        returnHost(sectorIdentifierURI),
+                        sectorHost(sectorIdentifierURI),
                         authenticationService.getOrGenerateSalt(userProfile)));
     }
 
     public static String getSectorIdentifierForClient(
             ClientRegistry client, String internalSectorUri) {
         if (client.isOneLoginService()) {
-            return returnHost(internalSectorUri);
+            return sectorHost(internalSectorUri);
         }
         if (!hasValidClientConfig(client)) {
             String message =
@@ -62,14 +76,14 @@ public class ClientSubjectHelper {
             throw new RuntimeException(message);
         }
         return client.getSectorIdentifierUri() != null
-                ? returnHost(client.getSectorIdentifierUri())
-                : returnHost(client.getRedirectUrls().stream().findFirst().orElseThrow());
+                ? sectorHost(client.getSectorIdentifierUri())
+                : sectorHost(client.getRedirectUrls().stream().findFirst().orElseThrow());
     }
 
     static boolean hasValidClientConfig(ClientRegistry client) {
         if (client.getRedirectUrls().size() > 1 && client.getSectorIdentifierUri() == null) {
             return client.getRedirectUrls().stream()
-                            .map(ClientSubjectHelper::returnHost)
+                            .map(ClientSubjectHelper::sectorHost)
                             .collect(Collectors.toSet())
                             .size()
                     == 1;
@@ -78,6 +92,20 @@ public class ClientSubjectHelper {
         }
     }
 
+    /**
+     * Clients are re-read from DynamoDB on every request, so hosts are memoised by URI here rather
+     * than on the loaded client.
+     */
+    private static String sectorHost(String uri) {
+        var cached = SECTOR_HOSTS.get(uri);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        var host = returnHost(uri);
+        SECTOR_HOSTS.put(uri, host, SECTOR_HOST_TTL);
+        return host;
+    }
+
     static String returnHost(String uri) {
         try {
             var hostname = URI.create(uri).getHost();
@@ -95,20 +123,16 @@ public class ClientSubjectHelper {
 
     public static String calculatePairwiseIdentifier(
             String subjectID, String sectorHost, byte[] salt) {
-        try {
-            var md = MessageDigest.getInstance("SHA-256");
+        var md = SHA_256.get();
+        md.reset();
 
-            md.update(sectorHost.getBytes(StandardCharsets.UTF_8));
-            md.update(subjectID.getBytes(StandardCharsets.UTF_8));
+        md.update(sectorHost.getBytes(StandardCharsets.UTF_8));
+        md.update(subjectID.getBytes(StandardCharsets.UTF_8));
 
-            byte[] bytes = md.digest(salt);
+        byte[] bytes = md.digest(salt);
 
-            var sb = Base64Url.encode(bytes);
+        var sb = Base64Url.encode(bytes);
 
-            return PAIRWISE_PREFIX + sb;
-        } catch (NoSuchAlgorithmException e) {
-            LOG.error("Failed to hash", e);
-            throw new RuntimeException(e);
-        }
+        return PAIRWISE_PREFIX + sb;
     }
 }
@@ -0,0 +1,86 @@
+package uk.gov.di.authentication.shared.helpers;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.BiPredicate;
+
+public class ExpiringLruCache<K, V> {
+
+    private final int maxSize;
+    private final NowHelper.NowClock clock;
+    private final LinkedHashMap<K, Entry<V>> entries;
+
+    public ExpiringLruCache(int maxSize) {
+        this(maxSize, new NowHelper.NowClock(Clock.systemUTC()));
+    }
+
+    public ExpiringLruCache(int maxSize, NowHelper.NowClock clock) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Cache size must be at least 1");
+        }
+        this.maxSize = maxSize;
+        this.clock = clock;
+        this.entries =
+                new LinkedHashMap<>(16, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                        return size() > ExpiringLruCache.this.maxSize;
+                    }
+                };
+    }
+
+    public synchronized Optional<V> get(K key) {
+        var entry = entries.get(key);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        if (!clock.now().before(entry.expiresAt)) {
+            entries.remove(key);
+            return Optional.empty();
+        }
+        return Optional.of(entry.value);
+    }
+
+    public synchronized void put(K key, V value, Date expiresAt) {
+        if (!clock.now().before(expiresAt)) {
+            entries.remove(key);
+            return;
+        }
+        entries.put(key, new Entry<>(value, expiresAt));
+    }
+
+    public void put(K key, V value, Duration timeToLive) {
+        put(key, value, clock.nowPlus(timeToLive.toMillis(), ChronoUnit.MILLIS));
+    }
+
+    public synchronized void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    public synchronized void invalidateIf(BiPredicate<K, V> predicate) {
+        entries.entrySet().removeIf(e -> predicate.test(e.getKey(), e.getValue().value));
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private static class Entry<V> {
+        private final V value;
+        private final Date expiresAt;
+
+        private Entry(V value, Date expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -5,6 +5,7 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.util.concurrent.Callable;
+import java.util.function.Supplier;
 
 import static java.util.Objects.nonNull;
 
@@ -58,6 +59,21 @@ public class InstrumentationHelper {
         }
     }
 
+    public static <T> Supplier<T> propagateTraceContext(Supplier<T> supplier) {
+        if (!tracingEnabled) {
+            return supplier;
+        }
+        var traceEntity = AWSXRay.getTraceEntity();
+        return () -> {
+            AWSXRay.setTraceEntity(traceEntity);
+            try {
+                return supplier.get();
+            } finally {
+                AWSXRay.clearTraceEntity();
+            }
+        };
+    }
+
     public static void addAnnotation(final String key, final String value) {
         if (tracingEnabled && nonNull(value)) {
             AWSXRay.getCurrentSubsegmentOptional()
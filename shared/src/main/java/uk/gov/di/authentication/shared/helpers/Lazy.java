@@ -0,0 +1,45 @@
+package uk.gov.di.authentication.shared.helpers;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Memoising supplier for handler collaborators that are expensive to build (AWS SDK clients in
+ * particular) but are not needed on every code path. The value is created on the first call to
+ * {@link #get()} and shared by every later call.
+ */
+public final class Lazy<T> implements Supplier<T> {
+
+    private volatile Supplier<T> supplier;
+    private volatile T value;
+
+    private Lazy(Supplier<T> supplier, T value) {
+        this.supplier = supplier;
+        this.value = value;
+    }
+
+    public static <T> Lazy<T> of(Supplier<T> supplier) {
+        return new Lazy<>(Objects.requireNonNull(supplier), null);
+    }
+
+    public static <T> Lazy<T> value(T value) {
+        return new Lazy<>(null, value);
+    }
+
+    @Override
+    public T get() {
+        if (supplier != null) {
+            synchronized (this) {
+                if (supplier != null) {
+                    value = supplier.get();
+                    supplier = null;
+                }
+            }
+        }
+        return value;
+    }
+
+    public boolean isInitialised() {
+        return supplier == null;
+    }
+}
@@ -1,9 +1,9 @@
 package uk.gov.di.authentication.shared.helpers;
 
 import com.google.i18n.phonenumbers.NumberParseException;
-import com.google.i18n.phonenumbers.PhoneNumberUtil;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import uk.gov.di.authentication.shared.services.PhoneNumberNormalisationService;
 
 import java.util.Optional;
 
@@ -12,10 +12,8 @@ public class PhoneNumberHelper {
     private static final Logger LOG = LogManager.getLogger(PhoneNumberHelper.class);
 
     public static String formatPhoneNumber(String phoneNumber) {
-        var phoneUtil = PhoneNumberUtil.getInstance();
         try {
-            var parsedPhoneNumber = phoneUtil.parse(phoneNumber, "GB");
-            return phoneUtil.format(parsedPhoneNumber, PhoneNumberUtil.PhoneNumberFormat.E164);
+            return PhoneNumberNormalisationService.getInstance().normalise(phoneNumber).getE164();
         } catch (NumberParseException e) {
             LOG.warn("Error when trying to parse phone number");
             throw new RuntimeException(e);
@@ -25,7 +23,9 @@ public class PhoneNumberHelper {
     public static String getCountry(String phoneNumber) {
         try {
             return Integer.toString(
-                    PhoneNumberUtil.getInstance().parse(phoneNumber, "GB").getCountryCode());
+                    PhoneNumberNormalisationService.getInstance()
+                            .normalise(phoneNumber)
+                            .getCountryCode());
         } catch (NumberParseException e) {
             LOG.warn("Error when trying to parse phone number");
             throw new RuntimeException(e);
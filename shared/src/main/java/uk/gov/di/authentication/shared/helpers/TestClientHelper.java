@@ -6,13 +6,21 @@ import uk.gov.di.authentication.shared.exceptions.ClientNotFoundException;
 import uk.gov.di.authentication.shared.services.ConfigurationService;
 import uk.gov.di.authentication.shared.state.UserContext;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
 
 public class TestClientHelper {
     private static final Logger LOG = LogManager.getLogger(TestClientHelper.class);
+    private static final Pattern GROUP_REFERENCE = Pattern.compile("\\\\(?:[1-9]|k<)|\\(\\?<\\w");
+    private static final Duration COMPILED_ALLOWLIST_TTL = Duration.ofHours(1);
+    private static final ExpiringLruCache<String, CompiledAllowlist> COMPILED_ALLOWLISTS =
+            new ExpiringLruCache<>(1000);
 
     private TestClientHelper() {}
 
@@ -33,6 +41,7 @@ public class TestClientHelper {
         var isTestClientWithAllowedEmail =
                 (clientRegistry.isTestClient()
                         && emailMatchesAllowlist(
+                                clientRegistry.getClientID(),
                                 userContext.getSession().getEmailAddress(),
                                 clientRegistry.getTestClientEmailAllowlist()));
 
@@ -44,22 +53,121 @@ public class TestClientHelper {
     }
 
     public static boolean emailMatchesAllowlist(String emailAddress, List<String> regexAllowList) {
+        return emailMatchesAllowlist(null, emailAddress, regexAllowList);
+    }
+
+    public static boolean emailMatchesAllowlist(
+            String clientId, String emailAddress, List<String> regexAllowList) {
         if (Objects.isNull(emailAddress)) {
             return false;
         }
-        for (String allowedEmailEntry : regexAllowList) {
-            try {
+        return compiledAllowlist(clientId, regexAllowList).matches(emailAddress);
+    }
+
+    static int compiledAllowlistCount() {
+        return COMPILED_ALLOWLISTS.size();
+    }
+
+    private static CompiledAllowlist compiledAllowlist(String clientId, List<String> allowlist) {
+        var key = clientId + " " + allowlist.hashCode();
+        var cached = COMPILED_ALLOWLISTS.get(key);
+        if (cached.isPresent() && cached.get().isCompiledFrom(allowlist)) {
+            return cached.get();
+        }
+        var compiled = CompiledAllowlist.compile(allowlist);
+        COMPILED_ALLOWLISTS.put(key, compiled, COMPILED_ALLOWLIST_TTL);
+        return compiled;
+    }
+
+    /**
+     * A client's allowlist split into exact addresses, looked up in a set, and regex entries (those
+     * wrapped in ^...$), combined into a single alternation. Entries using group references are
+     * compiled on their own, as their group numbering would change once combined, as are entries
+     * that would swallow the rest of the alternation.
+     */
+    private static final class CompiledAllowlist {
+        private final List<String> source;
+        private final Set<String> exactEntries;
+        private final Pattern combinedPattern;
+        private final List<Pattern> separatePatterns;
+
+        private CompiledAllowlist(
+                List<String> source,
+                Set<String> exactEntries,
+                Pattern combinedPattern,
+                List<Pattern> separatePatterns) {
+            this.source = source;
+            this.exactEntries = exactEntries;
+            this.combinedPattern = combinedPattern;
+            this.separatePatterns = separatePatterns;
+        }
+
+        static CompiledAllowlist compile(List<String> allowlist) {
+            var exactEntries = new HashSet<String>();
+            var combinedEntries = new ArrayList<String>();
+            var combinedEntryPatterns = new ArrayList<Pattern>();
+            var separatePatterns = new ArrayList<Pattern>();
+            for (String allowedEmailEntry : allowlist) {
                 if (allowedEmailEntry.startsWith("^") && allowedEmailEntry.endsWith("$")) {
-                    if (Pattern.matches(allowedEmailEntry, emailAddress)) {
-                        return true;
+                    try {
+                        var pattern = Pattern.compile(allowedEmailEntry);
+                        if (GROUP_REFERENCE.matcher(allowedEmailEntry).find()
+                                || !combinesCleanly(allowedEmailEntry)) {
+                            separatePatterns.add(pattern);
+                        } else {
+                            combinedEntries.add("(?:" + allowedEmailEntry + ")");
+                            combinedEntryPatterns.add(pattern);
+                        }
+                    } catch (PatternSyntaxException e) {
+                        LOG.warn("PatternSyntaxException for: {}", allowedEmailEntry);
                     }
-                } else if (Objects.equals(emailAddress, allowedEmailEntry)) {
-                    return true;
+                } else {
+                    exactEntries.add(allowedEmailEntry);
+                }
+            }
+            Pattern combinedPattern = null;
+            if (!combinedEntries.isEmpty()) {
+                try {
+                    combinedPattern = Pattern.compile(String.join("|", combinedEntries));
+                } catch (PatternSyntaxException e) {
+                    LOG.warn("PatternSyntaxException combining allowlist, matching entries alone");
+                    separatePatterns.addAll(combinedEntryPatterns);
                 }
+            }
+            return new CompiledAllowlist(
+                    new ArrayList<>(allowlist), exactEntries, combinedPattern, separatePatterns);
+        }
+
+        /**
+         * Whether an entry keeps to its own alternative once wrapped, which an unterminated \Q or a
+         * trailing (?x) comment would not.
+         */
+        private static boolean combinesCleanly(String allowedEmailEntry) {
+            try {
+                Pattern.compile("(?:" + allowedEmailEntry + ")|(?:)");
+                return true;
             } catch (PatternSyntaxException e) {
-                LOG.warn("PatternSyntaxException for: {}", allowedEmailEntry);
+                return false;
             }
         }
-        return false;
+
+        boolean isCompiledFrom(List<String> allowlist) {
+            return source.equals(allowlist);
+        }
+
+        boolean matches(String emailAddress) {
+            if (exactEntries.contains(emailAddress)) {
+                return true;
+            }
+            if (combinedPattern != null && combinedPattern.matcher(emailAddress).matches()) {
+                return true;
+            }
+            for (Pattern pattern : separatePatterns) {
+                if (pattern.matcher(emailAddress).matches()) {
+                    return true;
+                }
+            }
+            return false;
+        }
     }
 }
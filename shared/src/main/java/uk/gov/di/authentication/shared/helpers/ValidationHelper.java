@@ -1,13 +1,13 @@
 package uk.gov.di.authentication.shared.helpers;
 
 import com.google.i18n.phonenumbers.NumberParseException;
-import com.google.i18n.phonenumbers.PhoneNumberUtil;
 import com.google.i18n.phonenumbers.PhoneNumberUtil.PhoneNumberType;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import uk.gov.di.authentication.shared.entity.ErrorResponse;
 import uk.gov.di.authentication.shared.entity.NotificationType;
 import uk.gov.di.authentication.shared.services.CodeStorageService;
+import uk.gov.di.authentication.shared.services.PhoneNumberNormalisationService;
 
 import java.util.List;
 import java.util.Objects;
@@ -64,10 +64,10 @@ public class ValidationHelper {
             LOG.warn("Invalid phone number: length check");
             return Optional.of(ErrorResponse.ERROR_1012);
         }
-        var phoneUtil = PhoneNumberUtil.getInstance();
         try {
-            var phoneNumber = phoneUtil.parse(phoneNumberInput, "GB");
-            var phoneNumberType = phoneUtil.getNumberType(phoneNumber);
+            var phoneNumber =
+                    PhoneNumberNormalisationService.getInstance().normalise(phoneNumberInput);
+            var phoneNumberType = phoneNumber.getType();
             if (!isAcceptedPhoneNumberType(phoneNumberType)) {
                 LOG.warn(
                         "Invalid phone number: not a mobile number.  NumberType {}",
@@ -75,7 +75,7 @@ public class ValidationHelper {
                 return Optional.of(ErrorResponse.ERROR_1012);
             }
             LOG.info("Accepted phone NumberType {}", phoneNumberType);
-            if (phoneUtil.isValidNumber(phoneNumber)) {
+            if (phoneNumber.isValid()) {
                 return Optional.empty();
             }
             LOG.warn("Invalid phone number: failed isValidNumber check");
@@ -8,9 +8,12 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.ThreadContext;
 import uk.gov.di.authentication.shared.entity.BaseFrontendRequest;
+import uk.gov.di.authentication.shared.entity.ClientRegistry;
 import uk.gov.di.authentication.shared.entity.ClientSession;
 import uk.gov.di.authentication.shared.entity.ErrorResponse;
 import uk.gov.di.authentication.shared.entity.Session;
+import uk.gov.di.authentication.shared.entity.UserCredentials;
+import uk.gov.di.authentication.shared.entity.UserProfile;
 import uk.gov.di.authentication.shared.helpers.LogLineHelper;
 import uk.gov.di.authentication.shared.helpers.PersistentIdHelper;
 import uk.gov.di.authentication.shared.serialization.Json;
@@ -23,13 +26,24 @@ import uk.gov.di.authentication.shared.services.DynamoClientService;
 import uk.gov.di.authentication.shared.services.DynamoService;
 import uk.gov.di.authentication.shared.services.SerializationService;
 import uk.gov.di.authentication.shared.services.SessionService;
+import uk.gov.di.authentication.shared.services.SessionUnitOfWork;
 import uk.gov.di.authentication.shared.state.UserContext;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Locale;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 import static uk.gov.di.authentication.shared.domain.RequestHeaders.CLIENT_SESSION_ID_HEADER;
 import static uk.gov.di.authentication.shared.helpers.ApiGatewayResponseHelper.generateApiGatewayProxyErrorResponse;
+import static uk.gov.di.authentication.shared.helpers.InstrumentationHelper.propagateTraceContext;
 import static uk.gov.di.authentication.shared.helpers.InstrumentationHelper.segmentedFunctionCall;
 import static uk.gov.di.authentication.shared.helpers.LocaleHelper.getUserLanguageFromRequestHeaders;
 import static uk.gov.di.authentication.shared.helpers.LocaleHelper.matchSupportedLanguage;
@@ -44,6 +58,8 @@ public abstract class BaseFrontendHandler<T>
 
     private static final Logger LOG = LogManager.getLogger(BaseFrontendHandler.class);
     private static final String CLIENT_ID = "client_id";
+    private static final int PREFETCH_THREADS = 4;
+    private static final ExecutorService PREFETCH_EXECUTOR = createPrefetchExecutor();
     private final Class<T> clazz;
     protected final ConfigurationService configurationService;
     protected final SessionService sessionService;
@@ -93,6 +109,7 @@ public abstract class BaseFrontendHandler<T>
         this.clientSessionService = new ClientSessionService(configurationService);
         this.clientService = new DynamoClientService(configurationService);
         this.authenticationService = new DynamoService(configurationService);
+        PrimingRunner.primeOnce(configurationService, requestParsing(clazz));
     }
 
     protected BaseFrontendHandler(
@@ -103,12 +120,22 @@ public abstract class BaseFrontendHandler<T>
         this.loadUserCredentials = loadUserCredentials;
     }
 
+    /*
+     * Built from the request class alone, so priming never sees a partly constructed handler.
+     */
+    private static Primeable requestParsing(Class<?> clazz) {
+        return () -> SerializationService.getInstance().readValue("{}", clazz, value -> List.of());
+    }
+
     @Override
     public APIGatewayProxyResponseEvent handleRequest(
             APIGatewayProxyRequestEvent input, Context context) {
         return segmentedFunctionCall(
                 "frontend-api::" + getClass().getSimpleName(),
-                () -> validateAndHandleRequest(input, context));
+                () ->
+                        SessionUnitOfWork.execute(
+                                configurationService,
+                                () -> validateAndHandleRequest(input, context)));
     }
 
     public void onRequestReceived(String clientSessionId) {}
@@ -132,9 +159,44 @@ public abstract class BaseFrontendHandler<T>
                         configurationService.getHeadersCaseInsensitive());
 
         onRequestReceived(clientSessionId);
-        Optional<Session> session = sessionService.getSessionFromRequestHeaders(input.getHeaders());
-        Optional<ClientSession> clientSession =
-                clientSessionService.getClientSessionFromRequestHeaders(input.getHeaders());
+        var inFlight = new ArrayList<CompletableFuture<?>>();
+        try {
+            return handleRequestWithLookups(input, context, clientSessionId, inFlight);
+        } finally {
+            inFlight.forEach(future -> future.cancel(false));
+        }
+    }
+
+    /*
+     * The session and client session are read from Redis concurrently while the body is parsed.
+     * The DynamoDB lookups only start once the session and body have been checked, and every
+     * lookup is submitted from the request thread so it picks up that thread's log and trace
+     * context. Lookups still queued when the request ends are cancelled.
+     */
+    private APIGatewayProxyResponseEvent handleRequestWithLookups(
+            APIGatewayProxyRequestEvent input,
+            Context context,
+            String clientSessionId,
+            List<CompletableFuture<?>> inFlight) {
+        CompletableFuture<Optional<Session>> sessionLookup =
+                prefetch(
+                        inFlight,
+                        () -> sessionService.getSessionFromRequestHeaders(input.getHeaders()));
+        CompletableFuture<Optional<ClientSession>> clientSessionLookup =
+                prefetch(
+                        inFlight,
+                        () ->
+                                clientSessionService.getClientSessionFromRequestHeaders(
+                                        input.getHeaders()));
+
+        Optional<T> parsedRequest;
+        try {
+            parsedRequest = Optional.of(objectMapper.readValue(input.getBody(), clazz));
+        } catch (JsonException e) {
+            parsedRequest = Optional.empty();
+        }
+
+        Optional<Session> session = awaitPrefetch(sessionLookup);
         if (session.isEmpty()) {
             LOG.warn("Session cannot be found");
             return generateApiGatewayProxyErrorResponse(400, ErrorResponse.ERROR_1000);
@@ -147,33 +209,57 @@ public abstract class BaseFrontendHandler<T>
 
         Optional<String> userLanguage =
                 getUserLanguageFromRequestHeaders(input.getHeaders(), configurationService);
-        final T request;
-        try {
-            request = objectMapper.readValue(input.getBody(), clazz);
-        } catch (JsonException e) {
+        if (parsedRequest.isEmpty()) {
             LOG.warn("Request is missing parameters.");
             onRequestValidationError(clientSessionId);
             return generateApiGatewayProxyErrorResponse(400, ErrorResponse.ERROR_1001);
         }
+        final T request = parsedRequest.get();
 
-        UserContext.Builder userContextBuilder = UserContext.builder(session.get());
-
-        userContextBuilder.withClientSessionId(clientSessionId);
+        Optional<String> email = session.map(Session::getEmailAddress);
+        CompletableFuture<Optional<Optional<UserProfile>>> sessionUserProfile =
+                email.isPresent()
+                        ? prefetch(
+                                inFlight,
+                                () ->
+                                        Optional.of(
+                                                authenticationService.getUserProfileFromEmail(
+                                                        email.get())))
+                        : CompletableFuture.completedFuture(Optional.empty());
+        CompletableFuture<Optional<UserCredentials>> userCredentials =
+                loadUserCredentials && email.isPresent()
+                        ? prefetch(
+                                inFlight,
+                                () ->
+                                        Optional.ofNullable(
+                                                authenticationService.getUserCredentialsFromEmail(
+                                                        email.get())))
+                        : CompletableFuture.completedFuture(Optional.empty());
 
-        var clientID =
+        Optional<ClientSession> clientSession = awaitPrefetch(clientSessionLookup);
+        Optional<String> clientID =
                 clientSession
                         .map(ClientSession::getAuthRequestParams)
                         .map(t -> t.get(CLIENT_ID))
                         .flatMap(v -> v.stream().findFirst());
+        CompletableFuture<Optional<ClientRegistry>> client =
+                clientID.isPresent()
+                        ? prefetch(inFlight, () -> clientService.getClient(clientID.get()))
+                        : CompletableFuture.completedFuture(Optional.empty());
+
+        UserContext.Builder userContextBuilder = UserContext.builder(session.get());
+
+        userContextBuilder.withClientSessionId(clientSessionId);
 
         attachLogFieldToLogs(LogLineHelper.LogFieldName.CLIENT_ID, clientID.orElse(UNKNOWN));
 
-        clientID.ifPresent(c -> userContextBuilder.withClient(clientService.getClient(c)));
+        if (clientID.isPresent()) {
+            userContextBuilder.withClient(awaitPrefetch(client));
+        }
 
         clientSession.ifPresent(userContextBuilder::withClientSession);
 
-        session.map(Session::getEmailAddress)
-                .map(authenticationService::getUserProfileFromEmail)
+        awaitPrefetch(sessionUserProfile)
                 .ifPresentOrElse(
                         userProfile ->
                                 userContextBuilder
@@ -190,17 +276,60 @@ public abstract class BaseFrontendHandler<T>
                                         .withUserAuthenticated(false);
                         });
 
-        if (loadUserCredentials) {
-            session.map(Session::getEmailAddress)
-                    .map(authenticationService::getUserCredentialsFromEmail)
-                    .ifPresent(
-                            userCredentials ->
-                                    userContextBuilder.withUserCredentials(
-                                            Optional.of(userCredentials)));
-        }
+        awaitPrefetch(userCredentials)
+                .ifPresent(
+                        credentials ->
+                                userContextBuilder.withUserCredentials(Optional.of(credentials)));
 
         userContextBuilder.withUserLanguage(matchSupportedLanguage(userLanguage));
 
         return handleRequestWithUserContext(input, context, request, userContextBuilder.build());
     }
+
+    private static <U> CompletableFuture<U> prefetch(
+            List<CompletableFuture<?>> inFlight, Supplier<U> lookup) {
+        var logContext = ThreadContext.getImmutableContext();
+        var tracedLookup = propagateTraceContext(lookup);
+        var future =
+                CompletableFuture.supplyAsync(
+                        () -> {
+                            ThreadContext.putAll(logContext);
+                            try {
+                                return tracedLookup.get();
+                            } finally {
+                                ThreadContext.clearMap();
+                            }
+                        },
+                        PREFETCH_EXECUTOR);
+        inFlight.add(future);
+        return future;
+    }
+
+    private static ExecutorService createPrefetchExecutor() {
+        var executor =
+                new ThreadPoolExecutor(
+                        PREFETCH_THREADS,
+                        PREFETCH_THREADS,
+                        60,
+                        TimeUnit.SECONDS,
+                        new LinkedBlockingQueue<>(),
+                        runnable -> {
+                            var thread = new Thread(runnable, "frontend-prefetch");
+                            thread.setDaemon(true);
+                            return thread;
+                        });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private static <U> U awaitPrefetch(CompletableFuture<U> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
 }
@@ -0,0 +1,12 @@
+package uk.gov.di.authentication.shared.lambda;
+
+/**
+ * Work a handler can run during Lambda init so that the first real request does not pay for class
+ * loading and JIT of its hot paths. Implementations must use synthetic data only and must not call
+ * any external service.
+ */
+@FunctionalInterface
+public interface Primeable {
+
+    void prime() throws Exception;
+}
@@ -0,0 +1,125 @@
+package uk.gov.di.authentication.shared.lambda;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.ECDSASigner;
+import com.nimbusds.jose.crypto.ECDSAVerifier;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.gen.ECKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.bouncycastle.asn1.x509.SubjectPublicKeyInfo;
+import org.bouncycastle.openssl.jcajce.JcaPEMKeyConverter;
+import uk.gov.di.authentication.shared.entity.ClientSession;
+import uk.gov.di.authentication.shared.entity.Session;
+import uk.gov.di.authentication.shared.entity.VectorOfTrust;
+import uk.gov.di.authentication.shared.helpers.CryptoProviderHelper;
+import uk.gov.di.authentication.shared.helpers.PhoneNumberHelper;
+import uk.gov.di.authentication.shared.services.CloudwatchMetricsService;
+import uk.gov.di.authentication.shared.services.ConfigurationService;
+import uk.gov.di.authentication.shared.services.SerializationService;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static uk.gov.di.authentication.shared.domain.CloudwatchMetricDimensions.ENVIRONMENT;
+import static uk.gov.di.authentication.shared.domain.CloudwatchMetrics.HANDLER_PRIMING_DURATION;
+
+/**
+ * Runs {@link Primeable}s once per execution environment while the Lambda is still in its init
+ * phase, so the class loading and JIT cost of the shared hot paths is not paid by the first
+ * request. Priming is off unless {@code HANDLER_PRIMING_ENABLED} is set, and a failing primeable is
+ * logged and skipped rather than failing the handler constructor.
+ */
+public class PrimingRunner {
+
+    private static final Logger LOG = LogManager.getLogger(PrimingRunner.class);
+    private static final AtomicBoolean PRIMED = new AtomicBoolean(false);
+
+    static final List<Primeable> DEFAULT_PRIMEABLES =
+            List.of(
+                    PrimingRunner::primeSessionSerialization,
+                    PrimingRunner::primeJwtVerification,
+                    PrimingRunner::primePhoneNumberFormatting);
+
+    private final ConfigurationService configurationService;
+    private final CloudwatchMetricsService cloudwatchMetricsService;
+    private final List<Primeable> primeables;
+
+    PrimingRunner(
+            ConfigurationService configurationService,
+            CloudwatchMetricsService cloudwatchMetricsService,
+            List<Primeable> primeables) {
+        this.configurationService = configurationService;
+        this.cloudwatchMetricsService = cloudwatchMetricsService;
+        this.primeables = primeables;
+    }
+
+    public static void primeOnce(
+            ConfigurationService configurationService, Primeable... handlerPrimeables) {
+        if (!configurationService.isHandlerPrimingEnabled() || !PRIMED.compareAndSet(false, true)) {
+            return;
+        }
+        var primeables = new ArrayList<>(DEFAULT_PRIMEABLES);
+        primeables.addAll(List.of(handlerPrimeables));
+        new PrimingRunner(
+                        configurationService,
+                        new CloudwatchMetricsService(configurationService),
+                        primeables)
+                .run();
+    }
+
+    void run() {
+        var start = System.nanoTime();
+        for (Primeable primeable : primeables) {
+            try {
+                primeable.prime();
+            } catch (Exception e) {
+                LOG.warn("Handler priming step failed", e);
+            }
+        }
+        var durationMillis = (System.nanoTime() - start) / 1_000_000.0;
+        LOG.info("Handler priming completed in {} ms", durationMillis);
+        cloudwatchMetricsService.putEmbeddedValue(
+                HANDLER_PRIMING_DURATION.getValue(),
+                durationMillis,
+                Map.of(ENVIRONMENT.getValue(), configurationService.getEnvironment()));
+    }
+
+    private static void primeSessionSerialization() throws Exception {
+        var serializationService = SerializationService.getInstance();
+        var session = new Session("priming-session").addClientSession("priming-client-session");
+        serializationService.readValue(
+                serializationService.writeValueAsString(session), Session.class);
+        var clientSession =
+                new ClientSession(
+                        Map.of("client_id", List.of("priming-client")),
+                        LocalDateTime.now(),
+                        VectorOfTrust.getDefaults(),
+                        "priming-client");
+        serializationService.readValue(
+                serializationService.writeValueAsString(clientSession), ClientSession.class);
+    }
+
+    private static void primeJwtVerification() throws Exception {
+        var ecKey = new ECKeyGenerator(Curve.P_256).generate();
+        var signedJwt =
+                new SignedJWT(
+                        new JWSHeader(JWSAlgorithm.ES256),
+                        new JWTClaimsSet.Builder().subject("priming-subject").build());
+        signedJwt.sign(new ECDSASigner(ecKey));
+        new JcaPEMKeyConverter()
+                .setProvider(CryptoProviderHelper.bouncyCastle())
+                .getPublicKey(SubjectPublicKeyInfo.getInstance(ecKey.toECPublicKey().getEncoded()));
+        SignedJWT.parse(signedJwt.serialize()).verify(new ECDSAVerifier(ecKey.toPublicJWK()));
+    }
+
+    private static void primePhoneNumberFormatting() {
+        PhoneNumberHelper.formatPhoneNumber("07700900000");
+    }
+}
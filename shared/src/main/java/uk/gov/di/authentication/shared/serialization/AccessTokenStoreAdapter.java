@@ -0,0 +1,39 @@
+package uk.gov.di.authentication.shared.serialization;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import uk.gov.di.authentication.shared.entity.AccessTokenStore;
+
+import java.io.IOException;
+
+class AccessTokenStoreAdapter extends StreamingAdapter<AccessTokenStore> {
+
+    @Override
+    public void write(JsonWriter out, AccessTokenStore accessTokenStore) throws IOException {
+        out.beginObject();
+        out.name("token").value(accessTokenStore.getToken());
+        out.name("internal_subject_id").value(accessTokenStore.getInternalSubjectId());
+        out.endObject();
+    }
+
+    @Override
+    public AccessTokenStore read(JsonReader in) throws IOException {
+        String token = null;
+        String internalSubjectId = null;
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "token":
+                    token = readString(in);
+                    break;
+                case "internal_subject_id":
+                    internalSubjectId = readString(in);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return new AccessTokenStore(token, internalSubjectId);
+    }
+}
@@ -0,0 +1,57 @@
+package uk.gov.di.authentication.shared.serialization;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import uk.gov.di.authentication.shared.entity.AuthCodeExchangeData;
+import uk.gov.di.authentication.shared.entity.ClientSession;
+
+import java.io.IOException;
+
+class AuthCodeExchangeDataAdapter extends StreamingAdapter<AuthCodeExchangeData> {
+
+    private final TypeAdapter<ClientSession> clientSessionAdapter;
+
+    AuthCodeExchangeDataAdapter(Gson gson) {
+        this.clientSessionAdapter = gson.getAdapter(ClientSession.class);
+    }
+
+    @Override
+    public void write(JsonWriter out, AuthCodeExchangeData authCodeExchangeData)
+            throws IOException {
+        out.beginObject();
+        out.name("sessionId").value(authCodeExchangeData.getSessionId());
+        out.name("clientSessionId").value(authCodeExchangeData.getClientSessionId());
+        out.name("email").value(authCodeExchangeData.getEmail());
+        out.name("clientSession");
+        clientSessionAdapter.write(out, authCodeExchangeData.getClientSession());
+        out.endObject();
+    }
+
+    @Override
+    public AuthCodeExchangeData read(JsonReader in) throws IOException {
+        var authCodeExchangeData = new AuthCodeExchangeData();
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "sessionId":
+                    authCodeExchangeData.setSessionId(readString(in));
+                    break;
+                case "clientSessionId":
+                    authCodeExchangeData.setClientSessionId(readString(in));
+                    break;
+                case "email":
+                    authCodeExchangeData.setEmail(readString(in));
+                    break;
+                case "clientSession":
+                    authCodeExchangeData.setClientSession(clientSessionAdapter.read(in));
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return authCodeExchangeData;
+    }
+}
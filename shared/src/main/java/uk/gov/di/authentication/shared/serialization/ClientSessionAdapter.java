@@ -0,0 +1,89 @@
+package uk.gov.di.authentication.shared.serialization;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import com.nimbusds.oauth2.sdk.id.Subject;
+import uk.gov.di.authentication.shared.entity.ClientSession;
+import uk.gov.di.authentication.shared.entity.VectorOfTrust;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+class ClientSessionAdapter extends StreamingAdapter<ClientSession> {
+
+    private final TypeAdapter<Map<String, List<String>>> authRequestParamsAdapter;
+    private final TypeAdapter<LocalDateTime> localDateTimeAdapter;
+    private final TypeAdapter<VectorOfTrust> vectorOfTrustAdapter;
+    private final TypeAdapter<Subject> subjectAdapter;
+
+    ClientSessionAdapter(Gson gson) {
+        this.authRequestParamsAdapter =
+                gson.getAdapter(new TypeToken<Map<String, List<String>>>() {});
+        this.localDateTimeAdapter = gson.getAdapter(LocalDateTime.class);
+        this.vectorOfTrustAdapter = gson.getAdapter(VectorOfTrust.class);
+        this.subjectAdapter = gson.getAdapter(Subject.class);
+    }
+
+    @Override
+    public void write(JsonWriter out, ClientSession clientSession) throws IOException {
+        out.beginObject();
+        out.name("auth_request_params");
+        authRequestParamsAdapter.write(out, clientSession.getAuthRequestParams());
+        out.name("id_token_hint").value(clientSession.getIdTokenHint());
+        out.name("creation_date");
+        localDateTimeAdapter.write(out, clientSession.getCreationDate());
+        out.name("effective_vector_of_trust");
+        vectorOfTrustAdapter.write(out, clientSession.getEffectiveVectorOfTrust());
+        out.name("doc_app_subject_id");
+        subjectAdapter.write(out, clientSession.getDocAppSubjectId());
+        out.name("client_name").value(clientSession.getClientName());
+        out.endObject();
+    }
+
+    @Override
+    public ClientSession read(JsonReader in) throws IOException {
+        Map<String, List<String>> authRequestParams = null;
+        String idTokenHint = null;
+        LocalDateTime creationDate = null;
+        VectorOfTrust effectiveVectorOfTrust = null;
+        Subject docAppSubjectId = null;
+        String clientName = null;
+
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "auth_request_params":
+                    authRequestParams = authRequestParamsAdapter.read(in);
+                    break;
+                case "id_token_hint":
+                    idTokenHint = readString(in);
+                    break;
+                case "creation_date":
+                    creationDate = localDateTimeAdapter.read(in);
+                    break;
+                case "effective_vector_of_trust":
+                    effectiveVectorOfTrust = vectorOfTrustAdapter.read(in);
+                    break;
+                case "doc_app_subject_id":
+                    docAppSubjectId = subjectAdapter.read(in);
+                    break;
+                case "client_name":
+                    clientName = readString(in);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+
+        return new ClientSession(
+                        authRequestParams, creationDate, effectiveVectorOfTrust, clientName)
+                .setIdTokenHint(idTokenHint)
+                .setDocAppSubjectId(docAppSubjectId);
+    }
+}
@@ -0,0 +1,490 @@
+package uk.gov.di.authentication.shared.serialization;
+
+import com.nimbusds.oauth2.sdk.id.Subject;
+import uk.gov.di.authentication.shared.entity.ClientSession;
+import uk.gov.di.authentication.shared.entity.CredentialTrustLevel;
+import uk.gov.di.authentication.shared.entity.LevelOfConfidence;
+import uk.gov.di.authentication.shared.entity.MFAMethodType;
+import uk.gov.di.authentication.shared.entity.Session;
+import uk.gov.di.authentication.shared.entity.VectorOfTrust;
+import uk.gov.di.authentication.shared.serialization.Json.JsonException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Compact binary encoding for the {@link Session} and {@link ClientSession} values kept in Redis.
+ *
+ * <p>A value is {@value #PREFIX} followed by the Base64 of a flags byte and a tagged field list.
+ * Only fields with a value are written. Well-known auth request parameter names, values and enum
+ * names are written as a single index into {@link #INTERNED}. Payloads larger than {@value
+ * #COMPRESSION_THRESHOLD} bytes are deflated. Values that do not start with the prefix are treated
+ * as the legacy Gson JSON and read with the {@link Json} mapper, so both formats can be read while
+ * writers are switched over.
+ */
+public class CompactSessionCodec {
+
+    static final String PREFIX = "~1:";
+    static final int COMPRESSION_THRESHOLD = 512;
+
+    private static final int FLAG_DEFLATED = 1;
+    private static final int END = 0;
+
+    private static final int SESSION_ID = 1;
+    private static final int SESSION_CLIENT_SESSIONS = 2;
+    private static final int SESSION_EMAIL_ADDRESS = 3;
+    private static final int SESSION_RETRY_COUNT = 4;
+    private static final int SESSION_PASSWORD_RESET_COUNT = 5;
+    private static final int SESSION_CODE_REQUEST_COUNT = 6;
+    private static final int SESSION_CURRENT_CREDENTIAL_STRENGTH = 7;
+    private static final int SESSION_IS_NEW_ACCOUNT = 8;
+    private static final int SESSION_AUTHENTICATED = 9;
+    private static final int SESSION_PROCESSING_IDENTITY_ATTEMPTS = 10;
+    private static final int SESSION_VERIFIED_MFA_METHOD_TYPE = 11;
+    private static final int SESSION_INTERNAL_COMMON_SUBJECT_IDENTIFIER = 12;
+
+    private static final int CLIENT_SESSION_AUTH_REQUEST_PARAMS = 1;
+    private static final int CLIENT_SESSION_ID_TOKEN_HINT = 2;
+    private static final int CLIENT_SESSION_CREATION_DATE = 3;
+    private static final int CLIENT_SESSION_CREDENTIAL_TRUST_LEVEL = 4;
+    private static final int CLIENT_SESSION_LEVEL_OF_CONFIDENCE = 5;
+    private static final int CLIENT_SESSION_DOC_APP_SUBJECT_ID = 6;
+    private static final int CLIENT_SESSION_CLIENT_NAME = 7;
+
+    /** Append only: the index of each entry is part of the stored format. */
+    static final List<String> INTERNED =
+            List.of(
+                    "client_id",
+                    "redirect_uri",
+                    "response_type",
+                    "scope",
+                    "state",
+                    "nonce",
+                    "vtr",
+                    "claims",
+                    "ui_locales",
+                    "prompt",
+                    "request",
+                    "response_mode",
+                    "max_age",
+                    "code",
+                    "openid",
+                    "openid email",
+                    "openid phone",
+                    "openid email phone",
+                    "openid email phone offline_access",
+                    "[\"Cl.Cm\"]",
+                    "[\"Cl\"]",
+                    "[\"Cl.Cm.P2\"]",
+                    "login",
+                    "none",
+                    "en",
+                    "cy",
+                    "LOW_LEVEL",
+                    "MEDIUM_LEVEL",
+                    "HIGH_LEVEL",
+                    "VERY_HIGH_LEVEL",
+                    "NONE",
+                    "NEW",
+                    "EXISTING",
+                    "EXISTING_DOC_APP_JOURNEY",
+                    "UNKNOWN",
+                    "AUTH_APP",
+                    "SMS");
+
+    private static final Map<String, Integer> INTERNED_INDEX = new HashMap<>();
+
+    static {
+        for (int i = 0; i < INTERNED.size(); i++) {
+            INTERNED_INDEX.put(INTERNED.get(i), i);
+        }
+    }
+
+    private final Json objectMapper;
+
+    public CompactSessionCodec(Json objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public static boolean isCompact(String value) {
+        return value != null && value.startsWith(PREFIX);
+    }
+
+    public String encode(Session session) {
+        return encode(
+                out -> {
+                    writeString(out, SESSION_ID, session.getSessionId());
+                    if (session.getClientSessions() != null) {
+                        out.writeByte(SESSION_CLIENT_SESSIONS);
+                        writeVarInt(out, session.getClientSessions().size());
+                        for (String clientSessionId : session.getClientSessions()) {
+                            writeInterned(out, clientSessionId);
+                        }
+                    }
+                    writeString(out, SESSION_EMAIL_ADDRESS, session.getEmailAddress());
+                    writeCount(out, SESSION_RETRY_COUNT, session.getRetryCount());
+                    writeCount(out, SESSION_PASSWORD_RESET_COUNT, session.getPasswordResetCount());
+                    writeCount(out, SESSION_CODE_REQUEST_COUNT, session.getCodeRequestCount());
+                    writeEnum(
+                            out,
+                            SESSION_CURRENT_CREDENTIAL_STRENGTH,
+                            session.getCurrentCredentialStrength());
+                    writeEnum(out, SESSION_IS_NEW_ACCOUNT, session.isNewAccount());
+                    if (session.isAuthenticated()) {
+                        out.writeByte(SESSION_AUTHENTICATED);
+                    }
+                    writeCount(
+                            out,
+                            SESSION_PROCESSING_IDENTITY_ATTEMPTS,
+                            session.getProcessingIdentityAttempts());
+                    writeEnum(
+                            out,
+                            SESSION_VERIFIED_MFA_METHOD_TYPE,
+                            session.getVerifiedMfaMethodType());
+                    writeString(
+                            out,
+                            SESSION_INTERNAL_COMMON_SUBJECT_IDENTIFIER,
+                            session.getInternalCommonSubjectIdentifier());
+                });
+    }
+
+    public String encode(ClientSession clientSession) {
+        return encode(
+                out -> {
+                    var authRequestParams = clientSession.getAuthRequestParams();
+                    if (authRequestParams != null) {
+                        out.writeByte(CLIENT_SESSION_AUTH_REQUEST_PARAMS);
+                        writeVarInt(out, authRequestParams.size());
+                        for (var param : authRequestParams.entrySet()) {
+                            writeInterned(out, param.getKey());
+                            writeVarInt(out, param.getValue().size());
+                            for (String value : param.getValue()) {
+                                writeInterned(out, value);
+                            }
+                        }
+                    }
+                    writeString(out, CLIENT_SESSION_ID_TOKEN_HINT, clientSession.getIdTokenHint());
+                    if (clientSession.getCreationDate() != null) {
+                        out.writeByte(CLIENT_SESSION_CREATION_DATE);
+                        var creationDate = clientSession.getCreationDate();
+                        writeVarLong(out, creationDate.toEpochSecond(ZoneOffset.UTC));
+                        writeVarInt(out, creationDate.getNano());
+                    }
+                    var vectorOfTrust = clientSession.getEffectiveVectorOfTrust();
+                    if (vectorOfTrust != null) {
+                        writeEnum(
+                                out,
+                                CLIENT_SESSION_CREDENTIAL_TRUST_LEVEL,
+                                vectorOfTrust.getCredentialTrustLevel());
+                        writeEnum(
+                                out,
+                                CLIENT_SESSION_LEVEL_OF_CONFIDENCE,
+                                vectorOfTrust.getLevelOfConfidence());
+                    }
+                    if (clientSession.getDocAppSubjectId() != null) {
+                        writeString(
+                                out,
+                                CLIENT_SESSION_DOC_APP_SUBJECT_ID,
+                                clientSession.getDocAppSubjectId().getValue());
+                    }
+                    writeString(out, CLIENT_SESSION_CLIENT_NAME, clientSession.getClientName());
+                });
+    }
+
+    public Session decodeSession(String value) throws JsonException {
+        if (!isCompact(value)) {
+            return objectMapper.readValue(value, Session.class);
+        }
+        try (var in = open(value)) {
+            Session session = null;
+            List<String> clientSessions = null;
+            for (int tag = in.readUnsignedByte(); tag != END; tag = in.readUnsignedByte()) {
+                if (tag == SESSION_ID) {
+                    session = new Session(readString(in));
+                    continue;
+                }
+                if (session == null) {
+                    throw new JsonException("Compact session does not start with its id");
+                }
+                switch (tag) {
+                    case SESSION_CLIENT_SESSIONS:
+                        var count = readVarInt(in);
+                        clientSessions = new ArrayList<>(count);
+                        for (int i = 0; i < count; i++) {
+                            clientSessions.add(readInterned(in));
+                        }
+                        break;
+                    case SESSION_EMAIL_ADDRESS:
+                        session.setEmailAddress(readString(in));
+                        break;
+                    case SESSION_RETRY_COUNT:
+                        session.setRetryCount(readVarInt(in));
+                        break;
+                    case SESSION_PASSWORD_RESET_COUNT:
+                        session.setPasswordResetCount(readVarInt(in));
+                        break;
+                    case SESSION_CODE_REQUEST_COUNT:
+                        session.setCodeRequestCount(readVarInt(in));
+                        break;
+                    case SESSION_CURRENT_CREDENTIAL_STRENGTH:
+                        session.setCurrentCredentialStrength(
+                                CredentialTrustLevel.valueOf(readInterned(in)));
+                        break;
+                    case SESSION_IS_NEW_ACCOUNT:
+                        session.setNewAccount(Session.AccountState.valueOf(readInterned(in)));
+                        break;
+                    case SESSION_AUTHENTICATED:
+                        session.setAuthenticated(true);
+                        break;
+                    case SESSION_PROCESSING_IDENTITY_ATTEMPTS:
+                        session.setProcessingIdentityAttempts(readVarInt(in));
+                        break;
+                    case SESSION_VERIFIED_MFA_METHOD_TYPE:
+                        session.setVerifiedMfaMethodType(MFAMethodType.valueOf(readInterned(in)));
+                        break;
+                    case SESSION_INTERNAL_COMMON_SUBJECT_IDENTIFIER:
+                        session.setInternalCommonSubjectIdentifier(readString(in));
+                        break;
+                    default:
+                        throw new JsonException("Unknown compact session field " + tag);
+                }
+            }
+            if (session == null) {
+                throw new JsonException("Compact session has no id");
+            }
+            if (clientSessions != null) {
+                clientSessions.forEach(session::addClientSession);
+            }
+            return session;
+        } catch (IOException | IllegalArgumentException e) {
+            throw new JsonException(e);
+        }
+    }
+
+    public ClientSession decodeClientSession(String value) throws JsonException {
+        if (!isCompact(value)) {
+            return objectMapper.readValue(value, ClientSession.class);
+        }
+        try (var in = open(value)) {
+            Map<String, List<String>> authRequestParams = null;
+            String idTokenHint = null;
+            LocalDateTime creationDate = null;
+            CredentialTrustLevel credentialTrustLevel = null;
+            LevelOfConfidence levelOfConfidence = null;
+            boolean hasVectorOfTrust = false;
+            Subject docAppSubjectId = null;
+            String clientName = null;
+            for (int tag = in.readUnsignedByte(); tag != END; tag = in.readUnsignedByte()) {
+                switch (tag) {
+                    case CLIENT_SESSION_AUTH_REQUEST_PARAMS:
+                        var paramCount = readVarInt(in);
+                        authRequestParams = new LinkedHashMap<>();
+                        for (int i = 0; i < paramCount; i++) {
+                            var key = readInterned(in);
+                            var valueCount = readVarInt(in);
+                            var values = new ArrayList<String>(valueCount);
+                            for (int j = 0; j < valueCount; j++) {
+                                values.add(readInterned(in));
+                            }
+                            authRequestParams.put(key, values);
+                        }
+                        break;
+                    case CLIENT_SESSION_ID_TOKEN_HINT:
+                        idTokenHint = readString(in);
+                        break;
+                    case CLIENT_SESSION_CREATION_DATE:
+                        creationDate =
+                                LocalDateTime.ofEpochSecond(
+                                        readVarLong(in), readVarInt(in), ZoneOffset.UTC);
+                        break;
+                    case CLIENT_SESSION_CREDENTIAL_TRUST_LEVEL:
+                        credentialTrustLevel = CredentialTrustLevel.valueOf(readInterned(in));
+                        hasVectorOfTrust = true;
+                        break;
+                    case CLIENT_SESSION_LEVEL_OF_CONFIDENCE:
+                        levelOfConfidence = LevelOfConfidence.valueOf(readInterned(in));
+                        hasVectorOfTrust = true;
+                        break;
+                    case CLIENT_SESSION_DOC_APP_SUBJECT_ID:
+                        docAppSubjectId = new Subject(readString(in));
+                        break;
+                    case CLIENT_SESSION_CLIENT_NAME:
+                        clientName = readString(in);
+                        break;
+                    default:
+                        throw new JsonException("Unknown compact client session field " + tag);
+                }
+            }
+            var clientSession =
+                    new ClientSession(
+                            authRequestParams,
+                            creationDate,
+                            hasVectorOfTrust
+                                    ? VectorOfTrust.of(credentialTrustLevel, levelOfConfidence)
+                                    : null,
+                            clientName);
+            if (idTokenHint != null) {
+                clientSession.setIdTokenHint(idTokenHint);
+            }
+            if (docAppSubjectId != null) {
+                clientSession.setDocAppSubjectId(docAppSubjectId);
+            }
+            return clientSession;
+        } catch (IOException | IllegalArgumentException e) {
+            throw new JsonException(e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface FieldWriter {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    private static String encode(FieldWriter fields) {
+        try {
+            var payload = new ByteArrayOutputStream(256);
+            try (var out = new DataOutputStream(payload)) {
+                fields.write(out);
+                out.writeByte(END);
+            }
+            var encoded = new ByteArrayOutputStream(payload.size() + 1);
+            if (payload.size() > COMPRESSION_THRESHOLD) {
+                encoded.write(FLAG_DEFLATED);
+                var deflater = new Deflater(Deflater.BEST_SPEED);
+                try (var out = new DeflaterOutputStream(encoded, deflater)) {
+                    payload.writeTo(out);
+                } finally {
+                    deflater.end();
+                }
+            } else {
+                encoded.write(0);
+                payload.writeTo(encoded);
+            }
+            return PREFIX
+                    + Base64.getEncoder().withoutPadding().encodeToString(encoded.toByteArray());
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to encode session", e);
+        }
+    }
+
+    private static DataInputStream open(String value) throws IOException {
+        var bytes = Base64.getDecoder().decode(value.substring(PREFIX.length()));
+        if (bytes.length == 0) {
+            throw new IOException("Empty compact session value");
+        }
+        InputStream payload = new ByteArrayInputStream(bytes, 1, bytes.length - 1);
+        if ((bytes[0] & FLAG_DEFLATED) != 0) {
+            payload = new InflaterInputStream(payload);
+        }
+        return new DataInputStream(payload);
+    }
+
+    private static void writeString(DataOutputStream out, int tag, String value)
+            throws IOException {
+        if (value != null) {
+            out.writeByte(tag);
+            writeRawString(out, value);
+        }
+    }
+
+    private static void writeCount(DataOutputStream out, int tag, int value) throws IOException {
+        if (value != 0) {
+            out.writeByte(tag);
+            writeVarInt(out, value);
+        }
+    }
+
+    private static void writeEnum(DataOutputStream out, int tag, Enum<?> value) throws IOException {
+        if (value != null) {
+            out.writeByte(tag);
+            writeInterned(out, value.name());
+        }
+    }
+
+    private static void writeInterned(DataOutputStream out, String value) throws IOException {
+        var index = INTERNED_INDEX.get(value);
+        if (index != null) {
+            writeVarInt(out, (index << 1) | 1);
+        } else {
+            var bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(out, bytes.length << 1);
+            out.write(bytes);
+        }
+    }
+
+    private static String readInterned(DataInputStream in) throws IOException {
+        var header = readVarInt(in);
+        if ((header & 1) == 1) {
+            var index = header >>> 1;
+            if (index >= INTERNED.size()) {
+                throw new IOException("Unknown interned string " + index);
+            }
+            return INTERNED.get(index);
+        }
+        return readBytes(in, header >>> 1);
+    }
+
+    private static void writeRawString(DataOutputStream out, String value) throws IOException {
+        var bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(out, bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        return readBytes(in, readVarInt(in));
+    }
+
+    private static String readBytes(DataInputStream in, int length) throws IOException {
+        var bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        writeVarLong(out, value & 0xFFFFFFFFL);
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        var value = readVarLong(in);
+        if (value < 0 || value > Integer.MAX_VALUE) {
+            throw new IOException("Compact session length out of range");
+        }
+        return (int) value;
+    }
+
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            var b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed compact session varint");
+    }
+}
@@ -0,0 +1,39 @@
+package uk.gov.di.authentication.shared.serialization;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import uk.gov.di.authentication.shared.entity.RefreshTokenStore;
+
+import java.io.IOException;
+
+class RefreshTokenStoreAdapter extends StreamingAdapter<RefreshTokenStore> {
+
+    @Override
+    public void write(JsonWriter out, RefreshTokenStore refreshTokenStore) throws IOException {
+        out.beginObject();
+        out.name("refresh_token").value(refreshTokenStore.getRefreshToken());
+        out.name("internal_subject_id").value(refreshTokenStore.getInternalSubjectId());
+        out.endObject();
+    }
+
+    @Override
+    public RefreshTokenStore read(JsonReader in) throws IOException {
+        String refreshToken = null;
+        String internalSubjectId = null;
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "refresh_token":
+                    refreshToken = readString(in);
+                    break;
+                case "internal_subject_id":
+                    internalSubjectId = readString(in);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return new RefreshTokenStore(refreshToken, internalSubjectId);
+    }
+}
@@ -0,0 +1,123 @@
+package uk.gov.di.authentication.shared.serialization;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import uk.gov.di.authentication.shared.entity.CredentialTrustLevel;
+import uk.gov.di.authentication.shared.entity.MFAMethodType;
+import uk.gov.di.authentication.shared.entity.Session;
+
+import java.io.IOException;
+import java.util.List;
+
+class SessionAdapter extends StreamingAdapter<Session> {
+
+    private final TypeAdapter<List<String>> clientSessionsAdapter;
+    private final TypeAdapter<CredentialTrustLevel> credentialTrustLevelAdapter;
+    private final TypeAdapter<Session.AccountState> accountStateAdapter;
+    private final TypeAdapter<MFAMethodType> mfaMethodTypeAdapter;
+
+    SessionAdapter(Gson gson) {
+        this.clientSessionsAdapter = gson.getAdapter(new TypeToken<List<String>>() {});
+        this.credentialTrustLevelAdapter = gson.getAdapter(CredentialTrustLevel.class);
+        this.accountStateAdapter = gson.getAdapter(Session.AccountState.class);
+        this.mfaMethodTypeAdapter = gson.getAdapter(MFAMethodType.class);
+    }
+
+    @Override
+    public void write(JsonWriter out, Session session) throws IOException {
+        out.beginObject();
+        out.name("session_id").value(session.getSessionId());
+        out.name("client_sessions");
+        clientSessionsAdapter.write(out, session.getClientSessions());
+        out.name("email_address").value(session.getEmailAddress());
+        out.name("retry_count").value(session.getRetryCount());
+        out.name("password_reset_count").value(session.getPasswordResetCount());
+        out.name("code_request_count").value(session.getCodeRequestCount());
+        out.name("current_credential_strength");
+        credentialTrustLevelAdapter.write(out, session.getCurrentCredentialStrength());
+        out.name("is_new_account");
+        accountStateAdapter.write(out, session.isNewAccount());
+        out.name("authenticated").value(session.isAuthenticated());
+        out.name("processing_identity_attempts").value(session.getProcessingIdentityAttempts());
+        out.name("verified_mfa_method_type");
+        mfaMethodTypeAdapter.write(out, session.getVerifiedMfaMethodType());
+        out.name("internal_common_subject_identifier")
+                .value(session.getInternalCommonSubjectIdentifier());
+        out.endObject();
+    }
+
+    @Override
+    public Session read(JsonReader in) throws IOException {
+        String sessionId = null;
+        List<String> clientSessions = null;
+        String emailAddress = null;
+        int retryCount = 0;
+        int passwordResetCount = 0;
+        int codeRequestCount = 0;
+        CredentialTrustLevel currentCredentialStrength = null;
+        Session.AccountState isNewAccount = null;
+        boolean authenticated = false;
+        int processingIdentityAttempts = 0;
+        MFAMethodType verifiedMfaMethodType = null;
+        String internalCommonSubjectIdentifier = null;
+
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "session_id":
+                    sessionId = readString(in);
+                    break;
+                case "client_sessions":
+                    clientSessions = clientSessionsAdapter.read(in);
+                    break;
+                case "email_address":
+                    emailAddress = readString(in);
+                    break;
+                case "retry_count":
+                    retryCount = readInt(in, retryCount);
+                    break;
+                case "password_reset_count":
+                    passwordResetCount = readInt(in, passwordResetCount);
+                    break;
+                case "code_request_count":
+                    codeRequestCount = readInt(in, codeRequestCount);
+                    break;
+                case "current_credential_strength":
+                    currentCredentialStrength = credentialTrustLevelAdapter.read(in);
+                    break;
+                case "is_new_account":
+                    isNewAccount = accountStateAdapter.read(in);
+                    break;
+                case "authenticated":
+                    authenticated = readBoolean(in, authenticated);
+                    break;
+                case "processing_identity_attempts":
+                    processingIdentityAttempts = readInt(in, processingIdentityAttempts);
+                    break;
+                case "verified_mfa_method_type":
+                    verifiedMfaMethodType = mfaMethodTypeAdapter.read(in);
+                    break;
+                case "internal_common_subject_identifier":
+                    internalCommonSubjectIdentifier = readString(in);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+
+        return new Session(sessionId, clientSessions, emailAddress)
+                .setRetryCount(retryCount)
+                .setPasswordResetCount(passwordResetCount)
+                .setCodeRequestCount(codeRequestCount)
+                .setCurrentCredentialStrength(currentCredentialStrength)
+                .setNewAccount(isNewAccount)
+                .setAuthenticated(authenticated)
+                .setProcessingIdentityAttempts(processingIdentityAttempts)
+                .setVerifiedMfaMethodType(verifiedMfaMethodType)
+                .setInternalCommonSubjectIdentifier(internalCommonSubjectIdentifier);
+    }
+}
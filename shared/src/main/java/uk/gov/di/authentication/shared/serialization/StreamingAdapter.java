@@ -0,0 +1,64 @@
+package uk.gov.di.authentication.shared.serialization;
+
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+
+/**
+ * Base for the adapters in {@link StreamingEntityAdapterFactory}. The helpers read primitive fields
+ * the way Gson's built-in adapters do, including leaving a primitive at its default when the JSON
+ * value is null.
+ */
+abstract class StreamingAdapter<T> extends TypeAdapter<T> {
+
+    static String readString(JsonReader in) throws IOException {
+        var token = in.peek();
+        if (token == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        if (token == JsonToken.BOOLEAN) {
+            return Boolean.toString(in.nextBoolean());
+        }
+        return in.nextString();
+    }
+
+    static int readInt(JsonReader in, int defaultValue) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return defaultValue;
+        }
+        try {
+            return in.nextInt();
+        } catch (NumberFormatException e) {
+            throw new JsonSyntaxException(e);
+        }
+    }
+
+    static long readLong(JsonReader in, long defaultValue) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return defaultValue;
+        }
+        try {
+            return in.nextLong();
+        } catch (NumberFormatException e) {
+            throw new JsonSyntaxException(e);
+        }
+    }
+
+    static boolean readBoolean(JsonReader in, boolean defaultValue) throws IOException {
+        var token = in.peek();
+        if (token == JsonToken.NULL) {
+            in.nextNull();
+            return defaultValue;
+        }
+        if (token == JsonToken.STRING) {
+            return Boolean.parseBoolean(in.nextString());
+        }
+        return in.nextBoolean();
+    }
+}
@@ -0,0 +1,47 @@
+package uk.gov.di.authentication.shared.serialization;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import uk.gov.di.audit.TxmaAuditEvent;
+import uk.gov.di.authentication.shared.entity.AccessTokenStore;
+import uk.gov.di.authentication.shared.entity.AuthCodeExchangeData;
+import uk.gov.di.authentication.shared.entity.ClientSession;
+import uk.gov.di.authentication.shared.entity.RefreshTokenStore;
+import uk.gov.di.authentication.shared.entity.Session;
+
+/**
+ * Supplies hand-written streaming adapters for the entities serialised on almost every request, so
+ * Gson does not have to build and run its reflective adapters for them. The adapters write the same
+ * {@code @Expose}d fields, under the same names and in the same order, as the reflective adapters
+ * they replace. Subclasses of these entities still fall back to reflection.
+ */
+public class StreamingEntityAdapterFactory implements TypeAdapterFactory {
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+        var rawType = type.getRawType();
+        TypeAdapter<?> adapter;
+        if (rawType == Session.class) {
+            adapter = new SessionAdapter(gson);
+        } else if (rawType == ClientSession.class) {
+            adapter = new ClientSessionAdapter(gson);
+        } else if (rawType == AuthCodeExchangeData.class) {
+            adapter = new AuthCodeExchangeDataAdapter(gson);
+        } else if (rawType == AccessTokenStore.class) {
+            adapter = new AccessTokenStoreAdapter();
+        } else if (rawType == RefreshTokenStore.class) {
+            adapter = new RefreshTokenStoreAdapter();
+        } else if (rawType == TxmaAuditEvent.class) {
+            adapter =
+                    new TxmaAuditEventAdapter(
+                            gson,
+                            gson.getDelegateAdapter(this, TypeToken.get(TxmaAuditEvent.class)));
+        } else {
+            return null;
+        }
+        return (TypeAdapter<T>) adapter.nullSafe();
+    }
+}
@@ -0,0 +1,52 @@
+package uk.gov.di.authentication.shared.serialization;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import uk.gov.di.audit.TxmaAuditEvent;
+import uk.gov.di.audit.TxmaAuditUser;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Audit events are only written on the request path, so reading one back is left to Gson's
+ * reflective adapter.
+ */
+class TxmaAuditEventAdapter extends StreamingAdapter<TxmaAuditEvent> {
+
+    private final TypeAdapter<TxmaAuditUser> userAdapter;
+    private final TypeAdapter<Map<String, Object>> mapAdapter;
+    private final TypeAdapter<TxmaAuditEvent> reflectiveAdapter;
+
+    TxmaAuditEventAdapter(Gson gson, TypeAdapter<TxmaAuditEvent> reflectiveAdapter) {
+        this.userAdapter = gson.getAdapter(TxmaAuditUser.class);
+        this.mapAdapter = gson.getAdapter(new TypeToken<Map<String, Object>>() {});
+        this.reflectiveAdapter = reflectiveAdapter;
+    }
+
+    @Override
+    public void write(JsonWriter out, TxmaAuditEvent event) throws IOException {
+        out.beginObject();
+        out.name("timestamp").value(event.getTimestamp());
+        out.name("event_name").value(event.getEventName());
+        out.name("client_id").value(event.getClientId());
+        out.name("component_id").value(event.getComponentId());
+        out.name("user");
+        userAdapter.write(out, event.getUser());
+        out.name("platform");
+        mapAdapter.write(out, event.getPlatform());
+        out.name("restricted");
+        mapAdapter.write(out, event.getRestricted());
+        out.name("extensions");
+        mapAdapter.write(out, event.getExtensions());
+        out.endObject();
+    }
+
+    @Override
+    public TxmaAuditEvent read(JsonReader in) throws IOException {
+        return reflectiveAdapter.read(in);
+    }
+}
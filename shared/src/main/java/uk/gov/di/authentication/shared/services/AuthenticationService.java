@@ -59,6 +59,8 @@ public interface AuthenticationService {
 
     void updatePassword(String email, String newPassword);
 
+    void rehashPassword(UserCredentials credentials, String password);
+
     void removeAccount(String email);
 
     UserCredentials getUserCredentialsFromSubject(String subject);
@@ -29,18 +29,13 @@ public class AuthorisationCodeService {
     }
 
     public AuthorisationCodeService(ConfigurationService configurationService) {
-        this.redisConnectionService =
-                new RedisConnectionService(
-                        configurationService.getRedisHost(),
-                        configurationService.getRedisPort(),
-                        configurationService.getUseRedisTLS(),
-                        configurationService.getRedisPassword());
+        this.redisConnectionService = new RedisConnectionService(configurationService);
         this.authorisationCodeExpiry = configurationService.getAuthCodeExpiry();
         this.objectMapper = SerializationService.getInstance();
     }
 
     public AuthorizationCode generateAuthorisationCode(
-            String clientSessionId, String email, ClientSession clientSession) {
+            String sessionId, String clientSessionId, String email, ClientSession clientSession) {
         LOG.info("Generating and saving AuthorisationCode");
         AuthorizationCode authorizationCode = new AuthorizationCode();
         try {
@@ -48,6 +43,7 @@ public class AuthorisationCodeService {
                     AUTH_CODE_PREFIX.concat(authorizationCode.getValue()),
                     objectMapper.writeValueAsString(
                             new AuthCodeExchangeData()
+                                    .setSessionId(sessionId)
                                     .setEmail(email)
                                     .setClientSessionId(clientSessionId)
                                     .setClientSession(clientSession)),
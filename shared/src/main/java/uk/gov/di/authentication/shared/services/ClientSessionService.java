@@ -5,6 +5,7 @@ import org.apache.logging.log4j.Logger;
 import uk.gov.di.authentication.shared.entity.ClientSession;
 import uk.gov.di.authentication.shared.entity.VectorOfTrust;
 import uk.gov.di.authentication.shared.helpers.IdGenerator;
+import uk.gov.di.authentication.shared.serialization.CompactSessionCodec;
 import uk.gov.di.authentication.shared.serialization.Json;
 import uk.gov.di.authentication.shared.serialization.Json.JsonException;
 
@@ -28,16 +29,13 @@ public class ClientSessionService {
     private final RedisConnectionService redisConnectionService;
     private final ConfigurationService configurationService;
     private final Json objectMapper;
+    private final CompactSessionCodec sessionCodec;
 
     public ClientSessionService(ConfigurationService configurationService) {
         this.configurationService = configurationService;
-        this.redisConnectionService =
-                new RedisConnectionService(
-                        configurationService.getRedisHost(),
-                        configurationService.getRedisPort(),
-                        configurationService.getUseRedisTLS(),
-                        configurationService.getRedisPassword());
+        this.redisConnectionService = new RedisConnectionService(configurationService);
         objectMapper = SerializationService.getInstance();
+        sessionCodec = new CompactSessionCodec(objectMapper);
     }
 
     public ClientSessionService(
@@ -46,6 +44,7 @@ public class ClientSessionService {
         this.configurationService = configurationService;
         this.redisConnectionService = redisConnectionService;
         objectMapper = SerializationService.getInstance();
+        sessionCodec = new CompactSessionCodec(objectMapper);
     }
 
     public ClientSession generateClientSession(
@@ -58,15 +57,7 @@ public class ClientSessionService {
     }
 
     public void storeClientSession(String clientSessionId, ClientSession clientSession) {
-        try {
-            redisConnectionService.saveWithExpiry(
-                    CLIENT_SESSION_PREFIX.concat(clientSessionId),
-                    objectMapper.writeValueAsString(clientSession),
-                    configurationService.getSessionExpiry());
-        } catch (JsonException e) {
-            LOG.error("Error saving client session to Redis");
-            throw new RuntimeException(e);
-        }
+        write(clientSessionId, clientSession);
         LOG.info("Generated new ClientSession");
     }
 
@@ -79,12 +70,20 @@ public class ClientSessionService {
         attachLogFieldToLogs(GOVUK_SIGNIN_JOURNEY_ID, clientSessionId);
 
         try {
+            var pendingValue =
+                    SessionUnitOfWork.current()
+                            .flatMap(
+                                    u ->
+                                            u.getPendingValue(
+                                                    CLIENT_SESSION_PREFIX.concat(clientSessionId)));
+            if (pendingValue.isPresent()) {
+                return Optional.of(sessionCodec.decodeClientSession(pendingValue.get()));
+            }
             if (redisConnectionService.keyExists(CLIENT_SESSION_PREFIX.concat(clientSessionId))) {
                 return Optional.of(
-                        objectMapper.readValue(
+                        sessionCodec.decodeClientSession(
                                 redisConnectionService.getValue(
-                                        CLIENT_SESSION_PREFIX.concat(clientSessionId)),
-                                ClientSession.class));
+                                        CLIENT_SESSION_PREFIX.concat(clientSessionId))));
             } else {
                 LOG.warn("Client session with given key is not present in redis");
                 return Optional.empty();
@@ -99,11 +98,31 @@ public class ClientSessionService {
         attachLogFieldToLogs(CLIENT_SESSION_ID, clientSessionId);
         attachLogFieldToLogs(GOVUK_SIGNIN_JOURNEY_ID, clientSessionId);
 
-        try {
+        write(clientSessionId, clientSession);
+    }
+
+    private void write(String clientSessionId, ClientSession clientSession) {
+        var key = CLIENT_SESSION_PREFIX.concat(clientSessionId);
+        var unitOfWork = SessionUnitOfWork.current();
+        if (unitOfWork.isPresent()) {
+            unitOfWork
+                    .get()
+                    .defer(
+                            redisConnectionService,
+                            key,
+                            () -> encode(clientSession),
+                            configurationService.getSessionExpiry());
+        } else {
             redisConnectionService.saveWithExpiry(
-                    CLIENT_SESSION_PREFIX.concat(clientSessionId),
-                    objectMapper.writeValueAsString(clientSession),
-                    configurationService.getSessionExpiry());
+                    key, encode(clientSession), configurationService.getSessionExpiry());
+        }
+    }
+
+    private String encode(ClientSession clientSession) {
+        try {
+            return configurationService.isCompactSessionEncodingEnabled()
+                    ? sessionCodec.encode(clientSession)
+                    : objectMapper.writeValueAsString(clientSession);
         } catch (JsonException e) {
             LOG.error("Error saving client session to Redis");
             throw new RuntimeException(e);
@@ -111,7 +130,9 @@ public class ClientSessionService {
     }
 
     public void deleteClientSessionFromRedis(String clientSessionId) {
-        redisConnectionService.deleteValue(clientSessionId);
+        var key = CLIENT_SESSION_PREFIX.concat(clientSessionId);
+        SessionUnitOfWork.current().ifPresent(u -> u.discard(key));
+        redisConnectionService.deleteValue(key);
     }
 
     public Optional<ClientSession> getClientSessionFromRequestHeaders(Map<String, String> headers) {
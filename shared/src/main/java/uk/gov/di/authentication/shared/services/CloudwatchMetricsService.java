@@ -36,6 +36,11 @@ public class CloudwatchMetricsService {
     }
 
     public void putEmbeddedValue(String name, double value, Map<String, String> dimensions) {
+        putEmbeddedValue(name, value, Unit.NONE, dimensions);
+    }
+
+    public void putEmbeddedValue(
+            String name, double value, Unit unit, Map<String, String> dimensions) {
         segmentedFunctionCall(
                 "Metrics::EMF",
                 () -> {
@@ -46,7 +51,7 @@ public class CloudwatchMetricsService {
 
                     metrics.setNamespace("Authentication");
                     metrics.putDimensions(dimensionsSet);
-                    metrics.putMetric(name, value, Unit.NONE);
+                    metrics.putMetric(name, value, unit);
                     metrics.flush();
                 });
     }
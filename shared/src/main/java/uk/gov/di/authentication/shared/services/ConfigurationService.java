@@ -13,6 +13,7 @@ import software.amazon.awssdk.services.ssm.model.ParameterNotFoundException;
 import uk.gov.di.authentication.shared.configuration.AuditPublisherConfiguration;
 import uk.gov.di.authentication.shared.configuration.BaseLambdaConfiguration;
 import uk.gov.di.authentication.shared.entity.DeliveryReceiptsNotificationType;
+import uk.gov.di.authentication.shared.helpers.Argon2Cost;
 import uk.gov.di.authentication.shared.helpers.LocaleHelper.SupportedLanguage;
 
 import java.net.URI;
@@ -72,6 +73,40 @@ public class ConfigurationService implements BaseLambdaConfiguration, AuditPubli
                 .equals("true");
     }
 
+    public boolean isArgon2AdmissionControlEnabled() {
+        return System.getenv()
+                .getOrDefault("ARGON2_ADMISSION_CONTROL_ENABLED", "false")
+                .equals("true");
+    }
+
+    public long getArgon2AdmissionDeadlineMillis() {
+        return Long.parseLong(
+                System.getenv().getOrDefault("ARGON2_ADMISSION_DEADLINE_MILLIS", "2000"));
+    }
+
+    public Argon2Cost getArgon2Cost() {
+        return new Argon2Cost(
+                Integer.parseInt(
+                        System.getenv()
+                                .getOrDefault(
+                                        "ARGON2_MEMORY_KIB",
+                                        String.valueOf(Argon2Cost.DEFAULT.getMemoryInKibibytes()))),
+                Integer.parseInt(
+                        System.getenv()
+                                .getOrDefault(
+                                        "ARGON2_ITERATIONS",
+                                        String.valueOf(Argon2Cost.DEFAULT.getIterations()))),
+                Integer.parseInt(
+                        System.getenv()
+                                .getOrDefault(
+                                        "ARGON2_PARALLELISM",
+                                        String.valueOf(Argon2Cost.DEFAULT.getParallelism()))));
+    }
+
+    public int getArgon2MaxConcurrentHashes() {
+        return Integer.parseInt(System.getenv().getOrDefault("ARGON2_MAX_CONCURRENT_HASHES", "0"));
+    }
+
     public long getAuthCodeExpiry() {
         return Long.parseLong(System.getenv().getOrDefault("AUTH_CODE_EXPIRY", "300"));
     }
@@ -204,6 +239,10 @@ public class ConfigurationService implements BaseLambdaConfiguration, AuditPubli
         return List.of("build", "staging", "local").contains(getEnvironment());
     }
 
+    public boolean isHandlerPrimingEnabled() {
+        return System.getenv().getOrDefault("HANDLER_PRIMING_ENABLED", "false").equals("true");
+    }
+
     public boolean isIdentityEnabled() {
         return System.getenv().getOrDefault("IDENTITY_ENABLED", "false").equals("true");
     }
@@ -287,6 +326,18 @@ public class ConfigurationService implements BaseLambdaConfiguration, AuditPubli
         return System.getenv("INTERNAl_SECTOR_URI");
     }
 
+    /*
+     * When enabled, logout falls back to scanning client sessions if an id_token_hint is not in the
+     * session's ID token index. Off by default; only switch it on while sessions created before the
+     * index expiry refresh are still live, and remove it once that is longer than the session
+     * expiry.
+     */
+    public boolean isLogoutClientSessionScanEnabled() {
+        return System.getenv()
+                .getOrDefault("LOGOUT_CLIENT_SESSION_SCAN_ENABLED", "false")
+                .equals("true");
+    }
+
     public URI getLoginURI() {
         return URI.create(System.getenv("LOGIN_URI"));
     }
@@ -356,6 +407,30 @@ public class ConfigurationService implements BaseLambdaConfiguration, AuditPubli
         return passwordPepper;
     }
 
+    public int getRedisMaxPooledConnections() {
+        return Integer.parseInt(System.getenv().getOrDefault("REDIS_MAX_POOLED_CONNECTIONS", "1"));
+    }
+
+    public boolean isRedisMultiplexingEnabled() {
+        return System.getenv().getOrDefault("REDIS_MULTIPLEXING_ENABLED", "false").equals("true");
+    }
+
+    public boolean isCompactSessionEncodingEnabled() {
+        return System.getenv()
+                .getOrDefault("COMPACT_SESSION_ENCODING_ENABLED", "false")
+                .equals("true");
+    }
+
+    public boolean isSessionHashStorageEnabled() {
+        return System.getenv().getOrDefault("SESSION_HASH_STORAGE_ENABLED", "false").equals("true");
+    }
+
+    public boolean isSessionWriteCoalescingEnabled() {
+        return System.getenv()
+                .getOrDefault("SESSION_WRITE_COALESCING_ENABLED", "false")
+                .equals("true");
+    }
+
     public String getRedisHost() {
         return getSsmRedisParameters()
                 .get(format("{0}-{1}-redis-master-host", getEnvironment(), getRedisKey()));
@@ -383,6 +458,14 @@ public class ConfigurationService implements BaseLambdaConfiguration, AuditPubli
         return System.getenv().getOrDefault("RESET_PASSWORD_ROUTE", "");
     }
 
+    public String getSaltBackfillBucketName() {
+        return System.getenv("SALT_BACKFILL_BUCKET_NAME");
+    }
+
+    public int getSaltBackfillSegments() {
+        return Integer.parseInt(System.getenv().getOrDefault("SALT_BACKFILL_SEGMENTS", "4"));
+    }
+
     public String getSessionCookieAttributes() {
         return Optional.ofNullable(System.getenv("SESSION_COOKIE_ATTRIBUTES"))
                 .orElse("Secure; HttpOnly;");
@@ -402,6 +485,11 @@ public class ConfigurationService implements BaseLambdaConfiguration, AuditPubli
                 System.getenv().getOrDefault("LANGUAGE_COOKIE_MAX_AGE", "31536000"));
     }
 
+    public int getMaxClientSessionsPerSession() {
+        return Integer.parseInt(
+                System.getenv().getOrDefault("MAX_CLIENT_SESSIONS_PER_SESSION", "50"));
+    }
+
     public long getSessionExpiry() {
         return Long.parseLong(System.getenv().getOrDefault("SESSION_EXPIRY", "7200"));
     }
@@ -127,7 +127,7 @@ public class DynamoClientService implements ClientService {
 
         return client.map(ClientRegistry::getTestClientEmailAllowlist)
                 .filter(Predicate.not(List::isEmpty))
-                .map(list -> emailMatchesAllowlist(emailAddress, list))
+                .map(list -> emailMatchesAllowlist(clientID, emailAddress, list))
                 .orElse(false);
     }
 
@@ -14,6 +14,7 @@ import software.amazon.awssdk.enhanced.dynamodb.model.QueryConditional;
 import software.amazon.awssdk.enhanced.dynamodb.model.QueryEnhancedRequest;
 import software.amazon.awssdk.enhanced.dynamodb.model.ScanEnhancedRequest;
 import software.amazon.awssdk.enhanced.dynamodb.model.TransactWriteItemsEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.UpdateItemEnhancedRequest;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
 import uk.gov.di.authentication.shared.dynamodb.DynamoClientHelper;
 import uk.gov.di.authentication.shared.entity.ClientConsent;
@@ -242,6 +243,29 @@ public class DynamoService implements AuthenticationService {
                         .withMigratedPassword(null));
     }
 
+    @Override
+    public void rehashPassword(UserCredentials credentials, String password) {
+        var rehashedCredentials =
+                new UserCredentials()
+                        .withEmail(credentials.getEmail())
+                        .withPassword(hashPassword(password));
+        rehashedCredentials.setTestUser(credentials.getTestUser());
+        dynamoUserCredentialsTable.updateItem(
+                UpdateItemEnhancedRequest.builder(UserCredentials.class)
+                        .item(rehashedCredentials)
+                        .ignoreNulls(true)
+                        .conditionExpression(
+                                Expression.builder()
+                                        .expression("#password = :password")
+                                        .putExpressionName(
+                                                "#password", UserCredentials.ATTRIBUTE_PASSWORD)
+                                        .putExpressionValue(
+                                                ":password",
+                                                AttributeValue.fromS(credentials.getPassword()))
+                                        .build())
+                        .build());
+    }
+
     @Override
     public void removeAccount(String email) {
         dynamoDbEnhancedClient.transactWriteItems(
@@ -45,6 +45,10 @@ public class KmsConnectionService {
         warmUp(tokenSigningKeyId);
     }
 
+    public KmsConnectionService(KmsClient kmsClient) {
+        this.kmsClient = kmsClient;
+    }
+
     public GetPublicKeyResponse getPublicKey(GetPublicKeyRequest getPublicKeyRequest) {
         LOG.info("Retrieving public key from KMS with KeyID {}", getPublicKeyRequest.keyId());
         return kmsClient.getPublicKey(getPublicKeyRequest);
@@ -0,0 +1,53 @@
+package uk.gov.di.authentication.shared.services;
+
+import com.google.i18n.phonenumbers.NumberParseException;
+import com.google.i18n.phonenumbers.PhoneNumberUtil;
+import uk.gov.di.authentication.shared.entity.NormalisedPhoneNumber;
+import uk.gov.di.authentication.shared.helpers.ExpiringLruCache;
+
+import java.time.Duration;
+
+/**
+ * Parses a phone number once and remembers the result, so that validation, storage, audit and
+ * notification code handling the same number during a journey share a single libphonenumber parse.
+ * Numbers are parsed with GB as the default region. Numbers that cannot be parsed are not cached.
+ */
+public class PhoneNumberNormalisationService {
+
+    private static final String DEFAULT_REGION = "GB";
+    private static final int CACHE_SIZE = 10_000;
+    private static final Duration CACHE_TTL = Duration.ofDays(1);
+    private static final PhoneNumberNormalisationService INSTANCE =
+            new PhoneNumberNormalisationService(CACHE_SIZE);
+
+    private final PhoneNumberUtil phoneUtil = PhoneNumberUtil.getInstance();
+    private final ExpiringLruCache<String, NormalisedPhoneNumber> cache;
+
+    PhoneNumberNormalisationService(int cacheSize) {
+        this.cache = new ExpiringLruCache<>(cacheSize);
+    }
+
+    public static PhoneNumberNormalisationService getInstance() {
+        return INSTANCE;
+    }
+
+    public NormalisedPhoneNumber normalise(String phoneNumber) throws NumberParseException {
+        var cached = cache.get(phoneNumber);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        var parsed = phoneUtil.parse(phoneNumber, DEFAULT_REGION);
+        var normalised =
+                new NormalisedPhoneNumber(
+                        phoneUtil.format(parsed, PhoneNumberUtil.PhoneNumberFormat.E164),
+                        parsed.getCountryCode(),
+                        phoneUtil.getNumberType(parsed),
+                        phoneUtil.isValidNumber(parsed));
+        cache.put(phoneNumber, normalised, CACHE_TTL);
+        return normalised;
+    }
+
+    int cacheSize() {
+        return cache.size();
+    }
+}
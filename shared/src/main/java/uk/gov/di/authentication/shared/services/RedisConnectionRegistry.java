@@ -0,0 +1,199 @@
+package uk.gov.di.authentication.shared.services;
+
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.api.StatefulRedisConnection;
+import org.apache.commons.pool2.impl.GenericObjectPool;
+import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static io.lettuce.core.support.ConnectionPoolSupport.createGenericObjectPool;
+
+/**
+ * Hands out one set of Redis connections per endpoint (host, port, TLS, password) for the whole
+ * JVM, so that every {@link RedisConnectionService} built from configuration shares a single
+ * Lettuce client rather than each opening and warming its own.
+ *
+ * <p>The pool holds at most {@code REDIS_MAX_POOLED_CONNECTIONS} connections, one by default, as a
+ * Lambda instance handles one request at a time. In multiplexed mode commands share one thread-safe
+ * {@link StatefulRedisConnection}, and the pool is only used for MULTI/WATCH transactions and
+ * pipelines, which need a connection to themselves.
+ */
+public class RedisConnectionRegistry {
+
+    private static final Logger LOG = LogManager.getLogger(RedisConnectionRegistry.class);
+    private static final RedisConnectionRegistry INSTANCE = new RedisConnectionRegistry();
+    static final int DEFAULT_MAX_POOLED_CONNECTIONS = 1;
+
+    private final Map<Endpoint, Connections> connections = new ConcurrentHashMap<>();
+
+    RedisConnectionRegistry() {}
+
+    public static RedisConnectionRegistry getInstance() {
+        return INSTANCE;
+    }
+
+    public Connections getConnections(
+            String host, int port, boolean useSsl, Optional<String> password, boolean multiplexed) {
+        return getConnections(
+                host, port, useSsl, password, multiplexed, DEFAULT_MAX_POOLED_CONNECTIONS);
+    }
+
+    public Connections getConnections(
+            String host,
+            int port,
+            boolean useSsl,
+            Optional<String> password,
+            boolean multiplexed,
+            int maxPooledConnections) {
+        return connections.computeIfAbsent(
+                new Endpoint(host, port, useSsl, password, multiplexed),
+                endpoint -> {
+                    LOG.info(
+                            "Creating shared Redis client for {}:{} (multiplexed: {})",
+                            host,
+                            port,
+                            multiplexed);
+                    return Connections.create(
+                            host, port, useSsl, password, multiplexed, maxPooledConnections);
+                });
+    }
+
+    int size() {
+        return connections.size();
+    }
+
+    void closeAll() {
+        connections.values().forEach(Connections::close);
+        connections.clear();
+    }
+
+    public static final class Connections implements AutoCloseable {
+        private final RedisClient client;
+        private final GenericObjectPool<StatefulRedisConnection<String, String>> pool;
+        private final boolean multiplexed;
+        private final AtomicBoolean warmedUp = new AtomicBoolean(false);
+        private volatile StatefulRedisConnection<String, String> multiplexedConnection;
+
+        private Connections(RedisClient client, boolean multiplexed, int maxPooledConnections) {
+            var poolConfig = new GenericObjectPoolConfig<StatefulRedisConnection<String, String>>();
+            poolConfig.setMaxTotal(maxPooledConnections);
+            poolConfig.setMaxIdle(maxPooledConnections);
+            this.client = client;
+            this.pool = createGenericObjectPool(client::connect, poolConfig);
+            this.multiplexed = multiplexed;
+        }
+
+        static Connections create(
+                String host,
+                int port,
+                boolean useSsl,
+                Optional<String> password,
+                boolean multiplexed) {
+            return create(
+                    host, port, useSsl, password, multiplexed, DEFAULT_MAX_POOLED_CONNECTIONS);
+        }
+
+        static Connections create(
+                String host,
+                int port,
+                boolean useSsl,
+                Optional<String> password,
+                boolean multiplexed,
+                int maxPooledConnections) {
+            RedisURI.Builder builder =
+                    RedisURI.builder().withHost(host).withPort(port).withSsl(useSsl);
+            password.ifPresent(s -> builder.withPassword(s.toCharArray()));
+            return new Connections(
+                    RedisClient.create(builder.build()), multiplexed, maxPooledConnections);
+        }
+
+        public boolean isMultiplexed() {
+            return multiplexed;
+        }
+
+        int maxPooledConnections() {
+            return pool.getMaxTotal();
+        }
+
+        GenericObjectPool<StatefulRedisConnection<String, String>> pool() {
+            return pool;
+        }
+
+        StatefulRedisConnection<String, String> multiplexedConnection() {
+            if (multiplexedConnection == null) {
+                synchronized (this) {
+                    if (multiplexedConnection == null) {
+                        multiplexedConnection = client.connect();
+                    }
+                }
+            }
+            return multiplexedConnection;
+        }
+
+        void warmUpOnce(Runnable warmUp) {
+            if (warmedUp.compareAndSet(false, true)) {
+                try {
+                    warmUp.run();
+                } catch (RuntimeException e) {
+                    warmedUp.set(false);
+                    throw e;
+                }
+            }
+        }
+
+        @Override
+        public void close() {
+            if (multiplexedConnection != null) {
+                multiplexedConnection.close();
+            }
+            pool.close();
+            client.shutdown();
+        }
+    }
+
+    private static final class Endpoint {
+        private final String host;
+        private final int port;
+        private final boolean useSsl;
+        private final Optional<String> password;
+        private final boolean multiplexed;
+
+        private Endpoint(
+                String host,
+                int port,
+                boolean useSsl,
+                Optional<String> password,
+                boolean multiplexed) {
+            this.host = host;
+            this.port = port;
+            this.useSsl = useSsl;
+            this.password = password;
+            this.multiplexed = multiplexed;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Endpoint endpoint = (Endpoint) o;
+            return port == endpoint.port
+                    && useSsl == endpoint.useSsl
+                    && multiplexed == endpoint.multiplexed
+                    && Objects.equals(host, endpoint.host)
+                    && Objects.equals(password, endpoint.password);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(host, port, useSsl, password, multiplexed);
+        }
+    }
+}
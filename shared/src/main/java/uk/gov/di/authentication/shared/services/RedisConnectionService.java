@@ -1,33 +1,75 @@
 package uk.gov.di.authentication.shared.services;
 
-import io.lettuce.core.RedisClient;
-import io.lettuce.core.RedisURI;
+import io.lettuce.core.LettuceFutures;
+import io.lettuce.core.RedisCommandExecutionException;
+import io.lettuce.core.RedisFuture;
+import io.lettuce.core.RedisNoScriptException;
+import io.lettuce.core.ScriptOutputType;
 import io.lettuce.core.TransactionResult;
 import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.async.RedisAsyncCommands;
 import io.lettuce.core.api.sync.RedisCommands;
 import io.lettuce.core.api.sync.RedisServerCommands;
-import org.apache.commons.pool2.impl.GenericObjectPool;
-import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 
-import static io.lettuce.core.support.ConnectionPoolSupport.createGenericObjectPool;
 import static uk.gov.di.authentication.shared.helpers.InstrumentationHelper.segmentedFunctionCall;
 
 public class RedisConnectionService implements AutoCloseable {
 
     public static final String REDIS_CONNECTION_ERROR = "Error getting Redis connection";
-    private final RedisClient client;
 
-    private final GenericObjectPool<StatefulRedisConnection<String, String>> pool;
+    /*
+     * KEYS: hash, list, then keys whose expiry is refreshed. ARGV: expiry, then a count followed by
+     * field/value pairs to set, a count followed by fields to delete, a count followed by
+     * field/amount pairs to increment, a replace-list flag, and finally the list members to append.
+     */
+    private static final Script UPDATE_HASH_AND_LIST_SCRIPT =
+            new Script(
+                    "if redis.call('EXISTS', KEYS[1]) == 0 then return 0 end",
+                    "local i = 3",
+                    "for _ = 1, tonumber(ARGV[2]) do",
+                    "  redis.call('HSET', KEYS[1], ARGV[i], ARGV[i + 1])",
+                    "  i = i + 2",
+                    "end",
+                    "local count = tonumber(ARGV[i])",
+                    "i = i + 1",
+                    "for _ = 1, count do",
+                    "  redis.call('HDEL', KEYS[1], ARGV[i])",
+                    "  i = i + 1",
+                    "end",
+                    "count = tonumber(ARGV[i])",
+                    "i = i + 1",
+                    "for _ = 1, count do",
+                    "  redis.call('HINCRBY', KEYS[1], ARGV[i], ARGV[i + 1])",
+                    "  i = i + 2",
+                    "end",
+                    "redis.call('EXPIRE', KEYS[1], ARGV[1])",
+                    "if ARGV[i] == '1' then redis.call('DEL', KEYS[2]) end",
+                    "for j = i + 1, #ARGV do",
+                    "  redis.call('RPUSH', KEYS[2], ARGV[j])",
+                    "end",
+                    "redis.call('EXPIRE', KEYS[2], ARGV[1])",
+                    "for k = 3, #KEYS do",
+                    "  redis.call('EXPIRE', KEYS[k], ARGV[1])",
+                    "end",
+                    "return 1");
+
+    private final RedisConnectionRegistry.Connections connections;
+    private final boolean sharedConnections;
 
     public RedisConnectionService(
             String host, int port, boolean useSsl, Optional<String> password, boolean warmup) {
-        RedisURI.Builder builder = RedisURI.builder().withHost(host).withPort(port).withSsl(useSsl);
-        password.ifPresent(s -> builder.withPassword(s.toCharArray()));
-        RedisURI redisURI = builder.build();
-        this.client = RedisClient.create(redisURI);
-        this.pool = createGenericObjectPool(client::connect, new GenericObjectPoolConfig<>());
+        this(
+                RedisConnectionRegistry.Connections.create(host, port, useSsl, password, false),
+                false);
         if (warmup) warmUp();
     }
 
@@ -38,10 +80,22 @@ public class RedisConnectionService implements AutoCloseable {
 
     public RedisConnectionService(ConfigurationService configurationService) {
         this(
-                configurationService.getRedisHost(),
-                configurationService.getRedisPort(),
-                configurationService.getUseRedisTLS(),
-                configurationService.getRedisPassword());
+                RedisConnectionRegistry.getInstance()
+                        .getConnections(
+                                configurationService.getRedisHost(),
+                                configurationService.getRedisPort(),
+                                configurationService.getUseRedisTLS(),
+                                configurationService.getRedisPassword(),
+                                configurationService.isRedisMultiplexingEnabled(),
+                                configurationService.getRedisMaxPooledConnections()),
+                true);
+        connections.warmUpOnce(this::warmUp);
+    }
+
+    RedisConnectionService(
+            RedisConnectionRegistry.Connections connections, boolean sharedConnections) {
+        this.connections = connections;
+        this.sharedConnections = sharedConnections;
     }
 
     @FunctionalInterface
@@ -50,20 +104,137 @@ public class RedisConnectionService implements AutoCloseable {
     }
 
     private <T> T executeCommand(RedisFunction<T> callable) {
+        if (!connections.isMultiplexed()) {
+            return executeOnPooledConnection(callable);
+        }
+        try {
+            return callable.getResult(connections.multiplexedConnection().sync());
+        } catch (Exception e) {
+            throw wrapException(e);
+        }
+    }
+
+    private <T> T executeOnPooledConnection(RedisFunction<T> callable) {
         try (StatefulRedisConnection<String, String> connection =
-                segmentedFunctionCall("Redis: getConnection", () -> pool.borrowObject())) {
+                segmentedFunctionCall(
+                        "Redis: getConnection", () -> connections.pool().borrowObject())) {
             return callable.getResult(connection.sync());
         } catch (Exception e) {
-            throw new RedisConnectionException(REDIS_CONNECTION_ERROR, e);
+            throw wrapException(e);
         }
     }
 
+    private static RedisConnectionException wrapException(Exception e) {
+        if (e instanceof RedisCommandExecutionException
+                && e.getMessage() != null
+                && e.getMessage().startsWith("WRONGTYPE")) {
+            return new RedisWrongTypeException(e);
+        }
+        return new RedisConnectionException(REDIS_CONNECTION_ERROR, e);
+    }
+
     public void saveWithExpiry(final String key, final String value, final long expiry) {
         segmentedFunctionCall(
                 "Redis: saveWithExpiry",
                 () -> executeCommand(commands -> commands.setex(key, expiry, value)));
     }
 
+    /**
+     * As above, also resetting the expiry of {@code keysToRefresh} in the same pipelined flush.
+     * Keys that do not exist are left alone.
+     */
+    public void saveWithExpiry(
+            final String key,
+            final String value,
+            final long expiry,
+            final Collection<String> keysToRefresh) {
+        if (keysToRefresh.isEmpty()) {
+            saveWithExpiry(key, value, expiry);
+            return;
+        }
+        saveAllWithExpiry(Map.of(key, value), expiry, keysToRefresh);
+    }
+
+    /**
+     * Writes every value with a single flush of pipelined SETEX commands on one pooled connection,
+     * rather than a round trip per key, and resets the expiry of {@code keysToRefresh} in the same
+     * flush.
+     */
+    public void saveAllWithExpiry(
+            final Map<String, String> values,
+            final long expiry,
+            final Collection<String> keysToRefresh) {
+        segmentedFunctionCall(
+                "Redis: saveAllWithExpiry",
+                () ->
+                        executePipelined(
+                                commands -> {
+                                    var futures =
+                                            new ArrayList<RedisFuture<?>>(
+                                                    values.size() + keysToRefresh.size());
+                                    values.forEach(
+                                            (key, value) ->
+                                                    futures.add(
+                                                            commands.setex(key, expiry, value)));
+                                    keysToRefresh.forEach(
+                                            key -> futures.add(commands.expire(key, expiry)));
+                                    return futures;
+                                }));
+    }
+
+    /** Returns the subset of {@code keys} that exist, checked with pipelined EXISTS commands. */
+    public Set<String> getExistingKeys(final Collection<String> keys) {
+        return segmentedFunctionCall(
+                "Redis: getExistingKeys",
+                () -> {
+                    var orderedKeys = List.copyOf(keys);
+                    var results =
+                            executePipelined(
+                                    commands -> {
+                                        var futures =
+                                                new ArrayList<RedisFuture<Long>>(
+                                                        orderedKeys.size());
+                                        orderedKeys.forEach(
+                                                key -> futures.add(commands.exists(key)));
+                                        return futures;
+                                    });
+                    var existingKeys = new HashSet<String>();
+                    for (int i = 0; i < orderedKeys.size(); i++) {
+                        if (results.get(i) == 1) {
+                            existingKeys.add(orderedKeys.get(i));
+                        }
+                    }
+                    return existingKeys;
+                });
+    }
+
+    private <T> List<T> executePipelined(
+            Function<RedisAsyncCommands<String, String>, List<? extends RedisFuture<? extends T>>>
+                    pipeline) {
+        try (StatefulRedisConnection<String, String> connection =
+                segmentedFunctionCall(
+                        "Redis: getConnection", () -> connections.pool().borrowObject())) {
+            connection.setAutoFlushCommands(false);
+            try {
+                var futures = pipeline.apply(connection.async());
+                connection.flushCommands();
+                if (!LettuceFutures.awaitAll(
+                        connection.getTimeout(), futures.toArray(RedisFuture[]::new))) {
+                    throw new IllegalStateException("Timed out waiting for pipelined commands");
+                }
+                var results = new ArrayList<T>(futures.size());
+                for (RedisFuture<? extends T> future : futures) {
+                    results.add(future.get());
+                }
+                return results;
+            } finally {
+                connection.setAutoFlushCommands(true);
+            }
+        } catch (Exception e) {
+            throw new RedisConnectionException(REDIS_CONNECTION_ERROR, e);
+        }
+    }
+
     public boolean keyExists(final String key) {
         return segmentedFunctionCall(
                 "Redis: keyExists", () -> executeCommand(commands -> commands.exists(key) == 1));
@@ -83,7 +254,7 @@ public class RedisConnectionService implements AutoCloseable {
         return segmentedFunctionCall(
                 "Redis: popValue",
                 () ->
-                        executeCommand(
+                        executeOnPooledConnection(
                                 commands -> {
                                     commands.multi();
                                     commands.get(key);
@@ -93,15 +264,160 @@ public class RedisConnectionService implements AutoCloseable {
                                 }));
     }
 
+    public void addToSetWithExpiry(final String key, final String value, final long expiry) {
+        segmentedFunctionCall(
+                "Redis: addToSetWithExpiry",
+                () ->
+                        executeOnPooledConnection(
+                                commands -> {
+                                    commands.multi();
+                                    commands.sadd(key, value);
+                                    commands.expire(key, expiry);
+                                    return commands.exec();
+                                }));
+    }
+
+    public boolean isMemberOfSet(final String key, final String value) {
+        return segmentedFunctionCall(
+                "Redis: isMemberOfSet",
+                () -> executeCommand(commands -> commands.sismember(key, value)));
+    }
+
+    public boolean renameKeyIfExists(final String key, final String newKey) {
+        return segmentedFunctionCall(
+                "Redis: renameKeyIfExists",
+                () ->
+                        executeOnPooledConnection(
+                                commands -> {
+                                    commands.watch(key);
+                                    if (commands.exists(key) == 0) {
+                                        commands.unwatch();
+                                        return false;
+                                    }
+                                    commands.multi();
+                                    commands.rename(key, newKey);
+                                    return !commands.exec().wasDiscarded();
+                                }));
+    }
+
+    public Map<String, String> getHash(final String key) {
+        return segmentedFunctionCall(
+                "Redis: getHash", () -> executeCommand(commands -> commands.hgetall(key)));
+    }
+
+    public List<String> getListMembers(final String key) {
+        return segmentedFunctionCall(
+                "Redis: getListMembers",
+                () -> executeCommand(commands -> commands.lrange(key, 0, -1)));
+    }
+
+    /**
+     * Replaces a hash and its companion list in one MULTI, giving both the same expiry, and resets
+     * the expiry of {@code keysToRefresh} in the same transaction.
+     */
+    public void replaceHashAndListWithExpiry(
+            final String hashKey,
+            final Map<String, String> fields,
+            final String listKey,
+            final List<String> members,
+            final long expiry,
+            final Collection<String> keysToRefresh) {
+        segmentedFunctionCall(
+                "Redis: replaceHashAndListWithExpiry",
+                () ->
+                        executeOnPooledConnection(
+                                commands -> {
+                                    commands.multi();
+                                    commands.del(hashKey, listKey);
+                                    commands.hset(hashKey, fields);
+                                    commands.expire(hashKey, expiry);
+                                    if (!members.isEmpty()) {
+                                        commands.rpush(listKey, members.toArray(String[]::new));
+                                        commands.expire(listKey, expiry);
+                                    }
+                                    keysToRefresh.forEach(key -> commands.expire(key, expiry));
+                                    return commands.exec();
+                                }));
+    }
+
+    /**
+     * Applies field changes and increments to a hash, and appends members to its companion list, in
+     * a single script that only runs if the hash still exists. A hash that has expired or been
+     * deleted is not recreated with just the changed fields. When {@code replaceList} is true the
+     * list is emptied before the members are appended. The expiry of {@code keysToRefresh} is reset
+     * by the same script.
+     *
+     * @return false if the hash did not exist and nothing was written
+     */
+    public boolean updateHashAndListIfExists(
+            final String hashKey,
+            final Map<String, String> fields,
+            final Collection<String> removedFields,
+            final Map<String, Long> increments,
+            final String listKey,
+            final boolean replaceList,
+            final List<String> members,
+            final long expiry,
+            final Collection<String> keysToRefresh) {
+        var keys = new ArrayList<String>(2 + keysToRefresh.size());
+        keys.add(hashKey);
+        keys.add(listKey);
+        keys.addAll(keysToRefresh);
+        var args = new ArrayList<String>();
+        args.add(String.valueOf(expiry));
+        args.add(String.valueOf(fields.size()));
+        fields.forEach(
+                (field, value) -> {
+                    args.add(field);
+                    args.add(value);
+                });
+        args.add(String.valueOf(removedFields.size()));
+        args.addAll(removedFields);
+        args.add(String.valueOf(increments.size()));
+        increments.forEach(
+                (field, amount) -> {
+                    args.add(field);
+                    args.add(String.valueOf(amount));
+                });
+        args.add(replaceList ? "1" : "0");
+        args.addAll(members);
+        Long updated =
+                segmentedFunctionCall(
+                        "Redis: updateHashAndListIfExists",
+                        () ->
+                                executeCommand(
+                                        commands ->
+                                                evalScript(
+                                                        commands,
+                                                        UPDATE_HASH_AND_LIST_SCRIPT,
+                                                        keys.toArray(String[]::new),
+                                                        args.toArray(String[]::new))));
+        return updated != null && updated == 1;
+    }
+
+    private static Long evalScript(
+            RedisCommands<String, String> commands, Script script, String[] keys, String[] args) {
+        try {
+            return commands.evalsha(script.digest(commands), ScriptOutputType.INTEGER, keys, args);
+        } catch (RedisNoScriptException e) {
+            return commands.eval(script.source, ScriptOutputType.INTEGER, keys, args);
+        }
+    }
+
     private void warmUp() {
         segmentedFunctionCall(
                 "Redis: warmUp", () -> executeCommand(RedisServerCommands::clientGetname));
     }
 
+    /**
+     * Closes connections this service opened itself. Connections from the {@link
+     * RedisConnectionRegistry} are shared with the rest of the JVM and stay open.
+     */
     @Override
     public void close() {
-        pool.close();
-        client.shutdown();
+        if (!sharedConnections) {
+            connections.close();
+        }
     }
 
     public static class RedisConnectionException extends RuntimeException {
@@ -109,4 +425,27 @@ public class RedisConnectionService implements AutoCloseable {
             super(message, cause);
         }
     }
+
+    /** Thrown when a command is run against a key holding a different type of value. */
+    public static class RedisWrongTypeException extends RedisConnectionException {
+        public RedisWrongTypeException(Throwable cause) {
+            super(REDIS_CONNECTION_ERROR, cause);
+        }
+    }
+
+    private static final class Script {
+        private final String source;
+        private volatile String digest;
+
+        private Script(String... lines) {
+            this.source = String.join("\n", lines);
+        }
+
+        private String digest(RedisCommands<String, String> commands) {
+            if (digest == null) {
+                digest = commands.digest(source);
+            }
+            return digest;
+        }
+    }
 }
@@ -11,18 +11,17 @@ import org.apache.logging.log4j.Logger;
 import uk.gov.di.authentication.shared.serialization.Json;
 import uk.gov.di.authentication.shared.serialization.LocalDateTimeAdapter;
 import uk.gov.di.authentication.shared.serialization.StateAdapter;
+import uk.gov.di.authentication.shared.serialization.StreamingEntityAdapterFactory;
 import uk.gov.di.authentication.shared.serialization.SubjectAdapter;
 import uk.gov.di.authentication.shared.validation.RequiredFieldValidator;
 import uk.gov.di.authentication.shared.validation.Validator;
 
 import java.time.LocalDateTime;
 
-import static java.util.Objects.isNull;
 import static uk.gov.di.authentication.shared.helpers.InstrumentationHelper.segmentedFunctionCall;
 
 public class SerializationService implements Json {
 
-    private static SerializationService INSTANCE;
     private static Logger LOG = LogManager.getLogger(SerializationService.class);
 
     private final Gson gson;
@@ -37,6 +36,7 @@ public class SerializationService implements Json {
                         .registerTypeAdapter(State.class, new StateAdapter())
                         .registerTypeAdapter(LocalDateTime.class, new LocalDateTimeAdapter())
                         .registerTypeAdapter(Subject.class, new SubjectAdapter())
+                        .registerTypeAdapterFactory(new StreamingEntityAdapterFactory())
                         .create();
     }
 
@@ -77,9 +77,10 @@ public class SerializationService implements Json {
     }
 
     public static SerializationService getInstance() {
-        if (isNull(INSTANCE)) {
-            INSTANCE = new SerializationService();
-        }
-        return INSTANCE;
+        return InstanceHolder.INSTANCE;
+    }
+
+    private static class InstanceHolder {
+        private static final SerializationService INSTANCE = new SerializationService();
     }
 }
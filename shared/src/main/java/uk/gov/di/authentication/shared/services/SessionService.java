@@ -2,15 +2,29 @@ package uk.gov.di.authentication.shared.services;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import software.amazon.cloudwatchlogs.emf.model.Unit;
+import uk.gov.di.authentication.shared.entity.CredentialTrustLevel;
+import uk.gov.di.authentication.shared.entity.MFAMethodType;
 import uk.gov.di.authentication.shared.entity.Session;
 import uk.gov.di.authentication.shared.helpers.CookieHelper;
 import uk.gov.di.authentication.shared.helpers.IdGenerator;
+import uk.gov.di.authentication.shared.serialization.CompactSessionCodec;
 import uk.gov.di.authentication.shared.serialization.Json;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+import static uk.gov.di.authentication.shared.domain.CloudwatchMetricDimensions.ENVIRONMENT;
+import static uk.gov.di.authentication.shared.domain.CloudwatchMetrics.SESSION_CLIENT_SESSION_COUNT;
+import static uk.gov.di.authentication.shared.domain.CloudwatchMetrics.SESSION_SIZE;
 import static uk.gov.di.authentication.shared.domain.RequestHeaders.SESSION_ID_HEADER;
+import static uk.gov.di.authentication.shared.helpers.HashHelper.hashSha256String;
 import static uk.gov.di.authentication.shared.helpers.InputSanitiser.sanitiseBase64;
 import static uk.gov.di.authentication.shared.helpers.InstrumentationHelper.segmentedFunctionCall;
 import static uk.gov.di.authentication.shared.helpers.RequestHeaderHelper.getHeaderValueFromHeaders;
@@ -21,27 +35,36 @@ public class SessionService {
     private static final Logger LOG = LogManager.getLogger(SessionService.class);
 
     private static final Json OBJECT_MAPPER = SerializationService.getInstance();
+    private static final CompactSessionCodec SESSION_CODEC = new CompactSessionCodec(OBJECT_MAPPER);
+    public static final String ID_TOKEN_HINT_INDEX_PREFIX = "id-token-hints-";
+    public static final String CLIENT_SESSIONS_INDEX_PREFIX = "session-client-session-ids-";
 
     private final ConfigurationService configurationService;
     private final RedisConnectionService redisConnectionService;
+    private final CloudwatchMetricsService cloudwatchMetricsService;
     private final CookieHelper cookieHelper;
 
     public SessionService(
             ConfigurationService configurationService,
-            RedisConnectionService redisConnectionService) {
+            RedisConnectionService redisConnectionService,
+            CloudwatchMetricsService cloudwatchMetricsService) {
         this.configurationService = configurationService;
         this.redisConnectionService = redisConnectionService;
+        this.cloudwatchMetricsService = cloudwatchMetricsService;
         this.cookieHelper = new CookieHelper();
     }
 
-    public SessionService(ConfigurationService configurationService) {
+    public SessionService(
+            ConfigurationService configurationService,
+            RedisConnectionService redisConnectionService) {
         this(
                 configurationService,
-                new RedisConnectionService(
-                        configurationService.getRedisHost(),
-                        configurationService.getRedisPort(),
-                        configurationService.getUseRedisTLS(),
-                        configurationService.getRedisPassword()));
+                redisConnectionService,
+                new CloudwatchMetricsService(configurationService));
+    }
+
+    public SessionService(ConfigurationService configurationService) {
+        this(configurationService, new RedisConnectionService(configurationService));
     }
 
     public Session createSession() {
@@ -49,23 +72,127 @@ public class SessionService {
     }
 
     public void save(Session session) {
+        limitClientSessions(session);
+        if (configurationService.isSessionHashStorageEnabled()) {
+            saveAsHash(session);
+            recordClientSessionCount(session);
+            return;
+        }
+        var unitOfWork = SessionUnitOfWork.current();
+        if (unitOfWork.isPresent()) {
+            unitOfWork
+                    .get()
+                    .defer(
+                            redisConnectionService,
+                            session.getSessionId(),
+                            () -> serialise(session),
+                            configurationService.getSessionExpiry(),
+                            keysToRefresh(session),
+                            value -> recordSessionMetrics(session, value));
+            return;
+        }
+        var value = serialise(session);
+        redisConnectionService.saveWithExpiry(
+                session.getSessionId(),
+                value,
+                configurationService.getSessionExpiry(),
+                keysToRefresh(session));
+        recordSessionMetrics(session, value);
+    }
+
+    /*
+     * The ID token hint index is written by the token endpoint with the session expiry at that
+     * time, so it is given the session's new expiry whenever the session is saved.
+     */
+    private static List<String> keysToRefresh(Session session) {
+        return List.of(ID_TOKEN_HINT_INDEX_PREFIX.concat(session.getSessionId()));
+    }
+
+    private String serialise(Session session) {
         try {
-            redisConnectionService.saveWithExpiry(
-                    session.getSessionId(),
-                    OBJECT_MAPPER.writeValueAsString(session),
-                    configurationService.getSessionExpiry());
+            return configurationService.isCompactSessionEncodingEnabled()
+                    ? SESSION_CODEC.encode(session)
+                    : OBJECT_MAPPER.writeValueAsString(session);
         } catch (Exception e) {
             throw new RuntimeException(e);
         }
     }
 
+    /*
+     * One sample per save, with a unit, so CloudWatch can report percentiles of both.
+     */
+    private void recordSessionMetrics(Session session, String value) {
+        cloudwatchMetricsService.putEmbeddedValue(
+                SESSION_SIZE.getValue(),
+                value.getBytes(StandardCharsets.UTF_8).length,
+                Unit.BYTES,
+                Map.of(ENVIRONMENT.getValue(), configurationService.getEnvironment()));
+        recordClientSessionCount(session);
+    }
+
+    private void recordClientSessionCount(Session session) {
+        cloudwatchMetricsService.putEmbeddedValue(
+                SESSION_CLIENT_SESSION_COUNT.getValue(),
+                session.getClientSessions().size(),
+                Unit.COUNT,
+                Map.of(ENVIRONMENT.getValue(), configurationService.getEnvironment()));
+    }
+
+    /*
+     * Client session keys expire on their own, so once the session holds more ids than the
+     * configured maximum, ids whose keys have gone are removed first and then the oldest ids,
+     * rather than the list growing on every authorise request for the life of the session.
+     *
+     * Lambda has no background worker to do this on a schedule, so it runs inline, but trims to
+     * three quarters of the maximum. The existence check then runs once per quarter of the
+     * maximum new client sessions, not on every save once a session reaches the cap.
+     */
+    private void limitClientSessions(Session session) {
+        var maxClientSessions = configurationService.getMaxClientSessionsPerSession();
+        if (maxClientSessions <= 0 || session.getClientSessions().size() <= maxClientSessions) {
+            return;
+        }
+        var keys =
+                session.getClientSessions().stream()
+                        .collect(
+                                Collectors.toMap(
+                                        Function.identity(),
+                                        ClientSessionService.CLIENT_SESSION_PREFIX::concat));
+        var unitOfWork = SessionUnitOfWork.current();
+        var existingKeys = redisConnectionService.getExistingKeys(keys.values());
+        var expired =
+                keys.entrySet().stream()
+                        .filter(
+                                entry ->
+                                        !existingKeys.contains(entry.getValue())
+                                                && unitOfWork
+                                                        .map(
+                                                                u ->
+                                                                        !u.hasPendingWrite(
+                                                                                entry.getValue()))
+                                                        .orElse(true))
+                        .map(Map.Entry::getKey)
+                        .collect(Collectors.toList());
+        session.removeClientSessions(expired);
+        var dropped = session.retainLatestClientSessions(maxClientSessions - maxClientSessions / 4);
+        LOG.info(
+                "Removed {} expired and {} oldest client sessions from session",
+                expired.size(),
+                dropped.size());
+    }
+
     public void updateSessionId(Session session) {
         try {
             String oldSessionId = session.getSessionId();
             session.setSessionId(IdGenerator.generate());
             session.resetProcessingIdentityAttempts();
             save(session);
+            discardPendingWrite(oldSessionId);
             redisConnectionService.deleteValue(oldSessionId);
+            redisConnectionService.deleteValue(CLIENT_SESSIONS_INDEX_PREFIX.concat(oldSessionId));
+            redisConnectionService.renameKeyIfExists(
+                    ID_TOKEN_HINT_INDEX_PREFIX.concat(oldSessionId),
+                    ID_TOKEN_HINT_INDEX_PREFIX.concat(session.getSessionId()));
         } catch (Exception e) {
             throw new RuntimeException(e);
         }
@@ -108,24 +235,212 @@ public class SessionService {
     }
 
     public void deleteSessionFromRedis(String sessionId) {
+        discardPendingWrite(sessionId);
         redisConnectionService.deleteValue(sessionId);
+        redisConnectionService.deleteValue(CLIENT_SESSIONS_INDEX_PREFIX.concat(sessionId));
+        redisConnectionService.deleteValue(ID_TOKEN_HINT_INDEX_PREFIX.concat(sessionId));
+    }
+
+    public void addIdTokenHintToSession(String sessionId, String idTokenHint) {
+        redisConnectionService.addToSetWithExpiry(
+                ID_TOKEN_HINT_INDEX_PREFIX.concat(sessionId),
+                hashSha256String(idTokenHint),
+                configurationService.getSessionExpiry());
     }
 
+    public boolean isIdTokenHintInSession(String sessionId, String idTokenHint) {
+        return redisConnectionService.isMemberOfSet(
+                ID_TOKEN_HINT_INDEX_PREFIX.concat(sessionId), hashSha256String(idTokenHint));
+    }
+
+    /*
+     * Sessions are read with the command for the layout currently being written, and only fall
+     * back to the other layout when Redis reports that the key holds the other type, so reads
+     * cost no extra round trip while both layouts can still be read.
+     */
     public Optional<Session> readSessionFromRedis(String sessionId) {
         try {
-            if (redisConnectionService.keyExists(sessionId)) {
-                return Optional.of(
-                        segmentedFunctionCall(
-                                "Deserialise session",
-                                () ->
-                                        OBJECT_MAPPER.readValue(
-                                                redisConnectionService.getValue(sessionId),
-                                                Session.class)));
-            } else {
-                return Optional.empty();
+            var pendingValue =
+                    SessionUnitOfWork.current().flatMap(u -> u.getPendingValue(sessionId));
+            if (pendingValue.isPresent()) {
+                return Optional.of(SESSION_CODEC.decodeSession(pendingValue.get()));
+            }
+            if (configurationService.isSessionHashStorageEnabled()) {
+                try {
+                    return readSessionFromHash(sessionId);
+                } catch (RedisConnectionService.RedisWrongTypeException e) {
+                    return readSessionFromString(sessionId);
+                }
+            }
+            try {
+                return readSessionFromString(sessionId);
+            } catch (RedisConnectionService.RedisWrongTypeException e) {
+                return readSessionFromHash(sessionId);
             }
         } catch (Exception e) {
             throw new RuntimeException(e);
         }
     }
+
+    private Optional<Session> readSessionFromString(String sessionId) {
+        return Optional.ofNullable(redisConnectionService.getValue(sessionId))
+                .map(
+                        value ->
+                                segmentedFunctionCall(
+                                        "Deserialise session", () -> decodeSession(value)));
+    }
+
+    private static Session decodeSession(String value) {
+        try {
+            return SESSION_CODEC.decodeSession(value);
+        } catch (Json.JsonException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private void discardPendingWrite(String sessionId) {
+        SessionUnitOfWork.current().ifPresent(u -> u.discard(sessionId));
+    }
+
+    private void saveAsHash(Session session) {
+        var sessionId = session.getSessionId();
+        var clientSessionsKey = CLIENT_SESSIONS_INDEX_PREFIX.concat(sessionId);
+        var expiry = configurationService.getSessionExpiry();
+        if (session.hasUntrackedChanges() || !updateHash(session, clientSessionsKey, expiry)) {
+            var fields = new HashMap<String, String>();
+            for (Session.Field field : Session.Field.values()) {
+                var value = getHashValue(session, field);
+                if (value != null) {
+                    fields.put(field.getHashField(), value);
+                }
+            }
+            redisConnectionService.replaceHashAndListWithExpiry(
+                    sessionId,
+                    fields,
+                    clientSessionsKey,
+                    session.getClientSessions(),
+                    expiry,
+                    keysToRefresh(session));
+        }
+        session.markClean();
+    }
+
+    /*
+     * Writes only what changed, provided the hash is still there. If it has expired or been
+     * deleted since it was read, nothing is written and the caller writes the whole session.
+     */
+    private boolean updateHash(Session session, String clientSessionsKey, long expiry) {
+        var fields = new HashMap<String, String>();
+        var removedFields = new ArrayList<String>();
+        for (Session.Field field : session.getDirtyFields()) {
+            var value = getHashValue(session, field);
+            if (value != null) {
+                fields.put(field.getHashField(), value);
+            } else {
+                removedFields.add(field.getHashField());
+            }
+        }
+        var increments = new HashMap<String, Long>();
+        session.getPendingIncrements()
+                .forEach((field, amount) -> increments.put(field.getHashField(), (long) amount));
+        var replaceClientSessions = session.hasRemovedClientSessions();
+        return redisConnectionService.updateHashAndListIfExists(
+                session.getSessionId(),
+                fields,
+                removedFields,
+                increments,
+                clientSessionsKey,
+                replaceClientSessions,
+                replaceClientSessions
+                        ? session.getClientSessions()
+                        : session.getAddedClientSessions(),
+                expiry,
+                keysToRefresh(session));
+    }
+
+    private Optional<Session> readSessionFromHash(String sessionId) {
+        var fields = redisConnectionService.getHash(sessionId);
+        if (fields.isEmpty()) {
+            return Optional.empty();
+        }
+        var session = new Session(sessionId);
+        for (Session.Field field : Session.Field.values()) {
+            var value = fields.get(field.getHashField());
+            if (value != null) {
+                setHashValue(session, field, value);
+            }
+        }
+        redisConnectionService
+                .getListMembers(CLIENT_SESSIONS_INDEX_PREFIX.concat(sessionId))
+                .forEach(session::addClientSession);
+        return Optional.of(session.markClean());
+    }
+
+    private static String getHashValue(Session session, Session.Field field) {
+        switch (field) {
+            case EMAIL_ADDRESS:
+                return session.getEmailAddress();
+            case RETRY_COUNT:
+                return String.valueOf(session.getRetryCount());
+            case PASSWORD_RESET_COUNT:
+                return String.valueOf(session.getPasswordResetCount());
+            case CODE_REQUEST_COUNT:
+                return String.valueOf(session.getCodeRequestCount());
+            case CURRENT_CREDENTIAL_STRENGTH:
+                return nameOf(session.getCurrentCredentialStrength());
+            case IS_NEW_ACCOUNT:
+                return nameOf(session.isNewAccount());
+            case AUTHENTICATED:
+                return String.valueOf(session.isAuthenticated());
+            case PROCESSING_IDENTITY_ATTEMPTS:
+                return String.valueOf(session.getProcessingIdentityAttempts());
+            case VERIFIED_MFA_METHOD_TYPE:
+                return nameOf(session.getVerifiedMfaMethodType());
+            case INTERNAL_COMMON_SUBJECT_IDENTIFIER:
+                return session.getInternalCommonSubjectIdentifier();
+            default:
+                throw new IllegalArgumentException("Unknown session field " + field);
+        }
+    }
+
+    private static void setHashValue(Session session, Session.Field field, String value) {
+        switch (field) {
+            case EMAIL_ADDRESS:
+                session.setEmailAddress(value);
+                break;
+            case RETRY_COUNT:
+                session.setRetryCount(Integer.parseInt(value));
+                break;
+            case PASSWORD_RESET_COUNT:
+                session.setPasswordResetCount(Integer.parseInt(value));
+                break;
+            case CODE_REQUEST_COUNT:
+                session.setCodeRequestCount(Integer.parseInt(value));
+                break;
+            case CURRENT_CREDENTIAL_STRENGTH:
+                session.setCurrentCredentialStrength(CredentialTrustLevel.valueOf(value));
+                break;
+            case IS_NEW_ACCOUNT:
+                session.setNewAccount(Session.AccountState.valueOf(value));
+                break;
+            case AUTHENTICATED:
+                session.setAuthenticated(Boolean.parseBoolean(value));
+                break;
+            case PROCESSING_IDENTITY_ATTEMPTS:
+                session.setProcessingIdentityAttempts(Integer.parseInt(value));
+                break;
+            case VERIFIED_MFA_METHOD_TYPE:
+                session.setVerifiedMfaMethodType(MFAMethodType.valueOf(value));
+                break;
+            case INTERNAL_COMMON_SUBJECT_IDENTIFIER:
+                session.setInternalCommonSubjectIdentifier(value);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown session field " + field);
+        }
+    }
+
+    private static String nameOf(Enum<?> value) {
+        return value == null ? null : value.name();
+    }
 }
@@ -0,0 +1,140 @@
+package uk.gov.di.authentication.shared.services;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Holds back the session and client session writes made while one request is handled, so that a key
+ * saved several times is written once, and all keys are written together in one pipelined flush
+ * when the handler returns. If the handler throws, the pending writes are dropped.
+ *
+ * <p>Values are serialised when they are flushed, so the last state of each object is written.
+ * Reads of a key with a pending write are served from that write. Sessions stored as Redis hashes
+ * already write only their changed fields and are not deferred.
+ */
+public class SessionUnitOfWork {
+
+    private static final ThreadLocal<SessionUnitOfWork> CURRENT = new ThreadLocal<>();
+
+    private final Map<String, PendingWrite> pendingWrites = new LinkedHashMap<>();
+
+    SessionUnitOfWork() {}
+
+    public static <T> T execute(ConfigurationService configurationService, Supplier<T> work) {
+        if (!configurationService.isSessionWriteCoalescingEnabled() || CURRENT.get() != null) {
+            return work.get();
+        }
+        var unitOfWork = new SessionUnitOfWork();
+        CURRENT.set(unitOfWork);
+        try {
+            var result = work.get();
+            unitOfWork.flush();
+            return result;
+        } finally {
+            CURRENT.remove();
+        }
+    }
+
+    static Optional<SessionUnitOfWork> current() {
+        return Optional.ofNullable(CURRENT.get());
+    }
+
+    void defer(
+            RedisConnectionService redisConnectionService,
+            String key,
+            Supplier<String> value,
+            long expiry) {
+        defer(redisConnectionService, key, value, expiry, List.of(), written -> {});
+    }
+
+    /**
+     * As above, also resetting the expiry of {@code keysToRefresh} in the flush, and calling {@code
+     * onFlush} with the value once it has been written.
+     */
+    void defer(
+            RedisConnectionService redisConnectionService,
+            String key,
+            Supplier<String> value,
+            long expiry,
+            Collection<String> keysToRefresh,
+            Consumer<String> onFlush) {
+        pendingWrites.remove(key);
+        pendingWrites.put(
+                key,
+                new PendingWrite(redisConnectionService, value, expiry, keysToRefresh, onFlush));
+    }
+
+    boolean hasPendingWrite(String key) {
+        return pendingWrites.containsKey(key);
+    }
+
+    Optional<String> getPendingValue(String key) {
+        return Optional.ofNullable(pendingWrites.get(key)).map(write -> write.value.get());
+    }
+
+    void discard(String key) {
+        pendingWrites.remove(key);
+    }
+
+    void flush() {
+        var batches = new IdentityHashMap<RedisConnectionService, Map<Long, Batch>>();
+        var written = new ArrayList<Runnable>(pendingWrites.size());
+        pendingWrites.forEach(
+                (key, write) -> {
+                    var value = write.value.get();
+                    var batch =
+                            batches.computeIfAbsent(
+                                            write.redisConnectionService,
+                                            r -> new LinkedHashMap<>())
+                                    .computeIfAbsent(write.expiry, e -> new Batch());
+                    batch.values.put(key, value);
+                    batch.keysToRefresh.addAll(write.keysToRefresh);
+                    written.add(() -> write.onFlush.accept(value));
+                });
+        pendingWrites.clear();
+        batches.forEach(
+                (redisConnectionService, byExpiry) ->
+                        byExpiry.forEach(
+                                (expiry, batch) ->
+                                        redisConnectionService.saveAllWithExpiry(
+                                                batch.values,
+                                                expiry,
+                                                List.copyOf(batch.keysToRefresh))));
+        written.forEach(Runnable::run);
+    }
+
+    private static final class Batch {
+        private final Map<String, String> values = new LinkedHashMap<>();
+        private final Set<String> keysToRefresh = new LinkedHashSet<>();
+    }
+
+    private static final class PendingWrite {
+        private final RedisConnectionService redisConnectionService;
+        private final Supplier<String> value;
+        private final long expiry;
+        private final Collection<String> keysToRefresh;
+        private final Consumer<String> onFlush;
+
+        private PendingWrite(
+                RedisConnectionService redisConnectionService,
+                Supplier<String> value,
+                long expiry,
+                Collection<String> keysToRefresh,
+                Consumer<String> onFlush) {
+            this.redisConnectionService = redisConnectionService;
+            this.value = value;
+            this.expiry = expiry;
+            this.keysToRefresh = keysToRefresh;
+            this.onFlush = onFlush;
+        }
+    }
+}
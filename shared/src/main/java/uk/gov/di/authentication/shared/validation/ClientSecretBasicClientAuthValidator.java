@@ -8,7 +8,6 @@ import com.nimbusds.oauth2.sdk.auth.ClientSecretBasic;
 import com.nimbusds.oauth2.sdk.auth.verifier.InvalidClientException;
 import uk.gov.di.authentication.shared.entity.ClientRegistry;
 import uk.gov.di.authentication.shared.exceptions.TokenAuthInvalidException;
-import uk.gov.di.authentication.shared.helpers.Argon2MatcherHelper;
 import uk.gov.di.authentication.shared.services.ConfigurationService;
 import uk.gov.di.authentication.shared.services.DynamoClientService;
 
@@ -24,11 +23,20 @@ import static uk.gov.di.authentication.shared.helpers.RequestHeaderHelper.getHea
 public class ClientSecretBasicClientAuthValidator extends TokenClientAuthValidator {
 
     private final ConfigurationService configurationService;
+    private final VerifiedClientSecretCache verifiedClientSecretCache;
 
     public ClientSecretBasicClientAuthValidator(
             DynamoClientService dynamoClientService, ConfigurationService configurationService) {
+        this(dynamoClientService, configurationService, VerifiedClientSecretCache.getInstance());
+    }
+
+    public ClientSecretBasicClientAuthValidator(
+            DynamoClientService dynamoClientService,
+            ConfigurationService configurationService,
+            VerifiedClientSecretCache verifiedClientSecretCache) {
         super(dynamoClientService);
         this.configurationService = configurationService;
+        this.verifiedClientSecretCache = verifiedClientSecretCache;
     }
 
     @Override
@@ -68,7 +76,8 @@ public class ClientSecretBasicClientAuthValidator extends TokenClientAuthValidat
                         clientRegistry.getClientID());
             }
             var validSecret =
-                    Argon2MatcherHelper.matchRawStringWithEncoded(
+                    verifiedClientSecretCache.matches(
+                            clientRegistry.getClientID(),
                             clientSecretBasic.getClientSecret().getValue(),
                             clientRegistry.getClientSecret());
             if (!validSecret) {
@@ -8,7 +8,6 @@ import com.nimbusds.oauth2.sdk.auth.ClientSecretPost;
 import com.nimbusds.oauth2.sdk.auth.verifier.InvalidClientException;
 import uk.gov.di.authentication.shared.entity.ClientRegistry;
 import uk.gov.di.authentication.shared.exceptions.TokenAuthInvalidException;
-import uk.gov.di.authentication.shared.helpers.Argon2MatcherHelper;
 import uk.gov.di.authentication.shared.services.DynamoClientService;
 
 import java.util.Map;
@@ -20,8 +19,17 @@ import static uk.gov.di.authentication.shared.helpers.LogLineHelper.attachLogFie
 
 public class ClientSecretPostClientAuthValidator extends TokenClientAuthValidator {
 
+    private final VerifiedClientSecretCache verifiedClientSecretCache;
+
     public ClientSecretPostClientAuthValidator(DynamoClientService dynamoClientService) {
+        this(dynamoClientService, VerifiedClientSecretCache.getInstance());
+    }
+
+    public ClientSecretPostClientAuthValidator(
+            DynamoClientService dynamoClientService,
+            VerifiedClientSecretCache verifiedClientSecretCache) {
         super(dynamoClientService);
+        this.verifiedClientSecretCache = verifiedClientSecretCache;
     }
 
     @Override
@@ -55,7 +63,8 @@ public class ClientSecretPostClientAuthValidator extends TokenClientAuthValidato
                         clientRegistry.getClientID());
             }
             var validSecret =
-                    Argon2MatcherHelper.matchRawStringWithEncoded(
+                    verifiedClientSecretCache.matches(
+                            clientRegistry.getClientID(),
                             clientSecretPost.getClientSecret().getValue(),
                             clientRegistry.getClientSecret());
             if (!validSecret) {
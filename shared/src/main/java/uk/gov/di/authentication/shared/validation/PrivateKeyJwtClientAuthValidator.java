@@ -2,7 +2,6 @@ package uk.gov.di.authentication.shared.validation;
 
 import com.nimbusds.jose.JOSEException;
 import com.nimbusds.jose.JWSHeader;
-import com.nimbusds.jose.jwk.KeyType;
 import com.nimbusds.jwt.JWTClaimsSet;
 import com.nimbusds.jwt.SignedJWT;
 import com.nimbusds.jwt.util.DateUtils;
@@ -19,16 +18,12 @@ import com.nimbusds.oauth2.sdk.id.Audience;
 import com.nimbusds.oauth2.sdk.id.ClientID;
 import uk.gov.di.authentication.shared.entity.ClientRegistry;
 import uk.gov.di.authentication.shared.exceptions.TokenAuthInvalidException;
+import uk.gov.di.authentication.shared.helpers.ClientPublicKeyHelper;
 import uk.gov.di.authentication.shared.helpers.NowHelper;
 import uk.gov.di.authentication.shared.services.ConfigurationService;
 import uk.gov.di.authentication.shared.services.DynamoClientService;
 
-import java.security.KeyFactory;
-import java.security.NoSuchAlgorithmException;
 import java.security.PublicKey;
-import java.security.spec.InvalidKeySpecException;
-import java.security.spec.X509EncodedKeySpec;
-import java.util.Base64;
 import java.util.Collections;
 import java.util.Date;
 import java.util.List;
@@ -91,7 +86,8 @@ public class PrivateKeyJwtClientAuthValidator extends TokenClientAuthValidator {
             }
             ClientAuthenticationVerifier<?> authenticationVerifier =
                     new ClientAuthenticationVerifier<>(
-                            generateClientCredentialsSelector(clientRegistry.getPublicKey()),
+                            generateClientCredentialsSelector(
+                                    clientRegistry.getClientID(), clientRegistry.getPublicKey()),
                             Collections.singleton(new Audience(tokenUrl)));
             authenticationVerifier.verify(privateKeyJWT, null, null);
             return clientRegistry;
@@ -136,7 +132,8 @@ public class PrivateKeyJwtClientAuthValidator extends TokenClientAuthValidator {
         return false;
     }
 
-    private ClientCredentialsSelector<?> generateClientCredentialsSelector(String publicKey) {
+    private ClientCredentialsSelector<?> generateClientCredentialsSelector(
+            String clientId, String publicKey) {
         return new ClientCredentialsSelector<>() {
             @Override
             public List<Secret> selectClientSecrets(
@@ -154,15 +151,8 @@ public class PrivateKeyJwtClientAuthValidator extends TokenClientAuthValidator {
                     boolean forceRefresh,
                     com.nimbusds.oauth2.sdk.auth.verifier.Context context) {
 
-                byte[] decodedKey = Base64.getMimeDecoder().decode(publicKey);
-                try {
-                    X509EncodedKeySpec x509publicKey = new X509EncodedKeySpec(decodedKey);
-                    KeyFactory kf = KeyFactory.getInstance(KeyType.RSA.getValue());
-                    return Collections.singletonList(kf.generatePublic(x509publicKey));
-                } catch (InvalidKeySpecException | NoSuchAlgorithmException e) {
-                    LOG.error("Exception when selecting public key", e);
-                    throw new RuntimeException(e);
-                }
+                return Collections.singletonList(
+                        ClientPublicKeyHelper.getPublicKey(clientId, publicKey));
             }
         };
     }
@@ -3,6 +3,9 @@ package uk.gov.di.authentication.shared.validation;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -14,36 +17,68 @@ public class RequiredFieldValidator implements Validator {
 
     private static Logger LOG = LogManager.getLogger(RequiredFieldValidator.class);
 
+    /*
+     * The @Required fields of each class and its superclasses, looked up once per class rather
+     * than by reflection on every object validated.
+     */
+    private static final ClassValue<List<RequiredField>> REQUIRED_FIELDS =
+            new ClassValue<>() {
+                @Override
+                protected List<RequiredField> computeValue(Class<?> type) {
+                    return findRequiredFields(type);
+                }
+            };
+
     @Override
     public List<String> validate(Object object) {
         if (isNull(object)) throw new IllegalArgumentException("Cannot validate a null object");
         List<String> violations = new ArrayList<>();
-        Class clazz = object.getClass();
-        while (nonNull(clazz)) {
-            violations.addAll(validateRequiredFields(object, clazz));
-
-            clazz = clazz.getSuperclass();
+        for (RequiredField field : REQUIRED_FIELDS.get(object.getClass())) {
+            if (field.isNull(object)) {
+                violations.add(field.name);
+            }
         }
         return violations;
     }
 
-    private List<String> validateRequiredFields(Object object, Class clazz) {
-        List<String> violations = new ArrayList<>();
-        for (var field : clazz.getDeclaredFields()) {
-            if (!isStatic(field.getModifiers())) {
-                var accessible = field.canAccess(object);
+    private static List<RequiredField> findRequiredFields(Class<?> type) {
+        List<RequiredField> requiredFields = new ArrayList<>();
+        Class<?> clazz = type;
+        while (nonNull(clazz)) {
+            for (var field : clazz.getDeclaredFields()) {
+                if (isStatic(field.getModifiers()) || !field.isAnnotationPresent(Required.class)) {
+                    continue;
+                }
                 try {
-                    if (!accessible) field.setAccessible(true);
-                    if (field.isAnnotationPresent(Required.class) && isNull(field.get(object))) {
-                        violations.add(field.getName());
-                    }
+                    var getter =
+                            MethodHandles.privateLookupIn(clazz, MethodHandles.lookup())
+                                    .unreflectGetter(field)
+                                    .asType(MethodType.methodType(Object.class, Object.class));
+                    requiredFields.add(new RequiredField(field.getName(), getter));
                 } catch (IllegalAccessException e) {
                     LOG.warn("Could not validate field: {}", field.getName());
-                } finally {
-                    if (!accessible) field.setAccessible(false);
                 }
             }
+            clazz = clazz.getSuperclass();
+        }
+        return List.copyOf(requiredFields);
+    }
+
+    private static final class RequiredField {
+        private final String name;
+        private final MethodHandle getter;
+
+        private RequiredField(String name, MethodHandle getter) {
+            this.name = name;
+            this.getter = getter;
+        }
+
+        private boolean isNull(Object object) {
+            try {
+                return (Object) getter.invokeExact(object) == null;
+            } catch (Throwable e) {
+                throw new IllegalStateException("Could not read field: " + name, e);
+            }
         }
-        return violations;
     }
 }
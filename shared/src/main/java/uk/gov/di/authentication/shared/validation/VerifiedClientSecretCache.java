@@ -0,0 +1,87 @@
+package uk.gov.di.authentication.shared.validation;
+
+import uk.gov.di.authentication.shared.helpers.Argon2MatcherHelper;
+import uk.gov.di.authentication.shared.helpers.ExpiringLruCache;
+import uk.gov.di.authentication.shared.helpers.NowHelper;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidKeyException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.function.BiPredicate;
+
+public class VerifiedClientSecretCache {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final int DEFAULT_MAX_SIZE = 1000;
+    private static final Duration DEFAULT_TIME_TO_LIVE = Duration.ofMinutes(5);
+    private static VerifiedClientSecretCache instance;
+
+    private final ExpiringLruCache<String, byte[]> verifiedSecrets;
+    private final Duration timeToLive;
+    private final BiPredicate<String, String> secretMatcher;
+    private final SecretKeySpec macKey;
+
+    public static synchronized VerifiedClientSecretCache getInstance() {
+        if (instance == null) {
+            instance =
+                    new VerifiedClientSecretCache(
+                            DEFAULT_MAX_SIZE,
+                            DEFAULT_TIME_TO_LIVE,
+                            new NowHelper.NowClock(Clock.systemUTC()),
+                            Argon2MatcherHelper::matchRawStringWithEncoded);
+        }
+        return instance;
+    }
+
+    VerifiedClientSecretCache(
+            int maxSize,
+            Duration timeToLive,
+            NowHelper.NowClock clock,
+            BiPredicate<String, String> secretMatcher) {
+        this.verifiedSecrets = new ExpiringLruCache<>(maxSize, clock);
+        this.timeToLive = timeToLive;
+        this.secretMatcher = secretMatcher;
+        var keyBytes = new byte[32];
+        new SecureRandom().nextBytes(keyBytes);
+        this.macKey = new SecretKeySpec(keyBytes, HMAC_ALGORITHM);
+    }
+
+    public boolean matches(String clientId, String presentedSecret, String storedSecretHash) {
+        var verification = mac(clientId, presentedSecret, storedSecretHash);
+        var cachedVerification = verifiedSecrets.get(clientId);
+        if (cachedVerification.isPresent()
+                && MessageDigest.isEqual(cachedVerification.get(), verification)) {
+            return true;
+        }
+        if (!secretMatcher.test(presentedSecret, storedSecretHash)) {
+            return false;
+        }
+        verifiedSecrets.put(clientId, verification, timeToLive);
+        return true;
+    }
+
+    private byte[] mac(String clientId, String presentedSecret, String storedSecretHash) {
+        try {
+            var mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(macKey);
+            for (String value : new String[] {clientId, presentedSecret, storedSecretHash}) {
+                var bytes = value.getBytes(StandardCharsets.UTF_8);
+                mac.update((byte) (bytes.length >>> 24));
+                mac.update((byte) (bytes.length >>> 16));
+                mac.update((byte) (bytes.length >>> 8));
+                mac.update((byte) bytes.length);
+                mac.update(bytes);
+            }
+            return mac.doFinal();
+        } catch (NoSuchAlgorithmException | InvalidKeyException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
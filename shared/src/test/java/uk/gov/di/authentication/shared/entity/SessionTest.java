@@ -0,0 +1,89 @@
+package uk.gov.di.authentication.shared.entity;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+class SessionTest {
+
+    @Test
+    void shouldTreatNewSessionAsEntirelyChanged() {
+        var session = new Session("session-id").addClientSession("client-session-id");
+
+        assertThat(session.hasUntrackedChanges(), equalTo(true));
+        assertThat(session.getDirtyFields(), equalTo(EnumSet.allOf(Session.Field.class)));
+        assertThat(session.getAddedClientSessions(), equalTo(List.of("client-session-id")));
+    }
+
+    @Test
+    void shouldTrackChangesMadeAfterMarkClean() {
+        var session = new Session("session-id").markClean();
+
+        session.setAuthenticated(true)
+                .incrementCodeRequestCount()
+                .incrementCodeRequestCount()
+                .addClientSession("client-session-id");
+
+        assertThat(session.hasUntrackedChanges(), equalTo(false));
+        assertThat(session.getDirtyFields(), equalTo(Set.of(Session.Field.AUTHENTICATED)));
+        assertThat(
+                session.getPendingIncrements(),
+                equalTo(Map.of(Session.Field.CODE_REQUEST_COUNT, 2)));
+        assertThat(session.getAddedClientSessions(), equalTo(List.of("client-session-id")));
+    }
+
+    @Test
+    void shouldReplacePendingIncrementWhenCounterIsSet() {
+        var session = new Session("session-id").markClean();
+
+        session.incrementPasswordResetCount().resetPasswordResetCount();
+        session.incrementPasswordResetCount();
+
+        assertThat(session.getDirtyFields(), equalTo(Set.of(Session.Field.PASSWORD_RESET_COUNT)));
+        assertThat(session.getPendingIncrements(), equalTo(Map.of()));
+        assertThat(session.getPasswordResetCount(), equalTo(1));
+    }
+
+    @Test
+    void shouldTreatSessionWithNewIdAsEntirelyChanged() {
+        var session = new Session("session-id").markClean();
+
+        session.setSessionId("new-session-id");
+
+        assertThat(session.hasUntrackedChanges(), equalTo(true));
+    }
+
+    @Test
+    void shouldRetainLatestClientSessions() {
+        var session =
+                new Session("session-id")
+                        .addClientSession("client-session-1")
+                        .addClientSession("client-session-2")
+                        .addClientSession("client-session-3");
+
+        var removed = session.retainLatestClientSessions(2);
+
+        assertThat(removed, equalTo(List.of("client-session-1")));
+        assertThat(
+                session.getClientSessions(),
+                equalTo(List.of("client-session-2", "client-session-3")));
+    }
+
+    @Test
+    void shouldTrackRemovedClientSessions() {
+        var session = new Session("session-id").addClientSession("client-session-1").markClean();
+
+        session.addClientSession("client-session-2")
+                .removeClientSessions(List.of("client-session-1", "client-session-2"));
+
+        assertThat(session.hasRemovedClientSessions(), equalTo(true));
+        assertThat(session.getAddedClientSessions(), equalTo(List.of()));
+        assertThat(session.getClientSessions(), equalTo(List.of()));
+    }
+}
@@ -6,6 +6,8 @@ import org.junit.jupiter.api.Test;
 import uk.gov.di.authentication.shared.entity.ErrorResponse;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.collection.IsMapContaining.hasEntry;
 
 public class ApiGatewayResponseHelperTest {
@@ -67,4 +69,16 @@ public class ApiGatewayResponseHelperTest {
                         "max-age=31536000; includeSubDomains; preload"));
         assertThat(result.getHeaders(), hasEntry("X-Frame-Options", "DENY"));
     }
+
+    @Test
+    void shouldReturn503WithRetryAfterHeaderForRetryLaterResponses() {
+        APIGatewayProxyResponseEvent result =
+                ApiGatewayResponseHelper.generateApiGatewayProxyRetryLaterResponse(
+                        ErrorResponse.ERROR_1049, 2);
+
+        assertThat(result.getStatusCode(), equalTo(503));
+        assertThat(result.getHeaders(), hasEntry(HttpHeaders.RETRY_AFTER, "2"));
+        assertThat(result.getHeaders(), hasEntry(HttpHeaders.CACHE_CONTROL, "no-cache, no-store"));
+        assertThat(result.getBody(), containsString("\"code\":1049"));
+    }
 }
@@ -0,0 +1,202 @@
+package uk.gov.di.authentication.shared.helpers;
+
+import org.bouncycastle.crypto.generators.Argon2BytesGenerator;
+import org.bouncycastle.crypto.params.Argon2Parameters;
+import org.bouncycastle.util.Strings;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class Argon2EngineTest {
+
+    private static final Base64.Encoder BASE64_ENCODER = Base64.getEncoder().withoutPadding();
+    private static final List<String> PASSWORDS =
+            List.of("", "password", "test-password123", "cyfrinair-ŵŷâ", "пароль🔑");
+
+    private final Argon2Engine engine = new Argon2Engine(2);
+
+    private static Stream<Arguments> vectors() {
+        var random = new Random(20221019L);
+        var vectors = new ArrayList<Arguments>();
+        int[][] costs = {
+            {8, 1, 1},
+            {16, 1, 2},
+            {12, 2, 2},
+            {64, 3, 1},
+            {64, 1, 4},
+            {100, 2, 3},
+            {256, 2, 1},
+            {1024, 1, 1},
+            {4096, 3, 1},
+            {15360, 2, 1}
+        };
+        int[] saltLengths = {8, 16, 32};
+        int[] outputLengths = {4, 32, 64, 65, 100};
+        for (int version :
+                new int[] {
+                    Argon2Parameters.ARGON2_VERSION_10, Argon2Parameters.ARGON2_VERSION_13
+                }) {
+            for (int i = 0; i < costs.length; i++) {
+                var salt = new byte[saltLengths[i % saltLengths.length]];
+                random.nextBytes(salt);
+                vectors.add(
+                        Arguments.of(
+                                version,
+                                costs[i][0],
+                                costs[i][1],
+                                costs[i][2],
+                                salt,
+                                PASSWORDS.get(i % PASSWORDS.size()),
+                                outputLengths[i % outputLengths.length]));
+            }
+        }
+        return vectors.stream();
+    }
+
+    @ParameterizedTest
+    @MethodSource("vectors")
+    void shouldMatchBouncyCastleOutput(
+            int version,
+            int memory,
+            int iterations,
+            int lanes,
+            byte[] salt,
+            String password,
+            int outputLength) {
+        var expected = new byte[outputLength];
+        var generator = new Argon2BytesGenerator();
+        generator.init(
+                new Argon2Parameters.Builder(Argon2Parameters.ARGON2_id)
+                        .withVersion(version)
+                        .withMemoryAsKB(memory)
+                        .withIterations(iterations)
+                        .withParallelism(lanes)
+                        .withSalt(salt)
+                        .build());
+        generator.generateBytes(password.toCharArray(), expected);
+
+        var actual = new byte[outputLength];
+        engine.generateBytes(
+                version,
+                memory,
+                iterations,
+                lanes,
+                salt,
+                Strings.toUTF8ByteArray(password.toCharArray()),
+                actual);
+
+        assertThat(actual, equalTo(expected));
+    }
+
+    @Test
+    void shouldGiveSameOutputWhenWorkspaceIsReusedAcrossCosts() {
+        var salt = "somesaltsomesalt".getBytes(StandardCharsets.UTF_8);
+        var password = "password".getBytes(StandardCharsets.UTF_8);
+        var first = new byte[32];
+        var second = new byte[32];
+
+        engine.generateBytes(Argon2Parameters.ARGON2_VERSION_13, 64, 2, 1, salt, password, first);
+        engine.generateBytes(
+                Argon2Parameters.ARGON2_VERSION_13, 1024, 1, 2, salt, password, new byte[32]);
+        engine.generateBytes(Argon2Parameters.ARGON2_VERSION_13, 64, 2, 1, salt, password, second);
+
+        assertThat(second, equalTo(first));
+        assertThat(engine.pooledWorkspaces(), equalTo(1));
+    }
+
+    @Test
+    void shouldNotPoolMoreWorkspacesThanConfigured() throws InterruptedException {
+        var threads = new ArrayList<Thread>();
+        for (int i = 0; i < 8; i++) {
+            var thread =
+                    new Thread(
+                            () ->
+                                    engine.generateBytes(
+                                            Argon2Parameters.ARGON2_VERSION_13,
+                                            256,
+                                            1,
+                                            1,
+                                            new byte[16],
+                                            new byte[8],
+                                            new byte[32]));
+            threads.add(thread);
+            thread.start();
+        }
+        for (var thread : threads) {
+            thread.join();
+        }
+
+        assertThat(engine.pooledWorkspaces(), lessThanOrEqualTo(2));
+    }
+
+    @Test
+    void shouldRejectInvalidParametersLikeBouncyCastle() {
+        var out = new byte[32];
+
+        assertThrows(
+                IllegalStateException.class,
+                () -> engine.generateBytes(0x13, 8, 1, 0, new byte[16], new byte[8], out));
+        assertThrows(
+                IllegalStateException.class,
+                () -> engine.generateBytes(0x13, 7, 1, 4, new byte[16], new byte[8], out));
+        assertThrows(
+                IllegalStateException.class,
+                () -> engine.generateBytes(0x13, 8, 0, 1, new byte[16], new byte[8], out));
+        assertThrows(
+                IllegalStateException.class,
+                () -> engine.generateBytes(0x13, 8, 1, 1, new byte[16], new byte[8], new byte[3]));
+    }
+
+    @Test
+    void matcherShouldAcceptHashesProducedByBouncyCastle() {
+        var salt = "a-sixteen-b-salt".getBytes(StandardCharsets.UTF_8);
+        var hash = new byte[32];
+        var generator = new Argon2BytesGenerator();
+        generator.init(
+                new Argon2Parameters.Builder(Argon2Parameters.ARGON2_id)
+                        .withVersion(Argon2Parameters.ARGON2_VERSION_13)
+                        .withMemoryAsKB(512)
+                        .withIterations(2)
+                        .withParallelism(2)
+                        .withSalt(salt)
+                        .build());
+        generator.generateBytes("cyfrinair-ŵŷâ".toCharArray(), hash);
+        var encoded =
+                "$argon2id$v=19$m=512,t=2,p=2$"
+                        + BASE64_ENCODER.encodeToString(salt)
+                        + "$"
+                        + BASE64_ENCODER.encodeToString(hash);
+
+        for (int i = 0; i < 2; i++) {
+            assertTrue(Argon2MatcherHelper.matchRawStringWithEncoded("cyfrinair-ŵŷâ", encoded));
+            assertFalse(Argon2MatcherHelper.matchRawStringWithEncoded("cyfrinair", encoded));
+        }
+    }
+
+    @Test
+    void matcherShouldRejectHashWithSamePrefixButDifferentHash() {
+        var encoded = Argon2EncoderHelper.argon2Hash("password", new Argon2Cost(256, 1, 1));
+        var prefix = encoded.substring(0, encoded.lastIndexOf('$') + 1);
+
+        assertTrue(Argon2MatcherHelper.matchRawStringWithEncoded("password", encoded));
+        assertFalse(
+                Argon2MatcherHelper.matchRawStringWithEncoded(
+                        "password", prefix + BASE64_ENCODER.encodeToString(new byte[32])));
+        assertFalse(Argon2MatcherHelper.matchRawStringWithEncoded("password", prefix + "!!"));
+    }
+}
@@ -0,0 +1,228 @@
+package uk.gov.di.authentication.shared.helpers;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import uk.gov.di.authentication.shared.exceptions.Argon2HashRejectedException;
+import uk.gov.di.authentication.shared.services.CloudwatchMetricsService;
+import uk.gov.di.authentication.shared.services.ConfigurationService;
+
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class Argon2HashingExecutorTest {
+
+    private static final long MIB = 1024 * 1024;
+    private final ConfigurationService configurationService = mock(ConfigurationService.class);
+    private final CloudwatchMetricsService cloudwatchMetricsService =
+            mock(CloudwatchMetricsService.class);
+    private final ExecutorService threads = Executors.newCachedThreadPool();
+
+    @BeforeEach
+    void setUp() {
+        when(configurationService.isArgon2AdmissionControlEnabled()).thenReturn(true);
+        when(configurationService.getArgon2AdmissionDeadlineMillis()).thenReturn(60_000L);
+        when(configurationService.getEnvironment()).thenReturn("test");
+    }
+
+    @AfterEach
+    void tearDown() {
+        threads.shutdownNow();
+    }
+
+    @Test
+    void shouldDeriveConcurrencyFromHeapSize() {
+        var bytesPerHash = Argon2HashingExecutor.bytesPerHash(Argon2Cost.DEFAULT);
+
+        assertThat(bytesPerHash, equalTo(16 * MIB));
+        assertThat(
+                Argon2HashingExecutor.maxConcurrentHashes(0, 512 * MIB, bytesPerHash), equalTo(16));
+        assertThat(
+                Argon2HashingExecutor.maxConcurrentHashes(0, 128 * MIB, bytesPerHash), equalTo(4));
+        assertThat(
+                Argon2HashingExecutor.maxConcurrentHashes(0, 16 * MIB, bytesPerHash), equalTo(1));
+        assertThat(
+                Argon2HashingExecutor.maxConcurrentHashes(3, 512 * MIB, bytesPerHash), equalTo(3));
+    }
+
+    @Test
+    void shouldRunHashDirectlyWhenDisabled() {
+        when(configurationService.isArgon2AdmissionControlEnabled()).thenReturn(false);
+        var executor = new Argon2HashingExecutor(configurationService, cloudwatchMetricsService, 1);
+
+        assertThat(executor.execute(() -> "hashed"), equalTo("hashed"));
+        verify(cloudwatchMetricsService, never())
+                .putEmbeddedValue(anyString(), anyDouble(), anyMap());
+    }
+
+    @Test
+    void shouldEmitQueueAndHashTimeMetrics() {
+        var executor = new Argon2HashingExecutor(configurationService, cloudwatchMetricsService, 1);
+
+        assertThat(executor.execute(() -> "hashed"), equalTo("hashed"));
+        verify(cloudwatchMetricsService)
+                .putEmbeddedValue(
+                        eq("Argon2QueueTime"), anyDouble(), eq(Map.of("Environment", "test")));
+        verify(cloudwatchMetricsService)
+                .putEmbeddedValue(
+                        eq("Argon2HashTime"), anyDouble(), eq(Map.of("Environment", "test")));
+        assertThat(executor.availablePermits(), equalTo(1));
+    }
+
+    @Test
+    void shouldReleasePermitWhenHashThrows() {
+        var executor = new Argon2HashingExecutor(configurationService, cloudwatchMetricsService, 1);
+
+        assertThrows(
+                IllegalStateException.class,
+                () ->
+                        executor.execute(
+                                () -> {
+                                    throw new IllegalStateException();
+                                }));
+        assertThat(executor.availablePermits(), equalTo(1));
+    }
+
+    @Test
+    void shouldRejectWhenNoPermitIsFreedBeforeDeadline() throws Exception {
+        when(configurationService.getArgon2AdmissionDeadlineMillis()).thenReturn(50L);
+        var executor = new Argon2HashingExecutor(configurationService, cloudwatchMetricsService, 1);
+        var release = new CountDownLatch(1);
+        var holding = holdPermit(executor, release);
+
+        var exception =
+                assertThrows(
+                        Argon2HashRejectedException.class, () -> executor.execute(() -> "hashed"));
+        assertThat(exception.getRetryAfterSeconds(), equalTo(1L));
+        verify(cloudwatchMetricsService)
+                .incrementCounter("Argon2HashRejected", Map.of("Environment", "test"));
+
+        release.countDown();
+        holding.get(5, TimeUnit.SECONDS);
+        assertThat(executor.availablePermits(), equalTo(1));
+    }
+
+    @Test
+    void shouldRejectImmediatelyWhenQueueCannotClearBeforeDeadline() throws Exception {
+        when(configurationService.getArgon2AdmissionDeadlineMillis()).thenReturn(1_000L);
+        var executor = new Argon2HashingExecutor(configurationService, cloudwatchMetricsService, 1);
+        executor.execute(() -> sleep(1_500));
+        var release = new CountDownLatch(1);
+        var holding = holdPermit(executor, release);
+
+        var start = System.nanoTime();
+        assertThrows(Argon2HashRejectedException.class, () -> executor.execute(() -> "hashed"));
+        assertThat(System.nanoTime() - start, lessThan(TimeUnit.MILLISECONDS.toNanos(500)));
+
+        release.countDown();
+        holding.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void shouldBoundConcurrentHashesAndHeapUnder64ConcurrentCallers() throws Exception {
+        var bytesPerHash = Argon2HashingExecutor.bytesPerHash(Argon2Cost.DEFAULT);
+        var maxConcurrentHashes =
+                Argon2HashingExecutor.maxConcurrentHashes(0, 128 * MIB, bytesPerHash);
+        var executor =
+                new Argon2HashingExecutor(
+                        configurationService, cloudwatchMetricsService, maxConcurrentHashes);
+        var inFlight = new AtomicInteger();
+        var peakInFlight = new AtomicInteger();
+        var peakHeapInUse = new AtomicLong();
+        var runtime = Runtime.getRuntime();
+        var start = new CountDownLatch(1);
+        var results = new ArrayList<CompletableFuture<Boolean>>();
+
+        for (int i = 0; i < 64; i++) {
+            var password = "password-" + i;
+            results.add(
+                    CompletableFuture.supplyAsync(
+                            () -> {
+                                await(start);
+                                return executor.execute(
+                                        () -> {
+                                            peakInFlight.accumulateAndGet(
+                                                    inFlight.incrementAndGet(), Math::max);
+                                            try {
+                                                var encoded =
+                                                        Argon2EncoderHelper.argon2Hash(password);
+                                                peakHeapInUse.accumulateAndGet(
+                                                        runtime.totalMemory()
+                                                                - runtime.freeMemory(),
+                                                        Math::max);
+                                                return Argon2MatcherHelper
+                                                        .matchRawStringWithEncoded(
+                                                                password, encoded);
+                                            } finally {
+                                                inFlight.decrementAndGet();
+                                            }
+                                        });
+                            },
+                            threads));
+        }
+        start.countDown();
+
+        for (CompletableFuture<Boolean> result : results) {
+            assertTrue(result.get(2, TimeUnit.MINUTES));
+        }
+        assertThat(peakInFlight.get(), lessThanOrEqualTo(maxConcurrentHashes));
+        assertThat(executor.availablePermits(), equalTo(maxConcurrentHashes));
+        assertThat(peakHeapInUse.get(), lessThan(runtime.maxMemory() - bytesPerHash));
+    }
+
+    private CompletableFuture<String> holdPermit(
+            Argon2HashingExecutor executor, CountDownLatch release) throws InterruptedException {
+        var acquired = new CountDownLatch(1);
+        var holding =
+                CompletableFuture.supplyAsync(
+                        () ->
+                                executor.execute(
+                                        () -> {
+                                            acquired.countDown();
+                                            await(release);
+                                            return "held";
+                                        }),
+                        threads);
+        assertTrue(acquired.await(5, TimeUnit.SECONDS));
+        return holding;
+    }
+
+    private static String sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return "slept";
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -2,11 +2,18 @@ package uk.gov.di.authentication.shared.helpers;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.Optional;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.startsWith;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class Argon2HelperTest {
 
+    private static final Argon2Cost OTHER_COST = new Argon2Cost(4096, 3, 1);
+
     @Test
     void correctPasswordShouldMatchEncodedPassword() {
         String testPassword = "test-password123";
@@ -23,4 +30,71 @@ class Argon2HelperTest {
 
         assertFalse(Argon2MatcherHelper.matchRawStringWithEncoded(wrongPassword, encodedPassword));
     }
+
+    @Test
+    void shouldEncodeCostParametersInHash() {
+        var encodedPassword = Argon2EncoderHelper.argon2Hash("test-password123", OTHER_COST);
+
+        assertThat(encodedPassword, startsWith("$argon2id$v=19$m=4096,t=3,p=1$"));
+        assertThat(Argon2Cost.fromEncodedHash(encodedPassword), equalTo(Optional.of(OTHER_COST)));
+    }
+
+    @Test
+    void shouldMatchPasswordsHashedWithDifferentParameters() {
+        var testPassword = "test-password123";
+        var currentHash = Argon2EncoderHelper.argon2Hash(testPassword);
+        var otherHash = Argon2EncoderHelper.argon2Hash(testPassword, OTHER_COST);
+
+        assertTrue(Argon2MatcherHelper.matchRawStringWithEncoded(testPassword, currentHash));
+        assertTrue(Argon2MatcherHelper.matchRawStringWithEncoded(testPassword, otherHash));
+        assertFalse(Argon2MatcherHelper.matchRawStringWithEncoded("test-password", otherHash));
+    }
+
+    @Test
+    void shouldUseTheSaltOfEachHashWhenTheyShareCostParameters() {
+        var testPassword = "test-password123";
+        var firstHash = Argon2EncoderHelper.argon2Hash(testPassword);
+        var secondHash = Argon2EncoderHelper.argon2Hash(testPassword);
+        var firstHashWithSecondSalt =
+                secondHash.substring(0, secondHash.lastIndexOf('$'))
+                        + firstHash.substring(firstHash.lastIndexOf('$'));
+
+        assertTrue(Argon2MatcherHelper.matchRawStringWithEncoded(testPassword, firstHash));
+        assertTrue(Argon2MatcherHelper.matchRawStringWithEncoded(testPassword, secondHash));
+        assertFalse(
+                Argon2MatcherHelper.matchRawStringWithEncoded(
+                        testPassword, firstHashWithSecondSalt));
+    }
+
+    @Test
+    void shouldNotMatchWhenHashCannotBeParsed() {
+        assertFalse(Argon2MatcherHelper.matchRawStringWithEncoded("password", "not-a-hash"));
+        assertFalse(
+                Argon2MatcherHelper.matchRawStringWithEncoded(
+                        "password", "$argon2id$v=19$m=4096,t=3$c2FsdA$aGFzaA"));
+        assertFalse(
+                Argon2MatcherHelper.matchRawStringWithEncoded(
+                        "password", "$argon2id$v=19$extra$m=4096,t=3,p=1$c2FsdA$aGFzaA"));
+    }
+
+    @Test
+    void shouldOnlyNeedRehashWhenParametersDifferFromConfigured() {
+        var testPassword = "test-password123";
+        var currentHash = Argon2EncoderHelper.argon2Hash(testPassword);
+        var otherHash = Argon2EncoderHelper.argon2Hash(testPassword, OTHER_COST);
+
+        assertThat(Argon2EncoderHelper.configuredCost(), equalTo(Argon2Cost.DEFAULT));
+        assertFalse(Argon2EncoderHelper.needsRehash(currentHash));
+        assertTrue(Argon2EncoderHelper.needsRehash(otherHash));
+        assertTrue(Argon2EncoderHelper.needsRehash(currentHash, OTHER_COST));
+        assertFalse(Argon2EncoderHelper.needsRehash(otherHash, OTHER_COST));
+    }
+
+    @Test
+    void shouldNotNeedRehashWhenHashCannotBeParsed() {
+        assertFalse(Argon2EncoderHelper.needsRehash(null));
+        assertFalse(Argon2EncoderHelper.needsRehash("not-a-hash"));
+        assertFalse(Argon2EncoderHelper.needsRehash("$argon2i$v=19$m=4096,t=3,p=1$c2FsdA$aGFzaA"));
+        assertFalse(Argon2EncoderHelper.needsRehash("$argon2id$v=19$m=x,t=3,p=1$c2FsdA$aGFzaA"));
+    }
 }
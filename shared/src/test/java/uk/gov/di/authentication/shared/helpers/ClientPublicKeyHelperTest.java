@@ -0,0 +1,75 @@
+package uk.gov.di.authentication.shared.helpers;
+
+import org.junit.jupiter.api.Test;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ClientPublicKeyHelperTest {
+
+    private static final String CLIENT_ID = "test-client-id";
+
+    @Test
+    void shouldReuseParsedPublicKeyAndVerifierForSameClientKey() {
+        var keyPair = generateRsaKeyPair();
+        var encodedPublicKey = encode(keyPair);
+
+        var publicKey = ClientPublicKeyHelper.getPublicKey(CLIENT_ID, encodedPublicKey);
+        var verifier = ClientPublicKeyHelper.getVerifier(CLIENT_ID, encodedPublicKey);
+
+        assertThat(publicKey, equalTo(keyPair.getPublic()));
+        assertThat(
+                ClientPublicKeyHelper.getPublicKey(CLIENT_ID, encodedPublicKey),
+                sameInstance(publicKey));
+        assertThat(
+                ClientPublicKeyHelper.getVerifier(CLIENT_ID, encodedPublicKey),
+                sameInstance(verifier));
+    }
+
+    @Test
+    void shouldReplaceCachedKeyWhenClientPublicKeyChanges() {
+        var originalKeyPair = generateRsaKeyPair();
+        var rotatedKeyPair = generateRsaKeyPair();
+        var originalPublicKey =
+                ClientPublicKeyHelper.getPublicKey(CLIENT_ID, encode(originalKeyPair));
+        var cachedKeyCount = ClientPublicKeyHelper.cachedKeyCount();
+
+        var rotatedPublicKey =
+                ClientPublicKeyHelper.getPublicKey(CLIENT_ID, encode(rotatedKeyPair));
+
+        assertThat(rotatedPublicKey, equalTo(rotatedKeyPair.getPublic()));
+        assertThat(rotatedPublicKey, not(equalTo(originalPublicKey)));
+        assertThat(ClientPublicKeyHelper.cachedKeyCount(), equalTo(cachedKeyCount));
+    }
+
+    @Test
+    void shouldThrowWhenPublicKeyCannotBeParsed() {
+        var invalidPublicKey = Base64.getMimeEncoder().encodeToString("not-a-key".getBytes());
+
+        assertThrows(
+                RuntimeException.class,
+                () -> ClientPublicKeyHelper.getPublicKey("another-client-id", invalidPublicKey));
+    }
+
+    private static String encode(KeyPair keyPair) {
+        return Base64.getMimeEncoder().encodeToString(keyPair.getPublic().getEncoded());
+    }
+
+    private static KeyPair generateRsaKeyPair() {
+        try {
+            var keyPairGenerator = KeyPairGenerator.getInstance("RSA");
+            keyPairGenerator.initialize(2048);
+            return keyPairGenerator.generateKeyPair();
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -3,6 +3,7 @@ package uk.gov.di.authentication.shared.helpers;
 import com.nimbusds.oauth2.sdk.Scope;
 import com.nimbusds.oauth2.sdk.id.Subject;
 import com.nimbusds.openid.connect.sdk.OIDCScopeValue;
+import org.jose4j.base64url.Base64Url;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import uk.gov.di.authentication.shared.entity.ClientConsent;
@@ -12,16 +13,21 @@ import uk.gov.di.authentication.shared.entity.ValidScopes;
 import uk.gov.di.authentication.shared.services.AuthenticationService;
 import uk.gov.di.authentication.sharedtest.helper.KeyPairHelper;
 
+import java.nio.charset.StandardCharsets;
 import java.security.KeyPair;
+import java.security.MessageDigest;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.Base64;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.IntStream;
 
 import static com.nimbusds.openid.connect.sdk.SubjectType.PAIRWISE;
 import static com.nimbusds.openid.connect.sdk.SubjectType.PUBLIC;
 import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toList;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.not;
@@ -363,6 +369,118 @@ class ClientSubjectHelperTest {
         assertTrue(ClientSubjectHelper.hasValidClientConfig(clientRegistry));
     }
 
+    @Test
+    void shouldDerivePairwiseSubjectFromSectorHostSubjectAndSalt() throws Exception {
+        var salt = SaltHelper.generateNewSalt();
+        when(authenticationService.getOrGenerateSalt(userProfile)).thenReturn(salt);
+        var clientRegistry =
+                generateClientRegistryPairwise(
+                        keyPair,
+                        "test-client-id-1",
+                        PAIRWISE.toString(),
+                        "https://www.test.com",
+                        false);
+        var expected = expectedPairwiseIdentifier("test.com", INTERNAL_SUBJECT.getValue(), salt);
+
+        var first =
+                ClientSubjectHelper.getSubject(
+                        userProfile, clientRegistry, authenticationService, INTERNAL_SECTOR_URI);
+        var second =
+                ClientSubjectHelper.getSubject(
+                        userProfile, clientRegistry, authenticationService, INTERNAL_SECTOR_URI);
+        var withSectorIdentifier =
+                ClientSubjectHelper.getSubjectWithSectorIdentifier(
+                        userProfile, "https://test.com/sector", authenticationService);
+
+        assertThat(first.getValue(), equalTo(expected));
+        assertThat(second.getValue(), equalTo(expected));
+        assertThat(withSectorIdentifier.getValue(), equalTo(expected));
+    }
+
+    @Test
+    void shouldRecalculatePairwiseSubjectWhenSaltChanges() throws Exception {
+        var clientRegistry =
+                generateClientRegistryPairwise(
+                        keyPair,
+                        "test-client-id-1",
+                        PAIRWISE.toString(),
+                        "https://test.com",
+                        false);
+        var firstSalt = SaltHelper.generateNewSalt();
+        var secondSalt = SaltHelper.generateNewSalt();
+
+        when(authenticationService.getOrGenerateSalt(userProfile)).thenReturn(firstSalt);
+        var first =
+                ClientSubjectHelper.getSubject(
+                        userProfile, clientRegistry, authenticationService, INTERNAL_SECTOR_URI);
+        when(authenticationService.getOrGenerateSalt(userProfile)).thenReturn(secondSalt);
+        var second =
+                ClientSubjectHelper.getSubject(
+                        userProfile, clientRegistry, authenticationService, INTERNAL_SECTOR_URI);
+
+        assertThat(
+                first.getValue(),
+                equalTo(
+                        expectedPairwiseIdentifier(
+                                "test.com", INTERNAL_SUBJECT.getValue(), firstSalt)));
+        assertThat(
+                second.getValue(),
+                equalTo(
+                        expectedPairwiseIdentifier(
+                                "test.com", INTERNAL_SUBJECT.getValue(), secondSalt)));
+    }
+
+    @Test
+    void shouldUseTheCurrentSectorUriWhenItChanges() {
+        var clientRegistry =
+                generateClientRegistryPairwise(
+                        keyPair,
+                        "test-client-id-1",
+                        PAIRWISE.toString(),
+                        "https://test.com",
+                        false);
+
+        assertThat(
+                ClientSubjectHelper.getSectorIdentifierForClient(
+                        clientRegistry, INTERNAL_SECTOR_URI),
+                equalTo("test.com"));
+
+        clientRegistry.setSectorIdentifierUri("https://other.test.com");
+
+        assertThat(
+                ClientSubjectHelper.getSectorIdentifierForClient(
+                        clientRegistry, INTERNAL_SECTOR_URI),
+                equalTo("other.test.com"));
+    }
+
+    @Test
+    void shouldCalculateSamePairwiseIdentifiersConcurrently() throws Exception {
+        var salt = SaltHelper.generateNewSalt();
+        var subjectIds = IntStream.range(0, 500).mapToObj(i -> "subject-" + i).collect(toList());
+        var expected = new ArrayList<String>();
+        for (var subjectId : subjectIds) {
+            expected.add(expectedPairwiseIdentifier("test.com", subjectId, salt));
+        }
+
+        var actual =
+                subjectIds.parallelStream()
+                        .map(
+                                subjectId ->
+                                        ClientSubjectHelper.calculatePairwiseIdentifier(
+                                                subjectId, "test.com", salt))
+                        .collect(toList());
+
+        assertThat(actual, equalTo(expected));
+    }
+
+    private static String expectedPairwiseIdentifier(
+            String sectorHost, String subjectId, byte[] salt) throws Exception {
+        var md = MessageDigest.getInstance("SHA-256");
+        md.update(sectorHost.getBytes(StandardCharsets.UTF_8));
+        md.update(subjectId.getBytes(StandardCharsets.UTF_8));
+        return "urn:fdc:gov.uk:2022:" + Base64Url.encode(md.digest(salt));
+    }
+
     private ClientRegistry generateClientRegistryPairwise(
             KeyPair keyPair,
             String clientID,
@@ -0,0 +1,82 @@
+package uk.gov.di.authentication.shared.helpers;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.Optional;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ExpiringLruCacheTest {
+
+    private static final Instant NOW = Instant.parse("2022-06-01T12:00:00Z");
+
+    private final Clock clock = mock(Clock.class);
+    private ExpiringLruCache<String, String> cache;
+
+    @BeforeEach
+    void setUp() {
+        when(clock.instant()).thenReturn(NOW);
+        cache = new ExpiringLruCache<>(2, new NowHelper.NowClock(clock));
+    }
+
+    @Test
+    void shouldReturnValueBeforeExpiry() {
+        cache.put("key", "value", Date.from(NOW.plusSeconds(60)));
+
+        assertThat(cache.get("key"), equalTo(Optional.of("value")));
+    }
+
+    @Test
+    void shouldNotReturnValueOnceExpired() {
+        cache.put("key", "value", Duration.ofSeconds(60));
+        when(clock.instant()).thenReturn(NOW.plusSeconds(60));
+
+        assertThat(cache.get("key"), equalTo(Optional.empty()));
+        assertThat(cache.size(), equalTo(0));
+    }
+
+    @Test
+    void shouldNotStoreValueThatHasAlreadyExpired() {
+        cache.put("key", "value", Date.from(NOW.minusSeconds(1)));
+
+        assertThat(cache.get("key"), equalTo(Optional.empty()));
+        assertThat(cache.size(), equalTo(0));
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedEntryWhenFull() {
+        cache.put("first", "1", Duration.ofSeconds(60));
+        cache.put("second", "2", Duration.ofSeconds(60));
+        cache.get("first");
+        cache.put("third", "3", Duration.ofSeconds(60));
+
+        assertThat(cache.get("first"), equalTo(Optional.of("1")));
+        assertThat(cache.get("second"), equalTo(Optional.empty()));
+        assertThat(cache.get("third"), equalTo(Optional.of("3")));
+    }
+
+    @Test
+    void shouldInvalidateMatchingEntries() {
+        cache.put("first", "1", Duration.ofSeconds(60));
+        cache.put("second", "2", Duration.ofSeconds(60));
+
+        cache.invalidateIf((key, value) -> value.equals("1"));
+
+        assertThat(cache.get("first"), equalTo(Optional.empty()));
+        assertThat(cache.get("second"), equalTo(Optional.of("2")));
+    }
+
+    @Test
+    void shouldRejectNonPositiveSize() {
+        assertThrows(IllegalArgumentException.class, () -> new ExpiringLruCache<>(0));
+    }
+}
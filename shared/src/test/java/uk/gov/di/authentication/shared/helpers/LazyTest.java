@@ -0,0 +1,60 @@
+package uk.gov.di.authentication.shared.helpers;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
+
+class LazyTest {
+
+    @Test
+    void shouldNotCallSupplierUntilFirstGet() {
+        var calls = new AtomicInteger();
+
+        var lazy = Lazy.of(() -> "value-" + calls.incrementAndGet());
+
+        assertThat(lazy.isInitialised(), equalTo(false));
+        assertThat(calls.get(), equalTo(0));
+    }
+
+    @Test
+    void shouldCallSupplierOnceAndShareTheValue() {
+        var calls = new AtomicInteger();
+        var lazy = Lazy.of(() -> new StringBuilder("value-" + calls.incrementAndGet()));
+
+        var first = lazy.get();
+        var second = lazy.get();
+
+        assertThat(first, sameInstance(second));
+        assertThat(calls.get(), equalTo(1));
+        assertThat(lazy.isInitialised(), equalTo(true));
+    }
+
+    @Test
+    void shouldTreatProvidedValueAsInitialised() {
+        var lazy = Lazy.value("value");
+
+        assertThat(lazy.isInitialised(), equalTo(true));
+        assertThat(lazy.get(), equalTo("value"));
+    }
+
+    @Test
+    void shouldCallSupplierOnceUnderConcurrentAccess() throws InterruptedException {
+        var calls = new AtomicInteger();
+        var lazy = Lazy.of(() -> calls.incrementAndGet());
+        var executor = Executors.newFixedThreadPool(8);
+
+        for (int i = 0; i < 100; i++) {
+            executor.submit(lazy::get);
+        }
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        assertThat(calls.get(), equalTo(1));
+    }
+}
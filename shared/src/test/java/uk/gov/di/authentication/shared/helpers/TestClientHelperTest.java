@@ -12,10 +12,12 @@ import uk.gov.di.authentication.shared.services.ConfigurationService;
 import uk.gov.di.authentication.shared.state.UserContext;
 import uk.gov.di.authentication.sharedtest.logging.CaptureLoggingExtension;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.everyItem;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -128,6 +130,106 @@ class TestClientHelperTest {
         assertThat(logging.events(), everyItem(withMessageContaining("PatternSyntaxException")));
     }
 
+    @Test
+    void shouldMatchMixedExactAndRegexEntriesForAClient() {
+        var clientId = new ClientID().getValue();
+        var allowlist =
+                List.of(
+                        "^(.+)@interwebs.org$",
+                        "testclient.user2@internet.com",
+                        "^[$",
+                        "^(.+)@digital.cabinet-office.gov.uk$",
+                        "testclient.user1@digital.cabinet-office.gov.uk");
+
+        assertTrue(
+                TestClientHelper.emailMatchesAllowlist(
+                        clientId, "testclient.user2@internet.com", allowlist));
+        assertTrue(
+                TestClientHelper.emailMatchesAllowlist(
+                        clientId, "user.one1@interwebs.org", allowlist));
+        assertTrue(TestClientHelper.emailMatchesAllowlist(clientId, TEST_EMAIL_ADDRESS, allowlist));
+        assertFalse(
+                TestClientHelper.emailMatchesAllowlist(
+                        clientId, "testclient.user3@internet.com", allowlist));
+        assertFalse(TestClientHelper.emailMatchesAllowlist(clientId, "^[$", allowlist));
+    }
+
+    @Test
+    void shouldNotMatchExactEntriesAsRegex() {
+        var allowlist = List.of("test.client@digital.cabinet-office.gov.uk");
+
+        assertFalse(
+                TestClientHelper.emailMatchesAllowlist(
+                        new ClientID().getValue(),
+                        "test-client@digital-cabinet-office.gov.uk",
+                        allowlist));
+    }
+
+    @Test
+    void shouldKeepGroupReferencesInRegexEntriesWorking() {
+        var allowlist =
+                List.of(
+                        "^(.+)@interwebs.org$",
+                        "^(\\w+)\\.\\1@internet.com$",
+                        "^(?<name>\\w+)\\+\\k<name>@internet.com$");
+        var clientId = new ClientID().getValue();
+
+        assertTrue(
+                TestClientHelper.emailMatchesAllowlist(
+                        clientId, "abc.abc@internet.com", allowlist));
+        assertTrue(
+                TestClientHelper.emailMatchesAllowlist(
+                        clientId, "abc+abc@internet.com", allowlist));
+        assertFalse(
+                TestClientHelper.emailMatchesAllowlist(
+                        clientId, "abc.def@internet.com", allowlist));
+    }
+
+    @Test
+    void shouldKeepMatchingWhenAnEntryCannotBeCombinedWithTheOthers() {
+        var allowlist =
+                List.of(
+                        "^(.+)@digital.cabinet-office.gov.uk$",
+                        "^\\Qa+b@internet.com$",
+                        "^(?x) user \\. one @ interwebs\\.org  # comment ending in $",
+                        "^(.+)@internet.com$");
+        var clientId = new ClientID().getValue();
+
+        assertTrue(TestClientHelper.emailMatchesAllowlist(clientId, TEST_EMAIL_ADDRESS, allowlist));
+        assertTrue(
+                TestClientHelper.emailMatchesAllowlist(
+                        clientId, "testclient.user2@internet.com", allowlist));
+        assertTrue(
+                TestClientHelper.emailMatchesAllowlist(clientId, "a+b@internet.com$", allowlist));
+        assertTrue(
+                TestClientHelper.emailMatchesAllowlist(
+                        clientId, "user.one@interwebs.org", allowlist));
+        assertFalse(
+                TestClientHelper.emailMatchesAllowlist(
+                        clientId, "user.one@interwebs.org.uk", allowlist));
+    }
+
+    @Test
+    void shouldReuseCompiledAllowlistAndRecompileWhenItChanges() {
+        var clientId = new ClientID().getValue();
+        var countBefore = TestClientHelper.compiledAllowlistCount();
+
+        assertTrue(TestClientHelper.emailMatchesAllowlist(clientId, TEST_EMAIL_ADDRESS, ALLOWLIST));
+        assertTrue(
+                TestClientHelper.emailMatchesAllowlist(
+                        clientId, TEST_EMAIL_ADDRESS, new ArrayList<>(ALLOWLIST)));
+        assertThat(TestClientHelper.compiledAllowlistCount(), equalTo(countBefore + 1));
+
+        assertFalse(
+                TestClientHelper.emailMatchesAllowlist(
+                        clientId, TEST_EMAIL_ADDRESS, List.of("testclient.user2@internet.com")));
+        assertTrue(
+                TestClientHelper.emailMatchesAllowlist(
+                        clientId,
+                        "testclient.user2@internet.com",
+                        List.of("testclient.user2@internet.com")));
+    }
+
     private UserContext buildUserContext(boolean isTestClient, List<String> allowedEmails) {
         var clientRegistry =
                 new ClientRegistry()
@@ -0,0 +1,214 @@
+package uk.gov.di.authentication.shared.lambda;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
+import org.apache.logging.log4j.ThreadContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.Answer;
+import uk.gov.di.authentication.shared.entity.BaseFrontendRequest;
+import uk.gov.di.authentication.shared.entity.ClientRegistry;
+import uk.gov.di.authentication.shared.entity.ClientSession;
+import uk.gov.di.authentication.shared.entity.ErrorResponse;
+import uk.gov.di.authentication.shared.entity.Session;
+import uk.gov.di.authentication.shared.entity.UserCredentials;
+import uk.gov.di.authentication.shared.entity.UserProfile;
+import uk.gov.di.authentication.shared.services.AuthenticationService;
+import uk.gov.di.authentication.shared.services.ClientService;
+import uk.gov.di.authentication.shared.services.ClientSessionService;
+import uk.gov.di.authentication.shared.services.ConfigurationService;
+import uk.gov.di.authentication.shared.services.SessionService;
+import uk.gov.di.authentication.shared.state.UserContext;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static uk.gov.di.authentication.sharedtest.matchers.APIGatewayProxyResponseEventMatcher.hasJsonBody;
+import static uk.gov.di.authentication.sharedtest.matchers.APIGatewayProxyResponseEventMatcher.hasStatus;
+
+class BaseFrontendHandlerTest {
+
+    private static final String SESSION_ID = "a-session-id";
+    private static final String CLIENT_SESSION_ID = "a-client-session-id";
+    private static final String CLIENT_ID = "a-client-id";
+    private static final String EMAIL = "joe.bloggs@digital.cabinet-office.gov.uk";
+    private static final long OVERLAP_TIMEOUT_SECONDS = 5;
+
+    private final ConfigurationService configurationService = mock(ConfigurationService.class);
+    private final SessionService sessionService = mock(SessionService.class);
+    private final ClientSessionService clientSessionService = mock(ClientSessionService.class);
+    private final ClientService clientService = mock(ClientService.class);
+    private final AuthenticationService authenticationService = mock(AuthenticationService.class);
+    private final Context context = mock(Context.class);
+    private final UserProfile userProfile = mock(UserProfile.class);
+    private final UserCredentials userCredentials = mock(UserCredentials.class);
+    private final ClientRegistry clientRegistry = mock(ClientRegistry.class);
+    private final Session session = new Session(SESSION_ID, new ArrayList<>(), EMAIL);
+    private final ClientSession clientSession =
+            new ClientSession(
+                    Map.of("client_id", List.of(CLIENT_ID)), LocalDateTime.now(), null, null);
+
+    private final CountDownLatch redisLookups = new CountDownLatch(2);
+    private final CountDownLatch dynamoLookups = new CountDownLatch(3);
+
+    private TestHandler handler;
+
+    @BeforeEach
+    void setUp() {
+        when(sessionService.getSessionFromRequestHeaders(any()))
+                .thenAnswer(overlapping(redisLookups, Optional.of(session)));
+        when(clientSessionService.getClientSessionFromRequestHeaders(any()))
+                .thenAnswer(overlapping(redisLookups, Optional.of(clientSession)));
+        when(clientService.getClient(CLIENT_ID))
+                .thenAnswer(overlapping(dynamoLookups, Optional.of(clientRegistry)));
+        when(authenticationService.getUserProfileFromEmail(EMAIL))
+                .thenAnswer(overlapping(dynamoLookups, Optional.of(userProfile)));
+        when(authenticationService.getUserCredentialsFromEmail(EMAIL))
+                .thenAnswer(overlapping(dynamoLookups, userCredentials));
+        handler =
+                new TestHandler(
+                        configurationService,
+                        sessionService,
+                        clientSessionService,
+                        clientService,
+                        authenticationService);
+    }
+
+    @Test
+    void shouldBuildUserContextFromConcurrentLookups() {
+        var response = handler.handleRequest(request("{\"email\": \"" + EMAIL + "\"}"), context);
+
+        assertThat(response, hasStatus(200));
+        assertThat(handler.userContext.getSession(), equalTo(session));
+        assertThat(handler.userContext.getClientSession(), equalTo(clientSession));
+        assertThat(handler.userContext.getClient(), equalTo(Optional.of(clientRegistry)));
+        assertThat(handler.userContext.getUserProfile(), equalTo(Optional.of(userProfile)));
+        assertThat(handler.userContext.getUserCredentials(), equalTo(Optional.of(userCredentials)));
+        assertThat(handler.userContext.isUserAuthenticated(), equalTo(true));
+    }
+
+    @Test
+    void shouldRunDynamoLookupsWithTheRequestLogContext() {
+        var loggedSessionId = new AtomicReference<String>();
+        doAnswer(
+                        invocation -> {
+                            loggedSessionId.set(ThreadContext.get("sessionId"));
+                            return Optional.of(userProfile);
+                        })
+                .when(authenticationService)
+                .getUserProfileFromEmail(EMAIL);
+        doReturn(userCredentials).when(authenticationService).getUserCredentialsFromEmail(EMAIL);
+        doReturn(Optional.of(clientRegistry)).when(clientService).getClient(CLIENT_ID);
+
+        handler.handleRequest(request("{\"email\": \"" + EMAIL + "\"}"), context);
+
+        assertThat(loggedSessionId.get(), equalTo(SESSION_ID));
+    }
+
+    @Test
+    void shouldReturn400WhenSessionIsMissingEvenIfRequestIsInvalid() {
+        doReturn(Optional.empty()).when(sessionService).getSessionFromRequestHeaders(any());
+        doReturn(Optional.of(clientSession))
+                .when(clientSessionService)
+                .getClientSessionFromRequestHeaders(any());
+
+        var response = handler.handleRequest(request("not-json"), context);
+
+        assertThat(response, hasStatus(400));
+        assertThat(response, hasJsonBody(ErrorResponse.ERROR_1000));
+        verifyNoInteractions(clientService, authenticationService);
+    }
+
+    @Test
+    void shouldReturn400WhenRequestIsInvalid() {
+        var response = handler.handleRequest(request("not-json"), context);
+
+        assertThat(response, hasStatus(400));
+        assertThat(response, hasJsonBody(ErrorResponse.ERROR_1001));
+        verifyNoInteractions(clientService, authenticationService);
+    }
+
+    @Test
+    void shouldPropagateExceptionsThrownByLookups() {
+        doThrow(new IllegalStateException("boom")).when(clientService).getClient(CLIENT_ID);
+        doReturn(Optional.of(userProfile))
+                .when(authenticationService)
+                .getUserProfileFromEmail(EMAIL);
+        doReturn(userCredentials).when(authenticationService).getUserCredentialsFromEmail(EMAIL);
+
+        assertThrows(
+                IllegalStateException.class,
+                () -> handler.handleRequest(request("{\"email\": \"" + EMAIL + "\"}"), context));
+    }
+
+    /*
+     * Each lookup waits for the others in its group to start, so a handler that ran them one
+     * after another would time out here rather than build the user context.
+     */
+    private static <U> Answer<U> overlapping(CountDownLatch started, U value) {
+        return invocation -> {
+            started.countDown();
+            if (!started.await(OVERLAP_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                throw new AssertionError("Lookups did not run concurrently");
+            }
+            return value;
+        };
+    }
+
+    private static APIGatewayProxyRequestEvent request(String body) {
+        var event = new APIGatewayProxyRequestEvent();
+        event.setHeaders(Map.of("Session-Id", SESSION_ID, "Client-Session-Id", CLIENT_SESSION_ID));
+        event.setBody(body);
+        return event;
+    }
+
+    private static class TestRequest extends BaseFrontendRequest {}
+
+    private static class TestHandler extends BaseFrontendHandler<TestRequest> {
+
+        private UserContext userContext;
+
+        TestHandler(
+                ConfigurationService configurationService,
+                SessionService sessionService,
+                ClientSessionService clientSessionService,
+                ClientService clientService,
+                AuthenticationService authenticationService) {
+            super(
+                    TestRequest.class,
+                    configurationService,
+                    sessionService,
+                    clientSessionService,
+                    clientService,
+                    authenticationService,
+                    true);
+        }
+
+        @Override
+        public APIGatewayProxyResponseEvent handleRequestWithUserContext(
+                APIGatewayProxyRequestEvent input,
+                Context context,
+                TestRequest request,
+                UserContext userContext) {
+            this.userContext = userContext;
+            return new APIGatewayProxyResponseEvent().withStatusCode(200);
+        }
+    }
+}
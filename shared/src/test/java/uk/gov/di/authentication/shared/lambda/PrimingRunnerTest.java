@@ -0,0 +1,71 @@
+package uk.gov.di.authentication.shared.lambda;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import uk.gov.di.authentication.shared.services.CloudwatchMetricsService;
+import uk.gov.di.authentication.shared.services.ConfigurationService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PrimingRunnerTest {
+
+    private final ConfigurationService configurationService = mock(ConfigurationService.class);
+    private final CloudwatchMetricsService cloudwatchMetricsService =
+            mock(CloudwatchMetricsService.class);
+
+    @BeforeEach
+    void setUp() {
+        when(configurationService.getEnvironment()).thenReturn("test");
+    }
+
+    @Test
+    void shouldRunPrimeablesAndRecordPrimingDuration() {
+        var primed = new ArrayList<String>();
+
+        runner(List.of(() -> primed.add("first"), () -> primed.add("second"))).run();
+
+        assertThat(primed, equalTo(List.of("first", "second")));
+        verify(cloudwatchMetricsService)
+                .putEmbeddedValue(
+                        eq("HandlerPrimingDuration"),
+                        anyDouble(),
+                        eq(Map.of("Environment", "test")));
+    }
+
+    @Test
+    void shouldContinuePrimingWhenAPrimeableFails() {
+        var primed = new ArrayList<String>();
+
+        runner(
+                        List.of(
+                                () -> {
+                                    throw new IllegalStateException("priming failed");
+                                },
+                                () -> primed.add("second")))
+                .run();
+
+        assertThat(primed, equalTo(List.of("second")));
+    }
+
+    @Test
+    void shouldRunDefaultPrimeablesWithoutErrors() {
+        for (Primeable primeable : PrimingRunner.DEFAULT_PRIMEABLES) {
+            assertDoesNotThrow(primeable::prime);
+        }
+    }
+
+    private PrimingRunner runner(List<Primeable> primeables) {
+        return new PrimingRunner(configurationService, cloudwatchMetricsService, primeables);
+    }
+}
@@ -0,0 +1,163 @@
+package uk.gov.di.authentication.shared.serialization;
+
+import com.nimbusds.oauth2.sdk.id.Subject;
+import org.junit.jupiter.api.Test;
+import uk.gov.di.authentication.shared.entity.ClientSession;
+import uk.gov.di.authentication.shared.entity.CredentialTrustLevel;
+import uk.gov.di.authentication.shared.entity.LevelOfConfidence;
+import uk.gov.di.authentication.shared.entity.MFAMethodType;
+import uk.gov.di.authentication.shared.entity.Session;
+import uk.gov.di.authentication.shared.entity.VectorOfTrust;
+import uk.gov.di.authentication.shared.serialization.Json.JsonException;
+import uk.gov.di.authentication.shared.services.SerializationService;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CompactSessionCodecTest {
+
+    private final SerializationService objectMapper = SerializationService.getInstance();
+    private final CompactSessionCodec codec = new CompactSessionCodec(objectMapper);
+
+    @Test
+    void shouldRoundTripSession() throws JsonException {
+        var session =
+                new Session("a-session-id")
+                        .addClientSession("client-session-1")
+                        .addClientSession("client-session-2")
+                        .setEmailAddress("joe.bloggs@digital.cabinet-office.gov.uk")
+                        .incrementCodeRequestCount()
+                        .incrementPasswordResetCount()
+                        .setCurrentCredentialStrength(CredentialTrustLevel.MEDIUM_LEVEL)
+                        .setNewAccount(Session.AccountState.EXISTING)
+                        .setAuthenticated(true)
+                        .setVerifiedMfaMethodType(MFAMethodType.AUTH_APP)
+                        .setInternalCommonSubjectIdentifier("urn:fdc:gov.uk:2022:subject")
+                        .setRetryCount(3);
+        session.incrementProcessingIdentityAttempts();
+
+        var encoded = codec.encode(session);
+
+        assertThat(encoded, startsWith(CompactSessionCodec.PREFIX));
+        assertThat(
+                objectMapper.writeValueAsString(codec.decodeSession(encoded)),
+                equalTo(objectMapper.writeValueAsString(session)));
+    }
+
+    @Test
+    void shouldRoundTripNewSession() throws JsonException {
+        var session = new Session("a-session-id");
+
+        assertThat(
+                objectMapper.writeValueAsString(codec.decodeSession(codec.encode(session))),
+                equalTo(objectMapper.writeValueAsString(session)));
+    }
+
+    @Test
+    void shouldRoundTripClientSession() throws JsonException {
+        var authRequestParams = new LinkedHashMap<String, List<String>>();
+        authRequestParams.put("client_id", List.of("a-client-id"));
+        authRequestParams.put("redirect_uri", List.of("https://rp.example.com/callback"));
+        authRequestParams.put("response_type", List.of("code"));
+        authRequestParams.put("scope", List.of("openid email phone"));
+        authRequestParams.put("vtr", List.of("[\"Cl.Cm.P2\"]"));
+        authRequestParams.put("ui_locales", List.of("cy", "en"));
+        var clientSession =
+                new ClientSession(
+                                authRequestParams,
+                                LocalDateTime.of(2022, 3, 1, 12, 30, 15, 123_456_789),
+                                VectorOfTrust.of(
+                                        CredentialTrustLevel.MEDIUM_LEVEL,
+                                        LevelOfConfidence.MEDIUM_LEVEL),
+                                "Relying party – ŵ")
+                        .setIdTokenHint("an-id-token")
+                        .setDocAppSubjectId(new Subject("a-doc-app-subject"));
+
+        var encoded = codec.encode(clientSession);
+
+        assertThat(encoded, startsWith(CompactSessionCodec.PREFIX));
+        assertThat(
+                objectMapper.writeValueAsString(codec.decodeClientSession(encoded)),
+                equalTo(objectMapper.writeValueAsString(clientSession)));
+    }
+
+    @Test
+    void shouldRoundTripClientSessionWithoutOptionalFields() throws JsonException {
+        var clientSession = new ClientSession(Map.of(), null, null, null);
+
+        var decoded = codec.decodeClientSession(codec.encode(clientSession));
+
+        assertThat(decoded.getAuthRequestParams(), equalTo(Map.of()));
+        assertThat(decoded.getCreationDate(), nullValue());
+        assertThat(decoded.getEffectiveVectorOfTrust(), nullValue());
+        assertThat(decoded.getClientName(), nullValue());
+    }
+
+    @Test
+    void shouldBeSmallerThanJson() {
+        var clientSession =
+                new ClientSession(
+                        Map.of(
+                                "client_id", List.of("a-client-id"),
+                                "response_type", List.of("code"),
+                                "scope", List.of("openid email phone"),
+                                "vtr", List.of("[\"Cl.Cm\"]")),
+                        LocalDateTime.now(),
+                        VectorOfTrust.getDefaults(),
+                        "Relying party");
+
+        assertThat(
+                codec.encode(clientSession).length(),
+                lessThan(objectMapper.writeValueAsString(clientSession).length()));
+    }
+
+    @Test
+    void shouldCompressLargeValues() throws JsonException {
+        var clientSessions = new ArrayList<String>();
+        var session = new Session("a-session-id");
+        for (int i = 0; i < 50; i++) {
+            var clientSessionId = "client-session-" + i;
+            clientSessions.add(clientSessionId);
+            session.addClientSession(clientSessionId);
+        }
+
+        var encoded = codec.encode(session);
+        var flags =
+                Base64.getDecoder().decode(encoded.substring(CompactSessionCodec.PREFIX.length()));
+
+        assertThat(flags[0] & 1, equalTo(1));
+        assertThat(codec.decodeSession(encoded).getClientSessions(), equalTo(clientSessions));
+    }
+
+    @Test
+    void shouldReadLegacyJson() throws JsonException {
+        var session =
+                new Session("a-session-id")
+                        .addClientSession("client-session-1")
+                        .setEmailAddress("joe.bloggs@digital.cabinet-office.gov.uk");
+        var json = objectMapper.writeValueAsString(session);
+
+        assertThat(CompactSessionCodec.isCompact(json), equalTo(false));
+        assertThat(
+                objectMapper.writeValueAsString(codec.decodeSession(json)),
+                equalTo(objectMapper.writeValueAsString(session)));
+    }
+
+    @Test
+    void shouldThrowJsonExceptionForCorruptValue() {
+        assertThrows(
+                JsonException.class,
+                () -> codec.decodeSession(CompactSessionCodec.PREFIX + "AAH/"));
+    }
+}
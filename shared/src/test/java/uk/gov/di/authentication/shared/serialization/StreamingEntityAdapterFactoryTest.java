@@ -0,0 +1,193 @@
+package uk.gov.di.authentication.shared.serialization;
+
+import com.google.gson.FieldNamingPolicy;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.nimbusds.oauth2.sdk.id.State;
+import com.nimbusds.oauth2.sdk.id.Subject;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import uk.gov.di.audit.TxmaAuditEvent;
+import uk.gov.di.audit.TxmaAuditUser;
+import uk.gov.di.authentication.shared.entity.AccessTokenStore;
+import uk.gov.di.authentication.shared.entity.AuthCodeExchangeData;
+import uk.gov.di.authentication.shared.entity.ClientSession;
+import uk.gov.di.authentication.shared.entity.CredentialTrustLevel;
+import uk.gov.di.authentication.shared.entity.LevelOfConfidence;
+import uk.gov.di.authentication.shared.entity.MFAMethodType;
+import uk.gov.di.authentication.shared.entity.RefreshTokenStore;
+import uk.gov.di.authentication.shared.entity.Session;
+import uk.gov.di.authentication.shared.entity.VectorOfTrust;
+import uk.gov.di.authentication.shared.serialization.Json.JsonException;
+import uk.gov.di.authentication.shared.services.SerializationService;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+class StreamingEntityAdapterFactoryTest {
+
+    private final SerializationService objectMapper = SerializationService.getInstance();
+    private final Gson reflectiveGson =
+            new GsonBuilder()
+                    .setFieldNamingPolicy(FieldNamingPolicy.LOWER_CASE_WITH_UNDERSCORES)
+                    .serializeNulls()
+                    .excludeFieldsWithoutExposeAnnotation()
+                    .registerTypeAdapter(State.class, new StateAdapter())
+                    .registerTypeAdapter(LocalDateTime.class, new LocalDateTimeAdapter())
+                    .registerTypeAdapter(Subject.class, new SubjectAdapter())
+                    .create();
+
+    @ParameterizedTest
+    @MethodSource("goldenEntities")
+    void shouldWriteSameJsonAsGoldenFile(String goldenFile, Object entity) throws IOException {
+        var golden = readGoldenFile(goldenFile);
+
+        assertThat(objectMapper.writeValueAsString(entity), equalTo(golden));
+        assertThat(reflectiveGson.toJson(entity), equalTo(golden));
+    }
+
+    @ParameterizedTest
+    @MethodSource("goldenEntities")
+    void shouldReadGoldenFileLikeReflectiveAdapter(String goldenFile, Object entity)
+            throws IOException, JsonException {
+        var golden = readGoldenFile(goldenFile);
+
+        var streamed = objectMapper.readValue(golden, entity.getClass());
+        var reflective = reflectiveGson.fromJson(golden, entity.getClass());
+
+        assertThat(reflectiveGson.toJson(streamed), equalTo(reflectiveGson.toJson(reflective)));
+        assertThat(reflectiveGson.toJson(streamed), equalTo(golden));
+    }
+
+    @ParameterizedTest
+    @MethodSource("sparseEntities")
+    void shouldWriteSameJsonAsReflectiveAdapterForSparseEntities(Object entity) {
+        assertThat(objectMapper.writeValueAsString(entity), equalTo(reflectiveGson.toJson(entity)));
+    }
+
+    @ParameterizedTest
+    @MethodSource("unusualJson")
+    void shouldReadUnusualJsonLikeReflectiveAdapter(Class<?> type, String json)
+            throws JsonException {
+        var streamed = objectMapper.readValue(json, type);
+        var reflective = reflectiveGson.fromJson(json, type);
+
+        assertThat(reflectiveGson.toJson(streamed), equalTo(reflectiveGson.toJson(reflective)));
+    }
+
+    static Stream<Arguments> goldenEntities() {
+        return Stream.of(
+                Arguments.of("session.json", session()),
+                Arguments.of("client-session.json", clientSession()),
+                Arguments.of("auth-code-exchange-data.json", authCodeExchangeData()),
+                Arguments.of(
+                        "access-token-store.json",
+                        new AccessTokenStore("an-access-token", "an-internal-subject-id")),
+                Arguments.of(
+                        "refresh-token-store.json",
+                        new RefreshTokenStore("a-refresh-token", "an-internal-subject-id")),
+                Arguments.of("txma-audit-event.json", txmaAuditEvent()));
+    }
+
+    static Stream<Object> sparseEntities() {
+        return Stream.of(
+                new Session("a-session-id"),
+                new Session(null, null, null),
+                new ClientSession(null, LocalDateTime.of(2022, 3, 1, 12, 30), null, null),
+                new AuthCodeExchangeData(),
+                new AccessTokenStore(),
+                new RefreshTokenStore(),
+                new TxmaAuditEvent("AUTH_AN_EVENT", 1_666_000_000L));
+    }
+
+    static Stream<Arguments> unusualJson() {
+        return Stream.of(
+                Arguments.of(Session.class, "{}"),
+                Arguments.of(
+                        Session.class,
+                        "{\"session_id\":\"a-session-id\",\"retry_count\":null,"
+                                + "\"code_request_count\":\"3\",\"authenticated\":\"true\","
+                                + "\"unknown\":{\"nested\":[1,2]},\"email_address\":true}"),
+                Arguments.of(
+                        ClientSession.class,
+                        "{\"creation_date\":[2022,3,1,12,30,15,0],\"client_name\":null}"),
+                Arguments.of(AuthCodeExchangeData.class, "{\"sessionId\":\"a\",\"extra\":1}"),
+                Arguments.of(AccessTokenStore.class, "{\"token\":\"a\"}"),
+                Arguments.of(RefreshTokenStore.class, "{\"internal_subject_id\":\"a\"}"),
+                Arguments.of(
+                        TxmaAuditEvent.class,
+                        "{\"timestamp\":1,\"event_name\":\"AUTH_AN_EVENT\",\"platform\":{}}"));
+    }
+
+    private static Session session() {
+        return new Session(
+                        "a-session-id",
+                        new ArrayList<>(List.of("client-session-1", "client-session-2")),
+                        "joe.bloggs@digital.cabinet-office.gov.uk")
+                .setRetryCount(1)
+                .setPasswordResetCount(2)
+                .setCodeRequestCount(3)
+                .setCurrentCredentialStrength(CredentialTrustLevel.MEDIUM_LEVEL)
+                .setNewAccount(Session.AccountState.EXISTING)
+                .setAuthenticated(true)
+                .setProcessingIdentityAttempts(4)
+                .setVerifiedMfaMethodType(MFAMethodType.AUTH_APP)
+                .setInternalCommonSubjectIdentifier("urn:fdc:gov.uk:2022:subject");
+    }
+
+    private static ClientSession clientSession() {
+        var authRequestParams = new LinkedHashMap<String, List<String>>();
+        authRequestParams.put("client_id", List.of("a-client-id"));
+        authRequestParams.put("redirect_uri", List.of("https://rp.example.com/callback"));
+        authRequestParams.put("scope", List.of("openid email phone"));
+        authRequestParams.put("vtr", List.of("[\"Cl.Cm.P2\"]"));
+        return new ClientSession(
+                        authRequestParams,
+                        LocalDateTime.of(2022, 3, 1, 12, 30, 15, 123_456_789),
+                        VectorOfTrust.of(
+                                CredentialTrustLevel.MEDIUM_LEVEL, LevelOfConfidence.MEDIUM_LEVEL),
+                        "Relying party <ŵ>")
+                .setIdTokenHint("an-id-token")
+                .setDocAppSubjectId(new Subject("a-doc-app-subject"));
+    }
+
+    private static AuthCodeExchangeData authCodeExchangeData() {
+        return new AuthCodeExchangeData()
+                .setSessionId("a-session-id")
+                .setClientSessionId("a-client-session-id")
+                .setEmail("joe.bloggs@digital.cabinet-office.gov.uk")
+                .setClientSession(clientSession());
+    }
+
+    private static TxmaAuditEvent txmaAuditEvent() {
+        return new TxmaAuditEvent("AUTH_AN_EVENT", 1_666_000_000L)
+                .withClientId("a-client-id")
+                .withComponentId("https://oidc.account.gov.uk")
+                .withUser(
+                        TxmaAuditUser.user()
+                                .withUserId("an-internal-subject-id")
+                                .withEmail("joe.bloggs@digital.cabinet-office.gov.uk")
+                                .withSessionId("a-session-id"))
+                .addRestricted("phone_number", "+447700900000")
+                .addExtension("mfa-type", "SMS");
+    }
+
+    private String readGoldenFile(String name) throws IOException {
+        try (var stream =
+                Objects.requireNonNull(
+                        getClass().getResourceAsStream("/serialization/" + name), name)) {
+            return new String(stream.readAllBytes(), StandardCharsets.UTF_8).strip();
+        }
+    }
+}
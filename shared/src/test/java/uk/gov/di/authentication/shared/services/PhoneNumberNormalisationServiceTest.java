@@ -0,0 +1,88 @@
+package uk.gov.di.authentication.shared.services;
+
+import com.google.i18n.phonenumbers.NumberParseException;
+import com.google.i18n.phonenumbers.PhoneNumberUtil;
+import com.google.i18n.phonenumbers.PhoneNumberUtil.PhoneNumberType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PhoneNumberNormalisationServiceTest {
+
+    private final PhoneNumberNormalisationService service = new PhoneNumberNormalisationService(3);
+
+    @ParameterizedTest
+    @ValueSource(
+            strings = {
+                "07911123456",
+                "07911 123456",
+                "+447911123456",
+                "+44 7911 123456",
+                "00447911123456"
+            })
+    void shouldNormaliseUkMobileNumbers(String phoneNumber) throws NumberParseException {
+        var normalised = service.normalise(phoneNumber);
+
+        assertThat(normalised.getE164(), equalTo("+447911123456"));
+        assertThat(normalised.getCountryCode(), equalTo(44));
+        assertThat(normalised.getType(), equalTo(PhoneNumberType.MOBILE));
+        assertThat(normalised.isValid(), equalTo(true));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"+33645453322", "+16502530000", "+919876543210", "+447911123456"})
+    void shouldMatchLibphonenumberForInternationalNumbers(String phoneNumber)
+            throws NumberParseException {
+        var phoneUtil = PhoneNumberUtil.getInstance();
+        var parsed = phoneUtil.parse(phoneNumber, "GB");
+
+        var normalised = service.normalise(phoneNumber);
+
+        assertThat(
+                normalised.getE164(),
+                equalTo(phoneUtil.format(parsed, PhoneNumberUtil.PhoneNumberFormat.E164)));
+        assertThat(normalised.getCountryCode(), equalTo(parsed.getCountryCode()));
+        assertThat(normalised.getType(), equalTo(phoneUtil.getNumberType(parsed)));
+        assertThat(normalised.isValid(), equalTo(phoneUtil.isValidNumber(parsed)));
+    }
+
+    @Test
+    void shouldReportParseableButInvalidNumbers() throws NumberParseException {
+        var normalised = service.normalise("0123456789");
+
+        assertThat(normalised.isValid(), equalTo(false));
+        assertThat(normalised.getCountryCode(), equalTo(44));
+    }
+
+    @Test
+    void shouldThrowAndNotCacheUnparseableNumbers() {
+        assertThrows(NumberParseException.class, () -> service.normalise("not-a-number"));
+        assertThrows(NumberParseException.class, () -> service.normalise(null));
+
+        assertThat(service.cacheSize(), equalTo(0));
+    }
+
+    @Test
+    void shouldReturnCachedResultForRepeatedNumber() throws NumberParseException {
+        var first = service.normalise("07700900000");
+        var second = service.normalise("07700900000");
+
+        assertThat(second, sameInstance(first));
+        assertThat(service.cacheSize(), equalTo(1));
+    }
+
+    @Test
+    void shouldBoundCacheSize() throws NumberParseException {
+        service.normalise("07700900000");
+        service.normalise("07700900001");
+        service.normalise("07700900002");
+        service.normalise("07700900003");
+
+        assertThat(service.cacheSize(), equalTo(3));
+    }
+}
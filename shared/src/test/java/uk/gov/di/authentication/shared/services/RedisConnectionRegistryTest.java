@@ -0,0 +1,78 @@
+package uk.gov.di.authentication.shared.services;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+
+class RedisConnectionRegistryTest {
+
+    private static final Optional<String> PASSWORD = Optional.of("password");
+
+    private final RedisConnectionRegistry registry = new RedisConnectionRegistry();
+
+    @AfterEach
+    void tearDown() {
+        registry.closeAll();
+    }
+
+    @Test
+    void shouldShareConnectionsForTheSameEndpoint() {
+        var first = registry.getConnections("localhost", 6379, false, PASSWORD, false);
+        var second = registry.getConnections("localhost", 6379, false, PASSWORD, false);
+
+        assertThat(first, sameInstance(second));
+        assertThat(registry.size(), equalTo(1));
+    }
+
+    @Test
+    void shouldKeepSeparateConnectionsForDifferentEndpoints() {
+        var connections = registry.getConnections("localhost", 6379, false, PASSWORD, false);
+
+        assertThat(
+                registry.getConnections("localhost", 6380, false, PASSWORD, false),
+                not(sameInstance(connections)));
+        assertThat(
+                registry.getConnections("localhost", 6379, true, PASSWORD, false),
+                not(sameInstance(connections)));
+        assertThat(
+                registry.getConnections("localhost", 6379, false, Optional.empty(), false),
+                not(sameInstance(connections)));
+        assertThat(registry.size(), equalTo(4));
+    }
+
+    @Test
+    void shouldKeepMultiplexedConnectionsSeparateFromPooledConnections() {
+        var pooled = registry.getConnections("localhost", 6379, false, PASSWORD, false);
+        var multiplexed = registry.getConnections("localhost", 6379, false, PASSWORD, true);
+
+        assertThat(pooled.isMultiplexed(), equalTo(false));
+        assertThat(multiplexed.isMultiplexed(), equalTo(true));
+        assertThat(multiplexed, not(sameInstance(pooled)));
+    }
+
+    @Test
+    void shouldPoolOneConnectionUnlessConfiguredOtherwise() {
+        var pooled = registry.getConnections("localhost", 6379, false, PASSWORD, false);
+        var larger = registry.getConnections("localhost", 6380, false, PASSWORD, false, 4);
+
+        assertThat(pooled.maxPooledConnections(), equalTo(1));
+        assertThat(larger.maxPooledConnections(), equalTo(4));
+    }
+
+    @Test
+    void shouldOnlyWarmUpSharedConnectionsOnce() {
+        var connections = registry.getConnections("localhost", 6379, false, PASSWORD, false);
+        var warmUps = new int[1];
+
+        connections.warmUpOnce(() -> warmUps[0]++);
+        connections.warmUpOnce(() -> warmUps[0]++);
+
+        assertThat(warmUps[0], equalTo(1));
+    }
+}
@@ -1,35 +1,66 @@
 package uk.gov.di.authentication.shared.services;
 
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import software.amazon.cloudwatchlogs.emf.model.Unit;
+import uk.gov.di.authentication.shared.entity.CredentialTrustLevel;
 import uk.gov.di.authentication.shared.entity.Session;
 import uk.gov.di.authentication.shared.helpers.CookieHelper;
 import uk.gov.di.authentication.shared.serialization.Json;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.atMost;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
+import static uk.gov.di.authentication.shared.helpers.HashHelper.hashSha256String;
 
 class SessionServiceTest {
 
     private final RedisConnectionService redis = mock(RedisConnectionService.class);
     private final ConfigurationService configuration = mock(ConfigurationService.class);
+    private final CloudwatchMetricsService cloudwatchMetricsService =
+            mock(CloudwatchMetricsService.class);
     private final Json objectMapper = SerializationService.getInstance();
 
-    private final SessionService sessionService = new SessionService(configuration, redis);
+    private final SessionService sessionService =
+            new SessionService(configuration, redis, cloudwatchMetricsService);
+
+    @BeforeEach
+    void setUp() {
+        when(configuration.getEnvironment()).thenReturn("test");
+    }
 
     @Test
     void shouldPersistSessionToRedisWithExpiry() throws Json.JsonException {
@@ -40,12 +71,15 @@ class SessionServiceTest {
         sessionService.save(session);
 
         verify(redis, times(1))
-                .saveWithExpiry("session-id", objectMapper.writeValueAsString(session), 1234L);
+                .saveWithExpiry(
+                        "session-id",
+                        objectMapper.writeValueAsString(session),
+                        1234L,
+                        List.of("id-token-hints-session-id"));
     }
 
     @Test
     void shouldRetrieveSessionUsingRequestHeaders() throws Json.JsonException {
-        when(redis.keyExists("session-id")).thenReturn(true);
         when(redis.getValue("session-id")).thenReturn(generateSearlizedSession());
 
         var sessionInRedis =
@@ -58,7 +92,6 @@ class SessionServiceTest {
 
     @Test
     void shouldNotRetrieveSessionForLowerCaseHeaderName() throws Json.JsonException {
-        when(redis.keyExists("session-id")).thenReturn(true);
         when(redis.getValue("session-id")).thenReturn(generateSearlizedSession());
 
         var sessionInRedis =
@@ -86,7 +119,6 @@ class SessionServiceTest {
 
     @Test
     void shouldNotRetrieveSessionIfNotPresentInRedis() {
-        when(redis.keyExists("session-id")).thenReturn(false);
 
         var session =
                 sessionService.getSessionFromRequestHeaders(Map.of("Session-Id", "session-id"));
@@ -107,7 +139,6 @@ class SessionServiceTest {
     @Test
     void shouldReturnSessionFromSessionCookieCalledWithValidCookieHeaderValues()
             throws Json.JsonException {
-        when(redis.keyExists("session-id")).thenReturn(true);
         when(redis.getValue("session-id")).thenReturn(generateSearlizedSession());
 
         Optional<Session> sessionFromSessionCookie =
@@ -122,7 +153,6 @@ class SessionServiceTest {
 
     @Test
     void shouldNotReturnSessionFromSessionCookieCalledWithMissingSessionId() {
-        when(redis.keyExists("session-id")).thenReturn(false);
         Optional<Session> session =
                 sessionService.getSessionFromSessionCookie(
                         Map.ofEntries(
@@ -139,8 +169,32 @@ class SessionServiceTest {
         sessionService.save(session);
         sessionService.updateSessionId(session);
 
-        verify(redis, times(2)).saveWithExpiry(anyString(), anyString(), anyLong());
+        verify(redis, times(2))
+                .saveWithExpiry(anyString(), anyString(), anyLong(), anyCollection());
         verify(redis).deleteValue("session-id");
+        verify(redis)
+                .renameKeyIfExists(
+                        "id-token-hints-session-id", "id-token-hints-" + session.getSessionId());
+    }
+
+    @Test
+    void shouldAddHashedIdTokenHintToSessionIndexWithSessionExpiry() {
+        when(configuration.getSessionExpiry()).thenReturn(1234L);
+
+        sessionService.addIdTokenHintToSession("session-id", "id-token");
+
+        verify(redis)
+                .addToSetWithExpiry(
+                        "id-token-hints-session-id", hashSha256String("id-token"), 1234L);
+    }
+
+    @Test
+    void shouldCheckSessionIndexForHashedIdTokenHint() {
+        when(redis.isMemberOfSet("id-token-hints-session-id", hashSha256String("id-token")))
+                .thenReturn(true);
+
+        assertTrue(sessionService.isIdTokenHintInSession("session-id", "id-token"));
+        assertFalse(sessionService.isIdTokenHintInSession("session-id", "other-id-token"));
     }
 
     @Test
@@ -151,6 +205,319 @@ class SessionServiceTest {
         sessionService.deleteSessionFromRedis(session.getSessionId());
 
         verify(redis).deleteValue("session-id");
+        verify(redis).deleteValue("id-token-hints-session-id");
+    }
+
+    @Test
+    void shouldWriteWholeSessionAsHashWhenHashStorageIsEnabled() {
+        when(configuration.isSessionHashStorageEnabled()).thenReturn(true);
+        when(configuration.getSessionExpiry()).thenReturn(1234L);
+
+        var session =
+                new Session("session-id")
+                        .addClientSession("client-session-id")
+                        .setEmailAddress("joe.bloggs@example.com");
+
+        sessionService.save(session);
+
+        verify(redis)
+                .replaceHashAndListWithExpiry(
+                        "session-id",
+                        Map.of(
+                                "email_address", "joe.bloggs@example.com",
+                                "retry_count", "0",
+                                "password_reset_count", "0",
+                                "code_request_count", "0",
+                                "is_new_account", "UNKNOWN",
+                                "authenticated", "false",
+                                "processing_identity_attempts", "0"),
+                        "session-client-session-ids-session-id",
+                        List.of("client-session-id"),
+                        1234L,
+                        List.of("id-token-hints-session-id"));
+        verify(redis, never()).saveWithExpiry(anyString(), anyString(), anyLong(), anyCollection());
+    }
+
+    @Test
+    void shouldOnlyWriteChangedFieldsOfSessionReadFromHash() {
+        when(configuration.isSessionHashStorageEnabled()).thenReturn(true);
+        when(configuration.getSessionExpiry()).thenReturn(1234L);
+        when(redis.getHash("session-id"))
+                .thenReturn(
+                        Map.of(
+                                "email_address", "joe.bloggs@example.com",
+                                "code_request_count", "2",
+                                "is_new_account", "EXISTING",
+                                "authenticated", "false"));
+        when(redis.getListMembers("session-client-session-ids-session-id"))
+                .thenReturn(List.of("client-session-id"));
+
+        when(redis.updateHashAndListIfExists(
+                        anyString(),
+                        anyMap(),
+                        anyCollection(),
+                        anyMap(),
+                        anyString(),
+                        anyBoolean(),
+                        anyList(),
+                        anyLong(),
+                        anyCollection()))
+                .thenReturn(true);
+
+        var session = sessionService.readSessionFromRedis("session-id").orElseThrow();
+
+        assertThat(session.getEmailAddress(), is("joe.bloggs@example.com"));
+        assertThat(session.getCodeRequestCount(), is(2));
+        assertThat(session.isNewAccount(), is(Session.AccountState.EXISTING));
+        assertThat(session.getClientSessions(), is(List.of("client-session-id")));
+
+        session.incrementCodeRequestCount()
+                .setCurrentCredentialStrength(CredentialTrustLevel.MEDIUM_LEVEL)
+                .setAuthenticated(true);
+        sessionService.save(session);
+
+        verify(redis)
+                .updateHashAndListIfExists(
+                        "session-id",
+                        Map.of(
+                                "current_credential_strength", "MEDIUM_LEVEL",
+                                "authenticated", "true"),
+                        List.of(),
+                        Map.of("code_request_count", 1L),
+                        "session-client-session-ids-session-id",
+                        false,
+                        List.of(),
+                        1234L,
+                        List.of("id-token-hints-session-id"));
+        verify(redis, never())
+                .replaceHashAndListWithExpiry(
+                        anyString(), anyMap(), anyString(), anyList(), anyLong(), anyCollection());
+    }
+
+    @Test
+    void shouldWriteWholeSessionWhenHashHasGoneBeforeAnUpdate() {
+        when(configuration.isSessionHashStorageEnabled()).thenReturn(true);
+        when(configuration.getSessionExpiry()).thenReturn(1234L);
+        when(redis.getHash("session-id"))
+                .thenReturn(
+                        Map.of(
+                                "email_address", "joe.bloggs@example.com",
+                                "code_request_count", "2",
+                                "is_new_account", "EXISTING",
+                                "authenticated", "false"));
+        when(redis.getListMembers("session-client-session-ids-session-id"))
+                .thenReturn(List.of("client-session-id"));
+        when(redis.updateHashAndListIfExists(
+                        anyString(),
+                        anyMap(),
+                        anyCollection(),
+                        anyMap(),
+                        anyString(),
+                        anyBoolean(),
+                        anyList(),
+                        anyLong(),
+                        anyCollection()))
+                .thenReturn(false);
+
+        var session = sessionService.readSessionFromRedis("session-id").orElseThrow();
+        sessionService.save(session.incrementCodeRequestCount());
+
+        var fields = ArgumentCaptor.forClass(Map.class);
+        verify(redis)
+                .replaceHashAndListWithExpiry(
+                        eq("session-id"),
+                        fields.capture(),
+                        eq("session-client-session-ids-session-id"),
+                        eq(List.of("client-session-id")),
+                        eq(1234L),
+                        eq(List.of("id-token-hints-session-id")));
+        assertThat(fields.getValue().get("email_address"), equalTo("joe.bloggs@example.com"));
+        assertThat(fields.getValue().get("code_request_count"), equalTo("3"));
+    }
+
+    @Test
+    void shouldReadSessionWithOneGetWhenHashStorageIsDisabled() throws Json.JsonException {
+        when(redis.getValue("session-id")).thenReturn(generateSearlizedSession());
+
+        assertTrue(sessionService.readSessionFromRedis("session-id").isPresent());
+
+        verify(redis).getValue("session-id");
+        verifyNoMoreInteractions(redis);
+    }
+
+    @Test
+    void shouldReadSessionStoredAsHashWhenHashStorageIsDisabled() {
+        when(redis.getValue("session-id"))
+                .thenThrow(new RedisConnectionService.RedisWrongTypeException(null));
+        when(redis.getHash("session-id"))
+                .thenReturn(Map.of("email_address", "joe.bloggs@example.com"));
+
+        var session = sessionService.readSessionFromRedis("session-id").orElseThrow();
+
+        assertThat(session.getEmailAddress(), is("joe.bloggs@example.com"));
+    }
+
+    @Test
+    void shouldReadSessionStoredAsStringWhenHashStorageIsEnabled() throws Json.JsonException {
+        when(configuration.isSessionHashStorageEnabled()).thenReturn(true);
+        when(redis.getHash("session-id"))
+                .thenThrow(new RedisConnectionService.RedisWrongTypeException(null));
+        when(redis.getValue("session-id")).thenReturn(generateSearlizedSession());
+
+        var session = sessionService.readSessionFromRedis("session-id").orElseThrow();
+
+        assertThat(session.getClientSessions(), is(List.of("client-session-id")));
+    }
+
+    @Test
+    void shouldNotReturnSessionWhenHashIsEmpty() {
+        when(configuration.isSessionHashStorageEnabled()).thenReturn(true);
+        when(redis.getHash("session-id")).thenReturn(Map.of());
+
+        assertTrue(sessionService.readSessionFromRedis("session-id").isEmpty());
+        verify(redis, never()).getListMembers(anyString());
+    }
+
+    @Test
+    void shouldMigrateStringSessionToHashOnSave() throws Json.JsonException {
+        when(configuration.isSessionHashStorageEnabled()).thenReturn(true);
+        when(configuration.getSessionExpiry()).thenReturn(1234L);
+        when(redis.getHash("session-id"))
+                .thenThrow(new RedisConnectionService.RedisWrongTypeException(null));
+        when(redis.getValue("session-id")).thenReturn(generateSearlizedSession());
+
+        var session = sessionService.readSessionFromRedis("session-id").orElseThrow();
+        sessionService.save(session.setAuthenticated(true));
+
+        verify(redis)
+                .replaceHashAndListWithExpiry(
+                        eq("session-id"),
+                        anyMap(),
+                        eq("session-client-session-ids-session-id"),
+                        eq(List.of("client-session-id")),
+                        eq(1234L),
+                        eq(List.of("id-token-hints-session-id")));
+    }
+
+    @Test
+    void shouldKeepSessionBoundedAcrossThousandsOfAuthoriseRequests() throws Json.JsonException {
+        when(configuration.getMaxClientSessionsPerSession()).thenReturn(50);
+        when(redis.getExistingKeys(any()))
+                .thenAnswer(
+                        invocation -> new HashSet<>(invocation.<Collection<String>>getArgument(0)));
+        var session = new Session("session-id");
+        var payloadSizes = new ArrayList<Integer>();
+
+        for (int i = 0; i < 5000; i++) {
+            sessionService.save(session.addClientSession(String.format("client-session-%05d", i)));
+            payloadSizes.add(objectMapper.writeValueAsString(session).length());
+        }
+
+        assertThat(session.getClientSessions().size(), lessThanOrEqualTo(50));
+        assertThat(
+                session.getClientSessions().get(session.getClientSessions().size() - 1),
+                equalTo("client-session-04999"));
+        assertThat(payloadSizes.get(4999), lessThanOrEqualTo(payloadSizes.get(49)));
+        verify(redis, atMost(5000 / 12)).getExistingKeys(any());
+    }
+
+    @Test
+    void shouldRemoveExpiredClientSessionsBeforeOldestWhenOverTheLimit() {
+        when(configuration.getMaxClientSessionsPerSession()).thenReturn(3);
+        when(redis.getExistingKeys(any()))
+                .thenReturn(
+                        Set.of(
+                                "client-session-client-session-1",
+                                "client-session-client-session-3",
+                                "client-session-client-session-4"));
+        var session =
+                new Session("session-id")
+                        .addClientSession("client-session-1")
+                        .addClientSession("client-session-2")
+                        .addClientSession("client-session-3")
+                        .addClientSession("client-session-4");
+
+        sessionService.save(session);
+
+        assertThat(
+                session.getClientSessions(),
+                equalTo(List.of("client-session-1", "client-session-3", "client-session-4")));
+    }
+
+    @Test
+    void shouldKeepNewestClientSessionsOfSessionStoredAsHashWhenOverTheLimit() {
+        when(configuration.isSessionHashStorageEnabled()).thenReturn(true);
+        when(configuration.getSessionExpiry()).thenReturn(1234L);
+        when(configuration.getMaxClientSessionsPerSession()).thenReturn(2);
+        when(redis.getHash("session-id"))
+                .thenReturn(Map.of("email_address", "joe.bloggs@example.com"));
+        when(redis.getListMembers("session-client-session-ids-session-id"))
+                .thenReturn(List.of("client-session-3", "client-session-1", "client-session-2"));
+        when(redis.getExistingKeys(any()))
+                .thenAnswer(
+                        invocation -> new HashSet<>(invocation.<Collection<String>>getArgument(0)));
+        when(redis.updateHashAndListIfExists(
+                        anyString(),
+                        anyMap(),
+                        anyCollection(),
+                        anyMap(),
+                        anyString(),
+                        anyBoolean(),
+                        anyList(),
+                        anyLong(),
+                        anyCollection()))
+                .thenReturn(true);
+
+        var session = sessionService.readSessionFromRedis("session-id").orElseThrow();
+        sessionService.save(session.addClientSession("client-session-4"));
+
+        assertThat(
+                session.getClientSessions(),
+                equalTo(List.of("client-session-2", "client-session-4")));
+        verify(redis)
+                .updateHashAndListIfExists(
+                        "session-id",
+                        Map.of(),
+                        List.of(),
+                        Map.of(),
+                        "session-client-session-ids-session-id",
+                        true,
+                        List.of("client-session-2", "client-session-4"),
+                        1234L,
+                        List.of("id-token-hints-session-id"));
+    }
+
+    @Test
+    void shouldNotCheckClientSessionsWhileUnderTheLimit() {
+        when(configuration.getMaxClientSessionsPerSession()).thenReturn(3);
+
+        sessionService.save(new Session("session-id").addClientSession("client-session-1"));
+
+        verify(redis, never()).getExistingKeys(any());
+    }
+
+    @Test
+    void shouldRecordSessionSizeMetrics() throws Json.JsonException {
+        var session = new Session("session-id").addClientSession("client-session-id");
+
+        sessionService.save(session);
+
+        var size = ArgumentCaptor.forClass(Double.class);
+        verify(cloudwatchMetricsService)
+                .putEmbeddedValue(
+                        eq("SessionSize"),
+                        size.capture(),
+                        eq(Unit.BYTES),
+                        eq(Map.of("Environment", "test")));
+        assertThat(
+                size.getValue(),
+                equalTo((double) objectMapper.writeValueAsString(session).length()));
+        verify(cloudwatchMetricsService, atLeastOnce())
+                .putEmbeddedValue(
+                        eq("SessionClientSessionCount"),
+                        anyDouble(),
+                        eq(Unit.COUNT),
+                        eq(Map.of("Environment", "test")));
     }
 
     private String generateSearlizedSession() throws Json.JsonException {
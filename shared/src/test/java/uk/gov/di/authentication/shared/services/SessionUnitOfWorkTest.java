@@ -0,0 +1,214 @@
+package uk.gov.di.authentication.shared.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import software.amazon.cloudwatchlogs.emf.model.Unit;
+import uk.gov.di.authentication.shared.entity.ClientSession;
+import uk.gov.di.authentication.shared.entity.CredentialTrustLevel;
+import uk.gov.di.authentication.shared.entity.Session;
+import uk.gov.di.authentication.shared.entity.VectorOfTrust;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class SessionUnitOfWorkTest {
+
+    private final RedisConnectionService redis = mock(RedisConnectionService.class);
+    private final ConfigurationService configuration = mock(ConfigurationService.class);
+    private final SerializationService objectMapper = SerializationService.getInstance();
+    private final CloudwatchMetricsService cloudwatchMetricsService =
+            mock(CloudwatchMetricsService.class);
+    private final SessionService sessionService =
+            new SessionService(configuration, redis, cloudwatchMetricsService);
+    private final ClientSessionService clientSessionService =
+            new ClientSessionService(configuration, redis);
+
+    @BeforeEach
+    void setUp() {
+        when(configuration.isSessionWriteCoalescingEnabled()).thenReturn(true);
+        when(configuration.getSessionExpiry()).thenReturn(1234L);
+        when(configuration.getEnvironment()).thenReturn("test");
+    }
+
+    @Test
+    void shouldWriteEachKeyOnceWhenTheWorkCompletes() {
+        var session = new Session("session-id");
+        var clientSession = clientSession();
+
+        SessionUnitOfWork.execute(
+                configuration,
+                () -> {
+                    sessionService.save(session.resetCodeRequestCount());
+                    clientSessionService.storeClientSession("client-session-id", clientSession);
+                    sessionService.save(
+                            session.setCurrentCredentialStrength(
+                                    CredentialTrustLevel.MEDIUM_LEVEL));
+                    sessionService.save(session.addClientSession("client-session-id"));
+                    verifyNoInteractions(redis);
+                    return null;
+                });
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<String, String>> values = ArgumentCaptor.forClass(Map.class);
+        verify(redis, times(1))
+                .saveAllWithExpiry(
+                        values.capture(), eq(1234L), eq(List.of("id-token-hints-session-id")));
+        verify(redis, never()).saveWithExpiry(anyString(), anyString(), anyLong(), anyCollection());
+        assertThat(
+                values.getValue(),
+                equalTo(
+                        Map.of(
+                                "session-id",
+                                objectMapper.writeValueAsString(session),
+                                "client-session-client-session-id",
+                                objectMapper.writeValueAsString(clientSession))));
+    }
+
+    @Test
+    void shouldServeReadsFromPendingWrites() {
+        var session = new Session("session-id").setEmailAddress("joe.bloggs@example.com");
+
+        var read =
+                SessionUnitOfWork.execute(
+                        configuration,
+                        () -> {
+                            sessionService.save(session);
+                            clientSessionService.saveClientSession(
+                                    "client-session-id", clientSession());
+                            assertThat(
+                                    clientSessionService
+                                            .getClientSession("client-session-id")
+                                            .orElseThrow()
+                                            .getClientName(),
+                                    equalTo("client-name"));
+                            return sessionService.readSessionFromRedis("session-id").orElseThrow();
+                        });
+
+        assertThat(read.getEmailAddress(), equalTo("joe.bloggs@example.com"));
+        verify(redis, never()).getValue("session-id");
+        verify(redis, never()).keyExists(anyString());
+    }
+
+    @Test
+    void shouldNotWriteDeletedSession() {
+        SessionUnitOfWork.execute(
+                configuration,
+                () -> {
+                    sessionService.save(new Session("session-id"));
+                    sessionService.deleteSessionFromRedis("session-id");
+                    return null;
+                });
+
+        verify(redis).deleteValue("session-id");
+        verify(redis, never()).saveAllWithExpiry(anyMap(), anyLong(), anyCollection());
+    }
+
+    @Test
+    void shouldRecordSessionMetricsOnceWhenTheSessionIsFlushed() {
+        var session = new Session("session-id");
+
+        SessionUnitOfWork.execute(
+                configuration,
+                () -> {
+                    sessionService.save(session.addClientSession("client-session-1"));
+                    sessionService.save(session.addClientSession("client-session-2"));
+                    sessionService.readSessionFromRedis("session-id");
+                    verifyNoInteractions(cloudwatchMetricsService);
+                    return null;
+                });
+
+        verify(cloudwatchMetricsService)
+                .putEmbeddedValue(
+                        "SessionClientSessionCount", 2, Unit.COUNT, Map.of("Environment", "test"));
+        verify(cloudwatchMetricsService)
+                .putEmbeddedValue(
+                        "SessionSize",
+                        objectMapper.writeValueAsString(session).length(),
+                        Unit.BYTES,
+                        Map.of("Environment", "test"));
+    }
+
+    @Test
+    void shouldNotWriteDeletedClientSession() {
+        SessionUnitOfWork.execute(
+                configuration,
+                () -> {
+                    clientSessionService.saveClientSession("client-session-id", clientSession());
+                    clientSessionService.deleteClientSessionFromRedis("client-session-id");
+                    assertThat(
+                            clientSessionService.getClientSession("client-session-id").isEmpty(),
+                            equalTo(true));
+                    return null;
+                });
+
+        verify(redis).deleteValue("client-session-client-session-id");
+        verify(redis, never()).saveAllWithExpiry(anyMap(), anyLong(), anyCollection());
+    }
+
+    @Test
+    void shouldDropPendingWritesWhenTheWorkThrows() {
+        assertThrows(
+                IllegalStateException.class,
+                () ->
+                        SessionUnitOfWork.execute(
+                                configuration,
+                                () -> {
+                                    sessionService.save(new Session("session-id"));
+                                    throw new IllegalStateException("handler failed");
+                                }));
+
+        verifyNoInteractions(redis);
+        sessionService.save(new Session("session-id"));
+        verify(redis)
+                .saveWithExpiry(
+                        eq("session-id"),
+                        anyString(),
+                        eq(1234L),
+                        eq(List.of("id-token-hints-session-id")));
+    }
+
+    @Test
+    void shouldWriteImmediatelyWhenCoalescingIsDisabled() {
+        when(configuration.isSessionWriteCoalescingEnabled()).thenReturn(false);
+
+        SessionUnitOfWork.execute(
+                configuration,
+                () -> {
+                    sessionService.save(new Session("session-id"));
+                    verify(redis)
+                            .saveWithExpiry(
+                                    eq("session-id"),
+                                    anyString(),
+                                    eq(1234L),
+                                    eq(List.of("id-token-hints-session-id")));
+                    return null;
+                });
+
+        verify(redis, never()).saveAllWithExpiry(anyMap(), anyLong(), anyCollection());
+    }
+
+    private static ClientSession clientSession() {
+        return new ClientSession(
+                Map.of("client_id", List.of("a-client-id")),
+                LocalDateTime.of(2022, 3, 1, 12, 0),
+                VectorOfTrust.getDefaults(),
+                "client-name");
+    }
+}
@@ -8,8 +8,10 @@ import org.junit.jupiter.params.provider.MethodSource;
 import java.util.stream.Stream;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class RequiredFieldValidatorTest {
 
@@ -29,6 +31,25 @@ class RequiredFieldValidatorTest {
         assertThat(validator.validate(subject), containsInAnyOrder(violations));
     }
 
+    @Test
+    void shouldValidateRequiredFieldsDeclaredOnSuperclass() {
+        var subject = new TestSubclass(null, 2, "3", null);
+
+        assertThat(validator.validate(subject), containsInAnyOrder("field1", "field4"));
+    }
+
+    @Test
+    void shouldReturnViolationsForEachObjectOfTheSameClass() {
+        assertThat(validator.validate(new TestClass(null, 2, "3")), contains("field1"));
+        assertThat(validator.validate(new TestClass("value1", null, "3")), contains("field2"));
+        assertThat(validator.validate(new TestClass("value1", 2, "3")), hasSize(0));
+    }
+
+    @Test
+    void shouldThrowWhenObjectIsNull() {
+        assertThrows(IllegalArgumentException.class, () -> validator.validate(null));
+    }
+
     public static Stream<Arguments> failScenarios() {
         return Stream.of(
                 Arguments.of(new TestClass(null, 2, "3"), new String[] {"field1"}),
@@ -50,4 +71,14 @@ class RequiredFieldValidatorTest {
             this.field3 = field3;
         }
     }
+
+    private static class TestSubclass extends TestClass {
+
+        @Required private final String field4;
+
+        private TestSubclass(String field1, Integer field2, String field3, String field4) {
+            super(field1, field2, field3);
+            this.field4 = field4;
+        }
+    }
 }
@@ -0,0 +1,107 @@
+package uk.gov.di.authentication.shared.validation;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import uk.gov.di.authentication.shared.helpers.Argon2EncoderHelper;
+import uk.gov.di.authentication.shared.helpers.Argon2MatcherHelper;
+import uk.gov.di.authentication.shared.helpers.NowHelper;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class VerifiedClientSecretCacheTest {
+
+    private static final String CLIENT_ID = "client-id";
+    private static final String OTHER_CLIENT_ID = "other-client-id";
+    private static final String CLIENT_SECRET = "client-secret";
+    private static final String WRONG_CLIENT_SECRET = "wrong-client-secret";
+    private static final String STORED_SECRET_HASH = Argon2EncoderHelper.argon2Hash(CLIENT_SECRET);
+    private static final Instant NOW = Instant.parse("2022-06-01T12:00:00Z");
+
+    private final Clock clock = mock(Clock.class);
+    private final AtomicInteger argon2Checks = new AtomicInteger();
+    private VerifiedClientSecretCache cache;
+
+    @BeforeEach
+    void setUp() {
+        when(clock.instant()).thenReturn(NOW);
+        cache = createCache(10);
+    }
+
+    @Test
+    void shouldOnlyRunArgon2OnceForRepeatedValidSecret() {
+        assertThat(cache.matches(CLIENT_ID, CLIENT_SECRET, STORED_SECRET_HASH), equalTo(true));
+        assertThat(cache.matches(CLIENT_ID, CLIENT_SECRET, STORED_SECRET_HASH), equalTo(true));
+
+        assertThat(argon2Checks.get(), equalTo(1));
+    }
+
+    @Test
+    void shouldNeverServeWrongSecretFromCache() {
+        cache.matches(CLIENT_ID, CLIENT_SECRET, STORED_SECRET_HASH);
+
+        assertThat(
+                cache.matches(CLIENT_ID, WRONG_CLIENT_SECRET, STORED_SECRET_HASH), equalTo(false));
+        assertThat(
+                cache.matches(CLIENT_ID, WRONG_CLIENT_SECRET, STORED_SECRET_HASH), equalTo(false));
+        assertThat(argon2Checks.get(), equalTo(3));
+    }
+
+    @Test
+    void shouldNotServeCachedVerificationForAnotherClient() {
+        cache.matches(CLIENT_ID, CLIENT_SECRET, STORED_SECRET_HASH);
+
+        assertThat(
+                cache.matches(OTHER_CLIENT_ID, CLIENT_SECRET, STORED_SECRET_HASH), equalTo(true));
+        assertThat(argon2Checks.get(), equalTo(2));
+    }
+
+    @Test
+    void shouldReverifyWhenRegisteredSecretChanges() {
+        cache.matches(CLIENT_ID, CLIENT_SECRET, STORED_SECRET_HASH);
+        var rotatedSecretHash = Argon2EncoderHelper.argon2Hash("rotated-client-secret");
+
+        assertThat(cache.matches(CLIENT_ID, CLIENT_SECRET, rotatedSecretHash), equalTo(false));
+        assertThat(cache.matches(CLIENT_ID, CLIENT_SECRET, rotatedSecretHash), equalTo(false));
+        assertThat(argon2Checks.get(), equalTo(3));
+    }
+
+    @Test
+    void shouldReverifyOnceCachedVerificationHasExpired() {
+        cache.matches(CLIENT_ID, CLIENT_SECRET, STORED_SECRET_HASH);
+        when(clock.instant()).thenReturn(NOW.plus(Duration.ofMinutes(5)));
+
+        assertThat(cache.matches(CLIENT_ID, CLIENT_SECRET, STORED_SECRET_HASH), equalTo(true));
+        assertThat(argon2Checks.get(), equalTo(2));
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedVerificationWhenFull() {
+        cache = createCache(1);
+
+        cache.matches(CLIENT_ID, CLIENT_SECRET, STORED_SECRET_HASH);
+        cache.matches(OTHER_CLIENT_ID, CLIENT_SECRET, STORED_SECRET_HASH);
+        cache.matches(CLIENT_ID, CLIENT_SECRET, STORED_SECRET_HASH);
+
+        assertThat(argon2Checks.get(), equalTo(3));
+    }
+
+    private VerifiedClientSecretCache createCache(int maxSize) {
+        return new VerifiedClientSecretCache(
+                maxSize,
+                Duration.ofMinutes(5),
+                new NowHelper.NowClock(clock),
+                (presentedSecret, storedSecretHash) -> {
+                    argon2Checks.incrementAndGet();
+                    return Argon2MatcherHelper.matchRawStringWithEncoded(
+                            presentedSecret, storedSecretHash);
+                });
+    }
+}
@@ -0,0 +1,80 @@
+package uk.gov.di.authentication.utils.domain;
+
+import com.google.gson.annotations.Expose;
+import com.google.gson.annotations.SerializedName;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class SaltBackfillCheckpoint {
+
+    @Expose
+    @SerializedName("totalSegments")
+    private int totalSegments;
+
+    @Expose
+    @SerializedName("segments")
+    private List<Segment> segments = new ArrayList<>();
+
+    public SaltBackfillCheckpoint() {}
+
+    public static SaltBackfillCheckpoint start(int totalSegments) {
+        var checkpoint = new SaltBackfillCheckpoint();
+        checkpoint.totalSegments = totalSegments;
+        for (int i = 0; i < totalSegments; i++) {
+            checkpoint.segments.add(new Segment());
+        }
+        return checkpoint;
+    }
+
+    public int getTotalSegments() {
+        return totalSegments;
+    }
+
+    public Segment getSegment(int segment) {
+        return segments.get(segment);
+    }
+
+    public boolean isComplete() {
+        return segments.stream().allMatch(Segment::isComplete);
+    }
+
+    public long getSaltsWritten() {
+        return segments.stream().mapToLong(Segment::getSaltsWritten).sum();
+    }
+
+    public static class Segment {
+
+        @Expose
+        @SerializedName("lastEvaluatedEmail")
+        private String lastEvaluatedEmail;
+
+        @Expose
+        @SerializedName("complete")
+        private boolean complete;
+
+        @Expose
+        @SerializedName("saltsWritten")
+        private long saltsWritten;
+
+        public Segment() {}
+
+        public String getLastEvaluatedEmail() {
+            return lastEvaluatedEmail;
+        }
+
+        public boolean isComplete() {
+            return complete;
+        }
+
+        public long getSaltsWritten() {
+            return saltsWritten;
+        }
+
+        public void advance(String lastEvaluatedEmail, long saltsWritten) {
+            this.lastEvaluatedEmail = lastEvaluatedEmail;
+            this.complete = lastEvaluatedEmail == null;
+            this.saltsWritten += saltsWritten;
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package uk.gov.di.authentication.utils.lambda;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.RequestHandler;
+import com.amazonaws.services.lambda.runtime.events.ScheduledEvent;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+import software.amazon.awssdk.services.dynamodb.model.ScanRequest;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import uk.gov.di.authentication.shared.helpers.SaltHelper;
+import uk.gov.di.authentication.shared.serialization.Json.JsonException;
+import uk.gov.di.authentication.shared.services.ConfigurationService;
+import uk.gov.di.authentication.shared.services.SerializationService;
+import uk.gov.di.authentication.utils.domain.SaltBackfillCheckpoint;
+
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static java.text.MessageFormat.format;
+import static uk.gov.di.authentication.shared.dynamodb.DynamoClientHelper.createDynamoClient;
+import static uk.gov.di.authentication.shared.entity.UserProfile.ATTRIBUTE_EMAIL;
+import static uk.gov.di.authentication.shared.entity.UserProfile.ATTRIBUTE_SALT;
+
+/**
+ * Writes a salt to every user profile that does not yet have one, so that {@code
+ * DynamoService.getOrGenerateSalt} never has to write on the token or userinfo path.
+ *
+ * <p>The table is read with a parallel segmented scan. Each salt is written with a conditional
+ * update that only succeeds while the profile still has no salt, so a salt generated concurrently
+ * by a login is never replaced. Progress is checkpointed to S3 after every page and the handler
+ * stops before the Lambda times out, so it can be invoked repeatedly until the checkpoint reports
+ * that every segment is complete.
+ */
+public class SaltBackfillHandler implements RequestHandler<ScheduledEvent, Long> {
+
+    private static final Logger LOG = LogManager.getLogger(SaltBackfillHandler.class);
+    public static final String CHECKPOINT_KEY = "salt-backfill/checkpoint.json";
+    private static final int SCAN_PAGE_SIZE = 250;
+    private static final int MINIMUM_REMAINING_MILLIS = 30_000;
+    private static final String MISSING_SALT =
+            "attribute_not_exists(#salt) OR size(#salt) = :emptySalt";
+
+    private final ConfigurationService configurationService;
+    private final DynamoDbClient dynamoDbClient;
+    private final S3Client s3Client;
+    private final SerializationService objectMapper = SerializationService.getInstance();
+    private final String tableName;
+
+    public SaltBackfillHandler(
+            ConfigurationService configurationService,
+            DynamoDbClient dynamoDbClient,
+            S3Client s3Client) {
+        this.configurationService = configurationService;
+        this.dynamoDbClient = dynamoDbClient;
+        this.s3Client = s3Client;
+        this.tableName = format("{0}-user-profile", configurationService.getEnvironment());
+    }
+
+    public SaltBackfillHandler(ConfigurationService configurationService) {
+        this(
+                configurationService,
+                createDynamoClient(configurationService),
+                S3Client.builder().region(Region.of(configurationService.getAwsRegion())).build());
+    }
+
+    public SaltBackfillHandler() {
+        this(ConfigurationService.getInstance());
+    }
+
+    @Override
+    public Long handleRequest(ScheduledEvent input, Context context) {
+        var checkpoint =
+                readCheckpoint()
+                        .orElseGet(
+                                () ->
+                                        SaltBackfillCheckpoint.start(
+                                                configurationService.getSaltBackfillSegments()));
+        if (checkpoint.isComplete()) {
+            LOG.info(
+                    "Salt backfill already complete, {} salts written",
+                    checkpoint.getSaltsWritten());
+            return 0L;
+        }
+
+        var executor = Executors.newFixedThreadPool(checkpoint.getTotalSegments());
+        try {
+            var segments = new ArrayList<Future<Long>>();
+            for (int segment = 0; segment < checkpoint.getTotalSegments(); segment++) {
+                final int currentSegment = segment;
+                segments.add(
+                        executor.submit(
+                                () -> backfillSegment(checkpoint, currentSegment, context)));
+            }
+            long saltsWritten = 0;
+            for (var segment : segments) {
+                saltsWritten += segment.get();
+            }
+            LOG.info(
+                    "Salt backfill wrote {} salts, complete: {}",
+                    saltsWritten,
+                    checkpoint.isComplete());
+            return saltsWritten;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            LOG.error("Salt backfill segment failed", e.getCause());
+            throw new RuntimeException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private long backfillSegment(SaltBackfillCheckpoint checkpoint, int segment, Context context) {
+        var progress = checkpoint.getSegment(segment);
+        long saltsWritten = 0;
+        while (!progress.isComplete()) {
+            if (context.getRemainingTimeInMillis() < MINIMUM_REMAINING_MILLIS) {
+                LOG.info("Stopping salt backfill of segment {} before timeout", segment);
+                break;
+            }
+            var request =
+                    ScanRequest.builder()
+                            .tableName(tableName)
+                            .segment(segment)
+                            .totalSegments(checkpoint.getTotalSegments())
+                            .limit(SCAN_PAGE_SIZE)
+                            .projectionExpression("#email")
+                            .filterExpression(MISSING_SALT)
+                            .expressionAttributeNames(
+                                    Map.of("#email", ATTRIBUTE_EMAIL, "#salt", ATTRIBUTE_SALT))
+                            .expressionAttributeValues(
+                                    Map.of(":emptySalt", AttributeValue.fromN("0")));
+            if (progress.getLastEvaluatedEmail() != null) {
+                request.exclusiveStartKey(
+                        Map.of(
+                                ATTRIBUTE_EMAIL,
+                                AttributeValue.fromS(progress.getLastEvaluatedEmail())));
+            }
+            var response = dynamoDbClient.scan(request.build());
+
+            long pageSaltsWritten = 0;
+            for (var item : response.items()) {
+                if (addSalt(item.get(ATTRIBUTE_EMAIL).s())) {
+                    pageSaltsWritten++;
+                }
+            }
+            saltsWritten += pageSaltsWritten;
+
+            var lastEvaluatedEmail =
+                    response.hasLastEvaluatedKey() && !response.lastEvaluatedKey().isEmpty()
+                            ? response.lastEvaluatedKey().get(ATTRIBUTE_EMAIL).s()
+                            : null;
+            synchronized (checkpoint) {
+                progress.advance(lastEvaluatedEmail, pageSaltsWritten);
+                writeCheckpoint(checkpoint);
+            }
+        }
+        return saltsWritten;
+    }
+
+    private boolean addSalt(String email) {
+        try {
+            dynamoDbClient.updateItem(
+                    UpdateItemRequest.builder()
+                            .tableName(tableName)
+                            .key(Map.of(ATTRIBUTE_EMAIL, AttributeValue.fromS(email)))
+                            .updateExpression("SET #salt = :salt")
+                            .conditionExpression(
+                                    "attribute_exists(#email) AND (" + MISSING_SALT + ")")
+                            .expressionAttributeNames(
+                                    Map.of("#email", ATTRIBUTE_EMAIL, "#salt", ATTRIBUTE_SALT))
+                            .expressionAttributeValues(
+                                    Map.of(
+                                            ":salt",
+                                            AttributeValue.fromB(
+                                                    SdkBytes.fromByteArray(
+                                                            SaltHelper.generateNewSalt())),
+                                            ":emptySalt",
+                                            AttributeValue.fromN("0")))
+                            .build());
+            return true;
+        } catch (ConditionalCheckFailedException e) {
+            return false;
+        }
+    }
+
+    private Optional<SaltBackfillCheckpoint> readCheckpoint() {
+        try {
+            var checkpoint =
+                    s3Client.getObjectAsBytes(
+                            GetObjectRequest.builder()
+                                    .bucket(configurationService.getSaltBackfillBucketName())
+                                    .key(CHECKPOINT_KEY)
+                                    .build());
+            return Optional.of(
+                    objectMapper.readValue(
+                            checkpoint.asUtf8String(), SaltBackfillCheckpoint.class));
+        } catch (NoSuchKeyException e) {
+            LOG.info("No salt backfill checkpoint found, starting from the beginning");
+            return Optional.empty();
+        } catch (JsonException e) {
+            LOG.error("Unable to parse salt backfill checkpoint", e);
+            throw new RuntimeException(e);
+        }
+    }
+
+    private void writeCheckpoint(SaltBackfillCheckpoint checkpoint) {
+        s3Client.putObject(
+                PutObjectRequest.builder()
+                        .bucket(configurationService.getSaltBackfillBucketName())
+                        .key(CHECKPOINT_KEY)
+                        .build(),
+                RequestBody.fromString(objectMapper.writeValueAsString(checkpoint)));
+    }
+}
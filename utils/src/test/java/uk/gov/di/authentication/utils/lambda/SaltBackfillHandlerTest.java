@@ -0,0 +1,215 @@
+package uk.gov.di.authentication.utils.lambda;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.events.ScheduledEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatcher;
+import software.amazon.awssdk.core.ResponseBytes;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+import software.amazon.awssdk.services.dynamodb.model.ScanRequest;
+import software.amazon.awssdk.services.dynamodb.model.ScanResponse;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import uk.gov.di.authentication.shared.services.ConfigurationService;
+import uk.gov.di.authentication.shared.services.SerializationService;
+import uk.gov.di.authentication.utils.domain.SaltBackfillCheckpoint;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static uk.gov.di.authentication.utils.lambda.SaltBackfillHandler.CHECKPOINT_KEY;
+
+class SaltBackfillHandlerTest {
+
+    private static final String BUCKET = "salt-backfill-bucket";
+
+    private final ConfigurationService configurationService = mock(ConfigurationService.class);
+    private final DynamoDbClient dynamoDbClient = mock(DynamoDbClient.class);
+    private final S3Client s3Client = mock(S3Client.class);
+    private final Context context = mock(Context.class);
+    private final SerializationService objectMapper = SerializationService.getInstance();
+    private SaltBackfillHandler handler;
+
+    @BeforeEach
+    void setUp() {
+        when(configurationService.getEnvironment()).thenReturn("test");
+        when(configurationService.getSaltBackfillBucketName()).thenReturn(BUCKET);
+        when(configurationService.getSaltBackfillSegments()).thenReturn(1);
+        when(context.getRemainingTimeInMillis()).thenReturn(900_000);
+        handler = new SaltBackfillHandler(configurationService, dynamoDbClient, s3Client);
+    }
+
+    @Test
+    void shouldWriteSaltsForProfilesWithoutOneAndCheckpointCompletion() throws Exception {
+        givenNoCheckpoint();
+        when(dynamoDbClient.scan(any(ScanRequest.class)))
+                .thenReturn(scanResponse(null, "a@example.com", "b@example.com"));
+        when(dynamoDbClient.updateItem(argThat(forEmail("b@example.com"))))
+                .thenThrow(ConditionalCheckFailedException.builder().build());
+
+        var saltsWritten = handler.handleRequest(mock(ScheduledEvent.class), context);
+
+        assertThat(saltsWritten, equalTo(1L));
+        var update = ArgumentCaptor.forClass(UpdateItemRequest.class);
+        verify(dynamoDbClient, times(2)).updateItem(update.capture());
+        assertThat(update.getValue().tableName(), equalTo("test-user-profile"));
+        assertThat(
+                update.getValue().conditionExpression(),
+                equalTo(
+                        "attribute_exists(#email) AND (attribute_not_exists(#salt) OR size(#salt) = :emptySalt)"));
+        assertThat(
+                update.getValue().expressionAttributeValues().get(":salt").b().asByteArray().length,
+                equalTo(32));
+
+        var checkpoint = lastCheckpoint();
+        assertThat(checkpoint.isComplete(), equalTo(true));
+        assertThat(checkpoint.getSaltsWritten(), equalTo(1L));
+    }
+
+    @Test
+    void shouldScanEachSegmentInParallel() throws Exception {
+        givenNoCheckpoint();
+        when(configurationService.getSaltBackfillSegments()).thenReturn(3);
+        when(dynamoDbClient.scan(any(ScanRequest.class))).thenReturn(scanResponse(null));
+
+        handler.handleRequest(mock(ScheduledEvent.class), context);
+
+        for (int segment = 0; segment < 3; segment++) {
+            final int expectedSegment = segment;
+            verify(dynamoDbClient)
+                    .scan(
+                            argThat(
+                                    (ScanRequest request) ->
+                                            request.segment() == expectedSegment
+                                                    && request.totalSegments() == 3));
+        }
+        assertThat(lastCheckpoint().getTotalSegments(), equalTo(3));
+    }
+
+    @Test
+    void shouldCheckpointAfterEachPageAndResumeFromLastEvaluatedKey() throws Exception {
+        givenNoCheckpoint();
+        when(dynamoDbClient.scan(any(ScanRequest.class)))
+                .thenReturn(scanResponse("a@example.com", "a@example.com"));
+        when(context.getRemainingTimeInMillis()).thenReturn(900_000, 1_000);
+
+        assertThat(handler.handleRequest(mock(ScheduledEvent.class), context), equalTo(1L));
+
+        var checkpoint = lastCheckpoint();
+        assertThat(checkpoint.isComplete(), equalTo(false));
+        assertThat(checkpoint.getSegment(0).getLastEvaluatedEmail(), equalTo("a@example.com"));
+
+        givenCheckpoint(checkpoint);
+        when(context.getRemainingTimeInMillis()).thenReturn(900_000);
+        when(dynamoDbClient.scan(any(ScanRequest.class)))
+                .thenReturn(scanResponse(null, "b@example.com"));
+
+        assertThat(handler.handleRequest(mock(ScheduledEvent.class), context), equalTo(1L));
+
+        verify(dynamoDbClient)
+                .scan(
+                        argThat(
+                                (ScanRequest request) ->
+                                        request.hasExclusiveStartKey()
+                                                && request.exclusiveStartKey()
+                                                        .get("Email")
+                                                        .s()
+                                                        .equals("a@example.com")));
+        var finalCheckpoint = lastCheckpoint();
+        assertThat(finalCheckpoint.isComplete(), equalTo(true));
+        assertThat(finalCheckpoint.getSegment(0).getLastEvaluatedEmail(), nullValue());
+        assertThat(finalCheckpoint.getSaltsWritten(), equalTo(2L));
+    }
+
+    @Test
+    void shouldNotScanWhenCheckpointIsComplete() throws Exception {
+        var checkpoint = SaltBackfillCheckpoint.start(1);
+        checkpoint.getSegment(0).advance(null, 10);
+        givenCheckpoint(checkpoint);
+
+        assertThat(handler.handleRequest(mock(ScheduledEvent.class), context), equalTo(0L));
+
+        verify(dynamoDbClient, never()).scan(any(ScanRequest.class));
+        verify(s3Client, never()).putObject(any(PutObjectRequest.class), any(RequestBody.class));
+    }
+
+    @Test
+    void shouldNotScanWhenTooLittleTimeRemains() {
+        givenNoCheckpoint();
+        when(context.getRemainingTimeInMillis()).thenReturn(1_000);
+
+        assertThat(handler.handleRequest(mock(ScheduledEvent.class), context), equalTo(0L));
+
+        verify(dynamoDbClient, never()).scan(any(ScanRequest.class));
+    }
+
+    private void givenNoCheckpoint() {
+        when(s3Client.getObjectAsBytes(any(GetObjectRequest.class)))
+                .thenThrow(NoSuchKeyException.builder().build());
+    }
+
+    private void givenCheckpoint(SaltBackfillCheckpoint checkpoint) {
+        doReturn(
+                        ResponseBytes.fromByteArray(
+                                GetObjectResponse.builder().build(),
+                                objectMapper
+                                        .writeValueAsString(checkpoint)
+                                        .getBytes(StandardCharsets.UTF_8)))
+                .when(s3Client)
+                .getObjectAsBytes(
+                        GetObjectRequest.builder().bucket(BUCKET).key(CHECKPOINT_KEY).build());
+    }
+
+    private SaltBackfillCheckpoint lastCheckpoint() throws Exception {
+        var request = ArgumentCaptor.forClass(PutObjectRequest.class);
+        var body = ArgumentCaptor.forClass(RequestBody.class);
+        verify(s3Client, atLeastOnce()).putObject(request.capture(), body.capture());
+        assertThat(request.getValue().bucket(), equalTo(BUCKET));
+        assertThat(request.getValue().key(), equalTo(CHECKPOINT_KEY));
+        try (var content = body.getValue().contentStreamProvider().newStream()) {
+            return objectMapper.readValue(
+                    new String(content.readAllBytes(), StandardCharsets.UTF_8),
+                    SaltBackfillCheckpoint.class);
+        }
+    }
+
+    private static ScanResponse scanResponse(String lastEvaluatedEmail, String... emails) {
+        var response =
+                ScanResponse.builder()
+                        .items(
+                                Arrays.stream(emails)
+                                        .map(email -> Map.of("Email", AttributeValue.fromS(email)))
+                                        .collect(Collectors.toList()));
+        if (lastEvaluatedEmail != null) {
+            response.lastEvaluatedKey(Map.of("Email", AttributeValue.fromS(lastEvaluatedEmail)));
+        }
+        return response.build();
+    }
+
+    private static ArgumentMatcher<UpdateItemRequest> forEmail(String email) {
+        return request -> request != null && request.key().get("Email").s().equals(email);
+    }
+}